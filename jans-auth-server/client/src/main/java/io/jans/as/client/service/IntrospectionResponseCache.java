@@ -0,0 +1,149 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.client.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.jans.as.model.common.IntrospectionResponse;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches active introspection responses of protected API callers, so token is not introspected on every request.
+ * <p>
+ * Entry is keyed by sha256 hex of the token (same value auth server keeps in tknCde and publishes in token messages),
+ * lives not longer than max ttl and not longer than token exp. Inactive and failed responses are not cached.
+ */
+public class IntrospectionResponseCache {
+
+    public static final int DEFAULT_MAX_TTL_IN_SECONDS = 0;
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    private final Cache<String, CachedResponse> cache;
+
+    private volatile int maxTtlInSeconds;
+
+    public IntrospectionResponseCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_MAX_TTL_IN_SECONDS);
+    }
+
+    public IntrospectionResponseCache(int maxSize, int maxTtlInSeconds) {
+        this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+        this.maxTtlInSeconds = maxTtlInSeconds;
+    }
+
+    public static String hash(String token) {
+        return DigestUtils.sha256Hex(token);
+    }
+
+    /**
+     * Returns cached response or introspects token with given service and caches the response.
+     */
+    public IntrospectionResponse introspect(IntrospectionService introspectionService, String token) {
+        IntrospectionResponse response = get(token);
+        if (response != null) {
+            return response;
+        }
+
+        response = introspectionService.introspectToken("Bearer " + token, token);
+        put(token, response);
+        return response;
+    }
+
+    public IntrospectionResponse get(String token) {
+        if (StringUtils.isBlank(token)) {
+            return null;
+        }
+
+        final String key = hash(token);
+        final CachedResponse cached = cache.getIfPresent(key);
+        if (cached == null) {
+            return null;
+        }
+
+        if (cached.expiresAt <= System.currentTimeMillis()) {
+            cache.invalidate(key);
+            return null;
+        }
+        return cached.response;
+    }
+
+    public void put(String token, IntrospectionResponse response) {
+        if (maxTtlInSeconds <= 0 || StringUtils.isBlank(token) || response == null || !response.isActive()) {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        long expiresAt = now + TimeUnit.SECONDS.toMillis(maxTtlInSeconds);
+        if (response.getExpiresAt() != null) {
+            expiresAt = Math.min(expiresAt, TimeUnit.SECONDS.toMillis(response.getExpiresAt()));
+        }
+
+        if (expiresAt > now) {
+            cache.put(hash(token), new CachedResponse(response, expiresAt));
+        }
+    }
+
+    /**
+     * @param tokenHash sha256 hex of the token
+     */
+    public void invalidate(String tokenHash) {
+        if (StringUtils.isNotBlank(tokenHash)) {
+            cache.invalidate(tokenHash);
+        }
+    }
+
+    /**
+     * Invalidates entry if message is token removal message published by auth server,
+     * e.g. {"tknTyp" : "access_token", "tknId" : "<sha256 hex>", "tknOp" : "del"}
+     */
+    public void onTokenMessage(String message) {
+        if (StringUtils.isBlank(message)) {
+            return;
+        }
+
+        try {
+            final JSONObject json = new JSONObject(message);
+            if ("del".equalsIgnoreCase(json.optString("tknOp"))) {
+                invalidate(json.optString("tknId"));
+            }
+        } catch (JSONException e) {
+            // not a token message
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public int getMaxTtlInSeconds() {
+        return maxTtlInSeconds;
+    }
+
+    public void setMaxTtlInSeconds(int maxTtlInSeconds) {
+        this.maxTtlInSeconds = maxTtlInSeconds;
+    }
+
+    private static class CachedResponse {
+
+        private final IntrospectionResponse response;
+        private final long expiresAt;
+
+        private CachedResponse(IntrospectionResponse response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
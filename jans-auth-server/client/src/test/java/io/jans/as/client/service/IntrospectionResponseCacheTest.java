@@ -0,0 +1,74 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.client.service;
+
+import io.jans.as.model.common.IntrospectionResponse;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+public class IntrospectionResponseCacheTest {
+
+    @Test
+    public void get_forActiveResponse_shouldReturnCachedResponse() {
+        IntrospectionResponseCache cache = new IntrospectionResponseCache(100, 60);
+        IntrospectionResponse response = createResponse(true, nowInSeconds() + 300);
+
+        cache.put("token", response);
+
+        assertSame(cache.get("token"), response);
+    }
+
+    @Test
+    public void get_forInactiveResponse_shouldReturnNull() {
+        IntrospectionResponseCache cache = new IntrospectionResponseCache(100, 60);
+
+        cache.put("token", createResponse(false, null));
+
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    public void get_whenTokenIsExpired_shouldReturnNull() {
+        IntrospectionResponseCache cache = new IntrospectionResponseCache(100, 60);
+
+        cache.put("token", createResponse(true, nowInSeconds() - 1));
+
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    public void put_whenMaxTtlIsZero_shouldNotCache() {
+        IntrospectionResponseCache cache = new IntrospectionResponseCache(100, 0);
+
+        cache.put("token", createResponse(true, nowInSeconds() + 300));
+
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    public void onTokenMessage_forRemovedToken_shouldInvalidateEntry() {
+        IntrospectionResponseCache cache = new IntrospectionResponseCache(100, 60);
+        cache.put("token", createResponse(true, nowInSeconds() + 300));
+
+        cache.onTokenMessage("{\"tknTyp\" : \"access_token\", \"tknId\" : \"" + IntrospectionResponseCache.hash("token") + "\", \"tknOp\" : \"del\"}");
+
+        assertNull(cache.get("token"));
+    }
+
+    private static IntrospectionResponse createResponse(boolean active, Integer exp) {
+        IntrospectionResponse response = new IntrospectionResponse();
+        response.setActive(active);
+        response.setExpiresAt(exp);
+        return response;
+    }
+
+    private static int nowInSeconds() {
+        return (int) (System.currentTimeMillis() / 1000);
+    }
+}
@@ -18,6 +18,7 @@ import jakarta.inject.Inject;
 public abstract class OrganizationService extends io.jans.service.OrganizationService {
 
     public static final int ONE_MINUTE_IN_SECONDS = 60;
+    public static final int FIVE_MINUTES_IN_SECONDS = 5 * ONE_MINUTE_IN_SECONDS;
     private static final long serialVersionUID = -8966940469789981584L;
     @Inject
     private PersistenceEntryManager ldapEntryManager;
@@ -37,9 +38,12 @@ public abstract class OrganizationService extends io.jans.service.OrganizationSe
         ldapEntryManager.merge(organization);
     }
 
+    /**
+     * Organization is reloaded in background after one minute, requests get cached entry until reload finishes
+     */
     public GluuOrganization getOrganization() {
         BaseCacheService usedCacheService = getCacheService();
-        return usedCacheService.getWithPut(OxConstants.CACHE_ORGANIZATION_KEY + "_oxauth", () -> ldapEntryManager.find(GluuOrganization.class, getDnForOrganization()), ONE_MINUTE_IN_SECONDS);
+        return usedCacheService.getWithPut(OxConstants.CACHE_ORGANIZATION_KEY + "_oxauth", () -> ldapEntryManager.find(GluuOrganization.class, getDnForOrganization()), ONE_MINUTE_IN_SECONDS, FIVE_MINUTES_IN_SECONDS);
     }
 
     public String getDnForOrganization() {
@@ -2,7 +2,7 @@ package io.jans.as.common.util;
 
 import com.google.common.base.Strings;
 import io.jans.as.common.model.registration.Client;
-import io.jans.as.model.util.JwtUtil;
+import io.jans.as.model.jwk.RemoteJwksCache;
 import org.json.JSONObject;
 
 /**
@@ -14,8 +14,16 @@ public class CommonUtils {
     }
 
     public static JSONObject getJwks(Client client) {
+        return getJwks(client, null);
+    }
+
+    /**
+     * Returns client jwks. Keys loaded from jwks_uri are cached, cached keys are reloaded if they
+     * don't contain specified keyId
+     */
+    public static JSONObject getJwks(Client client, String keyId) {
         return Strings.isNullOrEmpty(client.getJwks())
-                ? JwtUtil.getJSONWebKeys(client.getJwksUri())
+                ? RemoteJwksCache.instance().getJwks(client.getJwksUri(), keyId)
                 : new JSONObject(client.getJwks());
     }
 }
@@ -414,6 +414,18 @@ public class AppConfiguration implements Configuration {
     @DocProperty(description = "Clean service chunk size which is used during clean up", defaultValue = "100")
     private int cleanServiceBatchChunkSize = 100;
 
+    @DocProperty(description = "Number of threads used by the Clean Service to clean up branches concurrently", defaultValue = "4")
+    private int cleanServiceParallelism = 4;
+
+    @DocProperty(description = "Number of expiration time partitions each branch is split into by the Clean Service. With more than one partition each one is leased by one cluster node per clean up interval, which removes its expired entries in batches until none are left. Partitions are skipped while cache is not available", defaultValue = "1")
+    private int cleanServicePartitionCount = 1;
+
+    @DocProperty(description = "Boolean value specifying whether configuration revision changes are published and received through message provider. If enabled, nodes reload configuration on notification and check persistence only every configurationReloadFallbackInterval seconds", defaultValue = "false")
+    private Boolean configurationChangeNotificationEnabled = false;
+
+    @DocProperty(description = "Interval in seconds between configuration revision checks in persistence when configuration change notification is enabled", defaultValue = "600")
+    private int configurationReloadFallbackInterval = 600;
+
     @DocProperty(description = "Boolean value specifying whether to regenerate keys")
     private Boolean keyRegenerationEnabled;
 
@@ -525,6 +537,9 @@ public class AppConfiguration implements Configuration {
     @DocProperty(description = "The lifetime for unused unauthenticated session states")
     private int sessionIdUnauthenticatedUnusedLifetime = 7200; // 2h
 
+    @DocProperty(description = "Maximum time in seconds a session lastUsedAt update may stay in memory before it is written to persistence. It is bounded by half of sessionIdUnusedLifetime and sessionIdUnauthenticatedUnusedLifetime. 0 writes every update immediately", defaultValue = "0")
+    private int sessionIdLastUsedAtMaxStaleness = 0;
+
     @DocProperty(description = "Boolean value specifying whether to persist session ID on prompt none")
     private Boolean sessionIdPersistOnPromptNone;
 
@@ -585,6 +600,9 @@ public class AppConfiguration implements Configuration {
     @DocProperty(description = "The days to keep metric reported data")
     private int metricReporterKeepDataDays;
 
+    @DocProperty(description = "Boolean value specifying whether metrics are periodically written to persistence. If false metrics are only available on the metrics scrape endpoint", defaultValue = "true")
+    private Boolean metricReporterPersistenceEnabled = true;
+
     @DocProperty(description = "the pairwise ID type")
     private String pairwiseIdType; // persistent, algorithmic
 
@@ -905,6 +923,9 @@ public class AppConfiguration implements Configuration {
     @DocProperty(description = "Lifetime of discovery cache", defaultValue = "60")
     private int discoveryCacheLifetimeInMinutes = 60;
 
+    @DocProperty(description = "Lifetime in seconds of node local cache of access token grants used by introspection, userinfo and other token lookups. Revocation on other nodes becomes visible after this time. 0 disables cache", defaultValue = "0")
+    private int grantCacheLifetimeInSeconds = 0;
+
     @DocProperty(description = "List of configuration response claim allowed to be displayed in discovery endpoint")
     private List<String> discoveryAllowedKeys;
 
@@ -1205,6 +1226,14 @@ public class AppConfiguration implements Configuration {
         this.discoveryCacheLifetimeInMinutes = discoveryCacheLifetimeInMinutes;
     }
 
+    public int getGrantCacheLifetimeInSeconds() {
+        return grantCacheLifetimeInSeconds;
+    }
+
+    public void setGrantCacheLifetimeInSeconds(int grantCacheLifetimeInSeconds) {
+        this.grantCacheLifetimeInSeconds = grantCacheLifetimeInSeconds;
+    }
+
     public String getSoftwareStatementValidationType() {
         if (softwareStatementValidationType == null) {
             softwareStatementValidationType = SoftwareStatementValidationType.DEFAULT.getValue();
@@ -2539,6 +2568,39 @@ public class AppConfiguration implements Configuration {
         this.cleanServiceBatchChunkSize = cleanServiceBatchChunkSize;
     }
 
+    public int getCleanServiceParallelism() {
+        return cleanServiceParallelism;
+    }
+
+    public void setCleanServiceParallelism(int cleanServiceParallelism) {
+        this.cleanServiceParallelism = cleanServiceParallelism;
+    }
+
+    public int getCleanServicePartitionCount() {
+        return cleanServicePartitionCount;
+    }
+
+    public void setCleanServicePartitionCount(int cleanServicePartitionCount) {
+        this.cleanServicePartitionCount = cleanServicePartitionCount;
+    }
+
+    public Boolean getConfigurationChangeNotificationEnabled() {
+        if (configurationChangeNotificationEnabled == null) configurationChangeNotificationEnabled = false;
+        return configurationChangeNotificationEnabled;
+    }
+
+    public void setConfigurationChangeNotificationEnabled(Boolean configurationChangeNotificationEnabled) {
+        this.configurationChangeNotificationEnabled = configurationChangeNotificationEnabled;
+    }
+
+    public int getConfigurationReloadFallbackInterval() {
+        return configurationReloadFallbackInterval;
+    }
+
+    public void setConfigurationReloadFallbackInterval(int configurationReloadFallbackInterval) {
+        this.configurationReloadFallbackInterval = configurationReloadFallbackInterval;
+    }
+
     public Boolean getKeyRegenerationEnabled() {
         return keyRegenerationEnabled;
     }
@@ -2739,6 +2801,14 @@ public class AppConfiguration implements Configuration {
         this.sessionIdUnauthenticatedUnusedLifetime = sessionIdUnauthenticatedUnusedLifetime;
     }
 
+    public int getSessionIdLastUsedAtMaxStaleness() {
+        return sessionIdLastUsedAtMaxStaleness;
+    }
+
+    public void setSessionIdLastUsedAtMaxStaleness(int sessionIdLastUsedAtMaxStaleness) {
+        this.sessionIdLastUsedAtMaxStaleness = sessionIdLastUsedAtMaxStaleness;
+    }
+
     public Boolean getSessionIdPersistOnPromptNone() {
         return sessionIdPersistOnPromptNone;
     }
@@ -2806,6 +2876,15 @@ public class AppConfiguration implements Configuration {
         this.metricReporterKeepDataDays = metricReporterKeepDataDays;
     }
 
+    public Boolean getMetricReporterPersistenceEnabled() {
+        if (metricReporterPersistenceEnabled == null) metricReporterPersistenceEnabled = true;
+        return metricReporterPersistenceEnabled;
+    }
+
+    public void setMetricReporterPersistenceEnabled(Boolean metricReporterPersistenceEnabled) {
+        this.metricReporterPersistenceEnabled = metricReporterPersistenceEnabled;
+    }
+
     public String getPairwiseIdType() {
         return pairwiseIdType;
     }
@@ -75,7 +75,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -95,6 +97,10 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
     private final boolean rejectNoneAlg;
     private final KeySelectionStrategy keySelectionStrategy;
 
+    // Decoding keys from PKCS12/BCFKS keystore is expensive. Keys are cached until keystore changes
+    private final Map<String, Key> keys = new ConcurrentHashMap<>();
+    private final Map<String, Long> keyExpirationTimes = new ConcurrentHashMap<>();
+
     public AuthCryptoProvider() throws KeyStoreException {
         this(null, null, null);
     }
@@ -156,6 +162,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
     public void load() throws IOException, NoSuchAlgorithmException, CertificateException {
         try (InputStream is = new FileInputStream(keyStoreFile)) {
             keyStore.load(is, keyStoreSecret.toCharArray());
+            clearKeyCache();
             LOG.debug("Loaded keys from JKS.");
             LOG.trace("Loaded keys:" + getKeys());
         }
@@ -228,7 +235,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
                 return false;
             }
 
-            return keyStore.getKey(keyId, keyStoreSecret.toCharArray()) != null;
+            return getKey(keyId) != null;
         } catch (Exception e) {
             LOG.error(e.getMessage(), e);
             return false;
@@ -294,6 +301,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
     public boolean deleteKey(String alias) throws CryptoProviderException {
         try {
             keyStore.deleteEntry(alias);
+            clearKeyCache();
         } catch (KeyStoreException e) {
             throw new CryptoProviderException(e);
         }
@@ -339,8 +347,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
                 boolean keyOpsCondition = keyOpsType == null || (key.getKeyOpsType() == null || key.getKeyOpsType().isEmpty() || key.getKeyOpsType().contains(keyOpsType));
                 if (algorithm == key.getAlg() && (use == null || use == key.getUse()) && keyOpsCondition) {
                     kid = key.getKid();
-                    Key keyFromStore;
-                    keyFromStore = keyStore.getKey(kid, keyStoreSecret.toCharArray());
+                    Key keyFromStore = getKey(kid);
                     if (keyFromStore != null) {
                         keysByAlgAndUse.add(key);
                     }
@@ -369,7 +376,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
             return null;
         }
         try {
-            Key key = keyStore.getKey(alias, keyStoreSecret.toCharArray());
+            Key key = getKey(alias);
             if (key == null) {
                 return null;
             }
@@ -384,6 +391,28 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
         }
     }
 
+    private Key getKey(String alias) throws UnrecoverableKeyException, KeyStoreException, NoSuchAlgorithmException {
+        Key key = keys.get(alias);
+        if (key != null) {
+            return key;
+        }
+
+        key = keyStore.getKey(alias, keyStoreSecret.toCharArray());
+        if (key != null) {
+            keys.put(alias, key);
+        }
+
+        return key;
+    }
+
+    /**
+     * Drops decoded keys. It should be called after keystore modification
+     */
+    public void clearKeyCache() {
+        keys.clear();
+        keyExpirationTimes.clear();
+    }
+
     public X509Certificate generateV3Certificate(KeyPair keyPair, String issuer, String signatureAlgorithm, Long expirationTime) throws CertIOException, OperatorCreationException, CertificateException {
         PrivateKey privateKey = keyPair.getPrivate();
         PublicKey publicKey = keyPair.getPublic();
@@ -439,8 +468,12 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
 
     private void checkKeyExpiration(String alias) {
         try {
-            Date expirationDate = ((X509Certificate) keyStore.getCertificate(alias)).getNotAfter();
-            checkKeyExpiration(alias, expirationDate.getTime());
+            Long expirationTime = keyExpirationTimes.get(alias);
+            if (expirationTime == null) {
+                expirationTime = ((X509Certificate) keyStore.getCertificate(alias)).getNotAfter().getTime();
+                keyExpirationTimes.put(alias, expirationTime);
+            }
+            checkKeyExpiration(alias, expirationTime);
         } catch (KeyStoreException e) {
             e.printStackTrace();
         }
@@ -544,6 +577,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
             keyStore.deleteEntry(oldAliasByAlgorithm);
             LOG.trace("New key: " + alias + ", deleted key: " + oldAliasByAlgorithm);
         }
+        clearKeyCache();
 
         try (FileOutputStream stream = new FileOutputStream(keyStoreFile)) {
             keyStore.store(stream, keyStoreSecret.toCharArray());
@@ -0,0 +1,393 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.model.jwk;
+
+import io.jans.as.model.util.JwtUtil;
+import io.jans.util.StringHelper;
+import org.apache.http.Header;
+import org.apache.http.HeaderElement;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import static io.jans.as.model.jwk.JWKParameter.JSON_WEB_KEY_SET;
+import static io.jans.as.model.jwk.JWKParameter.KEY_ID;
+
+/**
+ * Shared cache of JSON documents (JWKS) loaded from remote uris.
+ *
+ * Entry life time is taken from Cache-Control max-age response header (clamped to
+ * [MIN_EXPIRATION, MAX_EXPIRATION]) and entry is refreshed in background before it expires.
+ * Refresh sends If-None-Match when server returned ETag. Concurrent loads of the same uri are
+ * coalesced into one request. When remote endpoint is not available last loaded document is
+ * returned for up to MAX_STALE after expiration and next attempt is not made earlier than
+ * MIN_REFRESH_INTERVAL. Background refreshes run on at most MAX_REFRESH_THREADS threads, refresh
+ * is skipped when MAX_REFRESH_QUEUE_SIZE refreshes are already waiting.
+ *
+ * Returned JSONObject instances are shared and must not be modified.
+ */
+public class RemoteJwksCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RemoteJwksCache.class);
+
+    public static final long DEFAULT_EXPIRATION = TimeUnit.MINUTES.toMillis(5);
+    public static final long MIN_EXPIRATION = TimeUnit.SECONDS.toMillis(30);
+    public static final long MAX_EXPIRATION = TimeUnit.HOURS.toMillis(24);
+    public static final long MAX_STALE = TimeUnit.HOURS.toMillis(1);
+    public static final long MIN_REFRESH_INTERVAL = TimeUnit.SECONDS.toMillis(10);
+
+    // Background refresh starts when this part of entry life time passed
+    private static final double REFRESH_AHEAD_FACTOR = 0.8;
+
+    private static final int MAX_ENTRIES = 1000;
+    private static final int CONNECT_TIMEOUT = 5000;
+    private static final int SOCKET_TIMEOUT = 10000;
+
+    private static final int MAX_REFRESH_THREADS = 4;
+    private static final int MAX_REFRESH_QUEUE_SIZE = 100;
+
+    private static final String REFRESH_THREAD_NAME = "JwksRefreshThread";
+
+    private static final RemoteJwksCache INSTANCE = new RemoteJwksCache(System::currentTimeMillis);
+
+    private final LongSupplier clock;
+    private final CloseableHttpClient httpClient;
+    private final ThreadPoolExecutor refreshExecutor;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Entry>> inFlightLoads = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder notModifiedCount = new LongAdder();
+
+    RemoteJwksCache(LongSupplier clock) {
+        this.clock = clock;
+        this.httpClient = createHttpClient();
+        this.refreshExecutor = createRefreshExecutor();
+    }
+
+    public static RemoteJwksCache instance() {
+        return INSTANCE;
+    }
+
+    public JSONObject getJwks(String jwksUri) {
+        if (StringHelper.isEmpty(jwksUri)) {
+            return null;
+        }
+
+        long now = clock.getAsLong();
+        Entry entry = entries.get(jwksUri);
+        if (entry != null) {
+            if (now < entry.expiresAt) {
+                hitCount.increment();
+                if ((now >= entry.refreshAt) && (now >= entry.retryAt)) {
+                    refreshAsync(jwksUri);
+                }
+                return entry.jwks;
+            }
+
+            if (now < entry.retryAt) {
+                // Previous attempt failed recently
+                return entry.getStaleJwks(now);
+            }
+        }
+
+        Entry loaded = loadOnce(jwksUri).join();
+        return loaded == null ? null : loaded.getStaleJwks(clock.getAsLong());
+    }
+
+    /**
+     * Returns cached JWKS. If it does not contain key with specified kid JWKS is reloaded, but not
+     * more often than once per MIN_REFRESH_INTERVAL
+     */
+    public JSONObject getJwks(String jwksUri, String keyId) {
+        JSONObject jwks = getJwks(jwksUri);
+        if (StringHelper.isEmpty(keyId) || containsKeyId(jwks, keyId)) {
+            return jwks;
+        }
+
+        Entry entry = entries.get(jwksUri);
+        if ((entry != null) && (clock.getAsLong() < entry.fetchedAt + MIN_REFRESH_INTERVAL)) {
+            return jwks;
+        }
+
+        log.debug("Key '{}' is not found in cached jwks, reloading {}", keyId, jwksUri);
+        Entry loaded = loadOnce(jwksUri).join();
+        return loaded == null ? null : loaded.getStaleJwks(clock.getAsLong());
+    }
+
+    public void invalidate(String jwksUri) {
+        entries.remove(jwksUri);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Stops background refresh and releases http connections. Cached documents are still returned
+     * until they become too stale.
+     */
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+        try {
+            httpClient.close();
+        } catch (Exception ex) {
+            log.debug("Failed to close jwks http client", ex);
+        }
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    public long getNotModifiedCount() {
+        return notModifiedCount.sum();
+    }
+
+    private void refreshAsync(String jwksUri) {
+        if (inFlightLoads.containsKey(jwksUri)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> loadOnce(jwksUri));
+        } catch (RejectedExecutionException ex) {
+            // Entry is loaded on request when it expires
+            log.debug("Skipped refresh of jwks {}, refresh queue is full or cache is shut down", jwksUri);
+        } catch (Exception ex) {
+            log.error("Failed to schedule refresh of jwks {}", jwksUri, ex);
+        }
+    }
+
+    private CompletableFuture<Entry> loadOnce(String jwksUri) {
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = inFlightLoads.putIfAbsent(jwksUri, future);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            future.complete(load(jwksUri));
+        } catch (Exception ex) {
+            log.error("Failed to load jwks {}", jwksUri, ex);
+            future.complete(null);
+        } finally {
+            inFlightLoads.remove(jwksUri, future);
+        }
+
+        return future;
+    }
+
+    private Entry load(String jwksUri) {
+        Entry previous = entries.get(jwksUri);
+        Entry entry = fetch(jwksUri, previous);
+        if ((previous == null) && (entries.size() >= MAX_ENTRIES)) {
+            evict();
+        }
+        entries.put(jwksUri, entry);
+
+        return entry;
+    }
+
+    private Entry fetch(String jwksUri, Entry previous) {
+        log.debug("Retrieving jwks {}...", jwksUri);
+
+        HttpGet request = new HttpGet(jwksUri);
+        if ((previous != null) && (previous.jwks != null) && (previous.etag != null)) {
+            request.setHeader(HttpHeaders.IF_NONE_MATCH, previous.etag);
+        }
+
+        requestCount.increment();
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+            int status = response.getStatusLine().getStatusCode();
+            log.debug("Status: {}", status);
+
+            long now = clock.getAsLong();
+            if ((status == HttpStatus.SC_NOT_MODIFIED) && (previous != null) && (previous.jwks != null)) {
+                notModifiedCount.increment();
+                EntityUtils.consumeQuietly(response.getEntity());
+                return new Entry(previous.jwks, getEtag(response, previous.etag), now, getExpiration(response));
+            }
+
+            if (status == HttpStatus.SC_OK) {
+                String json = EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+                JSONObject jwks = JwtUtil.fromJson(json);
+                log.trace("JWK: {}", jwks);
+
+                return new Entry(jwks, getEtag(response, null), now, getExpiration(response));
+            }
+
+            EntityUtils.consumeQuietly(response.getEntity());
+            log.error("Failed to load jwks {}, status: {}", jwksUri, status);
+        } catch (Exception ex) {
+            log.error("Failed to load jwks {}", jwksUri, ex);
+        }
+
+        return Entry.failed(previous, clock.getAsLong());
+    }
+
+    private void evict() {
+        long now = clock.getAsLong();
+        entries.values().removeIf(entry -> entry.getStaleJwks(now) == null);
+
+        // Drop the oldest entry if there are no expired ones
+        while (entries.size() >= MAX_ENTRIES) {
+            Map.Entry<String, Entry> oldest = null;
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                if ((oldest == null) || (entry.getValue().fetchedAt < oldest.getValue().fetchedAt)) {
+                    oldest = entry;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            entries.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    static long getExpiration(CloseableHttpResponse response) {
+        for (Header header : response.getHeaders(HttpHeaders.CACHE_CONTROL)) {
+            for (HeaderElement element : header.getElements()) {
+                String name = element.getName();
+                if ("no-cache".equalsIgnoreCase(name) || "no-store".equalsIgnoreCase(name)) {
+                    // Keep it for short time to avoid request per call
+                    return MIN_EXPIRATION;
+                }
+                if ("max-age".equalsIgnoreCase(name) && (element.getValue() != null)) {
+                    try {
+                        long maxAge = TimeUnit.SECONDS.toMillis(Long.parseLong(element.getValue().trim()));
+                        return Math.max(MIN_EXPIRATION, Math.min(MAX_EXPIRATION, maxAge));
+                    } catch (NumberFormatException ex) {
+                        log.debug("Invalid Cache-Control max-age value: '{}'", element.getValue());
+                    }
+                }
+            }
+        }
+
+        return DEFAULT_EXPIRATION;
+    }
+
+    private static String getEtag(CloseableHttpResponse response, String defaultEtag) {
+        Header header = response.getFirstHeader(HttpHeaders.ETAG);
+        return header == null ? defaultEtag : header.getValue();
+    }
+
+    static boolean containsKeyId(JSONObject jwks, String keyId) {
+        if ((jwks == null) || !jwks.has(JSON_WEB_KEY_SET)) {
+            return false;
+        }
+
+        JSONArray keys = jwks.optJSONArray(JSON_WEB_KEY_SET);
+        if (keys == null) {
+            return false;
+        }
+
+        for (int i = 0; i < keys.length(); i++) {
+            JSONObject key = keys.optJSONObject(i);
+            if ((key != null) && keyId.equals(key.optString(KEY_ID, null))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static CloseableHttpClient createHttpClient() {
+        PoolingHttpClientConnectionManager cm = new PoolingHttpClientConnectionManager();
+        cm.setMaxTotal(200);
+        cm.setDefaultMaxPerRoute(20);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(CONNECT_TIMEOUT)
+                .setConnectionRequestTimeout(CONNECT_TIMEOUT)
+                .setSocketTimeout(SOCKET_TIMEOUT).build();
+
+        return HttpClients.custom().useSystemProperties()
+                .setDefaultRequestConfig(requestConfig)
+                .setConnectionManager(cm).build();
+    }
+
+    private static ThreadPoolExecutor createRefreshExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_REFRESH_THREADS, MAX_REFRESH_THREADS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(MAX_REFRESH_QUEUE_SIZE), runnable -> {
+                    Thread thread = new Thread(runnable, REFRESH_THREAD_NAME + "-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static class Entry {
+
+        private final JSONObject jwks;
+        private final String etag;
+        private final long fetchedAt;
+        private final long refreshAt;
+        private final long expiresAt;
+        private final long retryAt;
+
+        Entry(JSONObject jwks, String etag, long fetchedAt, long expiration) {
+            this(jwks, etag, fetchedAt, fetchedAt + (long) (expiration * REFRESH_AHEAD_FACTOR), fetchedAt + expiration, fetchedAt);
+        }
+
+        private Entry(JSONObject jwks, String etag, long fetchedAt, long refreshAt, long expiresAt, long retryAt) {
+            this.jwks = jwks;
+            this.etag = etag;
+            this.fetchedAt = fetchedAt;
+            this.refreshAt = refreshAt;
+            this.expiresAt = expiresAt;
+            this.retryAt = retryAt;
+        }
+
+        static Entry failed(Entry previous, long now) {
+            long retryAt = now + MIN_REFRESH_INTERVAL;
+            if (previous == null) {
+                return new Entry(null, null, now, now, now, retryAt);
+            }
+
+            return new Entry(previous.jwks, previous.etag, now, previous.refreshAt, previous.expiresAt, retryAt);
+        }
+
+        JSONObject getStaleJwks(long now) {
+            return now < expiresAt + MAX_STALE ? jwks : null;
+        }
+    }
+}
@@ -14,6 +14,7 @@ import io.jans.as.model.crypto.signature.ECDSAPublicKey;
 import io.jans.as.model.crypto.signature.RSAPublicKey;
 import io.jans.as.model.crypto.signature.SignatureAlgorithm;
 import io.jans.as.model.exception.InvalidParameterException;
+import io.jans.as.model.jwk.RemoteJwksCache;
 import io.jans.as.model.jwt.Jwt;
 import io.jans.util.StringHelper;
 import org.bouncycastle.jce.provider.X509CertificateObject;
@@ -181,32 +182,8 @@ public class JwtUtil {
         return publicKey;
     }
 
-    private static String getJwks(String jwksUri) {
-        String jwks = "";
-        jakarta.ws.rs.client.Client clientRequest = ClientBuilder.newClient();
-        try {
-            Response clientResponse = clientRequest.target(jwksUri).request().buildGet().invoke();
-
-            int status = clientResponse.getStatus();
-            if (log.isDebugEnabled()) {
-                log.debug(String.format("Status: %s", String.valueOf(status)));
-            }
-
-            if (status == 200) {
-                jwks = clientResponse.readEntity(String.class);
-                if (log.isDebugEnabled()) {
-                    log.debug(String.format("JWK: %s", jwks));
-                }
-            }
-        } finally {
-            clientRequest.close();
-        }
-        return jwks;
-    }
-
-    private static JSONObject buildJsonKey(String jwks, String keyId) {
+    private static JSONObject buildJsonKey(JSONObject jsonObject, String keyId) {
         JSONObject jsonKey = null;
-        JSONObject jsonObject = new JSONObject(jwks);
         JSONArray keys = jsonObject.getJSONArray(JSON_WEB_KEY_SET);
         if (keys.length() > 0) {
             if (StringHelper.isEmpty(keyId)) {
@@ -227,11 +204,14 @@ public class JwtUtil {
     public static JSONObject getJsonKey(String jwksUri, String jwks, String keyId) {
         JSONObject jsonKey = null;
         try {
+            JSONObject jsonObject;
             if (StringHelper.isEmpty(jwks)) {
-                jwks = getJwks(jwksUri);
+                jsonObject = RemoteJwksCache.instance().getJwks(jwksUri, keyId);
+            } else {
+                jsonObject = new JSONObject(jwks);
             }
-            if (StringHelper.isNotEmpty(jwks)) {
-                jsonKey = buildJsonKey(jwks, keyId);
+            if (jsonObject != null) {
+                jsonKey = buildJsonKey(jsonObject, keyId);
             }
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
@@ -0,0 +1,118 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.model.crypto;
+
+import io.jans.as.model.BaseTest;
+import io.jans.as.model.jwk.Algorithm;
+import io.jans.util.security.SecurityProviderUtility;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+public class AuthCryptoProviderTest extends BaseTest {
+
+    private static final String KEY_STORE_SECRET = "secret";
+    private static final String DN_NAME = "CN=Jans Auth CA Certificates";
+
+    private File keyStoreFile;
+
+    @BeforeClass
+    public void setUpClass() {
+        SecurityProviderUtility.installBCProvider(true);
+    }
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        keyStoreFile = File.createTempFile("auth-crypto-provider", ".p12");
+        keyStoreFile.delete();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        keyStoreFile.delete();
+    }
+
+    @Test
+    public void getPrivateKey_whenKeyIsRemovedBehindCache_shouldReturnCachedKey() throws Exception {
+        AuthCryptoProvider cryptoProvider = createCryptoProvider();
+        String kid = generateKey(cryptoProvider, Algorithm.ES256);
+        assertNotNull(cryptoProvider.getPrivateKey(kid));
+
+        cryptoProvider.getKeyStore().deleteEntry(kid);
+
+        assertNotNull(cryptoProvider.getPrivateKey(kid));
+    }
+
+    @Test
+    public void clearKeyCache_afterKeystoreModification_shouldDropCachedKey() throws Exception {
+        AuthCryptoProvider cryptoProvider = createCryptoProvider();
+        String kid = generateKey(cryptoProvider, Algorithm.ES256);
+        assertNotNull(cryptoProvider.getPrivateKey(kid));
+        cryptoProvider.getKeyStore().deleteEntry(kid);
+
+        cryptoProvider.clearKeyCache();
+
+        assertNull(cryptoProvider.getPrivateKey(kid));
+    }
+
+    @Test
+    public void deleteKey_forCachedKey_shouldDropCachedKey() throws Exception {
+        AuthCryptoProvider cryptoProvider = createCryptoProvider();
+        String kid = generateKey(cryptoProvider, Algorithm.ES256);
+        assertNotNull(cryptoProvider.getPrivateKey(kid));
+
+        cryptoProvider.deleteKey(kid);
+
+        assertNull(cryptoProvider.getPrivateKey(kid));
+        assertFalse(cryptoProvider.containsKey(kid));
+    }
+
+    @Test
+    public void generateKey_afterKeystoreModification_shouldDropCachedKey() throws Exception {
+        AuthCryptoProvider cryptoProvider = createCryptoProvider();
+        String kid = generateKey(cryptoProvider, Algorithm.ES256);
+        assertNotNull(cryptoProvider.getPrivateKey(kid));
+        cryptoProvider.getKeyStore().deleteEntry(kid);
+
+        generateKey(cryptoProvider, Algorithm.ES384);
+
+        assertNull(cryptoProvider.getPrivateKey(kid));
+        assertFalse(cryptoProvider.containsKey(kid));
+    }
+
+    @Test
+    public void load_whenKeyIsRotatedByOtherProvider_shouldDropCachedKey() throws Exception {
+        AuthCryptoProvider rotatingProvider = createCryptoProvider();
+        String kid = generateKey(rotatingProvider, Algorithm.ES256);
+
+        AuthCryptoProvider cryptoProvider = createCryptoProvider();
+        assertNotNull(cryptoProvider.getPrivateKey(kid));
+
+        // new key of the same algorithm replaces old one in keystore file
+        generateKey(rotatingProvider, Algorithm.ES256);
+        cryptoProvider.load();
+
+        assertNull(cryptoProvider.getPrivateKey(kid));
+        assertFalse(cryptoProvider.containsKey(kid));
+    }
+
+    private AuthCryptoProvider createCryptoProvider() throws Exception {
+        return new AuthCryptoProvider(keyStoreFile.getAbsolutePath(), KEY_STORE_SECRET, DN_NAME);
+    }
+
+    private static String generateKey(AuthCryptoProvider cryptoProvider, Algorithm algorithm) throws Exception {
+        return cryptoProvider.generateKey(algorithm, System.currentTimeMillis() + 86400000L).getString("kid");
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.model.jwk;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.jans.as.model.BaseTest;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class RemoteJwksCacheTest extends BaseTest {
+
+    private static final String ETAG = "\"v1\"";
+
+    private HttpServer server;
+    private String jwksUri;
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger notModifiedCount = new AtomicInteger();
+
+    private volatile String keyId;
+    private volatile String cacheControl;
+    private volatile int status;
+    private volatile long responseDelay;
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+        keyId = "key1";
+        cacheControl = "max-age=600";
+        status = 200;
+        responseDelay = 0;
+        requestCount.set(0);
+        notModifiedCount.set(0);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/jwks", this::handle);
+        server.createContext("/moved-jwks", this::redirect);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        jwksUri = "http://localhost:" + server.getAddress().getPort() + "/jwks";
+    }
+
+    @AfterMethod
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void getJwks_withinMaxAge_shouldRequestOnce() {
+        showTitle("getJwks_withinMaxAge_shouldRequestOnce");
+        RemoteJwksCache cache = new RemoteJwksCache(now::get);
+
+        JSONObject jwks = cache.getJwks(jwksUri);
+        now.addAndGet(TimeUnit.SECONDS.toMillis(100));
+
+        assertNotNull(jwks);
+        assertSame(cache.getJwks(jwksUri), jwks);
+        assertEquals(requestCount.get(), 1);
+        assertEquals(cache.getHitCount(), 1);
+    }
+
+    @Test
+    public void getJwks_afterExpiration_shouldRevalidateWithEtag() {
+        showTitle("getJwks_afterExpiration_shouldRevalidateWithEtag");
+        RemoteJwksCache cache = new RemoteJwksCache(now::get);
+
+        JSONObject jwks = cache.getJwks(jwksUri);
+        now.addAndGet(TimeUnit.SECONDS.toMillis(601));
+
+        assertSame(cache.getJwks(jwksUri), jwks);
+        assertEquals(requestCount.get(), 2);
+        assertEquals(notModifiedCount.get(), 1);
+        assertEquals(cache.getNotModifiedCount(), 1);
+    }
+
+    @Test
+    public void getJwks_beforeExpiration_shouldRefreshInBackground() throws InterruptedException {
+        showTitle("getJwks_beforeExpiration_shouldRefreshInBackground");
+        RemoteJwksCache cache = new RemoteJwksCache(now::get);
+
+        JSONObject jwks = cache.getJwks(jwksUri);
+        now.addAndGet(TimeUnit.SECONDS.toMillis(500));
+        responseDelay = 500;
+
+        long start = System.nanoTime();
+        assertSame(cache.getJwks(jwksUri), jwks);
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(responseDelay));
+
+        waitForNotModified(cache);
+        assertEquals(requestCount.get(), 2);
+        assertSame(cache.getJwks(jwksUri), jwks);
+    }
+
+    @Test
+    public void getJwks_zeroMaxAge_shouldKeepMinExpiration() {
+        showTitle("getJwks_zeroMaxAge_shouldKeepMinExpiration");
+        cacheControl = "no-cache";
+        RemoteJwksCache cache = new RemoteJwksCache(now::get);
+
+        cache.getJwks(jwksUri);
+        now.addAndGet(RemoteJwksCache.MIN_EXPIRATION / 2);
+        cache.getJwks(jwksUri);
+        assertEquals(requestCount.get(), 1);
+
+        now.addAndGet(RemoteJwksCache.MIN_EXPIRATION);
+        cache.getJwks(jwksUri);
+        assertEquals(requestCount.get(), 2);
+    }
+
+    @Test
+    public void getJwks_concurrentCalls_shouldBeCoalesced() throws Exception {
+        showTitle("getJwks_concurrentCalls_shouldBeCoalesced");
+        RemoteJwksCache cache = new RemoteJwksCache(now::get);
+        responseDelay = 300;
+
+        int threads = 32;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<JSONObject>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executorService.submit(() -> {
+                startLatch.await();
+                return cache.getJwks(jwksUri);
+            }));
+        }
+        startLatch.countDown();
+
+        for (Future<JSONObject> result : results) {
+            assertNotNull(result.get(5, TimeUnit.SECONDS));
+        }
+        executorService.shutdown();
+
+        assertEquals(requestCount.get(), 1);
+    }
+
+    @Test
+    public void getJwksWithKeyId_unknownKid_shouldForceRefresh() {
+        showTitle("getJwksWithKeyId_unknownKid_shouldForceRefresh");
+        RemoteJwksCache cache = new RemoteJwksCache(now::get);
+
+        cache.getJwks(jwksUri, "key1");
+        now.addAndGet(RemoteJwksCache.MIN_REFRESH_INTERVAL);
+        keyId = "key2";
+
+        JSONObject jwks = cache.getJwks(jwksUri, "key2");
+        assertTrue(RemoteJwksCache.containsKeyId(jwks, "key2"));
+        assertEquals(requestCount.get(), 2);
+
+        // Known kid is served from cache
+        cache.getJwks(jwksUri, "key2");
+        assertEquals(requestCount.get(), 2);
+    }
+
+    @Test
+    public void getJwksWithKeyId_unknownKid_shouldBeRateLimited() {
+        showTitle("getJwksWithKeyId_unknownKid_shouldBeRateLimited");
+        RemoteJwksCache cache = new RemoteJwksCache(now::get);
+
+        cache.getJwks(jwksUri);
+        for (int i = 0; i < 10; i++) {
+            cache.getJwks(jwksUri, "unknown" + i);
+        }
+
+        assertEquals(requestCount.get(), 1);
+    }
+
+    @Test
+    public void getJwks_endpointFailure_shouldReturnStaleAndBackOff() {
+        showTitle("getJwks_endpointFailure_shouldReturnStaleAndBackOff");
+        RemoteJwksCache cache = new RemoteJwksCache(now::get);
+
+        JSONObject jwks = cache.getJwks(jwksUri);
+        status = 503;
+        now.addAndGet(TimeUnit.SECONDS.toMillis(601));
+
+        assertSame(cache.getJwks(jwksUri), jwks);
+        assertSame(cache.getJwks(jwksUri), jwks);
+        assertEquals(requestCount.get(), 2);
+
+        now.addAndGet(RemoteJwksCache.MAX_STALE);
+        assertNull(cache.getJwks(jwksUri));
+    }
+
+    @Test
+    public void getJwks_unavailableEndpoint_shouldNotRetryOnEveryCall() {
+        showTitle("getJwks_unavailableEndpoint_shouldNotRetryOnEveryCall");
+        RemoteJwksCache cache = new RemoteJwksCache(now::get);
+        status = 404;
+
+        assertNull(cache.getJwks(jwksUri));
+        assertNull(cache.getJwks(jwksUri));
+        assertEquals(requestCount.get(), 1);
+
+        now.addAndGet(RemoteJwksCache.MIN_REFRESH_INTERVAL);
+        status = 200;
+        assertNotNull(cache.getJwks(jwksUri));
+        assertEquals(requestCount.get(), 2);
+    }
+
+    @Test
+    public void getJwks_redirect_shouldFollowRedirect() {
+        showTitle("getJwks_redirect_shouldFollowRedirect");
+        RemoteJwksCache cache = new RemoteJwksCache(now::get);
+
+        JSONObject jwks = cache.getJwks(jwksUri.replace("/jwks", "/moved-jwks"));
+
+        assertTrue(RemoteJwksCache.containsKeyId(jwks, "key1"));
+        assertEquals(requestCount.get(), 1);
+    }
+
+    @Test
+    public void getJwks_afterShutdown_shouldNotRefreshInBackground() throws InterruptedException {
+        showTitle("getJwks_afterShutdown_shouldNotRefreshInBackground");
+        RemoteJwksCache cache = new RemoteJwksCache(now::get);
+
+        JSONObject jwks = cache.getJwks(jwksUri);
+        cache.shutdown();
+        now.addAndGet(TimeUnit.SECONDS.toMillis(500));
+
+        assertSame(cache.getJwks(jwksUri), jwks);
+        Thread.sleep(200);
+        assertEquals(requestCount.get(), 1);
+    }
+
+    private void waitForNotModified(RemoteJwksCache cache) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cache.getNotModifiedCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void redirect(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().add("Location", jwksUri);
+        exchange.sendResponseHeaders(302, -1);
+        exchange.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            if (responseDelay > 0) {
+                Thread.sleep(responseDelay);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        String etag = keyId.equals("key1") ? ETAG : "\"" + keyId + "\"";
+        exchange.getResponseHeaders().add("Cache-Control", cacheControl);
+        exchange.getResponseHeaders().add("ETag", etag);
+
+        if (status != 200) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModifiedCount.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+
+        JSONObject key = new JSONObject();
+        key.put(JWKParameter.KEY_ID, keyId);
+        key.put(JWKParameter.KEY_TYPE, "RSA");
+        JSONObject jwks = new JSONObject();
+        jwks.put(JWKParameter.JSON_WEB_KEY_SET, new JSONArray().put(key));
+
+        byte[] body = jwks.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+}
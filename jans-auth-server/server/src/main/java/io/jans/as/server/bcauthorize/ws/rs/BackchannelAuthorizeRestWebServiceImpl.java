@@ -6,7 +6,6 @@
 
 package io.jans.as.server.bcauthorize.ws.rs;
 
-import io.jans.as.client.JwkClient;
 import io.jans.as.common.model.common.User;
 import io.jans.as.common.model.registration.Client;
 import io.jans.as.common.service.common.UserService;
@@ -14,6 +13,7 @@ import io.jans.as.model.common.BackchannelTokenDeliveryMode;
 import io.jans.as.model.common.FeatureFlagType;
 import io.jans.as.model.configuration.AppConfiguration;
 import io.jans.as.model.crypto.AbstractCryptoProvider;
+import io.jans.as.model.crypto.PublicKey;
 import io.jans.as.model.crypto.signature.AlgorithmFamily;
 import io.jans.as.model.crypto.signature.ECDSAPublicKey;
 import io.jans.as.model.crypto.signature.RSAPublicKey;
@@ -25,6 +25,7 @@ import io.jans.as.model.exception.InvalidJwtException;
 import io.jans.as.model.jws.ECDSASigner;
 import io.jans.as.model.jws.RSASigner;
 import io.jans.as.model.jwt.Jwt;
+import io.jans.as.model.util.JwtUtil;
 import io.jans.as.server.audit.ApplicationAuditLogger;
 import io.jans.as.server.authorize.ws.rs.AuthorizeRestWebServiceValidator;
 import io.jans.as.server.ciba.CIBAAuthorizeParamsValidatorService;
@@ -240,13 +241,12 @@ public class BackchannelAuthorizeRestWebServiceImpl implements BackchannelAuthor
                 }
 
                 boolean validSignature = false;
-                if (algorithm.getFamily() == AlgorithmFamily.RSA) {
-                    RSAPublicKey publicKey = JwkClient.getRSAPublicKey(client.getJwksUri(), keyId);
-                    RSASigner rsaSigner = new RSASigner(algorithm, publicKey);
+                PublicKey publicKey = JwtUtil.getPublicKey(client.getJwksUri(), null, algorithm, keyId);
+                if (algorithm.getFamily() == AlgorithmFamily.RSA && publicKey instanceof RSAPublicKey) {
+                    RSASigner rsaSigner = new RSASigner(algorithm, (RSAPublicKey) publicKey);
                     validSignature = rsaSigner.validate(jwt);
-                } else if (algorithm.getFamily() == AlgorithmFamily.EC) {
-                    ECDSAPublicKey publicKey = JwkClient.getECDSAPublicKey(client.getJwksUri(), keyId);
-                    ECDSASigner ecdsaSigner = new ECDSASigner(algorithm, publicKey);
+                } else if (algorithm.getFamily() == AlgorithmFamily.EC && publicKey instanceof ECDSAPublicKey) {
+                    ECDSASigner ecdsaSigner = new ECDSASigner(algorithm, (ECDSAPublicKey) publicKey);
                     validSignature = ecdsaSigner.validate(jwt);
                 }
                 if (!validSignature) {
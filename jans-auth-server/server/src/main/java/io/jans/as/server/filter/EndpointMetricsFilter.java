@@ -0,0 +1,60 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.server.filter;
+
+import com.codahale.metrics.Timer;
+import io.jans.as.model.common.FeatureFlagType;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.service.MetricService;
+import io.jans.as.server.service.stat.MetricScrapeService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Records latency of each resource method into metric registry. Timer name is based on resource class and method
+ * (not on request path) to keep number of series bounded.
+ */
+@Provider
+public class EndpointMetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String TIMER_CONTEXT_PROPERTY = EndpointMetricsFilter.class.getName() + ".timer";
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Inject
+    private MetricService metricService;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        if (!appConfiguration.isFeatureEnabled(FeatureFlagType.METRIC)
+                || resourceInfo.getResourceClass() == null || resourceInfo.getResourceMethod() == null) {
+            return;
+        }
+
+        final String name = MetricScrapeService.ENDPOINT_TIMER_PREFIX + resourceInfo.getResourceClass().getSimpleName()
+                + "." + resourceInfo.getResourceMethod().getName();
+        requestContext.setProperty(TIMER_CONTEXT_PROPERTY, metricService.getTimer(name).time());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        final Object timerContext = requestContext.getProperty(TIMER_CONTEXT_PROPERTY);
+        if (timerContext instanceof Timer.Context) {
+            ((Timer.Context) timerContext).stop();
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Supplier;
 
 import static org.apache.commons.lang3.BooleanUtils.isTrue;
 
@@ -55,6 +56,9 @@ public abstract class AbstractAuthorizationGrant implements IAuthorizationGrant
     private KeyGeneratorTimer keyGeneratorTimer;
 
     private User user;
+    private volatile Supplier<User> userLoader;
+    private String loaderUserId;
+    private String loaderUserDn;
     private AuthorizationGrantType authorizationGrantType;
     private Client client;
     private Set<String> scopes;
@@ -96,6 +100,7 @@ public abstract class AbstractAuthorizationGrant implements IAuthorizationGrant
                         Date authenticationTime) {
         this.authenticationTime = authenticationTime != null ? new Date(authenticationTime.getTime()) : null;
         this.user = user;
+        this.userLoader = null;
         this.authorizationGrantType = authorizationGrantType;
         this.client = client;
         this.scopes = new CopyOnWriteArraySet<>();
@@ -287,9 +292,41 @@ public abstract class AbstractAuthorizationGrant implements IAuthorizationGrant
      */
     @Override
     public User getUser() {
+        if (userLoader != null) {
+            synchronized (this) {
+                final Supplier<User> loader = userLoader;
+                if (loader != null) {
+                    user = loader.get();
+                    userLoader = null;
+                }
+            }
+        }
         return user;
     }
 
+    /**
+     * Defers user lookup until user is actually needed. Until then user id and dn are served from given values
+     * (e.g. taken from token entry), so callers which need only them do not hit persistence.
+     *
+     * @param userId     user id
+     * @param userDn     user dn
+     * @param userLoader loader which is called at most once on first {@link #getUser()} call
+     */
+    public void setUserLoader(String userId, String userDn, Supplier<User> userLoader) {
+        this.loaderUserId = userId;
+        this.loaderUserDn = userDn;
+        this.userLoader = userLoader;
+    }
+
+    public boolean isUserLoaded() {
+        return userLoader == null;
+    }
+
+    public synchronized void setUser(User user) {
+        this.user = user;
+        this.userLoader = null;
+    }
+
     public String getAcrValues() {
         return acrValues;
     }
@@ -405,6 +442,10 @@ public abstract class AbstractAuthorizationGrant implements IAuthorizationGrant
 
     @Override
     public String getUserId() {
+        if (userLoader != null && StringUtils.isNotBlank(loaderUserId)) {
+            return loaderUserId;
+        }
+        final User user = getUser();
         if (user == null) {
             return null;
         }
@@ -414,6 +455,10 @@ public abstract class AbstractAuthorizationGrant implements IAuthorizationGrant
 
     @Override
     public String getUserDn() {
+        if (userLoader != null && StringUtils.isNotBlank(loaderUserDn)) {
+            return loaderUserDn;
+        }
+        final User user = getUser();
         if (user == null) {
             return null;
         }
@@ -16,6 +16,7 @@ import io.jans.as.model.util.Util;
 import io.jans.as.server.model.authorize.JwtAuthorizationRequest;
 import io.jans.as.server.service.ClientService;
 import io.jans.as.server.service.GrantService;
+import io.jans.as.server.service.LocalResponseCache;
 import io.jans.as.server.service.MetricService;
 import io.jans.as.server.util.TokenHashUtil;
 import io.jans.model.metric.MetricType;
@@ -73,6 +74,9 @@ public class AuthorizationGrantList implements IAuthorizationGrantList {
     @Inject
     private MetricService metricService;
 
+    @Inject
+    private LocalResponseCache localResponseCache;
+
     @Override
     public void removeAuthorizationGrants(List<AuthorizationGrant> authorizationGrants) {
         if (authorizationGrants != null && !authorizationGrants.isEmpty()) {
@@ -245,12 +249,23 @@ public class AuthorizationGrantList implements IAuthorizationGrantList {
 
     @Override
     public AuthorizationGrant getAuthorizationGrantByAccessToken(String accessToken) {
+        if (StringUtils.isNotBlank(accessToken)) {
+            final AuthorizationGrant cachedGrant = localResponseCache.getGrant(TokenHashUtil.hash(accessToken));
+            if (cachedGrant != null) {
+                return cachedGrant;
+            }
+        }
+
         final TokenEntity tokenEntity = grantService.getGrantByCode(accessToken);
         if (tokenEntity != null && (
                 tokenEntity.getTokenTypeEnum() == TokenType.ACCESS_TOKEN ||
                         tokenEntity.getTokenTypeEnum() == TokenType.LONG_LIVED_ACCESS_TOKEN ||
                         tokenEntity.getTokenTypeEnum() == TokenType.TX_TOKEN)) {
-            return asGrant(tokenEntity);
+            final AuthorizationGrant grant = asGrant(tokenEntity);
+            if (grant != null) {
+                localResponseCache.putGrant(tokenEntity.getTokenCode(), grant);
+            }
+            return grant;
         }
         return null;
     }
@@ -283,11 +298,6 @@ public class AuthorizationGrantList implements IAuthorizationGrantList {
         if (tokenEntity != null) {
             final AuthorizationGrantType grantType = AuthorizationGrantType.fromString(tokenEntity.getGrantType());
             if (grantType != null) {
-            	String userId = tokenEntity.getUserId();
-            	User user = null;
-            	if (StringHelper.isNotEmpty(userId)) {
-                    user = userService.getUser(userId);
-            	}
                 final Client client = clientService.getClient(tokenEntity.getClientId());
                 final Date authenticationTime = tokenEntity.getAuthenticationTime();
                 final String nonce = tokenEntity.getNonce();
@@ -296,44 +306,44 @@ public class AuthorizationGrantList implements IAuthorizationGrantList {
                 switch (grantType) {
                     case AUTHORIZATION_CODE:
                         AuthorizationCodeGrant authorizationCodeGrant = grantInstance.select(AuthorizationCodeGrant.class).get();
-                        authorizationCodeGrant.init(user, client, authenticationTime);
+                        authorizationCodeGrant.init(null, client, authenticationTime);
 
                         result = authorizationCodeGrant;
                         break;
                     case CLIENT_CREDENTIALS:
                         ClientCredentialsGrant clientCredentialsGrant = grantInstance.select(ClientCredentialsGrant.class).get();
-                        clientCredentialsGrant.init(user, client);
+                        clientCredentialsGrant.init(null, client);
 
                         result = clientCredentialsGrant;
                         break;
                     case IMPLICIT:
                         ImplicitGrant implicitGrant = grantInstance.select(ImplicitGrant.class).get();
-                        implicitGrant.init(user, client, authenticationTime);
+                        implicitGrant.init(null, client, authenticationTime);
 
                         result = implicitGrant;
                         break;
                     case RESOURCE_OWNER_PASSWORD_CREDENTIALS:
                         ResourceOwnerPasswordCredentialsGrant resourceOwnerPasswordCredentialsGrant = grantInstance.select(ResourceOwnerPasswordCredentialsGrant.class).get();
-                        resourceOwnerPasswordCredentialsGrant.init(user, client);
+                        resourceOwnerPasswordCredentialsGrant.init(null, client);
 
                         result = resourceOwnerPasswordCredentialsGrant;
                         break;
                     case CIBA:
                         CIBAGrant cibaGrant = grantInstance.select(CIBAGrant.class).get();
-                        cibaGrant.init(user, AuthorizationGrantType.CIBA, client, tokenEntity.getCreationDate());
+                        cibaGrant.init(null, AuthorizationGrantType.CIBA, client, tokenEntity.getCreationDate());
 
                         result = cibaGrant;
                         break;
                     case DEVICE_CODE:
                         DeviceCodeGrant deviceCodeGrant = grantInstance.select(DeviceCodeGrant.class).get();
-                        deviceCodeGrant.init(user, AuthorizationGrantType.DEVICE_CODE, client, tokenEntity.getCreationDate());
+                        deviceCodeGrant.init(null, AuthorizationGrantType.DEVICE_CODE, client, tokenEntity.getCreationDate());
 
                         result = deviceCodeGrant;
                         break;
                     case TX_TOKEN:
                     case TOKEN_EXCHANGE:
                         TokenExchangeGrant tokenExchangeGrant = grantInstance.select(TokenExchangeGrant.class).get();
-                        tokenExchangeGrant.init(user, AuthorizationGrantType.TOKEN_EXCHANGE, client, tokenEntity.getCreationDate());
+                        tokenExchangeGrant.init(null, AuthorizationGrantType.TOKEN_EXCHANGE, client, tokenEntity.getCreationDate());
 
                         result = tokenExchangeGrant;
                         break;
@@ -341,6 +351,13 @@ public class AuthorizationGrantList implements IAuthorizationGrantList {
                         return null;
                 }
 
+                // user is resolved on first access, many callers need only user id/dn which are in token entry
+                final String userId = tokenEntity.getUserId();
+                if (StringHelper.isNotEmpty(userId)) {
+                    final UserService userLookupService = userService;
+                    result.setUserLoader(userId, tokenEntity.getUserDn(), () -> userLookupService.getUser(userId));
+                }
+
                 final String grantId = tokenEntity.getGrantId();
                 final String jwtRequest = tokenEntity.getJwtRequest();
                 final String authMode = tokenEntity.getAuthMode();
@@ -34,6 +34,8 @@ import io.jans.service.cdi.event.ConfigurationEvent;
 import io.jans.service.cdi.event.ConfigurationUpdate;
 import io.jans.service.cdi.event.LdapConfigurationReload;
 import io.jans.service.cdi.event.Scheduled;
+import io.jans.service.message.pubsub.ConfigurationRevisionTracker;
+import io.jans.service.message.pubsub.PubSubConfigurationChangeChannel;
 import io.jans.service.timer.event.TimerEvent;
 import io.jans.service.timer.schedule.TimerSchedule;
 import io.jans.util.StringHelper;
@@ -100,6 +102,9 @@ public class ConfigurationFactory extends ApplicationConfigurationFactory {
     @Inject
     private Instance<AbstractCryptoProvider> abstractCryptoProviderInstance;
 
+    @Inject
+    private PubSubConfigurationChangeChannel configurationChangeChannel;
+
     public static final String PERSISTENCE_CONFIGURATION_RELOAD_EVENT_TYPE = "persistenceConfigurationReloadEvent";
     public static final String BASE_CONFIGURATION_RELOAD_EVENT_TYPE = "baseConfigurationReloadEvent";
 
@@ -154,9 +159,11 @@ public class ConfigurationFactory extends ApplicationConfigurationFactory {
 
     private long baseConfigurationFileLastModifiedTime;
 
-    private long loadedRevision = -1;
+    private final ConfigurationRevisionTracker revisionTracker = new ConfigurationRevisionTracker();
     private boolean loadedFromLdap = true;
 
+    private volatile boolean configurationChangeSubscribed = false;
+
     @PostConstruct
     public void init() {
         log.info("Initializing ConfigurationFactory ...");
@@ -257,6 +264,11 @@ public class ConfigurationFactory extends ApplicationConfigurationFactory {
             return;
         }
 
+        updateConfigurationChangeSubscription();
+        if (!shouldCheckRevision(System.currentTimeMillis())) {
+            return;
+        }
+
         if (!isRevisionIncreased()) {
             return;
         }
@@ -264,14 +276,63 @@ public class ConfigurationFactory extends ApplicationConfigurationFactory {
         createFromDB(false);
     }
 
+    private void updateConfigurationChangeSubscription() {
+        final boolean enabled = conf != null && Boolean.TRUE.equals(conf.getConfigurationChangeNotificationEnabled());
+        if (enabled == configurationChangeSubscribed) {
+            return;
+        }
+
+        final String dn = this.baseConfiguration.getString(SERVER_KEY_OF_CONFIGURATION_ENTRY);
+        if (enabled) {
+            configurationChangeSubscribed = configurationChangeChannel.subscribe(dn, this::onConfigurationChange);
+            if (!configurationChangeSubscribed) {
+                log.warn("Configuration change notification is enabled but message provider is not configured, falling back to polling");
+            }
+        } else {
+            configurationChangeChannel.unsubscribe(dn);
+            configurationChangeSubscribed = false;
+        }
+    }
+
+    private void onConfigurationChange(long revision) {
+        log.debug("Received configuration change notification, revision: {}, server revision: {}", revision, revisionTracker.getLoadedRevision());
+        if (!revisionTracker.onNotification(revision)) {
+            return;
+        }
+
+        // Reload right away, if reload is in progress change is picked up by next timer event
+        reloadConfigurationTimerEvent(new ConfigurationEvent());
+    }
+
+    /**
+     * With configuration change notification persistence is checked only when newer revision was announced or
+     * fallback interval elapsed, otherwise revision is checked on each timer event.
+     */
+    boolean shouldCheckRevision(long now) {
+        if (!configurationChangeSubscribed) {
+            return true;
+        }
+
+        final long fallbackInterval = Math.max(conf.getConfigurationReloadFallbackInterval(), DEFAULT_INTERVAL) * 1000L;
+        return revisionTracker.shouldCheck(now, fallbackInterval);
+    }
+
+    public void publishConfigurationChange(long revision) {
+        if (conf == null || !Boolean.TRUE.equals(conf.getConfigurationChangeNotificationEnabled())) {
+            return;
+        }
+
+        configurationChangeChannel.publish(this.baseConfiguration.getString(SERVER_KEY_OF_CONFIGURATION_ENTRY), revision);
+    }
+
     private boolean isRevisionIncreased() {
         final Conf persistenceConf = loadConfigurationFromPersistence("jansRevision");
         if (persistenceConf == null) {
             return false;
         }
 
-        log.trace("LDAP revision: {}, server revision: {}", persistenceConf.getRevision(), loadedRevision);
-        return persistenceConf.getRevision() > this.loadedRevision;
+        log.trace("LDAP revision: {}, server revision: {}", persistenceConf.getRevision(), revisionTracker.getLoadedRevision());
+        return revisionTracker.isIncreased(persistenceConf.getRevision());
     }
 
     private String confDir() {
@@ -458,7 +519,7 @@ public class ConfigurationFactory extends ApplicationConfigurationFactory {
 
     private void init(Conf conf) {
         initConfigurationConf(conf);
-        this.loadedRevision = conf.getRevision();
+        revisionTracker.setLoadedRevision(conf.getRevision());
     }
 
     private void initConfigurationConf(Conf conf) {
@@ -518,6 +579,7 @@ public class ConfigurationFactory extends ApplicationConfigurationFactory {
 
             final PersistenceEntryManager ldapManager = persistenceEntryManagerInstance.get();
             ldapManager.merge(configuration);
+            publishConfigurationChange(nextRevision);
 
             log.info("Generated new JWKS successfully.");
             if (log.isTraceEnabled()) {
@@ -20,6 +20,7 @@ import io.jans.as.model.jwt.JwtHeaderName;
 import io.jans.as.model.jwt.JwtType;
 import io.jans.as.model.token.ClientAssertionType;
 import io.jans.as.server.service.ClientService;
+import io.jans.service.CacheService;
 import io.jans.service.cdi.util.CdiUtil;
 import io.jans.util.security.StringEncrypter;
 import org.apache.commons.lang3.StringUtils;
@@ -67,8 +68,6 @@ public class ClientAssertion {
             if (StringUtils.isNotBlank(encodedAssertion)) {
                 jwt = Jwt.parse(encodedAssertion);
 
-                // TODO: Store jti this value to check for duplicates
-
                 // Validate clientId
                 String issuer = jwt.getClaims().getClaimAsString(JwtClaimName.ISSUER);
                 String subject = jwt.getClaims().getClaimAsString(JwtClaimName.SUBJECT_IDENTIFIER);
@@ -108,15 +107,17 @@ public class ClientAssertion {
 
                                         // Validate the crypto segment
                                         String keyId = jwt.getHeader().getKeyId();
-                                        JSONObject jwks = CommonUtils.getJwks(client);
+                                        JSONObject jwks = CommonUtils.getJwks(client, keyId);
                                         String sharedSecret = clientService.decryptSecret(client.getClientSecret());
                                         boolean validSignature = cryptoProvider.verifySignature(jwt.getSigningInput(), jwt.getEncodedSignature(),
                                                 keyId, jwks, sharedSecret, signatureAlgorithm);
 
-                                        if (validSignature) {
-                                            result = true;
-                                        } else {
+                                        if (!validSignature) {
                                             throw new InvalidJwtException("Invalid cryptographic segment");
+                                        } else if (!markJtiAsUsed(subject, expirationTime)) {
+                                            throw new InvalidJwtException("The jti has been used before");
+                                        } else {
+                                            result = true;
                                         }
                                     } else {
                                         throw new InvalidJwtException("Invalid signing algorithm");
@@ -145,4 +146,18 @@ public class ClientAssertion {
 
         return result;
     }
+
+    /**
+     * Stores jti until assertion expiration. Assertions without jti are not checked.
+     */
+    private boolean markJtiAsUsed(String clientId, Date expirationTime) {
+        String jti = jwt.getClaims().getClaimAsString(JwtClaimName.JWT_ID);
+        if (StringUtils.isBlank(jti)) {
+            return true;
+        }
+
+        int lifetimeInSeconds = (int) Math.max((expirationTime.getTime() - System.currentTimeMillis()) / 1000, 1);
+        CacheService cacheService = CdiUtil.bean(CacheService.class);
+        return cacheService.putIfAbsent(lifetimeInSeconds, "client_assertion_jti_" + clientId + "_" + jti, Boolean.TRUE);
+    }
 }
\ No newline at end of file
@@ -23,6 +23,7 @@ import com.google.common.collect.Lists;
 import io.jans.as.common.service.common.ApplicationFactory;
 import io.jans.as.model.common.FeatureFlagType;
 import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.model.jwk.RemoteJwksCache;
 import io.jans.as.server.model.auth.AuthenticationMode;
 import io.jans.as.server.model.config.ConfigurationFactory;
 import io.jans.as.server.service.cdi.event.AuthConfigurationEvent;
@@ -170,6 +171,9 @@ public class AppInitializer {
     @Inject
     private ClientLastUpdateAtTimer clientLastUpdateAtTimer;
 
+    @Inject
+    private SessionIdLastUsedAtTimer sessionIdLastUsedAtTimer;
+
     @Inject
     private KeyGeneratorTimer keyGeneratorTimer;
 
@@ -268,6 +272,7 @@ public class AppInitializer {
         ldapStatusTimer.initTimer();
         cleanerTimer.initTimer();
         clientLastUpdateAtTimer.initTimer();
+        sessionIdLastUsedAtTimer.initTimer();
         customScriptManager.initTimer(supportedCustomScriptTypes);
         keyGeneratorTimer.initTimer();
         statTimer.initTimer();
@@ -744,6 +749,7 @@ public class AppInitializer {
         log.debug("Checking who intiated destroy", new Throwable());
 
         metricService.close();
+        RemoteJwksCache.instance().shutdown();
 
         PersistenceEntryManager persistenceEntryManager = persistenceEntryManagerInstance.get();
         closePersistenceEntryManager(persistenceEntryManager, ApplicationFactory.PERSISTENCE_ENTRY_MANAGER_NAME);
@@ -18,9 +18,11 @@ import io.jans.as.model.uma.persistence.UmaResource;
 import io.jans.as.persistence.model.ClientAuthorization;
 import io.jans.as.persistence.model.Par;
 import io.jans.as.persistence.model.Scope;
+import io.jans.as.server.service.cluster.ClusterNodeService;
 import io.jans.as.server.uma.authorization.UmaPCT;
 import io.jans.as.server.uma.service.UmaPctService;
 import io.jans.as.server.uma.service.UmaResourceService;
+import io.jans.as.server.util.ServerUtil;
 import io.jans.model.ApplicationType;
 import io.jans.model.metric.ldap.MetricEntry;
 import io.jans.model.token.TokenEntity;
@@ -32,6 +34,7 @@ import io.jans.service.cdi.event.CleanerEvent;
 import io.jans.service.cdi.event.Scheduled;
 import io.jans.service.timer.event.TimerEvent;
 import io.jans.service.timer.schedule.TimerSchedule;
+import jakarta.annotation.PreDestroy;
 import jakarta.ejb.DependsOn;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Event;
@@ -41,6 +44,9 @@ import org.apache.tika.utils.StringUtils;
 import org.slf4j.Logger;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -87,6 +93,10 @@ public class CleanerTimer {
 
     private AtomicBoolean isActive;
 
+    private ExecutorService executorService;
+
+    private int executorParallelism;
+
     public void initTimer() {
         log.debug("Initializing Cleaner Timer");
         this.isActive = new AtomicBoolean(false);
@@ -98,6 +108,13 @@ public class CleanerTimer {
         this.lastFinishedTime = System.currentTimeMillis();
     }
 
+    @PreDestroy
+    public void destroy() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+
     @Asynchronous
     public void process(@Observes @Scheduled CleanerEvent cleanerEvent) {
         if (this.isActive.get()) {
@@ -137,12 +154,11 @@ public class CleanerTimer {
                 return;
             }
 
-            int chunkSize = appConfiguration.getCleanServiceBatchChunkSize();
-            if (chunkSize <= 0)
-                chunkSize = BATCH_SIZE;
+            final int chunkSize = appConfiguration.getCleanServiceBatchChunkSize() > 0 ? appConfiguration.getCleanServiceBatchChunkSize() : BATCH_SIZE;
 
             Date now = new Date();
 
+            final List<Callable<Integer>> tasks = new ArrayList<>();
             final Set<String> processedBaseDns = new HashSet<>();
             for (Map.Entry<String, Class<?>> baseDn : createCleanServiceBaseDns().entrySet()) {
 
@@ -158,26 +174,112 @@ public class CleanerTimer {
 
                 processedBaseDns.add(processedKey);
 
-                if (log.isDebugEnabled())
-                    log.debug("Start clean up for baseDn: {}, class: {}", baseDn.getValue(), baseDn.getValue());
-
-                final Stopwatch started = Stopwatch.createStarted();
-
-                int removed = cleanup(baseDn, now, chunkSize);
-
-                if (log.isDebugEnabled())
-                    log.debug("Finished clean up for baseDn: {}, takes: {}ms, removed items: {}", baseDn, started.elapsed(TimeUnit.MILLISECONDS), removed);
+                final int partitionCount = Math.max(appConfiguration.getCleanServicePartitionCount(), 1);
+                for (int partition = 0; partition < partitionCount; partition++) {
+                    final int p = partition;
+                    tasks.add(() -> cleanupPartition(baseDn, now, chunkSize, p, partitionCount));
+                }
             }
 
+            // branches are independent, slow one (e.g. tokens) should not delay others
+            getExecutorService().invokeAll(tasks);
+
             processCache(now);
             processInactiveClients(chunkSize);
 
             this.lastFinishedTime = System.currentTimeMillis();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted during clean up.", e);
         } catch (Exception e) {
             log.error("Failed to process clean up.", e);
         }
     }
 
+    private synchronized ExecutorService getExecutorService() {
+        final int parallelism = Math.max(appConfiguration.getCleanServiceParallelism(), 1);
+        if (executorService == null || executorParallelism != parallelism) {
+            if (executorService != null) {
+                executorService.shutdown();
+            }
+            executorService = Executors.newFixedThreadPool(parallelism, ServerUtil.daemonThreadFactory());
+            executorParallelism = parallelism;
+        }
+        return executorService;
+    }
+
+    /**
+     * Cleans one expiration time range of the branch. With several partitions range is cleaned only if this node gets
+     * the lease for it and batches are removed until the range is drained (or lease is about to expire), so in cluster
+     * each range is cleaned by one node. Ranges start at the beginning of current interval instead of node own time,
+     * so all nodes compute the same ranges and lease keys within an interval. With one partition there is nothing to
+     * share, so every node removes one batch per interval as before partitioning was added.
+     */
+    int cleanupPartition(Map.Entry<String, Class<?>> baseDn, Date now, int chunkSize, int partition, int partitionCount) {
+        final String processedKey = createProcessedKey(baseDn);
+        final boolean leased = partitionCount > 1;
+        final Date rangeEnd = leased ? getIntervalStart(now) : now;
+        if (leased && !acquireLease(processedKey + "_" + partition + "_" + rangeEnd.getTime())) {
+            log.trace("Partition {} of {} is leased by another node or lease is not available", partition, processedKey);
+            return 0;
+        }
+
+        if (log.isDebugEnabled())
+            log.debug("Start clean up for baseDn: {}, class: {}, partition: {}", baseDn.getKey(), baseDn.getValue(), partition);
+
+        final Stopwatch started = Stopwatch.createStarted();
+        final long leaseInMillis = getLeaseInSeconds() * 1000L;
+
+        int removed = 0;
+        int removedInBatch;
+        do {
+            removedInBatch = cleanup(baseDn, rangeEnd, chunkSize, partition, partitionCount);
+            removed += removedInBatch;
+        } while (leased && removedInBatch >= chunkSize && started.elapsed(TimeUnit.MILLISECONDS) < leaseInMillis);
+
+        final long elapsed = started.elapsed(TimeUnit.MILLISECONDS);
+        markRemoved(baseDn, removed);
+
+        if (log.isDebugEnabled())
+            log.debug("Finished clean up for baseDn: {}, partition: {}, takes: {}ms, removed items: {}, rate: {}/s", baseDn, partition, elapsed, removed, removed * 1000L / Math.max(elapsed, 1));
+        return removed;
+    }
+
+    /**
+     * Lease fails closed: if cache is not available partition is skipped, so nodes never clean the same range at once.
+     * Expired entries are removed once cache is available again.
+     */
+    private boolean acquireLease(String key) {
+        try {
+            return cacheProvider.putIfAbsent(getLeaseInSeconds(), "cleaner_lease_" + key, ClusterNodeService.LOCK_KEY);
+        } catch (Exception e) {
+            log.warn("Failed to acquire clean up lease, partition is skipped, key: " + key, e);
+            return false;
+        }
+    }
+
+    Date getIntervalStart(Date now) {
+        final long width = getPartitionWidthInMillis();
+        return new Date(now.getTime() - now.getTime() % width);
+    }
+
+    private long getPartitionWidthInMillis() {
+        return Math.max(appConfiguration.getCleanServiceInterval(), DEFAULT_INTERVAL) * 1000L;
+    }
+
+    private int getLeaseInSeconds() {
+        return Math.max(appConfiguration.getCleanServiceInterval() - 1, 1);
+    }
+
+    private void markRemoved(Map.Entry<String, Class<?>> baseDn, int removed) {
+        try {
+            final String branch = baseDn.getValue() == null ? baseDn.getKey() : baseDn.getValue().getSimpleName();
+            metricService.getMeter("cleaner." + branch + ".removed").mark(removed);
+        } catch (Exception e) {
+            log.trace("Failed to mark removed entries metric", e);
+        }
+    }
+
     private void processInactiveClients(int chunkSize) {
         try {
             final int inactiveIntervalInHours = appConfiguration.getCleanUpInactiveClientAfterHoursOfInactivity();
@@ -225,10 +327,26 @@ public class CleanerTimer {
     }
 
     public int cleanup(final Map.Entry<String, Class<?>> baseDn, final Date now, final int batchSize) {
+        return cleanup(baseDn, now, batchSize, 0, 1);
+    }
+
+    /**
+     * Removes expired entries of one partition. Partition 0 has entries expired during last interval, next partitions
+     * go back in time by one interval each and the last one has everything older.
+     */
+    public int cleanup(final Map.Entry<String, Class<?>> baseDn, final Date now, final int batchSize, final int partition, final int partitionCount) {
         try {
-            Filter filter = Filter.createANDFilter(
-                    Filter.createEqualityFilter("del", true),
-                    Filter.createLessOrEqualFilter("exp", entryManager.encodeTime(baseDn.getKey(), now)));
+            final long width = getPartitionWidthInMillis();
+            final Date upper = new Date(now.getTime() - partition * width);
+
+            List<Filter> filters = new ArrayList<>();
+            filters.add(Filter.createEqualityFilter("del", true));
+            filters.add(Filter.createLessOrEqualFilter("exp", entryManager.encodeTime(baseDn.getKey(), upper)));
+            if (partition < partitionCount - 1) {
+                final Date lower = new Date(upper.getTime() - width);
+                filters.add(Filter.createGreaterOrEqualFilter("exp", entryManager.encodeTime(baseDn.getKey(), lower)));
+            }
+            Filter filter = Filter.createANDFilter(filters);
 
             int removedCount = entryManager.remove(baseDn.getKey(), baseDn.getValue(), filter, batchSize);
             log.trace("Removed {} entries from {}", removedCount, baseDn.getKey());
@@ -8,6 +8,7 @@ package io.jans.as.server.service;
 
 import static org.apache.commons.lang3.BooleanUtils.isTrue;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
@@ -131,19 +132,14 @@ public class ClientService {
             return set;
         }
 
+        List<String> dnList = new ArrayList<>(clientIds.size());
         for (String clientId : clientIds) {
-            try {
-                Client client = getClient(clientId);
-                if (client != null) {
-                    set.add(client);
-                }
-            } catch (RuntimeException e) {
-                if (!silent) {
-                    throw e;
-                }
+            if (clientId != null && !clientId.isEmpty()) {
+                dnList.add(buildClientDn(clientId));
             }
         }
-        return set;
+
+        return getClientsByDns(dnList, silent);
     }
 
     public Client getClient(String clientId) {
@@ -198,14 +194,19 @@ public class ClientService {
         Preconditions.checkNotNull(dnList);
 
         final Set<Client> result = Sets.newHashSet();
-        for (String clientDn : dnList) {
-            try {
-                result.add(getClientByDn(clientDn));
-            } catch (RuntimeException e) {
-                if (!silently) {
-                    throw e;
-                }
+        if (dnList.isEmpty()) {
+            return result;
+        }
+
+        BaseCacheService usedCacheService = getCacheService();
+        try {
+            // Fetch cached clients with one request
+            result.addAll(usedCacheService.getAllWithPut(dnList, this::findClientByDn, 60).values());
+        } catch (RuntimeException e) {
+            if (!silently) {
+                throw e;
             }
+            log.trace(e.getMessage(), e);
         }
         return result;
     }
@@ -226,6 +227,15 @@ public class ClientService {
         }
     }
 
+    private Client findClientByDn(String dn) {
+        try {
+            return persistenceEntryManager.find(Client.class, dn);
+        } catch (Exception e) {
+            log.trace(e.getMessage(), e);
+            return null;
+        }
+    }
+
     public CustomObjectAttribute getCustomAttribute(Client client, String attributeName) {
         for (CustomObjectAttribute customAttribute : client.getCustomAttributes()) {
             if (StringHelper.equalsIgnoreCase(attributeName, customAttribute.getName())) {
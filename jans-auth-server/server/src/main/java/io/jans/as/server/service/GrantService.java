@@ -44,6 +44,8 @@ import static org.apache.commons.lang3.BooleanUtils.isTrue;
 @ApplicationScoped
 public class GrantService {
 
+    public static final int BULK_REMOVE_CHUNK_SIZE = 100;
+
     private static final ExecutorService statusListPool = Executors.newFixedThreadPool(5, runnable -> {
         Thread thread = new Thread(runnable);
         thread.setName("grant_service_status_list_pool");
@@ -75,6 +77,9 @@ public class GrantService {
     @Inject
     private StatusListIndexService statusListIndexService;
 
+    @Inject
+    private LocalResponseCache localResponseCache;
+
     public static String generateGrantId() {
         return UUID.randomUUID().toString();
     }
@@ -133,6 +138,11 @@ public class GrantService {
     public void remove(TokenEntity token) {
         persistenceEntryManager.remove(token);
         log.trace("Removed token from LDAP, code: {}", token.getTokenCode());
+        onRemoved(token);
+    }
+
+    private void onRemoved(TokenEntity token) {
+        localResponseCache.invalidateGrant(token.getTokenCode());
 
         if (TokenType.ACCESS_TOKEN == token.getTokenTypeEnum()) {
         	publishIdTokenLockMessage(token, "del");
@@ -187,30 +197,140 @@ public class GrantService {
 
     public void removeSilently(List<TokenEntity> entries) {
         if (entries != null && !entries.isEmpty()) {
-            List<Integer> indexes = new ArrayList<>();
-            for (TokenEntity t : entries) {
-                try {
-                    remove(t);
+            afterRemoved(removeInBulk(entries));
+        }
+    }
+
+    /**
+     * Removes tokens of session with one filter based delete (single DELETE ... WHERE ssnId = ? on SQL). Tokens are
+     * loaded before anyway, they are needed to evict cache entries and update status list. Falls back to remove by
+     * token codes if bulk delete fails.
+     *
+     * @param tokens     tokens of session to remove
+     * @param keptTokens tokens of session which must stay (e.g. refresh tokens on logout)
+     */
+    private void removeSilentlyBySession(String sessionDn, List<TokenEntity> tokens, List<TokenEntity> keptTokens) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+
+        Filter filter = Filter.createEqualityFilter("ssnId", sessionDn);
+        if (!keptTokens.isEmpty()) {
+            List<Filter> keptFilters = new ArrayList<>(keptTokens.size());
+            for (TokenEntity t : keptTokens) {
+                if (StringUtils.isBlank(t.getTokenCode())) {
+                    removeSilently(tokens);
+                    return;
+                }
+                keptFilters.add(Filter.createEqualityFilter("tknCde", t.getTokenCode()));
+            }
+            filter = Filter.createANDFilter(filter, Filter.createNOTFilter(Filter.createORFilter(keptFilters)));
+        }
+
+        try {
+            final int count = persistenceEntryManager.remove(tokenBaseDn(), TokenEntity.class, filter, 0);
+            log.trace("Removed {} tokens of session {} with bulk delete", count, sessionDn);
+        } catch (Exception e) {
+            log.debug("Failed to remove tokens of session with bulk delete, removing them by token code", e);
+            removeSilently(tokens);
+            return;
+        }
+
+        for (TokenEntity t : tokens) {
+            try {
+                onRemoved(t);
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            }
+        }
+        afterRemoved(tokens);
+    }
+
+    private void afterRemoved(List<TokenEntity> removed) {
+        if (removed.isEmpty()) {
+            return;
+        }
+
+        List<Integer> indexes = new ArrayList<>();
+        List<String> cacheKeys = new ArrayList<>();
+        final boolean saveInCache = shouldSaveInCache();
+
+        for (TokenEntity t : removed) {
+            if (StringUtils.isNotBlank(t.getAuthorizationCode())) {
+                cacheKeys.add(CacheGrant.cacheKey(t.getAuthorizationCode(), t.getGrantId()));
+            }
+            if (saveInCache) {
+                cacheKeys.add(t.getTokenCode());
+            }
+
+            final Integer index = t.getAttributes().getStatusListIndex();
+            if (index != null && index >= 0) {
+                indexes.add(index);
+            }
+        }
+
+        try {
+            // Remove cache entries with one request
+            cacheService.removeAll(cacheKeys);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+        }
+
+        if (!indexes.isEmpty()) {
+            statusListPool.execute(() -> statusListIndexService.updateStatusAtIndexes(indexes, TokenStatus.INVALID));
+        }
+    }
+
+    /**
+     * Removes tokens with one filter based delete per chunk (single DELETE ... WHERE tknCde IN (...) on SQL)
+     * instead of delete per token. Chunk falls back to per token remove if bulk delete fails.
+     *
+     * @return removed tokens
+     */
+    private List<TokenEntity> removeInBulk(List<TokenEntity> entries) {
+        List<TokenEntity> removed = new ArrayList<>(entries.size());
+        for (List<TokenEntity> chunk : Lists.partition(entries, BULK_REMOVE_CHUNK_SIZE)) {
+            List<Filter> filters = new ArrayList<>(chunk.size());
+            for (TokenEntity t : chunk) {
+                if (StringUtils.isNotBlank(t.getTokenCode())) {
+                    filters.add(Filter.createEqualityFilter("tknCde", t.getTokenCode()));
+                }
+            }
+
+            if (filters.size() != chunk.size()) {
+                removeOneByOne(chunk, removed);
+                continue;
+            }
+
+            try {
+                final int count = persistenceEntryManager.remove(tokenBaseDn(), TokenEntity.class, Filter.createORFilter(filters), chunk.size());
+                log.trace("Removed {} tokens with bulk delete", count);
+            } catch (Exception e) {
+                log.debug("Failed to remove tokens with bulk delete, removing one by one", e);
+                removeOneByOne(chunk, removed);
+                continue;
+            }
 
-                    if (StringUtils.isNotBlank(t.getAuthorizationCode())) {
-                        cacheService.remove(CacheGrant.cacheKey(t.getAuthorizationCode(), t.getGrantId()));
-                    }
-                    if (shouldSaveInCache()) {
-                        cacheService.remove(t.getTokenCode());
-                    }
-
-                    final Integer index = t.getAttributes().getStatusListIndex();
-                    if (index != null && index >= 0) {
-                        indexes.add(index);
-                    }
+            for (TokenEntity t : chunk) {
+                try {
+                    onRemoved(t);
                 } catch (Exception e) {
                     log.error(e.getMessage(), e);
                 }
+                removed.add(t);
             }
+        }
+        return removed;
+    }
 
-            statusListPool.execute(() -> {
-                statusListIndexService.updateStatusAtIndexes(indexes, TokenStatus.INVALID);
-            });
+    private void removeOneByOne(List<TokenEntity> tokens, List<TokenEntity> removed) {
+        for (TokenEntity t : tokens) {
+            try {
+                remove(t);
+                removed.add(t);
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            }
         }
     }
 
@@ -322,8 +442,10 @@ public class GrantService {
 
     public void logout(String sessionDn) {
         final List<TokenEntity> tokens = getGrantsBySessionDn(sessionDn);
+        final List<TokenEntity> keptTokens = new ArrayList<>(tokens);
         filterOutRefreshTokenFromDeletion(tokens);
-        removeSilently(tokens);
+        keptTokens.removeAll(tokens);
+        removeSilentlyBySession(sessionDn, tokens, keptTokens);
     }
 
     public void filterOutRefreshTokenFromDeletion(List<TokenEntity> tokens) {
@@ -345,7 +467,7 @@ public class GrantService {
     }
 
     public void removeAllTokensBySession(String sessionDn) {
-        removeSilently(getGrantsBySessionDn(sessionDn));
+        removeSilentlyBySession(sessionDn, getGrantsBySessionDn(sessionDn), Collections.emptyList());
     }
 
     /**
@@ -361,6 +483,18 @@ public class GrantService {
         cacheService.remove(CacheGrant.cacheKey(code, null));
     }
 
+    /**
+     * Marks authorization code as redeemed. Check and mark is single cache operation, so only one of
+     * concurrent requests with the same code gets true.
+     *
+     * @param code              authorization code
+     * @param lifetimeInSeconds lifetime of the mark, should not be shorter than lifetime of the code
+     * @return true if code was not redeemed before
+     */
+    public boolean markAuthorizationCodeAsUsed(String code, int lifetimeInSeconds) {
+        return cacheService.putIfAbsent(Math.max(lifetimeInSeconds, 1), "used_code_" + TokenHashUtil.hash(code), Boolean.TRUE);
+    }
+
     // authorization code is saved only in cache
     public void removeAuthorizationCode(String code) {
         cacheService.remove(CacheGrant.cacheKey(code, null));
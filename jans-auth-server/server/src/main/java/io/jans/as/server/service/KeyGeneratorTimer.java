@@ -144,6 +144,7 @@ public class KeyGeneratorTimer {
         long nextRevision = conf.getRevision() + 1;
         conf.setRevision(nextRevision);
         ldapEntryManager.merge(conf);
+        configurationFactory.publishConfigurationChange(nextRevision);
 
         log.info("Updated JWKS successfully");
         log.trace("JWKS keys: {}", conf.getWebKeys().getKeys().stream().map(JSONWebKey::getKid).collect(Collectors.toList()));
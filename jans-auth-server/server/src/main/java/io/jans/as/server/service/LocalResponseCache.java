@@ -3,6 +3,7 @@ package io.jans.as.server.service;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.model.common.AuthorizationGrant;
 import io.jans.as.server.service.cdi.event.AuthConfigurationEvent;
 import io.jans.service.cdi.async.Asynchronous;
 import io.jans.service.cdi.event.Scheduled;
@@ -26,6 +27,7 @@ public class LocalResponseCache {
     public static final int DEFAULT_DISCOVERY_LIFETIME = 60;
     public static final int DEFAULT_ACCESS_EVALUTION_DISCOVERY_LIFETIME = 5;
     public static final int DEFAULT_SECTOR_IDENTIFIER_LIFETIME = 1440; // 1 day
+    public static final int GRANT_CACHE_MAX_SIZE = 10000;
 
     private static final String DISCOVERY_CACHE_KEY = "DISCOVERY_CACHE_KEY";
     private static final String ACCESS_EVALUATION_DISCOVERY_CACHE_KEY = "ACCESS_EVALUATION_DISCOVERY_CACHE_KEY";
@@ -45,6 +47,10 @@ public class LocalResponseCache {
     private int currentAccessEvaluationDiscoveryLifetime = DEFAULT_ACCESS_EVALUTION_DISCOVERY_LIFETIME;
     private int currentSectorIdentifierLifetime = DEFAULT_SECTOR_IDENTIFIER_LIFETIME;
 
+    // disabled by default, created when grantCacheLifetimeInSeconds is set
+    private Cache<String, AuthorizationGrant> grantCache = null;
+    private int currentGrantLifetime = 0;
+
     public void invalidateDiscoveryCache() {
         discoveryCache.invalidate(DISCOVERY_CACHE_KEY);
     }
@@ -77,6 +83,12 @@ public class LocalResponseCache {
                 sectorIdentifierCache = CacheBuilder.newBuilder()
                         .expireAfterWrite(appConfiguration.getSectorIdentifierCacheLifetimeInMinutes(), TimeUnit.MINUTES).build();
             }
+            if (currentGrantLifetime != appConfiguration.getGrantCacheLifetimeInSeconds()) {
+                currentGrantLifetime = appConfiguration.getGrantCacheLifetimeInSeconds();
+                grantCache = currentGrantLifetime > 0 ? CacheBuilder.newBuilder()
+                        .expireAfterWrite(currentGrantLifetime, TimeUnit.SECONDS)
+                        .maximumSize(GRANT_CACHE_MAX_SIZE).build() : null;
+            }
         } finally {
             rebuilding.set(false);
         }
@@ -120,4 +132,25 @@ public class LocalResponseCache {
 
         accessEvaluationDiscoveryCache.put(ACCESS_EVALUATION_DISCOVERY_CACHE_KEY, response);
     }
-}
\ No newline at end of file
+
+    public AuthorizationGrant getGrant(String hashedToken) {
+        final Cache<String, AuthorizationGrant> cache = grantCache;
+        if (cache == null || rebuilding.get())
+            return null;
+        return cache.getIfPresent(hashedToken);
+    }
+
+    public void putGrant(String hashedToken, AuthorizationGrant grant) {
+        final Cache<String, AuthorizationGrant> cache = grantCache;
+        if (cache == null || rebuilding.get())
+            return;
+
+        cache.put(hashedToken, grant);
+    }
+
+    public void invalidateGrant(String hashedToken) {
+        final Cache<String, AuthorizationGrant> cache = grantCache;
+        if (cache != null)
+            cache.invalidate(hashedToken);
+    }
+}
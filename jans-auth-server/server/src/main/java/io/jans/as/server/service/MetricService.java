@@ -6,6 +6,7 @@
 
 package io.jans.as.server.service;
 
+import com.codahale.metrics.Gauge;
 import io.jans.as.common.service.common.ApplicationFactory;
 import io.jans.as.common.service.common.ConfigurationService;
 import io.jans.as.model.common.FeatureFlagType;
@@ -13,6 +14,7 @@ import io.jans.as.model.config.StaticConfiguration;
 import io.jans.as.model.configuration.AppConfiguration;
 import io.jans.model.ApplicationType;
 import io.jans.orm.PersistenceEntryManager;
+import io.jans.service.CacheService;
 import io.jans.service.metric.inject.ReportMetric;
 import io.jans.service.net.NetworkService;
 
@@ -51,13 +53,24 @@ public class MetricService extends io.jans.service.metric.MetricService {
     @Inject
     private NetworkService networkService;
 
+    @Inject
+    private CacheService cacheService;
+
     @Inject
     @Named(ApplicationFactory.PERSISTENCE_METRIC_ENTRY_MANAGER_NAME)
     @ReportMetric
     private PersistenceEntryManager ldapEntryManager;
 
     public void initTimer() {
-        initTimer(this.appConfiguration.getMetricReporterInterval(), this.appConfiguration.getMetricReporterKeepDataDays());
+        initTimer(this.appConfiguration.getMetricReporterInterval(), this.appConfiguration.getMetricReporterKeepDataDays(),
+                this.appConfiguration.getMetricReporterPersistenceEnabled());
+        registerCacheGauges();
+    }
+
+    private void registerCacheGauges() {
+        getMetricRegistry().register("cache.load.executed", (Gauge<Long>) cacheService::getExecutedLoadCount);
+        getMetricRegistry().register("cache.load.coalesced", (Gauge<Long>) cacheService::getCoalescedLoadCount);
+        getMetricRegistry().register("cache.stale_hit", (Gauge<Long>) cacheService::getStaleHitCount);
     }
 
     @Override
@@ -71,7 +84,7 @@ public class MetricService extends io.jans.service.metric.MetricService {
 
     @Override
     public boolean isMetricReporterEnabled() {
-        return appConfiguration.isFeatureEnabled(FeatureFlagType.METRIC);
+        return appConfiguration.isFeatureEnabled(FeatureFlagType.METRIC) && appConfiguration.getMetricReporterPersistenceEnabled();
     }
 
     @Override
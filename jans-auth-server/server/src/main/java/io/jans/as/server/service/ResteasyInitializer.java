@@ -14,6 +14,7 @@ import io.jans.as.server.authzen.ws.rs.AccessEvaluationRestWebServiceImplV1;
 import io.jans.as.server.bcauthorize.ws.rs.BackchannelAuthorizeRestWebServiceImpl;
 import io.jans.as.server.bcauthorize.ws.rs.BackchannelDeviceRegistrationRestWebServiceImpl;
 import io.jans.as.server.clientinfo.ws.rs.ClientInfoRestWebServiceImpl;
+import io.jans.as.server.filter.EndpointMetricsFilter;
 import io.jans.as.server.introspection.ws.rs.IntrospectionWebService;
 import io.jans.as.server.jans.ws.rs.JansConfigurationWS;
 import io.jans.as.server.jwk.ws.rs.ArchivedJwksWebServiceImpl;
@@ -90,6 +91,8 @@ public class ResteasyInitializer extends Application {
 
         classes.add(SsaRestWebServiceImpl.class);
 
+        classes.add(EndpointMetricsFilter.class);
+
         return classes;
     }
 
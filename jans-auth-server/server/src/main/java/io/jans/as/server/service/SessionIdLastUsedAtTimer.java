@@ -0,0 +1,321 @@
+package io.jans.as.server.service;
+
+import io.jans.as.common.model.session.SessionId;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.service.cdi.event.SessionIdLastUsedAtUpdateEvent;
+import io.jans.as.server.service.external.ExternalApplicationSessionService;
+import io.jans.as.server.service.external.session.SessionEvent;
+import io.jans.as.server.service.external.session.SessionEventType;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.exception.EntryPersistenceException;
+import io.jans.orm.model.base.CustomAttribute;
+import io.jans.orm.model.base.CustomEntry;
+import io.jans.service.CacheService;
+import io.jans.service.cdi.async.Asynchronous;
+import io.jans.service.cdi.event.Scheduled;
+import io.jans.service.timer.event.TimerEvent;
+import io.jans.service.timer.schedule.TimerSchedule;
+import jakarta.annotation.PreDestroy;
+import jakarta.ejb.DependsOn;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.apache.commons.lang3.BooleanUtils.isTrue;
+
+/**
+ * Write-behind buffer for session lastUsedAt updates.
+ *
+ * Touches which do not change session state are kept in memory and flushed in batches
+ * at most sessionIdLastUsedAtMaxStaleness seconds later. Only jansLastAccessTime is written.
+ * Session UPDATED event is fired for each session once its touch is written.
+ */
+@ApplicationScoped
+@DependsOn("appInitializer")
+@Named
+public class SessionIdLastUsedAtTimer {
+
+    private static final String[] SESSION_OBJECT_CLASSES = new String[]{"jansSessId"};
+
+    private static final int INTERVAL_IN_SECONDS = 1;
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String CACHE_LOCK_KEY_PREFIX = "session_last_used_at_lock_";
+
+    private static final int CACHE_LOCK_EXPIRATION_IN_SECONDS = 10;
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private Event<TimerEvent> timerEvent;
+
+    @Inject
+    private PersistenceEntryManager entryManager;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Inject
+    private CacheService cacheService;
+
+    @Inject
+    private ExternalApplicationSessionService externalApplicationSessionService;
+
+    private final AtomicBoolean isActive = new AtomicBoolean(false);
+
+    private long lastFinishedTime;
+
+    private final ConcurrentMap<String, SessionId> pendingTouches = new ConcurrentHashMap<>();
+
+    private final LongAdder touchCount = new LongAdder();
+
+    private final LongAdder writeCount = new LongAdder();
+
+    public void initTimer() {
+        log.debug("Initializing Session Id LastUsedAt Update Timer");
+
+        timerEvent.fire(
+                new TimerEvent(new TimerSchedule(INTERVAL_IN_SECONDS, INTERVAL_IN_SECONDS), new SessionIdLastUsedAtUpdateEvent(), Scheduled.Literal.INSTANCE));
+
+        this.lastFinishedTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns effective max staleness in seconds or 0 if write-behind is disabled.
+     * Staleness is kept below half of unused lifetimes, so other nodes never expire a session which is still in use.
+     */
+    public int getMaxStaleness() {
+        int maxStaleness = appConfiguration.getSessionIdLastUsedAtMaxStaleness();
+        if (maxStaleness <= 0) {
+            return 0;
+        }
+
+        maxStaleness = bound(maxStaleness, appConfiguration.getSessionIdUnusedLifetime());
+        maxStaleness = bound(maxStaleness, appConfiguration.getSessionIdUnauthenticatedUnusedLifetime());
+        return maxStaleness;
+    }
+
+    private static int bound(int maxStaleness, int lifetime) {
+        if (lifetime <= 0) {
+            return maxStaleness;
+        }
+        return Math.min(maxStaleness, lifetime / 2);
+    }
+
+    public boolean isEnabled() {
+        return getMaxStaleness() > 0;
+    }
+
+    public void addTouch(SessionId sessionId) {
+        touchCount.increment();
+        enqueue(sessionId);
+    }
+
+    private void enqueue(SessionId sessionId) {
+        pendingTouches.merge(sessionId.getDn(), sessionId, (existing, touched) -> isNewer(touched, existing) ? touched : existing);
+    }
+
+    /**
+     * Drops pending touch. Must be called when session is written synchronously or removed, so that
+     * delayed write does not override newer state.
+     */
+    public void cancel(String dn) {
+        pendingTouches.remove(dn);
+    }
+
+    public int getPendingCount() {
+        return pendingTouches.size();
+    }
+
+    public long getTouchCount() {
+        return touchCount.sum();
+    }
+
+    public long getWriteCount() {
+        return writeCount.sum();
+    }
+
+    @Asynchronous
+    public void process(@Observes @Scheduled SessionIdLastUsedAtUpdateEvent event) {
+        if (this.isActive.get()) {
+            return;
+        }
+
+        if (!this.isActive.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            if (!isStartProcess()) {
+                return;
+            }
+
+            flush();
+            this.lastFinishedTime = System.currentTimeMillis();
+        } finally {
+            this.isActive.set(false);
+        }
+    }
+
+    private boolean isStartProcess() {
+        if (pendingTouches.isEmpty()) {
+            return false;
+        }
+
+        // flush right away if write-behind was turned off
+        long interval = getMaxStaleness() * 1000L - INTERVAL_IN_SECONDS * 1000L;
+        return System.currentTimeMillis() - this.lastFinishedTime >= interval;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Failed to flush session lastUsedAt updates on shutdown", e);
+        }
+    }
+
+    public void flush() {
+        List<SessionId> batch = new ArrayList<>();
+        for (String dn : pendingTouches.keySet()) {
+            final SessionId sessionId = pendingTouches.remove(dn);
+            if (sessionId == null) {
+                continue;
+            }
+
+            batch.add(sessionId);
+            if (batch.size() >= BATCH_SIZE) {
+                write(batch);
+                batch = new ArrayList<>();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(List<SessionId> batch) {
+        try {
+            final List<SessionId> written;
+            if (isTrue(appConfiguration.getSessionIdPersistInCache())) {
+                written = writeToCache(batch);
+            } else {
+                written = writeToPersistence(batch);
+            }
+            writeCount.increment();
+            log.trace("Flushed lastUsedAt of {} sessions", written.size());
+
+            for (SessionId sessionId : written) {
+                externalApplicationSessionService.externalEvent(new SessionEvent(SessionEventType.UPDATED, sessionId));
+            }
+        } catch (Exception e) {
+            log.error("Failed to flush lastUsedAt of {} sessions", batch.size(), e);
+        }
+    }
+
+    private List<SessionId> writeToPersistence(List<SessionId> batch) {
+        List<CustomEntry> entries = new ArrayList<>(batch.size());
+        for (SessionId sessionId : batch) {
+            CustomEntry customEntry = new CustomEntry();
+            customEntry.setDn(sessionId.getDn());
+            customEntry.setCustomObjectClasses(SESSION_OBJECT_CLASSES);
+
+            String lastUsedAt = entryManager.encodeTime(sessionId.getDn(), sessionId.getLastUsedAt());
+            customEntry.getCustomAttributes().add(new CustomAttribute("jansLastAccessTime", lastUsedAt));
+            entries.add(customEntry);
+        }
+
+        try {
+            entryManager.merge(entries);
+            return batch;
+        } catch (EntryPersistenceException e) {
+            // Batch fails as a whole if one of sessions was removed meanwhile (e.g. by other node)
+            log.debug("Failed to flush lastUsedAt of {} sessions in batch, fall back to one by one. Message: {}", batch.size(), e.getMessage());
+        }
+
+        List<SessionId> written = new ArrayList<>(batch.size());
+        for (int i = 0; i < entries.size(); i++) {
+            try {
+                entryManager.merge(entries.get(i));
+                written.add(batch.get(i));
+            } catch (EntryPersistenceException e) {
+                log.debug("Skipped lastUsedAt of session {}, message: {}", batch.get(i).getDn(), e.getMessage());
+            }
+        }
+
+        return written;
+    }
+
+    private List<SessionId> writeToCache(List<SessionId> batch) {
+        // Nodes flushing touches of the same session are serialized, so none of them writes back entry which is
+        // older than the one written by the other node. Touch which can't be locked now is written with next flush.
+        Map<String, SessionId> touched = new HashMap<>();
+        for (SessionId sessionId : batch) {
+            if (cacheService.putIfAbsent(CACHE_LOCK_EXPIRATION_IN_SECONDS, CACHE_LOCK_KEY_PREFIX + sessionId.getDn(), Boolean.TRUE)) {
+                touched.put(sessionId.getDn(), sessionId);
+            } else {
+                enqueue(sessionId);
+            }
+        }
+        if (touched.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        try {
+            // Re-read entries to keep state written by other nodes, only lastUsedAt is taken from the touch
+            List<SessionId> written = new ArrayList<>(touched.size());
+            Map<Integer, Map<String, SessionId>> entriesByTtl = new HashMap<>();
+            for (Map.Entry<String, Object> entry : cacheService.getAll(touched.keySet()).entrySet()) {
+                if (!(entry.getValue() instanceof SessionId)) {
+                    continue;
+                }
+
+                final SessionId cached = (SessionId) entry.getValue();
+                final SessionId sessionId = touched.get(entry.getKey());
+                if (!isNewer(sessionId, cached)) {
+                    continue;
+                }
+
+                cached.setLastUsedAt(sessionId.getLastUsedAt());
+                entriesByTtl.computeIfAbsent(sessionId.getTtl(), k -> new HashMap<>()).put(entry.getKey(), cached);
+                written.add(cached);
+            }
+
+            for (Map.Entry<Integer, Map<String, SessionId>> entry : entriesByTtl.entrySet()) {
+                cacheService.putAll(entry.getKey(), entry.getValue());
+            }
+
+            return written;
+        } finally {
+            List<String> lockKeys = new ArrayList<>(touched.size());
+            for (String dn : touched.keySet()) {
+                lockKeys.add(CACHE_LOCK_KEY_PREFIX + dn);
+            }
+            cacheService.removeAll(lockKeys);
+        }
+    }
+
+    private static boolean isNewer(SessionId sessionId, SessionId other) {
+        if (other.getLastUsedAt() == null) {
+            return true;
+        }
+        return sessionId.getLastUsedAt() != null && sessionId.getLastUsedAt().after(other.getLastUsedAt());
+    }
+}
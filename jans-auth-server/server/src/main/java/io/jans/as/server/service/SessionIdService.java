@@ -121,6 +121,9 @@ public class SessionIdService {
     @Inject
     private LocalCacheService localCacheService;
 
+    @Inject
+    private SessionIdLastUsedAtTimer sessionIdLastUsedAtTimer;
+
     @Inject
     private CacheService cacheService;
 
@@ -609,6 +612,7 @@ public class SessionIdService {
             final int unusedLifetime = appConfiguration.getSessionIdUnusedLifetime();
             if ((unusedLifetime > 0 && isPersisted(prompts)) || forceUpdate) {
                 boolean update = modified;
+                boolean touched = false;
 
                 if (updateLastUsedAt) {
                     Date lastUsedAt = new Date();
@@ -622,7 +626,7 @@ public class SessionIdService {
                         }
 
                         if (diff > 500) { // update only if diff is more than 500ms
-                            update = true;
+                            touched = true;
                             sessionId.setLastUsedAt(lastUsedAt);
                         }
                     } else {
@@ -640,10 +644,13 @@ public class SessionIdService {
                     log.debug("Session id expired: {} by lifetime property, remove it.", sessionId.getId());
                     remove(sessionId); // expired
                     update = false;
+                    touched = false;
                 }
 
                 if (update) {
                     mergeWithRetry(sessionId);
+                } else if (touched) {
+                    touch(sessionId);
                 }
             }
         } catch (Exception e) {
@@ -691,11 +698,28 @@ public class SessionIdService {
         return new Pair<>(calendar.getTime(), expirationInSeconds);
     }
 
+    // Only lastUsedAt is changed, so with write-behind enabled persistence write is deferred and batched
+    private void touch(final SessionId sessionId) {
+        if (!sessionIdLastUsedAtTimer.isEnabled()) {
+            mergeWithRetry(sessionId);
+            return;
+        }
+
+        final Pair<Date, Integer> expiration = expirationDate(sessionId.getCreationDate(), sessionId.getState());
+        sessionId.setExpirationDate(expiration.getFirst());
+        sessionId.setTtl(expiration.getSecond());
+
+        sessionIdLastUsedAtTimer.addTouch(sessionId);
+        localCacheService.put(DEFAULT_LOCAL_CACHE_EXPIRATION, sessionId.getDn(), sessionId);
+    }
+
     private void mergeWithRetry(final SessionId sessionId) {
         final Pair<Date, Integer> expiration = expirationDate(sessionId.getCreationDate(), sessionId.getState());
         sessionId.setExpirationDate(expiration.getFirst());
         sessionId.setTtl(expiration.getSecond());
 
+        sessionIdLastUsedAtTimer.cancel(sessionId.getDn());
+
         EntryPersistenceException lastException = null;
         for (int i = 1; i <= MAX_MERGE_ATTEMPTS; i++) {
             try {
@@ -848,6 +872,7 @@ public class SessionIdService {
 
     public boolean remove(SessionId sessionId) {
         try {
+            sessionIdLastUsedAtTimer.cancel(sessionId.getDn());
             if (isTrue(appConfiguration.getSessionIdPersistInCache())) {
                 cacheService.remove(sessionId.getDn());
             } else {
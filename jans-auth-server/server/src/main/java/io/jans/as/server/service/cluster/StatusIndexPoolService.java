@@ -9,6 +9,7 @@ package io.jans.as.server.service.cluster;
 import io.jans.as.model.config.StaticConfiguration;
 import io.jans.as.model.configuration.AppConfiguration;
 import io.jans.as.server.service.token.StatusListIndexService;
+import io.jans.as.server.service.token.StatusListService;
 import io.jans.model.token.StatusIndexPool;
 import io.jans.model.tokenstatus.StatusList;
 import io.jans.model.tokenstatus.TokenStatus;
@@ -42,6 +43,9 @@ public class StatusIndexPoolService {
     public static long DELAY_AFTER_EXPIRATION = 3 * 60 * 60 * 1000L; // 3 hours
     public static long LOCK_WAIT_BEFORE_UPDATE = 3 * 1000L; // 30 seconds
     public static long DELAY_IF_LOCKED = 500; // 50 milliseconds
+
+    private static final String[] LAST_UPDATE_ATTRIBUTES = new String[] {"jansNum", "jansLastUpd"};
+
     @Inject
     private Logger log;
 
@@ -54,6 +58,9 @@ public class StatusIndexPoolService {
     @Inject
     private PersistenceEntryManager entryManager;
 
+    @Inject
+    private StatusListService statusListService;
+
     // Don't allow to change it after server start up. After setting new value we need to restart cluster
     private int indexAllocationBlockSize;
 
@@ -103,6 +110,15 @@ public class StatusIndexPoolService {
         return setIndexes(entryManager.findEntries(baseDn(), StatusIndexPool.class, Filter.createPresenceFilter("jansNum")));
     }
 
+    /**
+     * Returns a list of all pools with id and last update time only (without status list data)
+     *
+     * @return list of pools
+     */
+    public List<StatusIndexPool> getAllPoolsLastUpdate() {
+        return setIndexes(entryManager.findEntries(baseDn(), StatusIndexPool.class, Filter.createPresenceFilter("jansNum"), LAST_UPDATE_ATTRIBUTES));
+    }
+
     /**
      * Returns last (max) pool or null if none
      *
@@ -198,6 +214,7 @@ public class StatusIndexPoolService {
             // if lock is ours do data update and release lock
             if (LOCK_KEY.equals(loadedPool.getLockKey())) {
                 log.debug("Updated pool {} with lock with attempt {}, lockKey: {}", loadedPool.getId(), attempt, LOCK_KEY);
+                statusListService.onPoolUpdated(loadedPool, statusList);
                 return loadedPool;
             } else {
                 log.debug("Failed to update pool {} with lock {} with attempt {}", loadedPool.getId(), LOCK_KEY, attempt);
@@ -29,11 +29,13 @@ import jakarta.enterprise.event.Event;
 import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 /**
  * @author Yuriy Zabrovarnyy
@@ -43,6 +45,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class ExpirationNotificatorTimer implements ExpirationListener<ExpId, Object> {
 
     private static final int DEFAULT_INTERVAL = 600; // 10 min
+    private static final int SESSIONS_CHUNK_SIZE = 1000;
 
     @Inject
     private Logger log;
@@ -127,20 +130,24 @@ public class ExpirationNotificatorTimer implements ExpirationListener<ExpId, Obj
         final Filter filter = Filter.createANDFilter(
                 Filter.createEqualityFilter("del", true),
                 Filter.createLessOrEqualFilter("exp", persistenceEntryManager.encodeTime(baseDn, future)));
-        final List<SessionId> sessions = persistenceEntryManager.findEntries(baseDn, SessionId.class, filter);
-        if (sessions == null || sessions.isEmpty()) {
-            return;
+        // Expired sessions are removed after the stream is closed: backends which stream entries page by page
+        // (by offset) would skip entries if they were removed while iterating
+        final List<SessionId> expiredSessions = new ArrayList<>();
+        final long now = new Date().getTime();
+        try (Stream<SessionId> sessions = persistenceEntryManager.streamEntries(baseDn, SessionId.class, filter, null, SESSIONS_CHUNK_SIZE)) {
+            sessions.forEach(session -> {
+                final long duration = session.getExpirationDate().getTime() - now;
+
+                if (duration <= 0) {
+                    expiredSessions.add(session);
+                    return;
+                }
+                expiringMap.put(new ExpId(session.getId(), ExpType.SESSION), session, duration, TimeUnit.MILLISECONDS);
+            });
         }
 
-        long now = new Date().getTime();
-        for (SessionId session : sessions) {
-            final long duration = session.getExpirationDate().getTime() - now;
-
-            if (duration <= 0) {
-                remove(session);
-                continue;
-            }
-            expiringMap.put(new ExpId(session.getId(), ExpType.SESSION), session, duration, TimeUnit.MILLISECONDS);
+        for (SessionId session : expiredSessions) {
+            remove(session);
         }
     }
 
@@ -0,0 +1,241 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.server.service.stat;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import io.jans.as.server.service.MetricService;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.service.cache.CacheProvider;
+import io.jans.service.custom.script.ExternalScriptService;
+import io.prometheus.client.Collector;
+import io.prometheus.client.Collector.MetricFamilySamples;
+import io.prometheus.client.Collector.MetricFamilySamples.Sample;
+import io.prometheus.client.exporter.common.TextFormat;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes metric registry, JVM, connection pool, cache and custom script metrics in Prometheus text format.
+ * Everything is read on scrape, nothing is written to persistence.
+ */
+@ApplicationScoped
+public class MetricScrapeService {
+
+    /**
+     * Timers with this prefix are exported as one family with endpoint label, e.g.
+     * http_server_requests.TokenRestWebServiceImpl.requestAccessToken
+     */
+    public static final String ENDPOINT_TIMER_PREFIX = "http_server_requests.";
+
+    private static final String PREFIX = "jans_";
+    private static final double[] QUANTILES = {0.5, 0.75, 0.95, 0.98, 0.99, 0.999};
+    private static final double SECONDS_IN_NANO = 1.0 / TimeUnit.SECONDS.toNanos(1);
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private MetricService metricService;
+
+    @Inject
+    private PersistenceEntryManager entryManager;
+
+    @Inject
+    private CacheProvider cacheProvider;
+
+    @Inject
+    @Any
+    private Instance<ExternalScriptService> externalScriptServices;
+
+    public String scrape() throws IOException {
+        List<MetricFamilySamples> families = new ArrayList<>();
+
+        final MetricRegistry registry = metricService.getMetricRegistry();
+        if (registry != null) {
+            addRegistry(families, registry);
+        }
+        addJvm(families);
+        addSafely(families, "connection pool", () -> addConnectionPool(families));
+        addSafely(families, "cache", () -> addCache(families));
+        addSafely(families, "custom script", () -> addScripts(families));
+
+        StringWriter writer = new StringWriter();
+        TextFormat.write004(writer, Collections.enumeration(families));
+        return writer.toString();
+    }
+
+    private void addSafely(List<MetricFamilySamples> families, String name, Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (Exception e) {
+            log.debug("Failed to collect {} metrics", name, e);
+        }
+    }
+
+    public static void addRegistry(List<MetricFamilySamples> families, MetricRegistry registry) {
+        for (Map.Entry<String, Counter> entry : registry.getCounters().entrySet()) {
+            final String name = sanitize(entry.getKey());
+            families.add(new MetricFamilySamples(name, Collector.Type.COUNTER, entry.getKey(),
+                    Collections.singletonList(sample(name + "_total", entry.getValue().getCount()))));
+        }
+
+        for (Map.Entry<String, Gauge> entry : registry.getGauges().entrySet()) {
+            final Object value = entry.getValue().getValue();
+            if (value instanceof Number) {
+                final String name = sanitize(entry.getKey());
+                families.add(gauge(name, entry.getKey(), ((Number) value).doubleValue()));
+            }
+        }
+
+        for (Map.Entry<String, Meter> entry : registry.getMeters().entrySet()) {
+            final String name = sanitize(entry.getKey());
+            families.add(new MetricFamilySamples(name, Collector.Type.COUNTER, entry.getKey(),
+                    Collections.singletonList(sample(name + "_total", entry.getValue().getCount()))));
+            families.add(gauge(name + "_rate1m", entry.getKey() + " one minute rate", entry.getValue().getOneMinuteRate()));
+        }
+
+        for (Map.Entry<String, Histogram> entry : registry.getHistograms().entrySet()) {
+            final String name = sanitize(entry.getKey());
+            families.add(new MetricFamilySamples(name, Collector.Type.SUMMARY, entry.getKey(),
+                    summarySamples(name, Collections.emptyList(), Collections.emptyList(), entry.getValue().getSnapshot(), entry.getValue().getCount(), 1.0)));
+        }
+
+        List<Sample> endpointSamples = new ArrayList<>();
+        for (Map.Entry<String, Timer> entry : registry.getTimers().entrySet()) {
+            final Timer timer = entry.getValue();
+            if (entry.getKey().startsWith(ENDPOINT_TIMER_PREFIX)) {
+                endpointSamples.addAll(summarySamples(PREFIX + "http_server_requests_seconds", Collections.singletonList("endpoint"),
+                        Collections.singletonList(entry.getKey().substring(ENDPOINT_TIMER_PREFIX.length())), timer.getSnapshot(), timer.getCount(), SECONDS_IN_NANO));
+                continue;
+            }
+
+            final String name = sanitize(entry.getKey()) + "_seconds";
+            families.add(new MetricFamilySamples(name, Collector.Type.SUMMARY, entry.getKey(),
+                    summarySamples(name, Collections.emptyList(), Collections.emptyList(), timer.getSnapshot(), timer.getCount(), SECONDS_IN_NANO)));
+        }
+        if (!endpointSamples.isEmpty()) {
+            families.add(new MetricFamilySamples(PREFIX + "http_server_requests_seconds", Collector.Type.SUMMARY,
+                    "Endpoint request latency", endpointSamples));
+        }
+    }
+
+    private static List<Sample> summarySamples(String name, List<String> labelNames, List<String> labelValues, Snapshot snapshot, long count, double factor) {
+        List<Sample> samples = new ArrayList<>();
+        for (double quantile : QUANTILES) {
+            List<String> names = new ArrayList<>(labelNames);
+            names.add("quantile");
+            List<String> values = new ArrayList<>(labelValues);
+            values.add(Collector.doubleToGoString(quantile));
+            samples.add(new Sample(name, names, values, snapshot.getValue(quantile) * factor));
+        }
+        samples.add(new Sample(name + "_count", labelNames, labelValues, count));
+        return samples;
+    }
+
+    private void addJvm(List<MetricFamilySamples> families) {
+        final MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        final MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+
+        List<Sample> memory = new ArrayList<>();
+        addMemory(memory, "heap", heap);
+        addMemory(memory, "nonheap", nonHeap);
+        families.add(new MetricFamilySamples(PREFIX + "jvm_memory_bytes", Collector.Type.GAUGE, "JVM memory", memory));
+
+        families.add(gauge(PREFIX + "jvm_threads", "JVM live threads", ManagementFactory.getThreadMXBean().getThreadCount()));
+        families.add(gauge(PREFIX + "jvm_uptime_seconds", "JVM uptime", ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0));
+
+        List<Sample> gcCount = new ArrayList<>();
+        List<Sample> gcTime = new ArrayList<>();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount.add(new Sample(PREFIX + "jvm_gc_collections_total", Collections.singletonList("gc"), Collections.singletonList(gc.getName()), gc.getCollectionCount()));
+            gcTime.add(new Sample(PREFIX + "jvm_gc_collection_seconds_total", Collections.singletonList("gc"), Collections.singletonList(gc.getName()), gc.getCollectionTime() / 1000.0));
+        }
+        families.add(new MetricFamilySamples(PREFIX + "jvm_gc_collections", Collector.Type.COUNTER, "JVM garbage collections", gcCount));
+        families.add(new MetricFamilySamples(PREFIX + "jvm_gc_collection_seconds", Collector.Type.COUNTER, "JVM garbage collection time", gcTime));
+    }
+
+    private static void addMemory(List<Sample> samples, String area, MemoryUsage usage) {
+        samples.add(new Sample(PREFIX + "jvm_memory_bytes", List.of("area", "type"), List.of(area, "used"), usage.getUsed()));
+        samples.add(new Sample(PREFIX + "jvm_memory_bytes", List.of("area", "type"), List.of(area, "committed"), usage.getCommitted()));
+        samples.add(new Sample(PREFIX + "jvm_memory_bytes", List.of("area", "type"), List.of(area, "max"), usage.getMax()));
+    }
+
+    private void addConnectionPool(List<MetricFamilySamples> families) {
+        addStatistics(families, PREFIX + "persistence_connection_pool", "Persistence connection pool",
+                new TreeMap<>(entryManager.getOperationService().getConnectionPoolStatistics()));
+    }
+
+    private void addCache(List<MetricFamilySamples> families) {
+        Map<String, Number> statistics = new TreeMap<>(cacheProvider.getStatistics());
+
+        addStatistics(families, PREFIX + "cache", "Cache provider " + cacheProvider.getProviderType(), statistics);
+    }
+
+    private void addScripts(List<MetricFamilySamples> families) {
+        Map<String, Long> errors = new TreeMap<>();
+        Map<String, Long> enabled = new TreeMap<>();
+        for (ExternalScriptService service : externalScriptServices) {
+            final String type = service.getCustomScriptType().getValue();
+            errors.merge(type, service.getErrorCount(), Long::sum);
+            enabled.merge(type, (long) service.getCustomScriptConfigurations().size(), Long::sum);
+        }
+
+        List<Sample> errorSamples = new ArrayList<>();
+        List<Sample> enabledSamples = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : errors.entrySet()) {
+            errorSamples.add(new Sample(PREFIX + "custom_script_errors_total", Collections.singletonList("type"), Collections.singletonList(entry.getKey()), entry.getValue()));
+            enabledSamples.add(new Sample(PREFIX + "custom_scripts", Collections.singletonList("type"), Collections.singletonList(entry.getKey()), enabled.get(entry.getKey())));
+        }
+        families.add(new MetricFamilySamples(PREFIX + "custom_script_errors", Collector.Type.COUNTER, "Custom script execution errors", errorSamples));
+        families.add(new MetricFamilySamples(PREFIX + "custom_scripts", Collector.Type.GAUGE, "Enabled custom scripts", enabledSamples));
+    }
+
+    private static void addStatistics(List<MetricFamilySamples> families, String name, String help, Map<String, ? extends Number> statistics) {
+        if (statistics.isEmpty()) {
+            return;
+        }
+
+        List<Sample> samples = new ArrayList<>();
+        for (Map.Entry<String, ? extends Number> entry : statistics.entrySet()) {
+            samples.add(new Sample(name, Collections.singletonList("name"), Collections.singletonList(entry.getKey()), entry.getValue().doubleValue()));
+        }
+        families.add(new MetricFamilySamples(name, Collector.Type.GAUGE, help, samples));
+    }
+
+    private static MetricFamilySamples gauge(String name, String help, double value) {
+        return new MetricFamilySamples(name, Collector.Type.GAUGE, help, Collections.singletonList(sample(name, value)));
+    }
+
+    private static Sample sample(String name, double value) {
+        return new Sample(name, Collections.emptyList(), Collections.emptyList(), value);
+    }
+
+    private static String sanitize(String name) {
+        return Collector.sanitizeMetricName(PREFIX + name);
+    }
+}
@@ -23,6 +23,7 @@ import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author Yuriy Zabrovarnyy
@@ -36,6 +37,9 @@ public class StatService {
     private static final int REGWIDTH = 5;
     private static final int LOG_2_M = 15;
 
+    // power of two, reporting threads are spread over stripes by thread id
+    private static final int HLL_STRIPES = Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1, 64);
+
     public static final String ACCESS_TOKEN_KEY = "access_token";
     public static final String ID_TOKEN_KEY = "id_token";
     public static final String REFRESH_TOKEN_KEY = "refresh_token";
@@ -56,8 +60,10 @@ public class StatService {
     private String nodeId;
     private String monthlyDn;
     private StatEntry currentEntry;
+    private volatile long currentEntryMonthEnd;
     private HLL hll;
-    private ConcurrentMap<String, Map<String, Long>> tokenCounters;
+    private HLL[] hllStripes;
+    private ConcurrentMap<String, ConcurrentMap<String, LongAdder>> tokenCounters;
     private final SimpleDateFormat periodDateFormat = new SimpleDateFormat("yyyyMM");
 
     private boolean initialized = false;
@@ -114,12 +120,10 @@ public class StatService {
         setupCurrentEntry(now);
 
         final Stat stat = currentEntry.getStat();
-        stat.setTokenCountPerGrantType(tokenCounters);
+        stat.setTokenCountPerGrantType(sumTokenCounters(tokenCounters));
         stat.setLastUpdatedAt(now.getTime());
 
-        synchronized (hll) {
-            currentEntry.setUserHllData(Base64.getEncoder().encodeToString(hll.toBytes()));
-        }
+        currentEntry.setUserHllData(Base64.getEncoder().encodeToString(mergeHll(hll, hllStripes)));
         entryManager.merge(currentEntry);
 
         log.trace("Finished updateStat.");
@@ -130,12 +134,18 @@ public class StatService {
     }
 
     private void setupCurrentEntry(Date now) {
+        // called on every report, so avoid formatting dates while month is the same
+        if (currentEntry != null && now.getTime() < currentEntryMonthEnd) {
+            return;
+        }
+
         final String month = monthString(now);
         initNodeId(now);
 
         String dn = String.format("jansId=%s,%s", nodeId, monthlyDn); // jansId=<id>,ou=yyyyMM,ou=stat,o=gluu
 
         if (currentEntry != null && month.equals(currentEntry.getStat().getMonth())) {
+            currentEntryMonthEnd = monthEnd(now);
             return;
         }
 
@@ -143,8 +153,10 @@ public class StatService {
             StatEntry entryFromPersistence = entryManager.find(StatEntry.class, dn);
             if (entryFromPersistence != null && month.equals(entryFromPersistence.getStat().getMonth())) {
                 hll = HLL.fromBytes(Base64.getDecoder().decode(entryFromPersistence.getUserHllData()));
-                tokenCounters = new ConcurrentHashMap<>(entryFromPersistence.getStat().getTokenCountPerGrantType());
+                hllStripes = newHllStripes();
+                tokenCounters = toTokenCounters(entryFromPersistence.getStat().getTokenCountPerGrantType());
                 currentEntry = entryFromPersistence;
+                currentEntryMonthEnd = monthEnd(now);
                 log.trace("Stat entry loaded.");
 
                 if (StringUtils.isBlank(currentEntry.getMonth()) && currentEntry.getStat() != null) {
@@ -158,6 +170,7 @@ public class StatService {
 
         log.trace("Creating stat entry ...");
         hll = newHll();
+        hllStripes = newHllStripes();
         tokenCounters = new ConcurrentHashMap<>();
         final String monthString = periodDateFormat.format(new Date());
 
@@ -169,13 +182,76 @@ public class StatService {
         currentEntry.getStat().setMonth(monthString);
         currentEntry.setMonth(monthString);
         entryManager.persist(currentEntry);
+        currentEntryMonthEnd = monthEnd(now);
         log.trace("Created stat entry.");
     }
 
+    private static long monthEnd(Date now) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(now);
+        calendar.set(Calendar.DAY_OF_MONTH, 1);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        calendar.add(Calendar.MONTH, 1);
+        return calendar.getTimeInMillis();
+    }
+
     public HLL newHll() {
         return new HLL(LOG_2_M, REGWIDTH);
     }
 
+    private HLL[] newHllStripes() {
+        HLL[] stripes = new HLL[HLL_STRIPES];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = newHll();
+        }
+        return stripes;
+    }
+
+    /**
+     * Moves users reported to stripes into main sketch and returns it serialized. Union is lossless, so result is
+     * the same as if all users were added to one sketch.
+     */
+    private static byte[] mergeHll(HLL hll, HLL[] stripes) {
+        synchronized (hll) {
+            for (HLL stripe : stripes) {
+                synchronized (stripe) {
+                    hll.union(stripe);
+                    stripe.clear();
+                }
+            }
+            return hll.toBytes();
+        }
+    }
+
+    private static ConcurrentMap<String, ConcurrentMap<String, LongAdder>> toTokenCounters(Map<String, Map<String, Long>> counts) {
+        ConcurrentMap<String, ConcurrentMap<String, LongAdder>> counters = new ConcurrentHashMap<>();
+        for (Map.Entry<String, Map<String, Long>> grantEntry : counts.entrySet()) {
+            ConcurrentMap<String, LongAdder> tokenMap = new ConcurrentHashMap<>();
+            for (Map.Entry<String, Long> tokenEntry : grantEntry.getValue().entrySet()) {
+                LongAdder counter = new LongAdder();
+                counter.add(tokenEntry.getValue() != null ? tokenEntry.getValue() : 0L);
+                tokenMap.put(tokenEntry.getKey(), counter);
+            }
+            counters.put(grantEntry.getKey(), tokenMap);
+        }
+        return counters;
+    }
+
+    private static Map<String, Map<String, Long>> sumTokenCounters(Map<String, ConcurrentMap<String, LongAdder>> counters) {
+        Map<String, Map<String, Long>> counts = new HashMap<>();
+        for (Map.Entry<String, ConcurrentMap<String, LongAdder>> grantEntry : counters.entrySet()) {
+            Map<String, Long> tokenMap = new HashMap<>();
+            for (Map.Entry<String, LongAdder> tokenEntry : grantEntry.getValue().entrySet()) {
+                tokenMap.put(tokenEntry.getKey(), tokenEntry.getValue().sum());
+            }
+            counts.put(grantEntry.getKey(), tokenMap);
+        }
+        return counts;
+    }
+
     private void initNodeId(Date now) {
         if (StringUtils.isNotBlank(nodeId)) {
             return;
@@ -253,8 +329,11 @@ public class StatService {
         final int hashCode = id.hashCode();
         try {
             setupCurrentEntry();
-            synchronized (hll) {
-                hll.addRaw(hashCode);
+
+            final HLL[] stripes = hllStripes;
+            final HLL stripe = stripes[(int) (Thread.currentThread().getId() & (stripes.length - 1))];
+            synchronized (stripe) {
+                stripe.addRaw(hashCode);
             }
         } catch (Exception e) {
             log.error("Failed to report active user, id: " + id + ", hash: " + hashCode, e);
@@ -291,17 +370,8 @@ public class StatService {
             return;
         }
 
-        Map<String, Long> tokenMap = tokenCounters.computeIfAbsent(grantType.getValue(), k -> new ConcurrentHashMap<>());
-
-        Long counter = tokenMap.get(tokenKey);
-
-        if (counter == null) {
-            counter = 1L;
-        } else {
-            counter++;
-        }
-
-        tokenMap.put(tokenKey, counter);
-
+        tokenCounters.computeIfAbsent(grantType.getValue(), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(tokenKey, k -> new LongAdder())
+                .increment();
     }
 }
\ No newline at end of file
@@ -15,19 +15,28 @@ import io.jans.as.server.service.DiscoveryService;
 import io.jans.as.server.service.cluster.StatusIndexPoolService;
 import io.jans.model.token.StatusIndexPool;
 import io.jans.model.tokenstatus.StatusList;
-import io.jans.model.tokenstatus.TokenStatus;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static io.jans.as.model.config.Constants.CONTENT_TYPE_STATUSLIST_JSON;
 import static io.jans.as.model.config.Constants.CONTENT_TYPE_STATUSLIST_JWT;
@@ -38,6 +47,8 @@ import static io.jans.as.model.config.Constants.CONTENT_TYPE_STATUSLIST_JWT;
 @ApplicationScoped
 public class StatusListService {
 
+    private static final long POOL_CHECK_INTERVAL = 1000L; // 1 second
+
     @Inject
     private Logger log;
 
@@ -56,25 +67,43 @@ public class StatusListService {
     @Inject
     private WebKeysConfiguration webKeysConfiguration;
 
+    // Status lists of pools by pool id
+    private final ConcurrentHashMap<Integer, PoolStatusList> poolStatusLists = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final ReentrantLock poolCheckLock = new ReentrantLock();
+    private volatile long lastPoolCheck;
+
+    private volatile CachedResponse jsonResponse;
+    private volatile CachedResponse jwtResponse;
+
     public Response requestStatusList(String acceptHeader) {
+        return requestStatusList(acceptHeader, null);
+    }
+
+    public Response requestStatusList(String acceptHeader, String ifNoneMatch) {
         log.debug("Attempting to request status_list, acceptHeader: {} ...", acceptHeader);
 
         errorResponseFactory.validateFeatureEnabled(FeatureFlagType.STATUS_LIST);
 
         try {
-            final List<StatusIndexPool> pools = statusTokenPoolService.getAllPools();
-            final StatusList statusList = join(pools);
-
             final boolean isJsonRequested = CONTENT_TYPE_STATUSLIST_JSON.equalsIgnoreCase(acceptHeader);
 
-            final String entity = createEntity(isJsonRequested, statusList);
+            final CachedResponse cachedResponse = getCachedResponse(isJsonRequested);
             final String responseType = isJsonRequested ? CONTENT_TYPE_STATUSLIST_JSON : CONTENT_TYPE_STATUSLIST_JWT;
+            final String cacheControl = "max-age=" + cachedResponse.getMaxAge(System.currentTimeMillis());
+
+            if (cachedResponse.matches(ifNoneMatch)) {
+                log.trace("Status list is not modified, etag {}", cachedResponse.etag);
+                return Response.notModified().header(HttpHeaders.ETAG, cachedResponse.etag)
+                        .header(HttpHeaders.CACHE_CONTROL, cacheControl).build();
+            }
 
             if (log.isTraceEnabled()) {
-                log.trace("Response entity {}, responseType {}", entity, responseType);
+                log.trace("Response entity {}, responseType {}", cachedResponse.entity, responseType);
             }
 
-            return Response.status(Response.Status.OK).entity(entity).type(responseType).build();
+            return Response.status(Response.Status.OK).entity(cachedResponse.entity).type(responseType)
+                    .header(HttpHeaders.ETAG, cachedResponse.etag).header(HttpHeaders.CACHE_CONTROL, cacheControl).build();
         } catch (WebApplicationException e) {
             if (log.isTraceEnabled()) {
                 log.trace(e.getMessage(), e);
@@ -86,14 +115,144 @@ public class StatusListService {
         }
     }
 
-    private String createEntity(boolean isJsonRequested, StatusList statusList) throws Exception {
-        JSONObject jsonObject = new JSONObject(statusList.encodeAsJSON());
+    /**
+     * Updates in-memory status list of the pool. Called after pool data was persisted by this node.
+     *
+     * @param pool       updated pool
+     * @param statusList status list of the pool
+     */
+    public void onPoolUpdated(StatusIndexPool pool, StatusList statusList) {
+        if (pool == null || pool.getId() == null) {
+            return;
+        }
+
+        poolStatusLists.put(pool.getId(), new PoolStatusList(pool.getLastUpdate(), statusList));
+        version.incrementAndGet();
+    }
+
+    private CachedResponse getCachedResponse(boolean isJsonRequested) throws Exception {
+        refreshPoolStatusLists();
+
+        final long currentVersion = version.get();
+        final long now = System.currentTimeMillis();
+
+        CachedResponse cachedResponse = isJsonRequested ? jsonResponse : jwtResponse;
+        if (cachedResponse != null && cachedResponse.isValid(currentVersion, now)) {
+            return cachedResponse;
+        }
+
+        synchronized (this) {
+            cachedResponse = isJsonRequested ? jsonResponse : jwtResponse;
+            if (cachedResponse != null && cachedResponse.isValid(currentVersion, System.currentTimeMillis())) {
+                return cachedResponse;
+            }
+
+            final long maxAge = TimeUnit.SECONDS.toMillis(Math.max(1, appConfiguration.getStatusListResponseJwtLifetime() / 2));
+            if (isJsonRequested) {
+                final StatusList statusList = merge(poolStatusLists.values());
+                final String entity = new JSONObject(statusList.encodeAsJSON()).toString();
+
+                jsonResponse = new CachedResponse(entity, currentVersion, System.currentTimeMillis() + maxAge);
+                return jsonResponse;
+            }
+
+            final CachedResponse json = getCachedResponse(true);
+            final String entity = createResponseJwt(new JSONObject(json.entity));
+
+            jwtResponse = new CachedResponse(entity, json.version, System.currentTimeMillis() + maxAge);
+            return jwtResponse;
+        }
+    }
+
+    /**
+     * Loads data of pools which were changed since last check. Pool change time is checked not more
+     * often than once per POOL_CHECK_INTERVAL.
+     */
+    private void refreshPoolStatusLists() {
+        if (System.currentTimeMillis() - lastPoolCheck < POOL_CHECK_INTERVAL) {
+            return;
+        }
+
+        if (!poolCheckLock.tryLock()) {
+            if (lastPoolCheck > 0) {
+                return; // other thread is checking pools, use current data
+            }
+            poolCheckLock.lock();
+        }
+
+        try {
+            if (System.currentTimeMillis() - lastPoolCheck < POOL_CHECK_INTERVAL) {
+                return;
+            }
+
+            boolean changed = lastPoolCheck == 0 ? loadAllPoolStatusLists() : loadChangedPoolStatusLists();
+            if (changed) {
+                version.incrementAndGet();
+            }
+
+            lastPoolCheck = System.currentTimeMillis();
+        } finally {
+            poolCheckLock.unlock();
+        }
+    }
+
+    private boolean loadAllPoolStatusLists() {
+        final List<StatusIndexPool> pools = statusTokenPoolService.getAllPools();
+        for (StatusIndexPool pool : pools) {
+            poolStatusLists.put(pool.getId(), new PoolStatusList(pool.getLastUpdate(), decode(pool)));
+        }
+
+        log.debug("Loaded status lists of {} pools", pools.size());
+        return true;
+    }
+
+    private boolean loadChangedPoolStatusLists() {
+        final List<StatusIndexPool> pools = statusTokenPoolService.getAllPoolsLastUpdate();
+
+        boolean changed = false;
+        final Set<Integer> poolIds = new HashSet<>();
+        for (StatusIndexPool pool : pools) {
+            poolIds.add(pool.getId());
+
+            final PoolStatusList poolStatusList = poolStatusLists.get(pool.getId());
+            if (poolStatusList != null && Objects.equals(poolStatusList.lastUpdate, pool.getLastUpdate())) {
+                continue;
+            }
+
+            final StatusIndexPool loadedPool = statusTokenPoolService.getPoolByDn(pool.getDn());
+            if (loadedPool != null) {
+                log.trace("Reloading status list of pool {}", loadedPool.getId());
+                poolStatusLists.put(loadedPool.getId(), new PoolStatusList(loadedPool.getLastUpdate(), decode(loadedPool)));
+                changed = true;
+            }
+        }
+
+        changed |= poolStatusLists.keySet().retainAll(poolIds);
+        return changed;
+    }
 
-        if (isJsonRequested) {
-            return jsonObject.toString();
+    private StatusList decode(StatusIndexPool pool) {
+        final int bitSize = appConfiguration.getStatusListBitSize();
+        try {
+            final String data = pool.getData();
+            if (StringUtils.isNotBlank(data)) {
+                return StatusList.fromEncoded(data, bitSize);
+            }
+        } catch (Exception e) {
+            String msg = String.format("Failed to process status list from pool: %s, nodeId: %s", pool.getId(), pool.getNodeId());
+            log.error(msg, e);
         }
+        return new StatusList(bitSize);
+    }
 
-        return createResponseJwt(jsonObject);
+    private StatusList merge(Collection<PoolStatusList> poolStatusLists) {
+        final StatusList result = new StatusList(appConfiguration.getStatusListBitSize());
+        for (PoolStatusList poolStatusList : poolStatusLists) {
+            if (poolStatusList.statusList.getBits() == result.getBits()) {
+                result.merge(poolStatusList.statusList);
+            }
+        }
+        return result;
     }
 
     public StatusList join(List<StatusIndexPool> pools) {
@@ -107,14 +266,7 @@ public class StatusListService {
                     continue;
                 }
 
-                StatusList poolStatusList = StatusList.fromEncoded(data, bitSize);
-                for (int i = 0; i < poolStatusList.getBitSetLength(); i++) {
-                    int value = poolStatusList.get(i);
-                    boolean isNotDefault = value != TokenStatus.VALID.getValue();
-                    if (isNotDefault) {
-                        result.set(i, value);
-                    }
-                }
+                result.merge(StatusList.fromEncoded(data, bitSize));
             } catch (Exception e) {
                 String msg = String.format("Failed to process status list from pool: %s, nodeId: %s", pool.getId(), pool.getNodeId());
                 log.error(msg, e);
@@ -199,4 +351,52 @@ public class StatusListService {
             log.trace("Response before signing: {}", jwr.getClaims().toJsonString());
         }
     }
+
+    private static class PoolStatusList {
+
+        private final Date lastUpdate;
+        private final StatusList statusList;
+
+        PoolStatusList(Date lastUpdate, StatusList statusList) {
+            this.lastUpdate = lastUpdate;
+            this.statusList = statusList;
+        }
+    }
+
+    private static class CachedResponse {
+
+        private final String entity;
+        private final String etag;
+        private final long version;
+        private final long expiresAt;
+
+        CachedResponse(String entity, long version, long expiresAt) {
+            this.entity = entity;
+            this.etag = "\"" + DigestUtils.sha256Hex(entity) + "\"";
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isValid(long currentVersion, long now) {
+            return version == currentVersion && now < expiresAt;
+        }
+
+        long getMaxAge(long now) {
+            return Math.max(0, TimeUnit.MILLISECONDS.toSeconds(expiresAt - now));
+        }
+
+        boolean matches(String ifNoneMatch) {
+            if (StringUtils.isBlank(ifNoneMatch)) {
+                return false;
+            }
+
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = StringUtils.removeStart(tag.trim(), "W/");
+                if ("*".equals(tag) || etag.equals(tag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 }
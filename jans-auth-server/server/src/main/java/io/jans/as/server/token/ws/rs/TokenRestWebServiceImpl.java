@@ -447,6 +447,12 @@ public class TokenRestWebServiceImpl implements TokenRestWebService {
         tokenRestWebServiceValidator.validatePKCE(authorizationCodeGrant, codeVerifier, executionContext.getAuditLog());
         dPoPService.validateDpopThumprint(authorizationCodeGrant.getDpopJkt(), executionContext.getDpop());
 
+        if (!grantService.markAuthorizationCodeAsUsed(code, authorizationCodeGrant.getAuthorizationCode().getExpiresIn())) {
+            log.debug("Authorization code is already used by another request, clientId: '{}'", client.getClientId());
+            grantService.removeAllByAuthorizationCode(code);
+            throw new WebApplicationException(response(error(400, TokenErrorResponseType.INVALID_GRANT, "Authorization code is already used."), executionContext.getAuditLog()));
+        }
+
         authorizationCodeGrant.setIsCachedWithNoPersistence(false);
         authorizationCodeGrant.save();
 
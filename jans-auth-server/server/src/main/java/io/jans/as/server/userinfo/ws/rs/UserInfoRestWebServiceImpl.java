@@ -180,11 +180,16 @@ public class UserInfoRestWebServiceImpl implements UserInfoRestWebService {
             builder.cacheControl(ServerUtil.cacheControlWithNoStoreTransformAndPrivate());
             builder.header(Constants.PRAGMA, Constants.NO_CACHE);
 
-            User currentUser = authorizationGrant.getUser();
+            // user is reloaded by dn anyway, so grant's user is resolved only as fallback
+            User currentUser;
             try {
                 currentUser = userService.getUserByDn(authorizationGrant.getUserDn());
+                if (currentUser != null) {
+                    authorizationGrant.setUser(currentUser);
+                }
             } catch (EntryPersistenceException ex) {
                 log.warn("Failed to reload user entry: '{}'", authorizationGrant.getUserDn());
+                currentUser = authorizationGrant.getUser();
             }
 
             if (authorizationGrant.getClient() != null
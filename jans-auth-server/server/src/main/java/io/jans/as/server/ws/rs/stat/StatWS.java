@@ -7,6 +7,7 @@ import io.jans.as.model.error.ErrorResponseFactory;
 import io.jans.as.model.token.TokenErrorResponseType;
 import io.jans.as.server.model.common.AbstractToken;
 import io.jans.as.server.model.common.AuthorizationGrant;
+import io.jans.as.server.service.stat.MetricScrapeService;
 import io.jans.as.server.service.stat.StatResponseService;
 import io.jans.as.server.service.stat.StatService;
 import io.jans.as.server.service.token.TokenService;
@@ -64,6 +65,9 @@ public class StatWS {
     @Inject
     private TokenService tokenService;
 
+    @Inject
+    private MetricScrapeService metricScrapeService;
+
     public static String createOpenMetricsResponse(StatResponse statResponse) throws IOException {
         Writer writer = new StringWriter();
         CollectorRegistry registry = new CollectorRegistry();
@@ -157,6 +161,23 @@ public class StatWS {
         return stat(authorization, months, startMonth, endMonth, format);
     }
 
+    @GET
+    @Path("/metrics")
+    @Produces(TextFormat.CONTENT_TYPE_004)
+    public Response metrics(@HeaderParam("Authorization") String authorization) {
+        log.debug("Attempting to scrape metrics");
+
+        errorResponseFactory.validateFeatureEnabled(FeatureFlagType.METRIC);
+        validateAuthorization(authorization);
+
+        try {
+            return Response.ok().entity(metricScrapeService.scrape()).type(TextFormat.CONTENT_TYPE_004).build();
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).type(MediaType.APPLICATION_JSON_TYPE).build();
+        }
+    }
+
     public Response stat(String authorization, String monthsParam, String startMonth, String endMonth, String format) {
         if (log.isDebugEnabled())
             log.debug("Attempting to request stat, month: {}, startMonth: {}, endMonth: {}, format: {}",
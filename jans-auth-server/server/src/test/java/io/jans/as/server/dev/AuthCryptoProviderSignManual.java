@@ -0,0 +1,93 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.server.dev;
+
+import com.nimbusds.jose.crypto.impl.ECDSA;
+import io.jans.as.model.crypto.AuthCryptoProvider;
+import io.jans.as.model.crypto.signature.AlgorithmFamily;
+import io.jans.as.model.crypto.signature.SignatureAlgorithm;
+import io.jans.as.model.jwk.Algorithm;
+import io.jans.util.security.SecurityProviderUtility;
+
+import java.io.File;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compare JWT signing throughput of AuthCryptoProvider with decoding key and creating Signature
+ * on every call (previous behaviour)
+ */
+public class AuthCryptoProviderSignManual {
+
+    private static final String KEY_STORE_SECRET = "secret";
+    private static final int WARM_UP_ITERATIONS = 2000;
+    private static final int ITERATIONS = 2000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        SecurityProviderUtility.installBCProvider(true);
+
+        // keystore type is selected by extension: p12 (default) or jks
+        String keyStoreExtension = args.length > 0 ? args[0] : "p12";
+        File keyStoreFile = File.createTempFile("sign-manual", "." + keyStoreExtension);
+        keyStoreFile.delete();
+        keyStoreFile.deleteOnExit();
+
+        AuthCryptoProvider cryptoProvider = new AuthCryptoProvider(keyStoreFile.getAbsolutePath(), KEY_STORE_SECRET, "CN=Jans Auth CA Certificates");
+        String signingInput = "eyJraWQiOiJrIiwidHlwIjoiSldUIiwiYWxnIjoiUlMyNTYifQ.eyJzdWIiOiJhZG1pbiIsImF1ZCI6ImNsaWVudCIsImlzcyI6Imh0dHBzOi8vamFucy5leGFtcGxlLmNvbSJ9";
+
+        List<SignatureAlgorithm> algorithms = Arrays.asList(SignatureAlgorithm.RS256, SignatureAlgorithm.ES256, SignatureAlgorithm.PS256);
+        for (SignatureAlgorithm signatureAlgorithm : algorithms) {
+            String alias = cryptoProvider.generateKey(Algorithm.fromString(signatureAlgorithm.getName()), System.currentTimeMillis() + 365 * 86400000L)
+                    .getString("kid");
+
+            for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+                signUncached(cryptoProvider, signingInput, alias, signatureAlgorithm);
+                cryptoProvider.sign(signingInput, alias, null, signatureAlgorithm);
+            }
+
+            // rounds alternate so that both variants see the same JIT and CPU frequency conditions, best round is reported
+            double uncachedOps = 0;
+            double cachedOps = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    signUncached(cryptoProvider, signingInput, alias, signatureAlgorithm);
+                }
+                uncachedOps = Math.max(uncachedOps, ITERATIONS * 1e9 / (System.nanoTime() - start));
+
+                start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    cryptoProvider.sign(signingInput, alias, null, signatureAlgorithm);
+                }
+                cachedOps = Math.max(cachedOps, ITERATIONS * 1e9 / (System.nanoTime() - start));
+            }
+
+            System.out.println(String.format("alg: %-6s before: %8.0f ops/s, after: %8.0f ops/s", signatureAlgorithm.getName(),
+                    uncachedOps, cachedOps));
+        }
+    }
+
+    private static byte[] signUncached(AuthCryptoProvider cryptoProvider, String signingInput, String alias, SignatureAlgorithm signatureAlgorithm) throws Exception {
+        Key key = cryptoProvider.getKeyStore().getKey(alias, KEY_STORE_SECRET.toCharArray());
+
+        Signature signer = Signature.getInstance(signatureAlgorithm.getAlgorithm(), SecurityProviderUtility.getBCProvider());
+        signer.initSign((PrivateKey) key);
+        signer.update(signingInput.getBytes());
+
+        byte[] signature = signer.sign();
+        if (AlgorithmFamily.EC.equals(signatureAlgorithm.getFamily())) {
+            int signatureLength = ECDSA.getSignatureByteArrayLength(signatureAlgorithm.getJwsAlgorithm());
+            signature = ECDSA.transcodeSignatureToConcat(signature, signatureLength);
+        }
+
+        return signature;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.server.dev;
+
+import com.google.common.collect.Sets;
+import io.jans.as.common.model.common.User;
+import io.jans.as.common.model.registration.Client;
+import io.jans.as.common.model.session.SessionId;
+import io.jans.as.common.model.session.SessionIdState;
+import io.jans.as.server.model.common.CacheGrant;
+import io.jans.model.token.TokenEntity;
+import io.jans.model.token.TokenType;
+import io.jans.service.cache.CacheValueSerializer;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compare entry size and encode/decode latency of cache value codecs for hot cache types
+ */
+public class CacheValueCodecManual {
+
+    private static final int WARM_UP_ITERATIONS = 20000;
+    private static final int ITERATIONS = 100000;
+
+    public static void main(String[] args) {
+        Map<String, CacheValueSerializer> serializers = new LinkedHashMap<>();
+        serializers.put("java", new CacheValueSerializer("java", 0));
+        serializers.put("java+lz4", new CacheValueSerializer("java", 256));
+        serializers.put("kryo", new CacheValueSerializer("kryo", 0));
+        serializers.put("kryo+lz4", new CacheValueSerializer("kryo", 256));
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("SessionId", testSession());
+        values.put("CacheGrant", testGrant());
+        values.put("TokenEntity", testToken());
+
+        for (Map.Entry<String, Object> value : values.entrySet()) {
+            for (Map.Entry<String, CacheValueSerializer> serializer : serializers.entrySet()) {
+                measure(value.getKey(), value.getValue(), serializer.getKey(), serializer.getValue());
+            }
+        }
+    }
+
+    private static void measure(String type, Object value, String codec, CacheValueSerializer serializer) {
+        byte[] data = serializer.serialize(value);
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            serializer.deserialize(serializer.serialize(value));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            data = serializer.serialize(value);
+        }
+        long encodeTime = (System.nanoTime() - start) / ITERATIONS;
+
+        Object decoded = null;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            decoded = serializer.deserialize(data);
+        }
+        long decodeTime = (System.nanoTime() - start) / ITERATIONS;
+
+        System.out.println(String.format("type: %-12s codec: %-9s bytes: %6d, encode: %6d ns, decode: %6d ns, decoded: %s", type, codec, data.length,
+                encodeTime, decodeTime, decoded != null ? decoded.getClass().getSimpleName() : null));
+    }
+
+    private static SessionId testSession() {
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put("client_id", UUID.randomUUID().toString());
+        attributes.put("redirect_uri", "https://client.example.com/cb");
+        attributes.put("scope", "openid profile email");
+        attributes.put("response_type", "code");
+        attributes.put("acr", "basic");
+
+        SessionId session = new SessionId();
+        session.setId(UUID.randomUUID().toString());
+        session.setOutsideSid(UUID.randomUUID().toString());
+        session.setDn("jansId=" + session.getId() + ",ou=sessions,o=jans");
+        session.setUserDn("inum=" + UUID.randomUUID() + ",ou=people,o=jans");
+        session.setState(SessionIdState.AUTHENTICATED);
+        session.setAuthenticationTime(new Date());
+        session.setCreationDate(new Date());
+        session.setLastUsedAt(new Date());
+        session.setSessionAttributes(attributes);
+        return session;
+    }
+
+    private static CacheGrant testGrant() {
+        Client client = new Client();
+        client.setClientId(UUID.randomUUID().toString());
+        client.setClientName("Test client");
+        client.setRedirectUris(new String[] { "https://client.example.com/cb" });
+
+        User user = new User();
+        user.setUserId("admin");
+        user.setDn("inum=" + UUID.randomUUID() + ",ou=people,o=jans");
+
+        CacheGrant grant = new CacheGrant();
+        grant.setAcrValues("basic");
+        grant.setAuthenticationTime(new Date());
+        grant.setAuthorizationCodeString(UUID.randomUUID().toString());
+        grant.setClient(client);
+        grant.setGrantId(UUID.randomUUID().toString());
+        grant.setNonce(UUID.randomUUID().toString());
+        grant.setScopes(Sets.newHashSet("openid", "profile", "email"));
+        grant.setUser(user);
+        return grant;
+    }
+
+    private static TokenEntity testToken() {
+        TokenEntity token = new TokenEntity();
+        token.setDn("tknCde=" + UUID.randomUUID() + ",ou=tokens,o=jans");
+        token.setTokenCode(UUID.randomUUID().toString());
+        token.setTokenTypeEnum(TokenType.ACCESS_TOKEN);
+        token.setGrantId(UUID.randomUUID().toString());
+        token.setGrantType("authorization_code");
+        token.setClientId(UUID.randomUUID().toString());
+        token.setUserId("admin");
+        token.setScope("openid profile email");
+        token.setCreationDate(new Date());
+        token.setExpirationDate(new Date(System.currentTimeMillis() + 300000));
+        token.setAuthenticationTime(new Date());
+        token.setTtl(300);
+        return token;
+    }
+}
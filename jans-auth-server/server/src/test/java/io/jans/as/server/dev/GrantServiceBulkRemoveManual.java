@@ -0,0 +1,139 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.server.dev;
+
+import io.jans.as.model.config.BaseDnConfiguration;
+import io.jans.as.model.config.StaticConfiguration;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.service.ClientService;
+import io.jans.as.server.service.GrantService;
+import io.jans.as.server.service.LocalResponseCache;
+import io.jans.as.server.service.token.StatusListIndexService;
+import io.jans.model.token.TokenEntity;
+import io.jans.model.token.TokenType;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.search.filter.Filter;
+import io.jans.service.CacheService;
+import io.jans.service.MessageService;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * Time to revoke 1k tokens with per token delete (previous behaviour), with bulk delete by token codes and with
+ * delete by session (lookup and one delete). Persistence round trip is simulated with ROUND_TRIP_MILLIS sleep per call.
+ */
+public class GrantServiceBulkRemoveManual {
+
+    private static final int TOKENS = 1000;
+    private static final int ROUND_TRIP_MILLIS = 1;
+
+    @InjectMocks
+    private GrantService grantService;
+
+    @Mock(stubOnly = true)
+    private Logger log;
+
+    @Mock(stubOnly = true)
+    private PersistenceEntryManager persistenceEntryManager;
+
+    @Mock(stubOnly = true)
+    private ClientService clientService;
+
+    @Mock(stubOnly = true)
+    private MessageService messageService;
+
+    @Mock(stubOnly = true)
+    private CacheService cacheService;
+
+    @Mock(stubOnly = true)
+    private StaticConfiguration staticConfiguration;
+
+    @Mock(stubOnly = true)
+    private AppConfiguration appConfiguration;
+
+    @Mock(stubOnly = true)
+    private StatusListIndexService statusListIndexService;
+
+    @Mock(stubOnly = true)
+    private LocalResponseCache localResponseCache;
+
+    private final AtomicInteger roundTrips = new AtomicInteger();
+
+    public static void main(String[] args) throws Exception {
+        GrantServiceBulkRemoveManual test = new GrantServiceBulkRemoveManual();
+        MockitoAnnotations.openMocks(test);
+        test.init();
+
+        for (int i = 0; i < 3; i++) {
+            test.roundTrips.set(0);
+            long start = System.nanoTime();
+            for (TokenEntity token : createTokens()) {
+                test.grantService.remove(token);
+            }
+            long before = System.nanoTime() - start;
+            int beforeRoundTrips = test.roundTrips.getAndSet(0);
+
+            start = System.nanoTime();
+            test.grantService.removeSilently(createTokens());
+            long after = System.nanoTime() - start;
+            int afterRoundTrips = test.roundTrips.getAndSet(0);
+
+            start = System.nanoTime();
+            test.grantService.removeAllTokensBySession("sid=1,ou=sessions,o=jans");
+            long bySession = System.nanoTime() - start;
+
+            System.out.println(String.format("%d tokens, before: %5d ms (%d deletes), after: %5d ms (%d deletes), by session: %5d ms (%d round trips)", TOKENS,
+                    before / 1000000, beforeRoundTrips, after / 1000000, afterRoundTrips, bySession / 1000000, test.roundTrips.get()));
+        }
+    }
+
+    private void init() {
+        BaseDnConfiguration baseDn = new BaseDnConfiguration();
+        baseDn.setTokens("ou=tokens,o=jans");
+        when(staticConfiguration.getBaseDn()).thenReturn(baseDn);
+
+        doAnswer(invocation -> roundTrip()).when(persistenceEntryManager).remove(any(TokenEntity.class));
+        doAnswer(invocation -> {
+            roundTrip();
+            return invocation.getArgument(3);
+        }).when(persistenceEntryManager).remove(anyString(), eq(TokenEntity.class), any(Filter.class), anyInt());
+        doAnswer(invocation -> {
+            roundTrip();
+            return createTokens();
+        }).when(persistenceEntryManager).findEntries(anyString(), eq(TokenEntity.class), any(Filter.class));
+    }
+
+    private Object roundTrip() throws InterruptedException {
+        roundTrips.incrementAndGet();
+        Thread.sleep(ROUND_TRIP_MILLIS);
+        return null;
+    }
+
+    private static List<TokenEntity> createTokens() {
+        List<TokenEntity> tokens = new ArrayList<>();
+        for (int i = 0; i < TOKENS; i++) {
+            TokenEntity token = new TokenEntity();
+            token.setTokenCode("token" + i);
+            token.setTokenTypeEnum(TokenType.REFRESH_TOKEN);
+            tokens.add(token);
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.server.dev;
+
+import io.jans.as.common.model.session.SessionId;
+import io.jans.as.common.model.session.SessionIdState;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.service.SessionIdLastUsedAtTimer;
+import io.jans.as.server.service.SessionIdService;
+import io.jans.as.server.service.external.ExternalApplicationSessionService;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.service.LocalCacheService;
+import io.jans.service.timer.event.TimerEvent;
+import jakarta.enterprise.event.Event;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * Synthetic session-touch load: compares number of persistence writes with and without
+ * session lastUsedAt write-behind (sessionIdLastUsedAtMaxStaleness).
+ */
+public class SessionTouchWriteBehindManual {
+
+    private static final int SESSIONS = 2000;
+    private static final int THREADS = 16;
+    private static final int DURATION_IN_SECONDS = 15;
+    private static final int MAX_STALENESS_IN_SECONDS = 5;
+
+    @InjectMocks
+    private SessionIdService sessionIdService;
+
+    @InjectMocks
+    private SessionIdLastUsedAtTimer sessionIdLastUsedAtTimer;
+
+    @Mock(stubOnly = true)
+    private Logger log;
+
+    @Mock(stubOnly = true)
+    private AppConfiguration appConfiguration;
+
+    @Mock(stubOnly = true)
+    private PersistenceEntryManager persistenceEntryManager;
+
+    @Mock(stubOnly = true)
+    private LocalCacheService localCacheService;
+
+    @Mock(stubOnly = true)
+    private ExternalApplicationSessionService externalApplicationSessionService;
+
+    @Mock(stubOnly = true)
+    private Event<TimerEvent> timerEvent;
+
+    private final AtomicLong mergeCalls = new AtomicLong();
+    private final AtomicLong mergedEntries = new AtomicLong();
+
+    public static void main(String[] args) throws Exception {
+        run(0);
+        run(MAX_STALENESS_IN_SECONDS);
+    }
+
+    private static void run(int maxStaleness) throws Exception {
+        SessionTouchWriteBehindManual test = new SessionTouchWriteBehindManual();
+        MockitoAnnotations.openMocks(test);
+        test.init(maxStaleness);
+        long touches = test.load();
+
+        System.out.printf("maxStaleness=%ds touches=%d mergeCalls=%d mergedEntries=%d%n",
+                maxStaleness, touches, test.mergeCalls.get(), test.mergedEntries.get());
+    }
+
+    private void init(int maxStaleness) throws ReflectiveOperationException {
+        // @InjectMocks does not inject one tested instance into another
+        Field field = SessionIdService.class.getDeclaredField("sessionIdLastUsedAtTimer");
+        field.setAccessible(true);
+        field.set(sessionIdService, sessionIdLastUsedAtTimer);
+
+        when(appConfiguration.getSessionIdUnusedLifetime()).thenReturn(86400);
+        when(appConfiguration.getSessionIdUnauthenticatedUnusedLifetime()).thenReturn(7200);
+        when(appConfiguration.getSessionIdLastUsedAtMaxStaleness()).thenReturn(maxStaleness);
+        when(appConfiguration.getSessionIdPersistInCache()).thenReturn(false);
+        when(persistenceEntryManager.encodeTime(anyString(), any(Date.class))).thenReturn("20240101000000.000Z");
+
+        doAnswer(invocation -> {
+            mergeCalls.incrementAndGet();
+            mergedEntries.incrementAndGet();
+            return null;
+        }).when(persistenceEntryManager).merge(any(SessionId.class));
+        doAnswer(invocation -> {
+            mergeCalls.incrementAndGet();
+            mergedEntries.addAndGet(((Collection<?>) invocation.getArgument(0)).size());
+            return null;
+        }).when(persistenceEntryManager).merge(anyCollection());
+
+        sessionIdLastUsedAtTimer.initTimer();
+    }
+
+    private long load() throws InterruptedException {
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        timer.scheduleAtFixedRate(() -> sessionIdLastUsedAtTimer.process(null), 1, 1, TimeUnit.SECONDS);
+
+        AtomicLong touches = new AtomicLong();
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(DURATION_IN_SECONDS);
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            final List<SessionId> sessions = createSessions(t, SESSIONS / THREADS);
+            executorService.submit(() -> {
+                while (System.currentTimeMillis() < deadline) {
+                    SessionId sessionId = sessions.get(ThreadLocalRandom.current().nextInt(sessions.size()));
+                    sessionIdService.updateSessionIdIfNeeded(sessionId, false);
+                    touches.incrementAndGet();
+                }
+            });
+        }
+
+        executorService.shutdown();
+        executorService.awaitTermination(DURATION_IN_SECONDS + 10L, TimeUnit.SECONDS);
+        timer.shutdownNow();
+        sessionIdLastUsedAtTimer.flush();
+        return touches.get();
+    }
+
+    private static List<SessionId> createSessions(int thread, int count) {
+        List<SessionId> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            SessionId sessionId = new SessionId();
+            sessionId.setId(thread + "_" + i);
+            sessionId.setDn("jansId=" + sessionId.getId() + ",ou=sessions,o=jans");
+            sessionId.setState(SessionIdState.AUTHENTICATED);
+            sessionId.setCreationDate(new Date());
+            sessionId.setLastUsedAt(new Date(System.currentTimeMillis() - 1000));
+            sessionId.setPersisted(true);
+            sessions.add(sessionId);
+        }
+        return sessions;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.server.dev;
+
+import io.jans.as.model.common.GrantType;
+import io.jans.as.model.config.BaseDnConfiguration;
+import io.jans.as.model.config.StaticConfiguration;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.service.stat.StatService;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.exception.EntryPersistenceException;
+import net.agkn.hll.HLL;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Throughput of StatService reportActiveUser + reportAccessToken for growing number of threads, compared with
+ * single synchronized HLL and get/put token counters (previous behaviour).
+ */
+public class StatServiceReportManual {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int DURATION_IN_MILLIS = 3000;
+
+    @InjectMocks
+    private StatService statService;
+
+    @Mock(stubOnly = true)
+    private Logger log;
+
+    @Mock(stubOnly = true)
+    private PersistenceEntryManager entryManager;
+
+    @Mock(stubOnly = true)
+    private StaticConfiguration staticConfiguration;
+
+    @Mock(stubOnly = true)
+    private AppConfiguration appConfiguration;
+
+    @Mock(stubOnly = true)
+    private BaseDnConfiguration baseDnConfiguration;
+
+    public static void main(String[] args) throws Exception {
+        StatServiceReportManual test = new StatServiceReportManual();
+        MockitoAnnotations.openMocks(test);
+        test.init();
+
+        for (int threads : THREADS) {
+            Legacy legacy = new Legacy();
+            LongAdder operations = new LongAdder();
+            double before = run(threads, operations, (thread, i) -> {
+                legacy.reportActiveUser("user" + i);
+                legacy.reportToken(GrantType.AUTHORIZATION_CODE, StatService.ACCESS_TOKEN_KEY);
+            });
+            double after = run(threads, new LongAdder(), (thread, i) -> {
+                test.statService.reportActiveUser("user" + i);
+                test.statService.reportAccessToken(GrantType.AUTHORIZATION_CODE);
+            });
+
+            System.out.println(String.format("threads: %2d before: %10.0f ops/s (lost tokens: %d), after: %10.0f ops/s", threads, before,
+                    operations.sum() - legacy.tokenCount(), after));
+        }
+    }
+
+    private void init() {
+        when(staticConfiguration.getBaseDn()).thenReturn(baseDnConfiguration);
+        when(baseDnConfiguration.getStat()).thenReturn("ou=stat,o=jans");
+        when(entryManager.find(any(), anyString())).thenThrow(new EntryPersistenceException("not found"));
+
+        statService.init();
+    }
+
+    private static double run(int threads, LongAdder operations, Report report) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(threads);
+        final long deadline = System.currentTimeMillis() + DURATION_IN_MILLIS;
+
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            new Thread(() -> {
+                int i = 0;
+                while (System.currentTimeMillis() < deadline) {
+                    report.report(thread, i++ % 100000);
+                    operations.increment();
+                }
+                latch.countDown();
+            }).start();
+        }
+
+        latch.await(DURATION_IN_MILLIS + 10000L, TimeUnit.MILLISECONDS);
+        return operations.sum() * 1000.0 / DURATION_IN_MILLIS;
+    }
+
+    private interface Report {
+        void report(int thread, int i);
+    }
+
+    private static class Legacy {
+
+        private final HLL hll = new HLL(15, 5);
+        private final ConcurrentMap<String, Map<String, Long>> tokenCounters = new ConcurrentHashMap<>();
+
+        void reportActiveUser(String id) {
+            synchronized (hll) {
+                hll.addRaw(id.hashCode());
+            }
+        }
+
+        void reportToken(GrantType grantType, String tokenKey) {
+            Map<String, Long> tokenMap = tokenCounters.computeIfAbsent(grantType.getValue(), k -> new ConcurrentHashMap<>());
+            Long counter = tokenMap.get(tokenKey);
+            tokenMap.put(tokenKey, counter == null ? 1L : counter + 1);
+        }
+
+        long tokenCount() {
+            return tokenCounters.get(GrantType.AUTHORIZATION_CODE.getValue()).get(StatService.ACCESS_TOKEN_KEY);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.jans.as.server.model.common;
+
+import io.jans.as.common.model.common.User;
+import io.jans.as.common.model.registration.Client;
+import io.jans.as.common.service.common.UserService;
+import io.jans.as.server.service.ClientService;
+import io.jans.as.server.service.GrantService;
+import io.jans.as.server.service.LocalResponseCache;
+import io.jans.as.server.util.TokenHashUtil;
+import io.jans.model.token.TokenEntity;
+import io.jans.model.token.TokenType;
+import jakarta.enterprise.inject.Instance;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Date;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+@Listeners(MockitoTestNGListener.class)
+public class AuthorizationGrantListTest {
+
+    private static final String ACCESS_TOKEN = "test_access_token";
+
+    @InjectMocks
+    private AuthorizationGrantList authorizationGrantList;
+
+    @Mock
+    private Instance<AbstractAuthorizationGrant> grantInstance;
+
+    @Mock
+    private Instance<ResourceOwnerPasswordCredentialsGrant> ropcInstance;
+
+    @Mock
+    private GrantService grantService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ClientService clientService;
+
+    @Mock
+    private LocalResponseCache localResponseCache;
+
+    @Test
+    public void asGrant_whenUserIsNotAccessed_shouldNotLoadUser() {
+        mockGrantInstance();
+
+        final AuthorizationGrant grant = authorizationGrantList.asGrant(createTokenEntity());
+
+        assertFalse(grant.isUserLoaded());
+        assertEquals(grant.getUserId(), "admin");
+        assertEquals(grant.getUserDn(), "inum=123,ou=people,o=jans");
+        verify(userService, never()).getUser(anyString());
+    }
+
+    @Test
+    public void asGrant_whenUserIsAccessed_shouldLoadUserOnce() {
+        mockGrantInstance();
+        final User user = new User();
+        user.setUserId("admin");
+        when(userService.getUser("admin")).thenReturn(user);
+
+        final AuthorizationGrant grant = authorizationGrantList.asGrant(createTokenEntity());
+
+        assertSame(grant.getUser(), user);
+        assertSame(grant.getUser(), user);
+        assertTrue(grant.isUserLoaded());
+        verify(userService, times(1)).getUser("admin");
+    }
+
+    @Test
+    public void getAuthorizationGrantByAccessToken_whenGrantIsInLocalCache_shouldNotHitPersistence() {
+        final AuthorizationGrant cachedGrant = new ResourceOwnerPasswordCredentialsGrant();
+        when(localResponseCache.getGrant(TokenHashUtil.hash(ACCESS_TOKEN))).thenReturn(cachedGrant);
+
+        assertSame(authorizationGrantList.getAuthorizationGrantByAccessToken(ACCESS_TOKEN), cachedGrant);
+        verify(grantService, never()).getGrantByCode(anyString());
+    }
+
+    @Test
+    public void getAuthorizationGrantByAccessToken_whenGrantIsNotInLocalCache_shouldLoadAndPutIt() {
+        mockGrantInstance();
+        final TokenEntity tokenEntity = createTokenEntity();
+        when(grantService.getGrantByCode(ACCESS_TOKEN)).thenReturn(tokenEntity);
+
+        final AuthorizationGrant grant = authorizationGrantList.getAuthorizationGrantByAccessToken(ACCESS_TOKEN);
+
+        verify(localResponseCache).putGrant(tokenEntity.getTokenCode(), grant);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockGrantInstance() {
+        when(grantInstance.select(ResourceOwnerPasswordCredentialsGrant.class)).thenReturn((Instance) ropcInstance);
+        when(ropcInstance.get()).thenReturn(new ResourceOwnerPasswordCredentialsGrant());
+        when(clientService.getClient(any())).thenReturn(new Client());
+    }
+
+    private static TokenEntity createTokenEntity() {
+        final TokenEntity tokenEntity = new TokenEntity();
+        tokenEntity.setTokenCode(TokenHashUtil.hash(ACCESS_TOKEN));
+        tokenEntity.setTokenTypeEnum(TokenType.ACCESS_TOKEN);
+        tokenEntity.setGrantType(AuthorizationGrantType.RESOURCE_OWNER_PASSWORD_CREDENTIALS.getParamName());
+        tokenEntity.setUserId("admin");
+        tokenEntity.setUserDn("inum=123,ou=people,o=jans");
+        tokenEntity.setClientId("123");
+        tokenEntity.setCreationDate(new Date());
+        tokenEntity.setExpirationDate(new Date(System.currentTimeMillis() + 300_000));
+        return tokenEntity;
+    }
+}
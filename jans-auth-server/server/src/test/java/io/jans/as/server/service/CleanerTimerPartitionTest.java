@@ -0,0 +1,163 @@
+package io.jans.as.server.service;
+
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.model.token.TokenEntity;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.search.filter.Filter;
+import io.jans.orm.search.filter.FilterType;
+import io.jans.service.cache.CacheProvider;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.slf4j.Logger;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.AbstractMap;
+import java.util.Date;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+@Listeners(MockitoTestNGListener.class)
+public class CleanerTimerPartitionTest {
+
+    private static final String TOKENS_DN = "ou=tokens,o=jans";
+
+    @InjectMocks
+    private CleanerTimer cleanerTimer;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private PersistenceEntryManager entryManager;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    @Mock
+    private CacheProvider cacheProvider;
+
+    @Mock
+    private MetricService metricService;
+
+    @Test
+    public void cleanup_firstOfSeveralPartitions_shouldHaveLowerAndUpperExpirationBounds() {
+        final Date now = new Date();
+        when(appConfiguration.getCleanServiceInterval()).thenReturn(60);
+        when(entryManager.encodeTime(eq(TOKENS_DN), any(Date.class))).thenAnswer(invocation -> String.valueOf(((Date) invocation.getArgument(1)).getTime()));
+
+        final Filter filter = cleanupAndCaptureFilter(now, 0, 3);
+
+        assertEquals(filter.getFilters().length, 3);
+        assertBound(filter.getFilters()[1], FilterType.LESS_OR_EQUAL, now.getTime());
+        assertBound(filter.getFilters()[2], FilterType.GREATER_OR_EQUAL, now.getTime() - 60000);
+    }
+
+    @Test
+    public void cleanup_lastPartition_shouldHaveOnlyUpperExpirationBound() {
+        final Date now = new Date();
+        when(appConfiguration.getCleanServiceInterval()).thenReturn(60);
+        when(entryManager.encodeTime(eq(TOKENS_DN), any(Date.class))).thenAnswer(invocation -> String.valueOf(((Date) invocation.getArgument(1)).getTime()));
+
+        final Filter filter = cleanupAndCaptureFilter(now, 2, 3);
+
+        assertEquals(filter.getFilters().length, 2);
+        assertBound(filter.getFilters()[1], FilterType.LESS_OR_EQUAL, now.getTime() - 120000);
+    }
+
+    @Test
+    public void cleanupPartition_singlePartition_shouldRemoveOneBatchWithoutLease() {
+        when(entryManager.remove(eq(TOKENS_DN), eq(TokenEntity.class), any(Filter.class), anyInt())).thenReturn(100);
+
+        assertEquals(cleanerTimer.cleanupPartition(tokensBaseDn(), new Date(), 100, 0, 1), 100);
+
+        verify(entryManager, times(1)).remove(eq(TOKENS_DN), eq(TokenEntity.class), any(Filter.class), eq(100));
+        verifyNoInteractions(cacheProvider);
+    }
+
+    @Test
+    public void cleanupPartition_leasedPartition_shouldRemoveBatchesUntilShortOne() {
+        when(appConfiguration.getCleanServiceInterval()).thenReturn(60);
+        when(cacheProvider.putIfAbsent(eq(59), anyString(), any())).thenReturn(true);
+        when(entryManager.remove(eq(TOKENS_DN), eq(TokenEntity.class), any(Filter.class), anyInt())).thenReturn(100, 100, 30);
+
+        assertEquals(cleanerTimer.cleanupPartition(tokensBaseDn(), new Date(), 100, 1, 3), 230);
+
+        verify(entryManager, times(3)).remove(eq(TOKENS_DN), eq(TokenEntity.class), any(Filter.class), eq(100));
+    }
+
+    @Test
+    public void cleanupPartition_partitionLeasedByAnotherNode_shouldNotRemove() {
+        when(appConfiguration.getCleanServiceInterval()).thenReturn(60);
+        when(cacheProvider.putIfAbsent(eq(59), anyString(), any())).thenReturn(false);
+
+        assertEquals(cleanerTimer.cleanupPartition(tokensBaseDn(), new Date(), 100, 1, 3), 0);
+
+        verify(entryManager, never()).remove(anyString(), any(), any(Filter.class), anyInt());
+    }
+
+    @Test
+    public void cleanupPartition_whenCacheFails_shouldSkipPartition() {
+        when(appConfiguration.getCleanServiceInterval()).thenReturn(60);
+        when(cacheProvider.putIfAbsent(eq(59), anyString(), any())).thenThrow(new IllegalStateException("cache is down"));
+
+        assertEquals(cleanerTimer.cleanupPartition(tokensBaseDn(), new Date(), 100, 1, 3), 0);
+
+        verify(entryManager, never()).remove(anyString(), any(), any(Filter.class), anyInt());
+    }
+
+    @Test
+    public void cleanupPartition_nodesWithDifferentTimeInSameInterval_shouldUseSameRangeAndLease() {
+        final long intervalStart = 1_700_000_040_000L; // multiple of 60 seconds
+        when(appConfiguration.getCleanServiceInterval()).thenReturn(60);
+        when(cacheProvider.putIfAbsent(eq(59), anyString(), any())).thenReturn(true);
+        when(entryManager.encodeTime(eq(TOKENS_DN), any(Date.class))).thenAnswer(invocation -> String.valueOf(((Date) invocation.getArgument(1)).getTime()));
+        when(entryManager.remove(eq(TOKENS_DN), eq(TokenEntity.class), any(Filter.class), anyInt())).thenReturn(0);
+
+        cleanerTimer.cleanupPartition(tokensBaseDn(), new Date(intervalStart + 1000), 100, 1, 3);
+        cleanerTimer.cleanupPartition(tokensBaseDn(), new Date(intervalStart + 59000), 100, 1, 3);
+
+        final ArgumentCaptor<String> leaseKeys = ArgumentCaptor.forClass(String.class);
+        verify(cacheProvider, times(2)).putIfAbsent(eq(59), leaseKeys.capture(), any());
+        assertEquals(leaseKeys.getAllValues().get(1), leaseKeys.getAllValues().get(0));
+
+        final ArgumentCaptor<Filter> filters = ArgumentCaptor.forClass(Filter.class);
+        verify(entryManager, times(2)).remove(eq(TOKENS_DN), eq(TokenEntity.class), filters.capture(), eq(100));
+        for (Filter filter : filters.getAllValues()) {
+            assertBound(filter.getFilters()[1], FilterType.LESS_OR_EQUAL, intervalStart - 60000);
+            assertBound(filter.getFilters()[2], FilterType.GREATER_OR_EQUAL, intervalStart - 120000);
+        }
+    }
+
+    private static Map.Entry<String, Class<?>> tokensBaseDn() {
+        return new AbstractMap.SimpleEntry<>(TOKENS_DN, TokenEntity.class);
+    }
+
+    private Filter cleanupAndCaptureFilter(Date now, int partition, int partitionCount) {
+        when(entryManager.remove(eq(TOKENS_DN), eq(TokenEntity.class), any(Filter.class), anyInt())).thenReturn(5);
+
+        assertEquals(cleanerTimer.cleanup(tokensBaseDn(), now, 100, partition, partitionCount), 5);
+
+        final ArgumentCaptor<Filter> captor = ArgumentCaptor.forClass(Filter.class);
+        verify(entryManager).remove(eq(TOKENS_DN), eq(TokenEntity.class), captor.capture(), eq(100));
+        return captor.getValue();
+    }
+
+    private static void assertBound(Filter filter, FilterType type, long time) {
+        assertEquals(filter.getType(), type);
+        assertEquals(filter.getAttributeName(), "exp");
+        assertEquals(filter.getAssertionValue(), String.valueOf(time));
+    }
+}
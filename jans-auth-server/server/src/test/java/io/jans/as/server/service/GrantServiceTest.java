@@ -1,12 +1,20 @@
 package io.jans.as.server.service;
 
+import io.jans.as.model.config.BaseDnConfiguration;
 import io.jans.as.model.config.StaticConfiguration;
 import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.model.common.CacheGrant;
 import io.jans.as.server.service.token.StatusListIndexService;
+import io.jans.as.server.util.TokenHashUtil;
 import io.jans.model.token.TokenEntity;
 import io.jans.model.token.TokenType;
 import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.exception.EntryDeleteException;
+import io.jans.orm.search.filter.Filter;
 import io.jans.service.CacheService;
+import io.jans.service.cache.CacheConfiguration;
+import io.jans.service.cache.InMemoryCacheProvider;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -16,6 +24,7 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.testng.Assert.*;
@@ -50,6 +59,9 @@ public class GrantServiceTest {
     @Mock
     private StatusListIndexService statusListIndexService;
 
+    @Mock
+    private LocalResponseCache localResponseCache;
+
     @Test
     public void shouldPersist_byDefault_shouldReturnTrue() {
         assertTrue(grantService.shouldPersist());
@@ -62,6 +74,37 @@ public class GrantServiceTest {
         assertFalse(grantService.shouldPersist());
     }
 
+    @Test
+    public void markAuthorizationCodeAsUsed_whenCodeIsRedeemedSecondTime_shouldReturnFalse() {
+        useInMemoryCache();
+
+        assertTrue(grantService.markAuthorizationCodeAsUsed("code", 60));
+        assertFalse(grantService.markAuthorizationCodeAsUsed("code", 60));
+        assertTrue(grantService.markAuthorizationCodeAsUsed("anotherCode", 60));
+
+        Mockito.verify(cacheService, Mockito.times(2)).putIfAbsent(60, "used_code_" + TokenHashUtil.hash("code"), Boolean.TRUE);
+    }
+
+    @Test
+    public void markAuthorizationCodeAsUsed_whenLifetimeIsNotPositive_shouldKeepMarkForOneSecond() {
+        useInMemoryCache();
+
+        assertTrue(grantService.markAuthorizationCodeAsUsed("code", 0));
+        assertFalse(grantService.markAuthorizationCodeAsUsed("code", 0));
+
+        Mockito.verify(cacheService, Mockito.times(2)).putIfAbsent(1, "used_code_" + TokenHashUtil.hash("code"), Boolean.TRUE);
+    }
+
+    private void useInMemoryCache() {
+        InMemoryCacheProvider cacheProvider = new InMemoryCacheProvider();
+        cacheProvider.configure(new CacheConfiguration());
+        cacheProvider.init();
+        cacheProvider.create();
+
+        Mockito.doAnswer(invocation -> cacheProvider.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)))
+                .when(cacheService).putIfAbsent(Mockito.anyInt(), Mockito.anyString(), Mockito.any());
+    }
+
     @Test
     public void shouldSaveInCache_byDefault_shoultReturnFalse() {
         assertFalse(grantService.shouldSaveInCache());
@@ -81,6 +124,128 @@ public class GrantServiceTest {
         assertTrue(grantService.shouldSaveInCache());
     }
 
+    @Test
+    public void removeSilently_forMultipleTokens_shouldRemoveCacheEntriesWithOneRequest() {
+        Mockito.doReturn(true).when(appConfiguration).getSaveTokensInCache();
+
+        TokenEntity token = new TokenEntity();
+        token.setTokenCode("token1");
+        token.setAuthorizationCode("code1");
+        token.setGrantId("grant1");
+
+        TokenEntity another = new TokenEntity();
+        another.setTokenCode("token2");
+
+        List<TokenEntity> tokens = new ArrayList<>();
+        tokens.add(token);
+        tokens.add(another);
+
+        grantService.removeSilently(tokens);
+
+        Mockito.verify(cacheService).removeAll(Arrays.asList(CacheGrant.cacheKey("code1", "grant1"), "token1", "token2"));
+        Mockito.verify(cacheService, Mockito.never()).remove(Mockito.anyString());
+    }
+
+    @Test
+    public void removeSilently_forManyTokens_shouldRemoveWithOneDeletePerChunk() {
+        BaseDnConfiguration baseDn = new BaseDnConfiguration();
+        baseDn.setTokens("ou=tokens,o=jans");
+        Mockito.doReturn(baseDn).when(staticConfiguration).getBaseDn();
+
+        List<TokenEntity> tokens = createTokens(GrantService.BULK_REMOVE_CHUNK_SIZE + 50);
+
+        grantService.removeSilently(tokens);
+
+        Mockito.verify(persistenceEntryManager).remove(Mockito.eq("ou=tokens,o=jans"), Mockito.eq(TokenEntity.class), Mockito.any(Filter.class), Mockito.eq(GrantService.BULK_REMOVE_CHUNK_SIZE));
+        Mockito.verify(persistenceEntryManager).remove(Mockito.eq("ou=tokens,o=jans"), Mockito.eq(TokenEntity.class), Mockito.any(Filter.class), Mockito.eq(50));
+        Mockito.verify(persistenceEntryManager, Mockito.never()).remove(Mockito.any(TokenEntity.class));
+        Mockito.verify(localResponseCache, Mockito.times(tokens.size())).invalidateGrant(Mockito.anyString());
+    }
+
+    @Test
+    public void removeSilently_whenBulkDeleteFails_shouldRemoveOneByOne() {
+        BaseDnConfiguration baseDn = new BaseDnConfiguration();
+        baseDn.setTokens("ou=tokens,o=jans");
+        Mockito.doReturn(baseDn).when(staticConfiguration).getBaseDn();
+        Mockito.doThrow(new EntryDeleteException("not supported")).when(persistenceEntryManager)
+                .remove(Mockito.anyString(), Mockito.eq(TokenEntity.class), Mockito.any(Filter.class), Mockito.anyInt());
+
+        List<TokenEntity> tokens = createTokens(3);
+
+        grantService.removeSilently(tokens);
+
+        Mockito.verify(persistenceEntryManager, Mockito.times(3)).remove(Mockito.any(TokenEntity.class));
+    }
+
+    @Test
+    public void removeAllTokensBySession_shouldRemoveWithOneDeleteBySession() {
+        BaseDnConfiguration baseDn = new BaseDnConfiguration();
+        baseDn.setTokens("ou=tokens,o=jans");
+        Mockito.doReturn(baseDn).when(staticConfiguration).getBaseDn();
+        List<TokenEntity> tokens = createTokens(GrantService.BULK_REMOVE_CHUNK_SIZE + 50);
+        Mockito.doReturn(tokens).when(persistenceEntryManager).findEntries(Mockito.eq("ou=tokens,o=jans"), Mockito.eq(TokenEntity.class), Mockito.any(Filter.class));
+
+        grantService.removeAllTokensBySession("sid=1,ou=sessions,o=jans");
+
+        ArgumentCaptor<Filter> captor = ArgumentCaptor.forClass(Filter.class);
+        Mockito.verify(persistenceEntryManager).remove(Mockito.eq("ou=tokens,o=jans"), Mockito.eq(TokenEntity.class), captor.capture(), Mockito.eq(0));
+        assertEquals(captor.getValue().toString(), "(ssnId=sid=1,ou=sessions,o=jans)");
+        Mockito.verify(persistenceEntryManager, Mockito.never()).remove(Mockito.any(TokenEntity.class));
+        Mockito.verify(localResponseCache, Mockito.times(tokens.size())).invalidateGrant(Mockito.anyString());
+    }
+
+    @Test
+    public void logout_withKeptRefreshToken_shouldRemoveOtherTokensOfSessionWithOneDelete() {
+        BaseDnConfiguration baseDn = new BaseDnConfiguration();
+        baseDn.setTokens("ou=tokens,o=jans");
+        Mockito.doReturn(baseDn).when(staticConfiguration).getBaseDn();
+        Mockito.doReturn(false).when(appConfiguration).getRemoveRefreshTokensForClientOnLogout();
+
+        TokenEntity accessToken = new TokenEntity();
+        accessToken.setTokenCode("access1");
+        accessToken.setTokenTypeEnum(TokenType.ACCESS_TOKEN);
+        TokenEntity refreshToken = new TokenEntity();
+        refreshToken.setTokenCode("refresh1");
+        refreshToken.setTokenTypeEnum(TokenType.REFRESH_TOKEN);
+        Mockito.doReturn(new ArrayList<>(Arrays.asList(accessToken, refreshToken))).when(persistenceEntryManager)
+                .findEntries(Mockito.eq("ou=tokens,o=jans"), Mockito.eq(TokenEntity.class), Mockito.any(Filter.class));
+
+        grantService.logout("sid=1,ou=sessions,o=jans");
+
+        ArgumentCaptor<Filter> captor = ArgumentCaptor.forClass(Filter.class);
+        Mockito.verify(persistenceEntryManager).remove(Mockito.eq("ou=tokens,o=jans"), Mockito.eq(TokenEntity.class), captor.capture(), Mockito.eq(0));
+        assertEquals(captor.getValue().toString(), "(&(ssnId=sid=1,ou=sessions,o=jans)(!(|(tknCde=refresh1))))");
+        Mockito.verify(localResponseCache).invalidateGrant("access1");
+        Mockito.verify(localResponseCache, Mockito.never()).invalidateGrant("refresh1");
+    }
+
+    @Test
+    public void removeAllTokensBySession_whenBulkDeleteFails_shouldRemoveByTokenCodes() {
+        BaseDnConfiguration baseDn = new BaseDnConfiguration();
+        baseDn.setTokens("ou=tokens,o=jans");
+        Mockito.doReturn(baseDn).when(staticConfiguration).getBaseDn();
+        List<TokenEntity> tokens = createTokens(3);
+        Mockito.doReturn(tokens).when(persistenceEntryManager).findEntries(Mockito.eq("ou=tokens,o=jans"), Mockito.eq(TokenEntity.class), Mockito.any(Filter.class));
+        Mockito.doThrow(new EntryDeleteException("not supported")).when(persistenceEntryManager)
+                .remove(Mockito.anyString(), Mockito.eq(TokenEntity.class), Mockito.any(Filter.class), Mockito.eq(0));
+
+        grantService.removeAllTokensBySession("sid=1,ou=sessions,o=jans");
+
+        Mockito.verify(persistenceEntryManager).remove(Mockito.eq("ou=tokens,o=jans"), Mockito.eq(TokenEntity.class), Mockito.any(Filter.class), Mockito.eq(3));
+        Mockito.verify(localResponseCache, Mockito.times(3)).invalidateGrant(Mockito.anyString());
+    }
+
+    private static List<TokenEntity> createTokens(int count) {
+        List<TokenEntity> tokens = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TokenEntity token = new TokenEntity();
+            token.setTokenCode("token" + i);
+            token.setTokenTypeEnum(TokenType.REFRESH_TOKEN);
+            tokens.add(token);
+        }
+        return tokens;
+    }
+
     @Test
     public void filterOutRefreshTokenFromDeletion_forTokenWithoutOnlineAccess_shouldFilterOut() {
         Mockito.doReturn(false).when(appConfiguration).getRemoveRefreshTokensForClientOnLogout();
@@ -1,6 +1,8 @@
 package io.jans.as.server.service;
 
 import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.model.common.AuthorizationGrant;
+import io.jans.as.server.model.common.ClientCredentialsGrant;
 import org.json.JSONObject;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -8,6 +10,7 @@ import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import static org.mockito.Mockito.when;
 import static org.testng.AssertJUnit.assertNotNull;
 import static org.testng.AssertJUnit.assertNull;
 
@@ -43,4 +46,26 @@ public class LocalResponseCacheTest {
         localResponseCache.putAccessEvaluationDiscoveryResponse(new JSONObject());
         assertNotNull(localResponseCache.getAccessEvaluationDiscoveryResponse());
     }
+
+    @Test
+    public void putGrant_whenGrantCacheIsDisabled_shouldNotCache() {
+        localResponseCache.putGrant("hash", new ClientCredentialsGrant());
+        assertNull(localResponseCache.getGrant("hash"));
+    }
+
+    @Test
+    public void invalidateGrant_whenGrantCacheIsEnabled_shouldRemoveGrant() {
+        when(appConfiguration.getDiscoveryCacheLifetimeInMinutes()).thenReturn(LocalResponseCache.DEFAULT_DISCOVERY_LIFETIME);
+        when(appConfiguration.getAccessEvaluationDiscoveryCacheLifetimeInMinutes()).thenReturn(LocalResponseCache.DEFAULT_ACCESS_EVALUTION_DISCOVERY_LIFETIME);
+        when(appConfiguration.getSectorIdentifierCacheLifetimeInMinutes()).thenReturn(LocalResponseCache.DEFAULT_SECTOR_IDENTIFIER_LIFETIME);
+        when(appConfiguration.getGrantCacheLifetimeInSeconds()).thenReturn(10);
+        localResponseCache.reloadConfigurationTimerEvent(null);
+
+        final AuthorizationGrant grant = new ClientCredentialsGrant();
+        localResponseCache.putGrant("hash", grant);
+        assertNotNull(localResponseCache.getGrant("hash"));
+
+        localResponseCache.invalidateGrant("hash");
+        assertNull(localResponseCache.getGrant("hash"));
+    }
 }
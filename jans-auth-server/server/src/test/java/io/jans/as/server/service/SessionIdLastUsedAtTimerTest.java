@@ -0,0 +1,191 @@
+package io.jans.as.server.service;
+
+import io.jans.as.common.model.session.SessionId;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.service.external.ExternalApplicationSessionService;
+import io.jans.as.server.service.external.session.SessionEvent;
+import io.jans.as.server.service.external.session.SessionEventType;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.exception.EntryPersistenceException;
+import io.jans.orm.model.base.CustomEntry;
+import io.jans.service.CacheService;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.slf4j.Logger;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertSame;
+
+@Listeners(MockitoTestNGListener.class)
+public class SessionIdLastUsedAtTimerTest {
+
+    @InjectMocks
+    private SessionIdLastUsedAtTimer sessionIdLastUsedAtTimer;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private PersistenceEntryManager entryManager;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    @Mock
+    private CacheService cacheService;
+
+    @Mock
+    private ExternalApplicationSessionService externalApplicationSessionService;
+
+    @Test
+    public void getMaxStaleness_whenGreaterThanUnusedLifetime_shouldBeBoundedByHalfOfIt() {
+        when(appConfiguration.getSessionIdLastUsedAtMaxStaleness()).thenReturn(600);
+        when(appConfiguration.getSessionIdUnusedLifetime()).thenReturn(300);
+        when(appConfiguration.getSessionIdUnauthenticatedUnusedLifetime()).thenReturn(7200);
+
+        assertEquals(sessionIdLastUsedAtTimer.getMaxStaleness(), 150);
+    }
+
+    @Test
+    public void getMaxStaleness_whenNotSet_shouldBeDisabled() {
+        assertEquals(sessionIdLastUsedAtTimer.getMaxStaleness(), 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flush_withRepeatedTouches_shouldWriteLatestLastUsedAtInOneBatch() {
+        when(entryManager.encodeTime(anyString(), any(Date.class))).thenAnswer(invocation -> String.valueOf(((Date) invocation.getArgument(1)).getTime()));
+
+        for (int i = 0; i < 10; i++) {
+            sessionIdLastUsedAtTimer.addTouch(createSession("s1", i * 1000L));
+            sessionIdLastUsedAtTimer.addTouch(createSession("s2", i * 1000L));
+        }
+        assertEquals(sessionIdLastUsedAtTimer.getPendingCount(), 2);
+
+        sessionIdLastUsedAtTimer.flush();
+
+        ArgumentCaptor<Collection<Object>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(entryManager, times(1)).merge(captor.capture());
+        assertEquals(captor.getValue().size(), 2);
+        assertEquals(sessionIdLastUsedAtTimer.getPendingCount(), 0);
+        assertEquals(sessionIdLastUsedAtTimer.getTouchCount(), 20);
+        assertEquals(sessionIdLastUsedAtTimer.getWriteCount(), 1);
+    }
+
+    @Test
+    public void flush_whenCanceled_shouldNotWrite() {
+        sessionIdLastUsedAtTimer.addTouch(createSession("s1", 1000L));
+        sessionIdLastUsedAtTimer.cancel(createSession("s1", 0).getDn());
+
+        sessionIdLastUsedAtTimer.flush();
+
+        verify(entryManager, times(0)).merge(anyCollection());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flush_whenPersistedInCache_shouldUpdateOnlyLastUsedAtOfCachedEntry() {
+        when(appConfiguration.getSessionIdPersistInCache()).thenReturn(true);
+
+        final SessionId cached = createSession("s1", 0);
+        cached.setAuthenticationTime(new Date(0));
+        when(cacheService.getAll(anyCollection())).thenReturn(Collections.singletonMap(cached.getDn(), cached));
+        when(cacheService.putIfAbsent(anyInt(), anyString(), any())).thenReturn(true);
+
+        final SessionId touched = createSession("s1", 5000L);
+        touched.setTtl(100);
+        sessionIdLastUsedAtTimer.addTouch(touched);
+        sessionIdLastUsedAtTimer.flush();
+
+        ArgumentCaptor<Map<String, Object>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(cacheService).putAll(eq(100), captor.capture());
+        final SessionId written = (SessionId) captor.getValue().get(cached.getDn());
+        assertSame(written, cached);
+        assertEquals(written.getLastUsedAt(), new Date(5000L));
+        assertEquals(written.getAuthenticationTime(), new Date(0));
+        verify(cacheService).removeAll(Collections.singletonList("session_last_used_at_lock_" + cached.getDn()));
+    }
+
+    @Test
+    public void flush_whenPersistedInCacheAndLockedByOtherNode_shouldKeepTouchForNextFlush() {
+        when(appConfiguration.getSessionIdPersistInCache()).thenReturn(true);
+        when(cacheService.putIfAbsent(anyInt(), anyString(), any())).thenReturn(false);
+
+        sessionIdLastUsedAtTimer.addTouch(createSession("s1", 5000L));
+        sessionIdLastUsedAtTimer.flush();
+
+        verify(cacheService, never()).getAll(anyCollection());
+        verify(cacheService, never()).putAll(anyInt(), anyMap());
+        assertEquals(sessionIdLastUsedAtTimer.getPendingCount(), 1);
+    }
+
+    @Test
+    public void flush_whenBatchMergeFails_shouldMergeOneByOneAndSkipRemovedSessions() {
+        when(entryManager.encodeTime(anyString(), any(Date.class))).thenAnswer(invocation -> String.valueOf(((Date) invocation.getArgument(1)).getTime()));
+        doThrow(new EntryPersistenceException("Failed to find entry")).when(entryManager).merge(anyCollection());
+        doAnswer(invocation -> {
+            CustomEntry entry = invocation.getArgument(0);
+            if (entry.getDn().startsWith("jansId=removed,")) {
+                throw new EntryPersistenceException("Failed to find entry");
+            }
+            return null;
+        }).when(entryManager).merge(any(CustomEntry.class));
+
+        sessionIdLastUsedAtTimer.addTouch(createSession("s1", 1000L));
+        sessionIdLastUsedAtTimer.addTouch(createSession("removed", 1000L));
+        sessionIdLastUsedAtTimer.addTouch(createSession("s2", 1000L));
+        sessionIdLastUsedAtTimer.flush();
+
+        verify(entryManager, times(3)).merge(any(CustomEntry.class));
+        ArgumentCaptor<SessionEvent> captor = ArgumentCaptor.forClass(SessionEvent.class);
+        verify(externalApplicationSessionService, times(2)).externalEvent(captor.capture());
+        for (SessionEvent event : captor.getAllValues()) {
+            assertEquals(event.getType(), SessionEventType.UPDATED);
+            assertNotEquals(event.getSessionId().getId(), "removed");
+        }
+    }
+
+    @Test
+    public void flush_afterWrite_shouldFireUpdatedEvent() {
+        when(entryManager.encodeTime(anyString(), any(Date.class))).thenReturn("0");
+
+        final SessionId touched = createSession("s1", 1000L);
+        sessionIdLastUsedAtTimer.addTouch(touched);
+        sessionIdLastUsedAtTimer.flush();
+
+        ArgumentCaptor<SessionEvent> captor = ArgumentCaptor.forClass(SessionEvent.class);
+        verify(externalApplicationSessionService).externalEvent(captor.capture());
+        assertEquals(captor.getValue().getType(), SessionEventType.UPDATED);
+        assertSame(captor.getValue().getSessionId(), touched);
+    }
+
+    private static SessionId createSession(String id, long lastUsedAt) {
+        final SessionId sessionId = new SessionId();
+        sessionId.setId(id);
+        sessionId.setDn("jansId=" + id + ",ou=sessions,o=jans");
+        sessionId.setLastUsedAt(new Date(lastUsedAt));
+        return sessionId;
+    }
+}
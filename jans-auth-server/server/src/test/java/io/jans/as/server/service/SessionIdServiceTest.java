@@ -3,6 +3,7 @@ package io.jans.as.server.service;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import io.jans.as.common.model.session.SessionId;
+import io.jans.as.common.model.session.SessionIdState;
 import io.jans.as.common.service.common.UserService;
 import io.jans.as.model.config.StaticConfiguration;
 import io.jans.as.model.configuration.AppConfiguration;
@@ -23,6 +24,12 @@ import org.slf4j.Logger;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import java.util.Date;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertTrue;
 import static org.testng.AssertJUnit.assertFalse;
 
@@ -83,6 +90,9 @@ public class SessionIdServiceTest {
     @Mock
     private StatService statService;
 
+    @Mock
+    private SessionIdLastUsedAtTimer sessionIdLastUsedAtTimer;
+
     @Test
     public void isAgamaInSessionAndRequest_forAgama_shouldReturnTrue() {
         assertTrue(SessionIdService.isAgamaInSessionAndRequest("agama", Lists.newArrayList("agama_io.jans.agamaLab.main")));
@@ -124,4 +134,49 @@ public class SessionIdServiceTest {
         assertTrue(sessionIdService.hasAllScopes(sessionId, Sets.newHashSet("openid")));
     }
 
+    @Test
+    public void updateSessionIdIfNeeded_whenOnlyTouchedAndWriteBehindEnabled_shouldDeferWrite() {
+        when(appConfiguration.getSessionIdUnusedLifetime()).thenReturn(3600);
+        when(sessionIdLastUsedAtTimer.isEnabled()).thenReturn(true);
+
+        final SessionId sessionId = createPersistedSession();
+        sessionIdService.updateSessionIdIfNeeded(sessionId, false);
+
+        verify(sessionIdLastUsedAtTimer).addTouch(sessionId);
+        verify(persistenceEntryManager, never()).merge(any(SessionId.class));
+    }
+
+    @Test
+    public void updateSessionIdIfNeeded_whenOnlyTouchedAndWriteBehindDisabled_shouldWriteImmediately() {
+        when(appConfiguration.getSessionIdUnusedLifetime()).thenReturn(3600);
+
+        final SessionId sessionId = createPersistedSession();
+        sessionIdService.updateSessionIdIfNeeded(sessionId, false);
+
+        verify(sessionIdLastUsedAtTimer, never()).addTouch(any());
+        verify(persistenceEntryManager).merge(sessionId);
+    }
+
+    @Test
+    public void updateSessionIdIfNeeded_whenModified_shouldWriteImmediatelyAndCancelPendingTouch() {
+        when(appConfiguration.getSessionIdUnusedLifetime()).thenReturn(3600);
+
+        final SessionId sessionId = createPersistedSession();
+        sessionIdService.updateSessionIdIfNeeded(sessionId, true);
+
+        verify(sessionIdLastUsedAtTimer, never()).addTouch(any());
+        verify(sessionIdLastUsedAtTimer).cancel(sessionId.getDn());
+        verify(persistenceEntryManager).merge(sessionId);
+    }
+
+    private static SessionId createPersistedSession() {
+        final SessionId sessionId = new SessionId();
+        sessionId.setId("test_session");
+        sessionId.setDn("jansId=test_session,ou=sessions,o=jans");
+        sessionId.setState(SessionIdState.AUTHENTICATED);
+        sessionId.setCreationDate(new Date(System.currentTimeMillis() - 60_000));
+        sessionId.setLastUsedAt(new Date(System.currentTimeMillis() - 10_000));
+        sessionId.setPersisted(true);
+        return sessionId;
+    }
 }
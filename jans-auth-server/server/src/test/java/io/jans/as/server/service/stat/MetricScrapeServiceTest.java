@@ -0,0 +1,37 @@
+package io.jans.as.server.service.stat;
+
+import com.codahale.metrics.MetricRegistry;
+import io.prometheus.client.Collector.MetricFamilySamples;
+import io.prometheus.client.exporter.common.TextFormat;
+import org.testng.annotations.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertTrue;
+
+public class MetricScrapeServiceTest {
+
+    @Test
+    public void addRegistry_withEndpointTimersAndCounter_shouldExportEndpointLabelAndTotal() throws Exception {
+        MetricRegistry registry = new MetricRegistry();
+        registry.timer(MetricScrapeService.ENDPOINT_TIMER_PREFIX + "TokenRestWebServiceImpl.requestAccessToken").update(20, TimeUnit.MILLISECONDS);
+        registry.timer(MetricScrapeService.ENDPOINT_TIMER_PREFIX + "UserInfoRestWebServiceImpl.requestUserInfoGet").update(5, TimeUnit.MILLISECONDS);
+        registry.counter("user.authentication.success").inc(3);
+
+        List<MetricFamilySamples> families = new ArrayList<>();
+        MetricScrapeService.addRegistry(families, registry);
+
+        StringWriter writer = new StringWriter();
+        TextFormat.write004(writer, Collections.enumeration(families));
+        final String text = writer.toString();
+
+        assertTrue(text.contains("# TYPE jans_http_server_requests_seconds summary"), text);
+        assertTrue(text.contains("jans_http_server_requests_seconds{endpoint=\"TokenRestWebServiceImpl.requestAccessToken\",quantile=\"0.99\",} 0.02"), text);
+        assertTrue(text.contains("jans_http_server_requests_seconds_count{endpoint=\"UserInfoRestWebServiceImpl.requestUserInfoGet\",} 1.0"), text);
+        assertTrue(text.contains("jans_user_authentication_success_total 3.0"), text);
+    }
+}
@@ -0,0 +1,93 @@
+package io.jans.as.server.service.stat;
+
+import io.jans.as.common.model.stat.StatEntry;
+import io.jans.as.model.common.GrantType;
+import io.jans.as.model.config.BaseDnConfiguration;
+import io.jans.as.model.config.StaticConfiguration;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.exception.EntryPersistenceException;
+import net.agkn.hll.HLL;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.slf4j.Logger;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@Listeners(MockitoTestNGListener.class)
+public class StatServiceTest {
+
+    private static final int THREADS = 8;
+    private static final int REPORTS_PER_THREAD = 2000;
+    private static final int USERS = 500;
+
+    @InjectMocks
+    private StatService statService;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private PersistenceEntryManager entryManager;
+
+    @Mock
+    private StaticConfiguration staticConfiguration;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    @Mock
+    private BaseDnConfiguration baseDnConfiguration;
+
+    @Test
+    public void updateStat_afterConcurrentReports_shouldPersistAllTokensAndUsers() throws Exception {
+        when(staticConfiguration.getBaseDn()).thenReturn(baseDnConfiguration);
+        when(baseDnConfiguration.getStat()).thenReturn("ou=stat,o=jans");
+        when(entryManager.find(any(), anyString())).thenThrow(new EntryPersistenceException("not found"));
+
+        assertTrue(statService.init());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executorService.submit(() -> {
+                for (int i = 0; i < REPORTS_PER_THREAD; i++) {
+                    statService.reportAccessToken(GrantType.AUTHORIZATION_CODE);
+                    statService.reportActiveUser("user" + (i % USERS));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+
+        statService.updateStat();
+
+        ArgumentCaptor<StatEntry> captor = ArgumentCaptor.forClass(StatEntry.class);
+        verify(entryManager).merge(captor.capture());
+        final StatEntry entry = captor.getValue();
+
+        final long tokens = entry.getStat().getTokenCountPerGrantType().get(GrantType.AUTHORIZATION_CODE.getValue()).get(StatService.ACCESS_TOKEN_KEY);
+        assertEquals(tokens, (long) THREADS * REPORTS_PER_THREAD);
+
+        final long users = HLL.fromBytes(Base64.getDecoder().decode(entry.getUserHllData())).cardinality();
+        assertTrue(Math.abs(users - USERS) < USERS * 0.05, "Unexpected cardinality: " + users);
+    }
+}
@@ -0,0 +1,116 @@
+package io.jans.as.server.service.token;
+
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.model.error.ErrorResponseFactory;
+import io.jans.as.server.service.cluster.StatusIndexPoolService;
+import io.jans.model.token.StatusIndexPool;
+import io.jans.model.tokenstatus.StatusList;
+import io.jans.model.tokenstatus.TokenStatus;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import org.json.JSONObject;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.slf4j.Logger;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static io.jans.as.model.config.Constants.CONTENT_TYPE_STATUSLIST_JSON;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+
+@Listeners(MockitoTestNGListener.class)
+public class StatusListServiceTest {
+
+    @InjectMocks
+    private StatusListService statusListService;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    @Mock
+    private ErrorResponseFactory errorResponseFactory;
+
+    @Mock
+    private StatusIndexPoolService statusIndexPoolService;
+
+    @Test
+    public void join_withSeveralPools_shouldMergeStatuses() throws IOException {
+        when(appConfiguration.getStatusListBitSize()).thenReturn(2);
+
+        final StatusList statusList = statusListService.join(Arrays.asList(
+                createPool(0, TokenStatus.INVALID, 1),
+                createPool(1, TokenStatus.INVALID, 150)));
+
+        assertEquals(statusList.get(1), TokenStatus.INVALID.getValue());
+        assertEquals(statusList.get(150), TokenStatus.INVALID.getValue());
+        assertEquals(statusList.get(2), TokenStatus.VALID.getValue());
+    }
+
+    @Test
+    public void requestStatusList_withoutChanges_shouldLoadPoolsOnceAndReturnNotModifiedForSameEtag() throws IOException {
+        when(appConfiguration.getStatusListBitSize()).thenReturn(2);
+        when(appConfiguration.getStatusListResponseJwtLifetime()).thenReturn(600);
+        when(statusIndexPoolService.getAllPools()).thenReturn(Collections.singletonList(createPool(0, TokenStatus.INVALID, 3)));
+
+        final Response response = statusListService.requestStatusList(CONTENT_TYPE_STATUSLIST_JSON);
+        final String etag = response.getHeaderString(HttpHeaders.ETAG);
+
+        assertEquals(response.getStatus(), 200);
+        assertNotNull(etag);
+        assertEquals(StatusList.fromEncoded(new JSONObject((String) response.getEntity()).getString("lst"), 2).get(3), TokenStatus.INVALID.getValue());
+
+        final Response notModified = statusListService.requestStatusList(CONTENT_TYPE_STATUSLIST_JSON, etag);
+        assertEquals(notModified.getStatus(), 304);
+        assertEquals(notModified.getHeaderString(HttpHeaders.ETAG), etag);
+
+        verify(statusIndexPoolService, times(1)).getAllPools();
+    }
+
+    @Test
+    public void requestStatusList_afterPoolUpdate_shouldReturnNewStatusList() throws IOException {
+        when(appConfiguration.getStatusListBitSize()).thenReturn(2);
+        when(appConfiguration.getStatusListResponseJwtLifetime()).thenReturn(600);
+        when(statusIndexPoolService.getAllPools()).thenReturn(Collections.singletonList(createPool(0, TokenStatus.INVALID, 3)));
+
+        final String etag = statusListService.requestStatusList(CONTENT_TYPE_STATUSLIST_JSON).getHeaderString(HttpHeaders.ETAG);
+
+        final StatusIndexPool updatedPool = createPool(0, TokenStatus.INVALID, 3);
+        final StatusList updatedStatusList = StatusList.fromEncoded(updatedPool.getData(), 2);
+        updatedStatusList.set(5, TokenStatus.INVALID.getValue());
+        statusListService.onPoolUpdated(updatedPool, updatedStatusList);
+
+        final Response response = statusListService.requestStatusList(CONTENT_TYPE_STATUSLIST_JSON, etag);
+        assertEquals(response.getStatus(), 200);
+        assertNotEquals(response.getHeaderString(HttpHeaders.ETAG), etag);
+
+        final StatusList statusList = StatusList.fromEncoded(new JSONObject((String) response.getEntity()).getString("lst"), 2);
+        assertEquals(statusList.get(3), TokenStatus.INVALID.getValue());
+        assertEquals(statusList.get(5), TokenStatus.INVALID.getValue());
+    }
+
+    private static StatusIndexPool createPool(int id, TokenStatus status, int index) throws IOException {
+        StatusList statusList = new StatusList(2);
+        statusList.set(index, status.getValue());
+
+        StatusIndexPool pool = new StatusIndexPool();
+        pool.setId(id);
+        pool.setDn("jansNum=" + id + ",ou=statusIndexPool,o=jans");
+        pool.setData(statusList.getLst());
+        pool.setLastUpdate(new Date());
+        return pool;
+    }
+}
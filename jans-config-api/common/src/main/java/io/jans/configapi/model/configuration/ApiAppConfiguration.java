@@ -79,6 +79,9 @@ public class ApiAppConfiguration implements Configuration {
     @Schema(description = "Maximum number of results per page in search endpoints.")
     private int maxCount;
 
+    @Schema(description = "Maximum time in seconds an active token introspection response is reused before token is introspected again. Entry never outlives token `exp`. Default value `0` (disabled).")
+    private Integer introspectionCacheMaxTtl;
+
     @Schema(description = "List of ACR values that should be excluded from active validation check.")
     private List<String> acrExclusionList;
     
@@ -290,6 +293,14 @@ public class ApiAppConfiguration implements Configuration {
         }
     }
 
+    public Integer getIntrospectionCacheMaxTtl() {
+        return introspectionCacheMaxTtl;
+    }
+
+    public void setIntrospectionCacheMaxTtl(Integer introspectionCacheMaxTtl) {
+        this.introspectionCacheMaxTtl = introspectionCacheMaxTtl;
+    }
+
     public List<String> getAcrExclusionList() {
         return acrExclusionList;
     }
@@ -367,7 +378,8 @@ public class ApiAppConfiguration implements Configuration {
                 + authOpenidRevokeUrl + ", exclusiveAuthScopes=" + exclusiveAuthScopes + ", corsConfigurationFilters="
                 + corsConfigurationFilters + ", loggingLevel=" + loggingLevel + ", loggingLayout=" + loggingLayout
                 + ", externalLoggerConfiguration=" + externalLoggerConfiguration + ", disableJdkLogger="
-                + disableJdkLogger + ", maxCount=" + maxCount + ", acrExclusionList=" + acrExclusionList
+                + disableJdkLogger + ", maxCount=" + maxCount + ", introspectionCacheMaxTtl="
+                + introspectionCacheMaxTtl + ", acrExclusionList=" + acrExclusionList
                 + ", userExclusionAttributes=" + userExclusionAttributes + ", userMandatoryAttributes="
                 + userMandatoryAttributes + ", agamaConfiguration=" + agamaConfiguration + ", auditLogConf="
                 + auditLogConf + ", dataFormatConversionConf=" + dataFormatConversionConf + ", plugins=" + plugins
@@ -11,6 +11,7 @@ import io.jans.fido2.model.conf.Conf;
 import io.jans.fido2.model.conf.AppConfiguration;
 import io.jans.orm.PersistenceEntryManager;
 import io.jans.orm.exception.BasePersistenceException;
+import io.jans.service.message.pubsub.PubSubConfigurationChangeChannel;
 import org.slf4j.Logger;
 
 import jakarta.enterprise.context.ApplicationScoped;
@@ -25,6 +26,9 @@ public class Fido2Service {
     @Inject
     PersistenceEntryManager persistenceManager;
 
+    @Inject
+    PubSubConfigurationChangeChannel configurationChangeChannel;
+
     @Inject
     ConfigurationFactory configurationFactory;
 
@@ -47,6 +51,11 @@ public class Fido2Service {
     public void mergeConf(Conf conf) {
         conf.setRevision(conf.getRevision() + 1);
         persistenceManager.merge(conf);
+
+        // Let FIDO2 nodes reload right away instead of waiting for revision check
+        if (conf.getDynamicConf() != null && Boolean.TRUE.equals(conf.getDynamicConf().getConfigurationChangeNotificationEnabled())) {
+            configurationChangeChannel.publish(conf.getDn(), conf.getRevision());
+        }
     }
 
     public void merge(AppConfiguration fido2ConfigJson) {
@@ -11,6 +11,7 @@ import io.jans.link.model.config.AppConfiguration;
 import io.jans.link.model.config.Conf;
 import io.jans.orm.PersistenceEntryManager;
 import io.jans.orm.exception.BasePersistenceException;
+import io.jans.service.message.pubsub.PubSubConfigurationChangeChannel;
 import org.slf4j.Logger;
 
 import jakarta.enterprise.context.ApplicationScoped;
@@ -25,6 +26,9 @@ public class JansLinkService {
     @Inject
     PersistenceEntryManager persistenceManager;
 
+    @Inject
+    PubSubConfigurationChangeChannel configurationChangeChannel;
+
     @Inject
     ConfigurationFactory configurationFactory;
 
@@ -46,6 +50,11 @@ public class JansLinkService {
     public void mergeConf(Conf conf) {
         conf.setRevision(conf.getRevision() + 1);
         persistenceManager.merge(conf);
+
+        // Let Jans Link nodes reload right away instead of waiting for revision check
+        if (conf.getDynamic() != null && Boolean.TRUE.equals(conf.getDynamic().getConfigurationChangeNotificationEnabled())) {
+            configurationChangeChannel.publish(conf.getDn(), conf.getRevision());
+        }
     }
 
     public void merge(AppConfiguration appConfiguration) {
@@ -102,9 +102,7 @@ public class AuditResource extends BaseResource {
 	public Response postBulkHealthData(@Valid List<HealthEntry> healthEntries) {
 		logger.debug("Bulk save Health Data - healthEntries:{}", healthEntries);
 
-		for (HealthEntry healthEntry: healthEntries) {
-			auditService.addHealthEntry(healthEntry);
-		}
+		auditService.addHealthEntries(healthEntries);
 
 		return Response.status(Response.Status.OK).build();
 	}
@@ -173,9 +171,7 @@ public class AuditResource extends BaseResource {
 	public Response postBulkLogData(@Valid List<LogEntry> logEntries) {
 		logger.debug("Bulk save Log Data - logEntries:{}", logEntries);
 
-		for (LogEntry LogEntry : logEntries) {
-			auditService.addLogData(LogEntry);
-		}
+		auditService.addLogEntries(logEntries);
 
 		return Response.status(Response.Status.OK).build();
 	}
@@ -244,9 +240,7 @@ public class AuditResource extends BaseResource {
 	public Response postBulkTelemetryData(@Valid List<TelemetryEntry> telemetryEntries) {
 		logger.debug("Bulk save Telemetry Data - telemetryEntries:{}", telemetryEntries);
 
-		for (TelemetryEntry telemetryEntry : telemetryEntries) {
-			auditService.addTelemetryData(telemetryEntry);
-		}
+		auditService.addTelemetryEntries(telemetryEntries);
 
 		return Response.status(Response.Status.OK).build();
 	}
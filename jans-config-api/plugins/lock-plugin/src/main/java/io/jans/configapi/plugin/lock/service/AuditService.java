@@ -4,6 +4,9 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -18,6 +21,7 @@ import io.jans.configapi.plugin.lock.model.stat.LogEntry;
 import io.jans.configapi.plugin.lock.model.stat.TelemetryEntry;
 import io.jans.model.SearchRequest;
 import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.model.base.BaseEntry;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.SortOrder;
 import io.jans.orm.search.filter.Filter;
@@ -66,6 +70,10 @@ public class AuditService {
         return telemetryEntry;
     }
 
+    public void addTelemetryEntries(List<TelemetryEntry> entries) {
+        addEntries(entries, TelemetryEntry::getInum, TelemetryEntry::setInum, this::getDnForTelemetryEntry);
+    }
+
     public void removeTelemetryEntry(TelemetryEntry telemetryEntry) {
         persistenceEntryManager.removeRecursively(telemetryEntry.getDn(), TelemetryEntry.class);
     }
@@ -197,6 +205,10 @@ public class AuditService {
         return healthEntry;
     }
 
+    public void addHealthEntries(List<HealthEntry> entries) {
+        addEntries(entries, HealthEntry::getInum, HealthEntry::setInum, this::getDnForHealthEntry);
+    }
+
     public List<HealthEntry> getHealthEntrysByRange(Date eventDateStart, Date eventDateEnd, int sizeLimit) {
         logger.debug("Search HealthEntrys by event range: [{}, {}], sizeLimit:{}", eventDateStart, eventDateEnd, sizeLimit);
 
@@ -246,6 +258,10 @@ public class AuditService {
         return logEntry;
     }
 
+    public void addLogEntries(List<LogEntry> entries) {
+        addEntries(entries, LogEntry::getInum, LogEntry::setInum, this::getDnForLogEntry);
+    }
+
     public List<LogEntry> getLogEntrysByRange(Date eventDateStart, Date eventDateEnd, int sizeLimit) {
         logger.debug("Search LogEntrys by event range: [{}, {}], sizeLimit:{}", eventDateStart, eventDateEnd, sizeLimit);
 
@@ -278,6 +294,29 @@ public class AuditService {
         return String.format("inum=%s,ou=log,ou=lock,%s", inum, orgDn);
     }
     
+    /**
+     * Persists entries with one batch request. Entries without inum get random UUID inum instead of one checked with
+     * {@link #generateInumForEntry(String, Class)}, which would cost a lookup per entry. Skipping the check is safe:
+     * collision of random UUIDs is practically impossible, and if it happens persist fails with duplicate entry error
+     * because it only inserts, so existing entry is never overwritten
+     */
+    private <T extends BaseEntry> void addEntries(List<T> entries, Function<T, String> inumGetter,
+            BiConsumer<T, String> inumSetter, UnaryOperator<String> dnBuilder) {
+        if ((entries == null) || entries.isEmpty()) {
+            return;
+        }
+
+        for (T entry : entries) {
+            if (StringUtils.isBlank(inumGetter.apply(entry))) {
+                String inum = inumService.generateDefaultId();
+                inumSetter.accept(entry, inum);
+
+                entry.setDn(dnBuilder.apply(inum));
+            }
+        }
+        persistenceEntryManager.persist(entries);
+    }
+
     public String generateInumForEntry(String entryName, Class classObj) {
         String newInum = null;
         String newDn = null;
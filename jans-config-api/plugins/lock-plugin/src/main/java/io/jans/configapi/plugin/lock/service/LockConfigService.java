@@ -6,6 +6,7 @@ import io.jans.lock.model.config.AppConfiguration;
 import io.jans.lock.model.config.Conf;
 import io.jans.orm.PersistenceEntryManager;
 import io.jans.orm.util.properties.FileConfiguration;
+import io.jans.service.message.pubsub.PubSubConfigurationChangeChannel;
 import io.jans.util.exception.InvalidConfigurationException;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -24,6 +25,9 @@ public class LockConfigService {
     @Named(ApplicationFactory.PERSISTENCE_ENTRY_MANAGER_NAME)
     PersistenceEntryManager persistenceManager;
 
+    @Inject
+    PubSubConfigurationChangeChannel configurationChangeChannel;
+
     @Inject
     ConfigurationFactory configurationFactory;
           
@@ -56,6 +60,11 @@ public class LockConfigService {
     public void mergeLockConfig(Conf lockconf) {
         lockconf.setRevision(lockconf.getRevision() + 1);
         persistenceManager.merge(lockconf);
+
+        // Let Lock nodes reload right away instead of waiting for revision check
+        if (lockconf.getDynamic() != null && Boolean.TRUE.equals(lockconf.getDynamic().getConfigurationChangeNotificationEnabled())) {
+            configurationChangeChannel.publish(lockconf.getDn(), lockconf.getRevision());
+        }
     }
 
     public AppConfiguration find() {
@@ -4,6 +4,7 @@ import io.jans.configapi.plugin.scim.configuration.ScimConfigurationFactory;
 import io.jans.orm.PersistenceEntryManager;
 import io.jans.scim.model.conf.AppConfiguration;
 import io.jans.scim.model.conf.Conf;
+import io.jans.service.message.pubsub.PubSubConfigurationChangeChannel;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -19,6 +20,9 @@ public class ScimConfigService {
     @Inject
     PersistenceEntryManager persistenceManager;
 
+    @Inject
+    PubSubConfigurationChangeChannel configurationChangeChannel;
+
     @Inject
     ScimConfigurationFactory scimConfigurationFactory;
 
@@ -31,6 +35,11 @@ public class ScimConfigService {
     public void merge(Conf conf) {
         conf.setRevision(conf.getRevision() + 1);
         persistenceManager.merge(conf);
+
+        // Let SCIM nodes reload right away instead of waiting for revision check
+        if (conf.getDynamicConf() != null && Boolean.TRUE.equals(conf.getDynamicConf().getConfigurationChangeNotificationEnabled())) {
+            configurationChangeChannel.publish(conf.getDn(), conf.getRevision());
+        }
     }
 
     public AppConfiguration find() {
@@ -6,15 +6,29 @@
 
 package io.jans.configapi.security.service;
 
+import io.jans.as.client.service.IntrospectionResponseCache;
 import io.jans.as.client.service.IntrospectionService;
 import io.jans.as.model.common.IntrospectionResponse;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.model.configuration.LockMessageConfig;
 import io.jans.as.model.uma.wrapper.Token;
+import io.jans.configapi.configuration.ConfigurationFactory;
+import io.jans.configapi.model.configuration.ApiAppConfiguration;
 import io.jans.configapi.service.auth.ConfigurationService;
 import io.jans.configapi.security.client.AuthClientFactory;
 import io.jans.configapi.util.AuthUtil;
+import io.jans.service.message.model.config.MessageProviderType;
+import io.jans.service.message.provider.MessageProvider;
+import io.jans.service.message.pubsub.PubSubInterface;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Named;
 import jakarta.inject.Inject;
@@ -30,6 +44,9 @@ public class OpenIdService implements Serializable {
 
     private static final long serialVersionUID = 4564959567069741194L;
 
+    // Service token is not reused during last 10% of its lifetime and never during last 30 seconds
+    private static final long SERVICE_TOKEN_MIN_REMAINING_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
     @Inject
     transient Logger log;
 
@@ -39,8 +56,34 @@ public class OpenIdService implements Serializable {
     @Inject
     transient ConfigurationService configurationService;
 
+    @Inject
+    transient ConfigurationFactory configurationFactory;
+
+    @Inject
+    transient MessageProvider messageProvider;
+
     private transient IntrospectionService introspectionService;
 
+    private transient IntrospectionResponseCache introspectionResponseCache;
+
+    private transient ConcurrentHashMap<String, ServiceToken> serviceTokens;
+
+    private transient PubSubInterface tokenMessageListener;
+
+    @PostConstruct
+    public void init() {
+        introspectionResponseCache = new IntrospectionResponseCache();
+        serviceTokens = new ConcurrentHashMap<>();
+        subscribeToTokenMessages();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (tokenMessageListener != null) {
+            messageProvider.unsubscribe(tokenMessageListener);
+        }
+    }
+
     public IntrospectionService getIntrospectionService() {
         return introspectionService;
     }
@@ -48,6 +91,13 @@ public class OpenIdService implements Serializable {
     public IntrospectionResponse getIntrospectionResponse(String header, String token, String issuer) throws JsonProcessingException {
         log.debug("oAuth Introspection request , header:{}, token:{}, issuer:{}", header, token, issuer);
 
+        introspectionResponseCache.setMaxTtlInSeconds(getIntrospectionCacheMaxTtl());
+        IntrospectionResponse cachedResponse = introspectionResponseCache.get(token);
+        if (cachedResponse != null) {
+            log.trace("oAuth Introspection response is taken from cache");
+            return cachedResponse;
+        }
+
         String introspectionUrl = authUtil.getIntrospectionEndpoint();
         if (StringUtils.isNotBlank(issuer)) {
             introspectionUrl = AuthClientFactory.getIntrospectionEndpoint(issuer);
@@ -55,12 +105,83 @@ public class OpenIdService implements Serializable {
         }
 
         log.info("oAuth Final introspectionUrl:{} ", introspectionUrl);
-        return AuthClientFactory.getIntrospectionResponse(introspectionUrl, header, token, false);
+        IntrospectionResponse introspectionResponse = AuthClientFactory.getIntrospectionResponse(introspectionUrl, header, token, false);
+        introspectionResponseCache.put(token, introspectionResponse);
+        return introspectionResponse;
     }
 
     public String requestAccessToken(final String clientId, final List<String> scope) {
-        String accessToken = authUtil.requestAccessToken(clientId, scope);
-        log.info("oAuth AccessToken response - accessToken:{}", accessToken);      
+        final String key = clientId + " " + String.join(" ", new TreeSet<>(scope));
+        final ServiceToken serviceToken = serviceTokens.get(key);
+        if (serviceToken != null && serviceToken.isReusable(System.currentTimeMillis())) {
+            log.debug("oAuth AccessToken reused for clientId:{}, scope:{}", clientId, scope);
+            return serviceToken.accessToken;
+        }
+
+        Token token = authUtil.getAccessToken(authUtil.getTokenEndpoint(), clientId, scope);
+        String accessToken = token != null ? token.getAccessToken() : null;
+        log.info("oAuth AccessToken response - accessToken:{}", accessToken);
+
+        if (accessToken != null && token.getExpiresIn() != null && token.getExpiresIn() > 0) {
+            serviceTokens.put(key, new ServiceToken(accessToken, System.currentTimeMillis(), TimeUnit.SECONDS.toMillis(token.getExpiresIn())));
+        } else {
+            serviceTokens.remove(key);
+        }
         return accessToken;
     }
+
+    private int getIntrospectionCacheMaxTtl() {
+        ApiAppConfiguration apiAppConfiguration = configurationFactory.getApiAppConfiguration();
+        if (apiAppConfiguration == null || apiAppConfiguration.getIntrospectionCacheMaxTtl() == null) {
+            return IntrospectionResponseCache.DEFAULT_MAX_TTL_IN_SECONDS;
+        }
+        return apiAppConfiguration.getIntrospectionCacheMaxTtl();
+    }
+
+    private void subscribeToTokenMessages() {
+        AppConfiguration appConfiguration = configurationFactory.getAppConfiguration();
+        LockMessageConfig lockMessageConfig = appConfiguration != null ? appConfiguration.getLockMessageConfig() : null;
+        if (lockMessageConfig == null || !Boolean.TRUE.equals(lockMessageConfig.getEnableTokenMessages())
+                || StringUtils.isBlank(lockMessageConfig.getTokenMessagesChannel())
+                || messageProvider.getProviderType() == MessageProviderType.DISABLED) {
+            log.debug("Token messages are not available, cached introspection responses are bounded by max ttl only");
+            return;
+        }
+
+        tokenMessageListener = new PubSubInterface() {
+
+            @Override
+            public void onMessage(String channel, String message) {
+                introspectionResponseCache.onTokenMessage(message);
+            }
+
+            @Override
+            public void onSubscribe(String channel, int subscribedChannels) {
+                log.debug("Subscribed to token channel {}", channel);
+            }
+
+            @Override
+            public void onUnsubscribe(String channel, int subscribedChannels) {
+                log.debug("Unsubscribed from token channel {}", channel);
+            }
+        };
+
+        log.info("Subscribing to token messages channel {} to invalidate cached introspection responses", lockMessageConfig.getTokenMessagesChannel());
+        messageProvider.subscribe(tokenMessageListener, lockMessageConfig.getTokenMessagesChannel());
+    }
+
+    private static class ServiceToken {
+
+        private final String accessToken;
+        private final long reuseUntil;
+
+        private ServiceToken(String accessToken, long issuedAt, long lifetime) {
+            this.accessToken = accessToken;
+            this.reuseUntil = issuedAt + Math.min(lifetime - lifetime / 10, lifetime - SERVICE_TOKEN_MIN_REMAINING_MILLIS);
+        }
+
+        private boolean isReusable(long now) {
+            return now < reuseUntil;
+        }
+    }
 }
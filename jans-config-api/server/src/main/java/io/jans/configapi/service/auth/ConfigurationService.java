@@ -14,6 +14,7 @@ import io.jans.configapi.configuration.ConfigurationFactory;
 import io.jans.configapi.model.status.StatsData;
 import io.jans.orm.PersistenceEntryManager;
 import io.jans.service.document.store.conf.DocumentStoreConfiguration;
+import io.jans.service.message.pubsub.PubSubConfigurationChangeChannel;
 import io.jans.util.StringHelper;
 
 import jakarta.enterprise.context.ApplicationScoped;
@@ -39,6 +40,9 @@ public class ConfigurationService {
     @Inject
     ConfigurationFactory configurationFactory;
 
+    @Inject
+    PubSubConfigurationChangeChannel configurationChangeChannel;
+
     private StatsData statsData;
 
     public Conf findConf() {
@@ -49,6 +53,11 @@ public class ConfigurationService {
     public void merge(Conf conf) {
         conf.setRevision(conf.getRevision() + 1);
         persistenceManager.merge(conf);
+
+        // Let auth server nodes reload right away instead of waiting for revision check
+        if (conf.getDynamic() != null && Boolean.TRUE.equals(conf.getDynamic().getConfigurationChangeNotificationEnabled())) {
+            configurationChangeChannel.publish(conf.getDn(), conf.getRevision());
+        }
     }
 
     public void merge(GluuConfiguration conf) {
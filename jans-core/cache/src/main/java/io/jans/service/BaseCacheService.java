@@ -9,10 +9,31 @@ package io.jans.service;
 import io.jans.service.cache.CacheInterface;
 import io.jans.service.cache.CacheProvider;
 import io.jans.service.cache.CacheProviderType;
+import io.jans.service.cache.SoftExpiringCacheValue;
 import org.slf4j.Logger;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -25,9 +46,55 @@ public abstract class BaseCacheService implements CacheInterface {
 	
 	public static int DEFAULT_EXPIRATION = 60;
 
+	public static final String CACHE_RELOAD_THREAD_NAME = "CacheReloadThread";
+
+	private static final int RELOAD_THREADS = 4;
+	private static final int RELOAD_QUEUE_SIZE = 1000;
+
+	// Request waiting for load of other request longer than this loads value itself
+	private static final int LOAD_WAIT_TIMEOUT_IN_SECONDS = 30;
+
 	@Inject
     private Logger log;
 
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+
+    // Bounded, reload which doesn't fit is skipped and stale value is served until next request triggers it again
+    private ThreadPoolExecutor reloadExecutor;
+    private final AtomicInteger reloadThreadCounter = new AtomicInteger();
+
+    private final LongAdder executedLoadCount = new LongAdder();
+    private final LongAdder coalescedLoadCount = new LongAdder();
+    private final LongAdder staleHitCount = new LongAdder();
+
+    /*
+     * Reload executor is created on first soft expired hit, most services never need it
+     */
+    private synchronized ExecutorService getReloadExecutor() {
+		if (reloadExecutor == null) {
+			reloadExecutor = new ThreadPoolExecutor(RELOAD_THREADS, RELOAD_THREADS, 60, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(RELOAD_QUEUE_SIZE), new ThreadFactory() {
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable);
+					thread.setName(CACHE_RELOAD_THREAD_NAME + "-" + reloadThreadCounter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			reloadExecutor.allowCoreThreadTimeOut(true);
+		}
+
+		return reloadExecutor;
+	}
+
+    @PreDestroy
+    public synchronized void destroyReloadExecutor() {
+		if (reloadExecutor != null) {
+			// Reloads requested later are rejected and stale value is served
+			reloadExecutor.shutdownNow();
+		}
+	}
+
     public Object get(String key) {
     	CacheProvider cacheProvider = getCacheProvider();
         if (cacheProvider == null) {
@@ -58,21 +125,213 @@ public abstract class BaseCacheService implements CacheInterface {
         if (value != null) {
             log.trace("Loaded from cache, key: '{}'", key);
             return (T) value;
-        } else {
-            log.trace("Key not in cache. Searching value via load function, key: '{}'", key);
+        }
+
+        log.trace("Key not in cache. Searching value via load function, key: '{}'", key);
+        return (T) loadOnce(key, () -> {
+            final T loaded = loadFunction.get();
+            if (loaded == null) {
+                log.trace("Key not in cache. There is no value, key: '{}'", key);
+                return null;
+            }
+
+            putSilently(expirationInSeconds, key, loaded);
+            return loaded;
+        });
+    }
+
+    /**
+     * Same as getWithPut but value is reloaded in background after softExpirationInSeconds. Callers get
+     * previous value until reload finishes. Values put with this method should be read with it only
+     */
+    public <T> T getWithPut(String key, Supplier<T> loadFunction, int softExpirationInSeconds, int expirationInSeconds) {
+    	CacheProvider cacheProvider = getCacheProvider();
+
+    	if (CacheProviderType.NATIVE_PERSISTENCE == cacheProvider.getProviderType()) {
+        	log.trace("Loading data from DB without cache, key '{}'", key);
+            return loadFunction.get();
+        }
+
+        final Supplier<Object> softExpiringLoadFunction = () -> {
             final T loaded = loadFunction.get();
             if (loaded == null) {
                 log.trace("Key not in cache. There is no value, key: '{}'", key);
                 return null;
             }
 
+            SoftExpiringCacheValue softExpiringValue = new SoftExpiringCacheValue(loaded,
+                    System.currentTimeMillis() + softExpirationInSeconds * 1000L);
+            putSilently(expirationInSeconds, key, softExpiringValue);
+            return softExpiringValue;
+        };
+
+        final Object value = get(key);
+        if (value instanceof SoftExpiringCacheValue) {
+            SoftExpiringCacheValue softExpiringValue = (SoftExpiringCacheValue) value;
+            if (softExpiringValue.isSoftExpired(System.currentTimeMillis())) {
+                log.trace("Loaded stale value from cache, key: '{}'", key);
+                staleHitCount.increment();
+                reloadAsync(key, softExpiringLoadFunction);
+            } else {
+                log.trace("Loaded from cache, key: '{}'", key);
+            }
+            return (T) softExpiringValue.getValue();
+        } else if (value != null) {
+            log.trace("Loaded from cache, key: '{}'", key);
+            return (T) value;
+        }
+
+        log.trace("Key not in cache. Searching value via load function, key: '{}'", key);
+        final Object loaded = loadOnce(key, softExpiringLoadFunction);
+        if (loaded instanceof SoftExpiringCacheValue) {
+            return (T) ((SoftExpiringCacheValue) loaded).getValue();
+        }
+
+        return (T) loaded;
+    }
+
+    /*
+     * Only one load per key is executed at a time. Other callers wait for its result
+     */
+    private Object loadOnce(String key, Supplier<Object> loadFunction) {
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlightLoad = inFlightLoads.putIfAbsent(key, load);
+        if (inFlightLoad != null) {
+            log.trace("Waiting for load which is in progress, key: '{}'", key);
+            coalescedLoadCount.increment();
             try {
-                put(expirationInSeconds, key, loaded);
-            } catch (Exception e) {
-                log.error("Failed to put object into cache, key: '{}'", key, e); // we don't want prevent returning loaded value due to failure with put
+                return inFlightLoad.get(LOAD_WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+            } catch (TimeoutException ex) {
+                log.warn("Load in progress takes longer than {} seconds, loading value again, key: '{}'", LOAD_WAIT_TIMEOUT_IN_SECONDS, key);
+                executedLoadCount.increment();
+                return loadFunction.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(ex);
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) ex.getCause();
+                }
+                if (ex.getCause() instanceof Error) {
+                    throw (Error) ex.getCause();
+                }
+                throw new CompletionException(ex.getCause());
             }
+        }
+
+        return executeLoad(key, load, loadFunction);
+    }
+
+    private void reloadAsync(String key, Supplier<Object> loadFunction) {
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        if (inFlightLoads.putIfAbsent(key, load) != null) {
+            // Reload is in progress already
+            return;
+        }
+
+        try {
+            getReloadExecutor().execute(() -> {
+                try {
+                    executeLoad(key, load, loadFunction);
+                } catch (Exception e) {
+                    log.error("Failed to reload cache value, key: '{}'", key, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlightLoads.remove(key, load);
+            load.complete(null);
+            log.warn("Reload queue is full, stale value is served until next reload, key: '{}'", key);
+        }
+    }
+
+    private Object executeLoad(String key, CompletableFuture<Object> load, Supplier<Object> loadFunction) {
+        executedLoadCount.increment();
+        try {
+            Object loaded = loadFunction.get();
+            load.complete(loaded);
             return loaded;
+        } catch (RuntimeException | Error ex) {
+            load.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlightLoads.remove(key, load);
+        }
+    }
+
+    private void putSilently(int expirationInSeconds, String key, Object object) {
+        try {
+            put(expirationInSeconds, key, object);
+        } catch (Exception e) {
+            log.error("Failed to put object into cache, key: '{}'", key, e); // we don't want prevent returning loaded value due to failure with put
+        }
+    }
+
+    /*
+     * Count of load function calls
+     */
+    public long getExecutedLoadCount() {
+        return executedLoadCount.sum();
+    }
+
+    /*
+     * Count of requests which got value loaded by concurrent request
+     */
+    public long getCoalescedLoadCount() {
+        return coalescedLoadCount.sum();
+    }
+
+    /*
+     * Count of requests which got soft expired value
+     */
+    public long getStaleHitCount() {
+        return staleHitCount.sum();
+    }
+
+    /**
+     * Loads values for keys missing in cache with loadFunction and puts them into cache with one request
+     */
+    public <T> Map<String, T> getAllWithPut(Collection<String> keys, Function<String, T> loadFunction, int expirationInSeconds) {
+        Map<String, T> result = new LinkedHashMap<>();
+
+    	CacheProvider cacheProvider = getCacheProvider();
+    	if (CacheProviderType.NATIVE_PERSISTENCE == cacheProvider.getProviderType()) {
+        	log.trace("Loading data from DB without cache, keys '{}'", keys);
+        	for (String key : keys) {
+        		T loaded = loadFunction.apply(key);
+        		if (loaded != null) {
+        			result.put(key, loaded);
+        		}
+        	}
+            return result;
         }
+
+        Map<String, Object> cached = getAll(keys);
+
+        Map<String, T> loadedValues = new HashMap<>();
+        for (String key : keys) {
+            Object value = cached.get(key);
+            if (value != null) {
+                result.put(key, (T) value);
+                continue;
+            }
+
+            log.trace("Key not in cache. Searching value via load function, key: '{}'", key);
+            T loaded = loadFunction.apply(key);
+            if (loaded != null) {
+                result.put(key, loaded);
+                loadedValues.put(key, loaded);
+            }
+        }
+
+        if (!loadedValues.isEmpty()) {
+            try {
+                putAll(expirationInSeconds, loadedValues);
+            } catch (Exception e) {
+                log.error("Failed to put objects into cache, keys: '{}'", loadedValues.keySet(), e); // we don't want prevent returning loaded values due to failure with put
+            }
+        }
+
+        return result;
     }
 
 	public void put(int expirationInSeconds, String key, Object object) {
@@ -86,6 +345,18 @@ public abstract class BaseCacheService implements CacheInterface {
 		cacheProvider.put(expirationInSeconds, key, object);
 	}
 
+    @Override
+	public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+    	CacheProvider cacheProvider = getCacheProvider();
+    	if (cacheProvider == null) {
+        	log.error("Cache provider is invalid!");
+			return false;
+		}
+
+    	log.trace("Put data if absent, key '{}': '{}'", key, object);
+		return cacheProvider.putIfAbsent(expirationInSeconds, key, object);
+	}
+
 	public void remove(String key) {
     	CacheProvider cacheProvider = getCacheProvider();
     	if (cacheProvider == null) {
@@ -97,6 +368,45 @@ public abstract class BaseCacheService implements CacheInterface {
 		cacheProvider.remove(key);
 	}
 
+    @Override
+    public Map<String, Object> getAll(Collection<String> keys) {
+    	CacheProvider cacheProvider = getCacheProvider();
+        if (cacheProvider == null) {
+        	log.error("Cache provider is invalid!");
+            return Collections.emptyMap();
+        }
+
+    	log.trace("Request data, keys '{}'", keys);
+    	Map<String, Object> values = cacheProvider.getAll(keys);
+    	log.trace("Loaded data, keys '{}'", values.keySet());
+
+    	return values;
+    }
+
+    @Override
+	public void putAll(int expirationInSeconds, Map<String, ?> objects) {
+    	CacheProvider cacheProvider = getCacheProvider();
+    	if (cacheProvider == null) {
+        	log.error("Cache provider is invalid!");
+			return;
+		}
+
+    	log.trace("Put data, keys '{}'", objects.keySet());
+		cacheProvider.putAll(expirationInSeconds, objects);
+	}
+
+    @Override
+	public void removeAll(Collection<String> keys) {
+    	CacheProvider cacheProvider = getCacheProvider();
+    	if (cacheProvider == null) {
+        	log.error("Cache provider is invalid!");
+			return;
+		}
+
+    	log.trace("Remove data, keys '{}'", keys);
+		cacheProvider.removeAll(keys);
+	}
+
 	public void clear() {
     	CacheProvider cacheProvider = getCacheProvider();
     	if (cacheProvider == null) {
@@ -6,6 +6,12 @@
 
 package io.jans.service.cache;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.JedisPoolConfig;
 
@@ -16,6 +22,8 @@ public abstract class AbstractRedisProvider {
 
 	protected RedisConfiguration redisConfiguration;
 
+	protected CacheValueSerializer valueSerializer = new CacheValueSerializer();
+
 	public AbstractRedisProvider(RedisConfiguration redisConfiguration) {
 		this.redisConfiguration = redisConfiguration;
         HostAndPort.setLocalhost("127.0.0.1");
@@ -33,6 +41,14 @@ public abstract class AbstractRedisProvider {
 		return redisConfiguration;
 	}
 
+	public CacheValueSerializer getValueSerializer() {
+		return valueSerializer;
+	}
+
+	public void setValueSerializer(CacheValueSerializer valueSerializer) {
+		this.valueSerializer = valueSerializer;
+	}
+
 	public void testConnection() {
 		put(2, "testKey", "testValue");
 		if (!"testValue".equals(get("testKey"))) {
@@ -66,4 +82,65 @@ public abstract class AbstractRedisProvider {
 
 	public abstract void put(String key, Object object);
 
+	public abstract boolean putIfAbsent(int expirationInSeconds, String key, Object object);
+
+	public Map<String, Object> getAll(Collection<String> keys) {
+		Map<String, Object> result = new HashMap<>();
+		for (String key : nonNullKeys(keys)) {
+			Object value = get(key);
+			if (value != null) {
+				result.put(key, value);
+			}
+		}
+
+		return result;
+	}
+
+	public void putAll(int expirationInSeconds, Map<String, ?> objects) {
+		for (Map.Entry<String, ?> entry : objects.entrySet()) {
+			put(expirationInSeconds, entry.getKey(), entry.getValue());
+		}
+	}
+
+	public void removeAll(Collection<String> keys) {
+		for (String key : nonNullKeys(keys)) {
+			remove(key);
+		}
+	}
+
+	protected List<String> nonNullKeys(Collection<String> keys) {
+		List<String> result = new ArrayList<>(keys.size());
+		for (String key : keys) {
+			if (key != null) {
+				result.add(key);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Null keys are skipped, values passed to {@link #addValues(Map, Collection, List)} are matched to keys in the same way
+	 */
+	protected byte[][] toBinaryKeys(Collection<String> keys) {
+		List<String> nonNullKeys = nonNullKeys(keys);
+		byte[][] binaryKeys = new byte[nonNullKeys.size()][];
+		int i = 0;
+		for (String key : nonNullKeys) {
+			binaryKeys[i++] = key.getBytes();
+		}
+
+		return binaryKeys;
+	}
+
+	protected void addValues(Map<String, Object> result, Collection<String> keys, List<byte[]> values) {
+		int i = 0;
+		for (String key : nonNullKeys(keys)) {
+			byte[] value = values.get(i++);
+			if (value != null && value.length > 0) {
+				result.put(key, valueSerializer.deserialize(value));
+			}
+		}
+	}
+
 }
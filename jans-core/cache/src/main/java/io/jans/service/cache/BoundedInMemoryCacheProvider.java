@@ -0,0 +1,226 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy.VarExpiration;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * In memory cache provider with limited size. It uses W-TinyLFU admission policy to keep
+ * frequently used entries when cache is full. Reads are lock free
+ */
+@ApplicationScoped
+public class BoundedInMemoryCacheProvider extends AbstractCacheProvider<Cache<String, Object>> {
+
+    private static final int ENTRY_OVERHEAD_WEIGHT = 64;
+    private static final int DEFAULT_VALUE_WEIGHT = 1024;
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private CacheConfiguration cacheConfiguration;
+
+    private Cache<String, Object> cache;
+    private VarExpiration<String, Object> varExpiration;
+
+    private InMemoryConfiguration inMemoryConfiguration;
+
+    public BoundedInMemoryCacheProvider() {
+    }
+
+    @PostConstruct
+    public void init() {
+        this.inMemoryConfiguration = cacheConfiguration.getInMemoryConfiguration();
+    }
+
+    public void create() {
+        log.debug("Starting BoundedInMemoryCacheProvider ...");
+        try {
+            Caffeine<String, Object> builder = Caffeine.newBuilder().recordStats().expireAfter(new DefaultExpiry());
+            if (inMemoryConfiguration.getMaximumWeight() > 0) {
+                builder = builder.maximumWeight(inMemoryConfiguration.getMaximumWeight()).weigher(BoundedInMemoryCacheProvider::estimateWeight);
+            } else {
+                builder = builder.maximumSize(inMemoryConfiguration.getMaximumSize());
+            }
+
+            cache = builder.build();
+            varExpiration = cache.policy().expireVariably().get();
+
+            log.debug("BoundedInMemoryCacheProvider started with configuration: {}", inMemoryConfiguration);
+        } catch (Exception e) {
+            throw new IllegalStateException("Error starting BoundedInMemoryCacheProvider", e);
+        }
+    }
+
+    public void configure(CacheConfiguration cacheConfiguration) {
+        this.log = LoggerFactory.getLogger(BoundedInMemoryCacheProvider.class);
+        this.cacheConfiguration = cacheConfiguration;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        log.debug("Destroying BoundedInMemoryCacheProvider");
+
+        if (cache != null) {
+            cache.invalidateAll();
+            cache.cleanUp();
+        }
+
+        log.debug("Destroyed BoundedInMemoryCacheProvider");
+    }
+
+    @Override
+    public Cache<String, Object> getDelegate() {
+        return cache;
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        // Check without affecting hit rate statistics
+        return cache.asMap().containsKey(key);
+    }
+
+    @Override
+    public Object get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public void put(int expirationInSeconds, String key, Object object) {
+        expirationInSeconds = expirationInSeconds >= 0 ? expirationInSeconds : inMemoryConfiguration.getDefaultPutExpiration();
+        varExpiration.put(key, object, expirationInSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        expirationInSeconds = expirationInSeconds >= 0 ? expirationInSeconds : inMemoryConfiguration.getDefaultPutExpiration();
+        return varExpiration.putIfAbsent(key, object, expirationInSeconds, TimeUnit.SECONDS) == null;
+    }
+
+    @Override
+    public void remove(String key) {
+        cache.invalidate(key);
+    }
+
+    @Override
+    public Map<String, Object> getAll(Collection<String> keys) {
+        return cache.getAllPresent(keys);
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys) {
+        cache.invalidateAll(keys);
+    }
+
+    @Override
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void cleanup(final Date now) {
+        // Run pending expiration and eviction tasks
+        cache.cleanUp();
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    public double getHitRate() {
+        return cache.stats().hitRate();
+    }
+
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    public long getEstimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    @Override
+    public Map<String, Number> getStatistics() {
+        final CacheStats stats = cache.stats();
+
+        Map<String, Number> statistics = new HashMap<>();
+        statistics.put("hit", stats.hitCount());
+        statistics.put("miss", stats.missCount());
+        statistics.put("eviction", stats.evictionCount());
+        statistics.put("size", cache.estimatedSize());
+        return statistics;
+    }
+
+    public void setCacheConfiguration(CacheConfiguration cacheConfiguration) {
+        this.cacheConfiguration = cacheConfiguration;
+    }
+
+    @Override
+    public CacheProviderType getProviderType() {
+        return CacheProviderType.BOUNDED_IN_MEMORY;
+    }
+
+    private static int estimateWeight(String key, Object value) {
+        int weight = ENTRY_OVERHEAD_WEIGHT + 2 * key.length();
+        if (value instanceof String) {
+            weight += 2 * ((String) value).length();
+        } else if (value instanceof byte[]) {
+            weight += ((byte[]) value).length;
+        } else {
+            weight += DEFAULT_VALUE_WEIGHT;
+        }
+
+        return weight;
+    }
+
+    private class DefaultExpiry implements Expiry<String, Object> {
+
+        @Override
+        public long expireAfterCreate(String key, Object value, long currentTime) {
+            return TimeUnit.SECONDS.toNanos(inMemoryConfiguration.getDefaultPutExpiration());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Object value, long currentTime, long currentDuration) {
+            return TimeUnit.SECONDS.toNanos(inMemoryConfiguration.getDefaultPutExpiration());
+        }
+
+        @Override
+        public long expireAfterRead(String key, Object value, long currentTime, long currentDuration) {
+            // Reads don't extend entry lifetime
+            return currentDuration;
+        }
+
+    }
+
+}
@@ -32,6 +32,12 @@ public class CacheConfiguration implements Serializable {
 
     private NativePersistenceConfiguration nativePersistenceConfiguration;
 
+    private NearCacheConfiguration nearCacheConfiguration;
+
+    private String valueCodec = JavaCacheValueCodec.NAME;
+
+    private int valueCompressionThreshold = 0; // in bytes, 0 to disable compression
+
     public NativePersistenceConfiguration getNativePersistenceConfiguration() {
         return nativePersistenceConfiguration;
     }
@@ -72,6 +78,30 @@ public class CacheConfiguration implements Serializable {
         this.memcachedConfiguration = memcachedConfiguration;
     }
 
+    public NearCacheConfiguration getNearCacheConfiguration() {
+        return nearCacheConfiguration;
+    }
+
+    public void setNearCacheConfiguration(NearCacheConfiguration nearCacheConfiguration) {
+        this.nearCacheConfiguration = nearCacheConfiguration;
+    }
+
+    public String getValueCodec() {
+        return valueCodec;
+    }
+
+    public void setValueCodec(String valueCodec) {
+        this.valueCodec = valueCodec;
+    }
+
+    public int getValueCompressionThreshold() {
+        return valueCompressionThreshold;
+    }
+
+    public void setValueCompressionThreshold(int valueCompressionThreshold) {
+        this.valueCompressionThreshold = valueCompressionThreshold;
+    }
+
     @Override
     public String toString() {
         return "CacheConfiguration{" +
@@ -80,6 +110,9 @@ public class CacheConfiguration implements Serializable {
                 ", redisConfiguration=" + redisConfiguration +
                 ", inMemoryConfiguration=" + inMemoryConfiguration +
                 ", nativePersistenceConfiguration=" + nativePersistenceConfiguration +
+                ", nearCacheConfiguration=" + nearCacheConfiguration +
+                ", valueCodec=" + valueCodec +
+                ", valueCompressionThreshold=" + valueCompressionThreshold +
                 '}';
     }
 }
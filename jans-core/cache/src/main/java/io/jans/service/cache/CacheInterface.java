@@ -6,7 +6,10 @@
 
 package io.jans.service.cache;
 
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author Yuriy Zabrovarnyy
@@ -22,4 +25,47 @@ public interface CacheInterface {
    void clear();
 
     void cleanup(final Date now);
+
+    /**
+     * Fetches objects for given keys. Result contains only found keys
+     */
+    default Map<String, Object> getAll(Collection<String> keys) {
+        Map<String, Object> result = new HashMap<>();
+        for (String key : keys) {
+            Object value = get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+
+        return result;
+    }
+
+    default void putAll(int expirationInSeconds, Map<String, ?> objects) {
+        for (Map.Entry<String, ?> entry : objects.entrySet()) {
+            put(expirationInSeconds, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Puts object only if there is no value for the key yet. Providers which support it do this with one atomic
+     * request, so concurrent callers can use it to detect duplicates (e.g. replay of one-time values).
+     *
+     * @return true if object was put, false if key already has a value
+     */
+    default boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        if (get(key) != null) {
+            return false;
+        }
+
+        put(expirationInSeconds, key, object);
+        return true;
+    }
+
+    default void removeAll(Collection<String> keys) {
+        for (String key : keys) {
+            remove(key);
+        }
+    }
+
 }
@@ -6,7 +6,9 @@
 
 package io.jans.service.cache;
 
+import java.util.Collections;
 import java.util.Date;
+import java.util.Map;
 
 public abstract class CacheProvider<T> implements CacheInterface {
 
@@ -51,4 +53,11 @@ public abstract class CacheProvider<T> implements CacheInterface {
 	
 	public abstract CacheProviderType getProviderType();
 
+    /**
+     * @return - provider specific counters (e.g. hits, misses) or empty map if provider doesn't collect them
+     */
+    public Map<String, Number> getStatistics() {
+        return Collections.emptyMap();
+    }
+
 }
@@ -32,6 +32,10 @@ public class CacheProviderFactory {
     @Any
     private Instance<CacheProvider> instance;
 
+    @Inject
+    @Any
+    private Instance<NearCacheInvalidationChannel> invalidationChannelInstance;
+
     @Produces
     @ApplicationScoped
     public CacheProvider getCacheProvider() {
@@ -64,6 +68,9 @@ public class CacheProviderFactory {
             case NATIVE_PERSISTENCE:
                 cacheProvider = instance.select(NativePersistenceCacheProvider.class).get();
                 break;
+            case BOUNDED_IN_MEMORY:
+                cacheProvider = instance.select(BoundedInMemoryCacheProvider.class).get();
+                break;
         }
 
         if (cacheProvider == null) {
@@ -72,6 +79,12 @@ public class CacheProviderFactory {
 
         cacheProvider.create();
 
+        if (NearCacheProvider.isApplicable(cacheConfiguration)) {
+            NearCacheInvalidationChannel invalidationChannel = invalidationChannelInstance.isResolvable() ? invalidationChannelInstance.get() : null;
+            cacheProvider = new NearCacheProvider(cacheProvider, cacheConfiguration.getNearCacheConfiguration(), invalidationChannel);
+            cacheProvider.create();
+        }
+
         return cacheProvider;
 	}
 
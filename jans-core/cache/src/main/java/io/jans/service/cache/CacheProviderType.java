@@ -13,5 +13,5 @@ import jakarta.xml.bind.annotation.XmlEnum;
  */
 @XmlEnum(String.class)
 public enum CacheProviderType {
-    IN_MEMORY, MEMCACHED, REDIS, NATIVE_PERSISTENCE
+    IN_MEMORY, MEMCACHED, REDIS, NATIVE_PERSISTENCE, BOUNDED_IN_MEMORY
 }
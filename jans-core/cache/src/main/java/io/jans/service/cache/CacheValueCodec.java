@@ -0,0 +1,30 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+/**
+ * Converts cache values to bytes and back. Additional codecs can be registered with
+ * java.util.ServiceLoader
+ */
+public interface CacheValueCodec {
+
+    /**
+     * Codec name which is used in cache configuration
+     */
+    String getName();
+
+    /**
+     * Codec identifier which is stored in entry header. It allows to decode entries written by
+     * nodes configured with another codec. Values 0-15 are reserved for built-in codecs
+     */
+    byte getId();
+
+    byte[] encode(Object value);
+
+    Object decode(byte[] data);
+
+}
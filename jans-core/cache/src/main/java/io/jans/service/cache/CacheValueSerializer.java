@@ -0,0 +1,173 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * Serializes cache values with configured codec and optional LZ4 compression.
+ *
+ * Entries are written with header: magic, format version, codec id, flags. Entries without header
+ * are treated as plain Java serialization written by previous versions. Default configuration
+ * (java codec without compression) writes plain Java serialization to keep entries readable by
+ * nodes which are not upgraded yet
+ */
+public class CacheValueSerializer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheValueSerializer.class);
+
+    private static final byte MAGIC = (byte) 0xCA;
+    private static final byte FORMAT_VERSION = 1;
+    private static final byte FLAG_LZ4 = 0x01;
+    private static final int HEADER_SIZE = 4;
+
+    private static final JavaCacheValueCodec JAVA_CODEC = new JavaCacheValueCodec();
+
+    private static final Map<Byte, CacheValueCodec> CODECS_BY_ID = new HashMap<>();
+    private static final Map<String, CacheValueCodec> CODECS_BY_NAME = new HashMap<>();
+
+    static {
+        registerCodec(JAVA_CODEC);
+        registerCodec(new KryoCacheValueCodec());
+
+        for (CacheValueCodec codec : ServiceLoader.load(CacheValueCodec.class)) {
+            registerCodec(codec);
+        }
+    }
+
+    private final CacheValueCodec codec;
+    private final int compressionThreshold;
+    private final boolean legacyFormat;
+
+    public CacheValueSerializer() {
+        this(JavaCacheValueCodec.NAME, 0);
+    }
+
+    public CacheValueSerializer(CacheConfiguration cacheConfiguration) {
+        this(cacheConfiguration.getValueCodec(), cacheConfiguration.getValueCompressionThreshold());
+    }
+
+    public CacheValueSerializer(String codecName, int compressionThreshold) {
+        CacheValueCodec namedCodec = StringUtils.isBlank(codecName) ? JAVA_CODEC : CODECS_BY_NAME.get(codecName.toLowerCase());
+        if (namedCodec == null) {
+            LOG.error("Cache value codec '{}' is not supported. Fallback to '{}' codec", codecName, JavaCacheValueCodec.NAME);
+            namedCodec = JAVA_CODEC;
+        }
+
+        this.codec = namedCodec;
+        this.compressionThreshold = compressionThreshold;
+        this.legacyFormat = (codec == JAVA_CODEC) && (compressionThreshold <= 0);
+    }
+
+    private static synchronized void registerCodec(CacheValueCodec codec) {
+        CacheValueCodec existing = CODECS_BY_ID.get(codec.getId());
+        if ((existing != null) && !existing.getClass().equals(codec.getClass())) {
+            LOG.error("Cache value codec '{}' uses id {} which already registered by codec '{}'", codec.getName(), codec.getId(), existing.getName());
+            return;
+        }
+
+        CODECS_BY_ID.put(codec.getId(), codec);
+        CODECS_BY_NAME.put(codec.getName().toLowerCase(), codec);
+    }
+
+    public CacheValueCodec getCodec() {
+        return codec;
+    }
+
+    public byte[] serialize(Object value) {
+        if (legacyFormat) {
+            return JAVA_CODEC.encode(value);
+        }
+
+        CacheValueCodec usedCodec = codec;
+        byte[] payload;
+        try {
+            payload = codec.encode(value);
+        } catch (RuntimeException ex) {
+            // Header stores codec id so other nodes will decode it properly
+            LOG.warn("Failed to encode value of type '{}' with codec '{}'. Fallback to '{}' codec", value.getClass().getName(), codec.getName(), JavaCacheValueCodec.NAME, ex);
+            usedCodec = JAVA_CODEC;
+            payload = JAVA_CODEC.encode(value);
+        }
+
+        byte flags = 0;
+        int originalLength = payload.length;
+        if ((compressionThreshold > 0) && (payload.length >= compressionThreshold)) {
+            LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+            payload = compressor.compress(payload);
+            flags |= FLAG_LZ4;
+        }
+
+        boolean compressed = (flags & FLAG_LZ4) != 0;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + (compressed ? Integer.BYTES : 0) + payload.length);
+        buffer.put(MAGIC).put(FORMAT_VERSION).put(usedCodec.getId()).put(flags);
+        if (compressed) {
+            buffer.putInt(originalLength);
+        }
+        buffer.put(payload);
+
+        return buffer.array();
+    }
+
+    public Object deserialize(byte[] data) {
+        if ((data == null) || (data.length == 0)) {
+            return null;
+        }
+
+        if ((data.length < HEADER_SIZE) || (data[0] != MAGIC)) {
+            // Entry written by previous version
+            return JAVA_CODEC.decode(data);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        buffer.get();
+        byte formatVersion = buffer.get();
+        if (formatVersion > FORMAT_VERSION) {
+            throw new IllegalStateException(String.format("Cache value format version %d is not supported", formatVersion));
+        }
+
+        byte codecId = buffer.get();
+        CacheValueCodec entryCodec = CODECS_BY_ID.get(codecId);
+        if (entryCodec == null) {
+            throw new IllegalStateException(String.format("Cache value codec with id %d is not registered", codecId));
+        }
+
+        byte flags = buffer.get();
+        byte[] payload;
+        if ((flags & FLAG_LZ4) != 0) {
+            int originalLength = buffer.getInt();
+            LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+            payload = decompressor.decompress(data, buffer.position(), originalLength);
+        } else {
+            payload = new byte[buffer.remaining()];
+            buffer.get(payload);
+        }
+
+        return entryCodec.decode(payload);
+    }
+
+    public String serializeToString(Object value) {
+        return Base64.encodeBase64String(serialize(value));
+    }
+
+    public Object deserializeFromString(String value) {
+        return deserialize(Base64.decodeBase64(value));
+    }
+
+}
@@ -32,6 +32,12 @@ public class InMemoryCacheProvider extends AbstractCacheProvider<ExpiringMap> {
 
     private ExpiringMap<String, Object> map = ExpiringMap.builder().build();
 
+    private static final int KEY_LOCK_STRIPES = 64;
+
+    // Guard puts of one key so that check for key and insert with expiration are done as one step. Puts of keys
+    // which fall into different stripes don't wait for each other
+    private final Object[] keyLocks = createKeyLocks();
+
     private InMemoryConfiguration inMemoryConfiguration;
 
     public InMemoryCacheProvider() {
@@ -88,9 +94,39 @@ public class InMemoryCacheProvider extends AbstractCacheProvider<ExpiringMap> {
         // not updated
         // net.jodah.expiringmap.ExpiringMap.putInternal()
         // therefore we first remove entry and then put it
-        map.remove(key);
         expirationInSeconds = expirationInSeconds >= 0 ? expirationInSeconds : inMemoryConfiguration.getDefaultPutExpiration();
-        map.put(key, object, ExpirationPolicy.CREATED, expirationInSeconds, TimeUnit.SECONDS);
+        synchronized (keyLock(key)) {
+            map.remove(key);
+            map.put(key, object, ExpirationPolicy.CREATED, expirationInSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        expirationInSeconds = expirationInSeconds >= 0 ? expirationInSeconds : inMemoryConfiguration.getDefaultPutExpiration();
+        // ExpiringMap.putIfAbsent() inserts entry with default expiration which has to be changed afterwards. Entry
+        // is inserted with own expiration instead, so it never exists without it
+        synchronized (keyLock(key)) {
+            if (map.containsKey(key)) {
+                return false;
+            }
+
+            map.put(key, object, ExpirationPolicy.CREATED, expirationInSeconds, TimeUnit.SECONDS);
+            return true;
+        }
+    }
+
+    private Object keyLock(String key) {
+        return keyLocks[(key.hashCode() & Integer.MAX_VALUE) % KEY_LOCK_STRIPES];
+    }
+
+    private static Object[] createKeyLocks() {
+        Object[] locks = new Object[KEY_LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+
+        return locks;
     }
 
     @Override
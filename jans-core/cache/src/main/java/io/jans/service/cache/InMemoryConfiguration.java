@@ -24,6 +24,12 @@ public class InMemoryConfiguration implements Serializable {
     @XmlElement(name = "defaultPutExpiration")
     private int defaultPutExpiration = 60; // in seconds
 
+    @XmlElement(name = "maximumSize")
+    private long maximumSize = 100000; // used by BOUNDED_IN_MEMORY provider
+
+    @XmlElement(name = "maximumWeight")
+    private long maximumWeight = 0; // approximate size in bytes, 0 to limit by entries count only
+
     public int getDefaultPutExpiration() {
         return defaultPutExpiration;
     }
@@ -32,8 +38,25 @@ public class InMemoryConfiguration implements Serializable {
         this.defaultPutExpiration = defaultPutExpiration;
     }
 
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public void setMaximumWeight(long maximumWeight) {
+        this.maximumWeight = maximumWeight;
+    }
+
     @Override
     public String toString() {
-        return "InMemoryConfiguration{" + "defaultPutExpiration=" + defaultPutExpiration + '}';
+        return "InMemoryConfiguration{" + "defaultPutExpiration=" + defaultPutExpiration + ", maximumSize=" + maximumSize
+                + ", maximumWeight=" + maximumWeight + '}';
     }
 }
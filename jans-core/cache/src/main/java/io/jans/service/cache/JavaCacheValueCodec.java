@@ -0,0 +1,41 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.io.Serializable;
+
+import org.apache.commons.lang3.SerializationUtils;
+
+/**
+ * Standard Java serialization codec
+ */
+public class JavaCacheValueCodec implements CacheValueCodec {
+
+    public static final String NAME = "java";
+    public static final byte ID = 1;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return SerializationUtils.serialize((Serializable) value);
+    }
+
+    @Override
+    public Object decode(byte[] data) {
+        return SerializationUtils.deserialize(data);
+    }
+
+}
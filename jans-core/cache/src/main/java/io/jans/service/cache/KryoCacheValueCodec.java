@@ -0,0 +1,87 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import org.objenesis.strategy.StdInstantiatorStrategy;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.serializers.CompatibleFieldSerializer;
+import com.esotericsoftware.kryo.util.DefaultInstantiatorStrategy;
+import com.esotericsoftware.kryo.util.Pool;
+
+/**
+ * Compact binary codec based on Kryo. Fields are written with names to allow nodes with
+ * different versions of classes read each other entries
+ */
+public class KryoCacheValueCodec implements CacheValueCodec {
+
+    public static final String NAME = "kryo";
+    public static final byte ID = 2;
+
+    private static final int KRYO_POOL_SIZE = 64;
+    private static final int OUTPUT_BUFFER_SIZE = 512;
+
+    private final Pool<Kryo> kryoPool = new Pool<Kryo>(true, false, KRYO_POOL_SIZE) {
+        @Override
+        protected Kryo create() {
+            return createKryo();
+        }
+    };
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        Kryo kryo = kryoPool.obtain();
+        try {
+            Output output = new Output(OUTPUT_BUFFER_SIZE, -1);
+            kryo.writeClassAndObject(output, value);
+
+            return output.toBytes();
+        } finally {
+            kryoPool.free(kryo);
+        }
+    }
+
+    @Override
+    public Object decode(byte[] data) {
+        Kryo kryo = kryoPool.obtain();
+        try {
+            return kryo.readClassAndObject(new Input(data));
+        } finally {
+            kryoPool.free(kryo);
+        }
+    }
+
+    private Kryo createKryo() {
+        Kryo kryo = new Kryo();
+        kryo.setRegistrationRequired(false);
+        kryo.setReferences(true);
+        kryo.setDefaultSerializer(CompatibleFieldSerializer.class);
+        // Allow to create classes without default constructor
+        kryo.setInstantiatorStrategy(new DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+
+        // Application classes are not visible from Kryo class loader in web applications
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader != null) {
+            kryo.setClassLoader(classLoader);
+        }
+
+        return kryo;
+    }
+
+}
@@ -16,6 +16,11 @@ import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * @author yuriyz on 02/02/2017.
@@ -136,6 +141,25 @@ public class MemcachedProvider extends AbstractCacheProvider<MemcachedClient> {
         }
     }
 
+    @Override
+    public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        try {
+            int expiration = expirationInSeconds > 0 ? expirationInSeconds : memcachedConfiguration.getDefaultPutExpiration();
+            OperationFuture<Boolean> add = client.add(key, expiration, object);
+            boolean added = Boolean.TRUE.equals(add.get()); // block, false if key already exists
+            log.trace("add - key:" + key + ", expiration: " + expiration + ", added:" + added);
+            return added;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while putting object in cache, key: " + key, e);
+            return true;
+        } catch (Exception e) {
+            // same as get() which returns null on failure
+            log.error("Failed to put object in cache, key: " + key, e);
+            return true;
+        }
+    }
+
     @Override
     public void remove(String key) {
         try {
@@ -146,6 +170,38 @@ public class MemcachedProvider extends AbstractCacheProvider<MemcachedClient> {
         }
     }
 
+    @Override
+    public Map<String, Object> getAll(Collection<String> keys) {
+        try {
+            Map<String, Object> result = client.getBulk(keys);
+            log.trace("getBulk - keys: " + keys + ", found: " + result.keySet());
+            return result;
+        } catch (Exception e) {
+            log.error("Failed to fetch objects by keys: " + keys, e);
+            return new HashMap<>();
+        }
+    }
+
+    @Override
+    public void putAll(int expirationInSeconds, Map<String, ?> objects) {
+        int expiration = expirationInSeconds > 0 ? expirationInSeconds : memcachedConfiguration.getDefaultPutExpiration();
+
+        // Send all operations first and wait for them after that
+        List<OperationFuture<Boolean>> futures = new ArrayList<>(objects.size());
+        for (Map.Entry<String, ?> entry : objects.entrySet()) {
+            try {
+                futures.add(client.set(entry.getKey(), expiration, entry.getValue()));
+            } catch (Exception e) {
+                log.error("Failed to put object in cache, key: " + entry.getKey(), e);
+            }
+        }
+
+        for (OperationFuture<Boolean> future : futures) {
+            OperationStatus status = future.getStatus(); // block
+            log.trace("set - key:" + future.getKey() + ", expiration: " + expiration + ", status:" + status);
+        }
+    }
+
     @Override
     public void clear() {
         client.flush();
@@ -12,9 +12,7 @@ import io.jans.orm.exception.operation.DuplicateEntryException;
 import io.jans.orm.exception.operation.SearchException;
 import io.jans.orm.model.base.SimpleBranch;
 import io.jans.orm.search.filter.Filter;
-import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.codec.digest.DigestUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,12 +20,13 @@ import org.slf4j.LoggerFactory;
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @ApplicationScoped
 public class NativePersistenceCacheProvider extends AbstractCacheProvider<PersistenceEntryManager> {
@@ -49,6 +48,10 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
 
 	private boolean attemptUpdateBeforeInsert;
 
+	private String keyAttributeName = "uuid";
+
+	private CacheValueSerializer valueSerializer = new CacheValueSerializer();
+
     @PostConstruct
     public void init() {
     }
@@ -58,6 +61,7 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
         try {
             baseDn = cacheConfiguration.getNativePersistenceConfiguration().getBaseDn();
             deleteExpiredOnGetRequest = cacheConfiguration.getNativePersistenceConfiguration().isDeleteExpiredOnGetRequest();
+            valueSerializer = new CacheValueSerializer(cacheConfiguration);
 
             if (StringUtils.isBlank(baseDn)) {
                 log.error("Failed to create NATIVE_PERSISTENCE cache provider. 'baseDn' in CacheConfiguration is not initialized. It has to be set by client application (e.g. oxAuth has to set it in ApplicationFactory.)");
@@ -82,6 +86,10 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
             // CouchbaseEntryManagerFactory.PERSISTENCE_TYPE
             skipRemoveBeforePut = "couchbase".equals(persistenceType);
             attemptUpdateBeforeInsert = "sql".equals(persistenceType);
+            if ("sql".equals(persistenceType)) {
+                // Primary key contains hashed key. It allows to avoid full scan on batch requests
+                keyAttributeName = "doc_id";
+            }
             if (cacheConfiguration.getNativePersistenceConfiguration().isDisableAttemptUpdateBeforeInsert()) {
                 attemptUpdateBeforeInsert = false;
             }
@@ -148,6 +156,114 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
         return null;
     }
 
+    @Override
+    public Map<String, Object> getAll(Collection<String> keys) {
+        Map<String, Object> result = new HashMap<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+
+        Map<String, String> keysByHash = new HashMap<>();
+        for (String key : keys) {
+            keysByHash.put(hashKey(key), key);
+        }
+
+        try {
+            List<NativePersistenceCacheEntity> entities = entryManager.findEntries(baseDn, NativePersistenceCacheEntity.class,
+                    createKeysFilter(keysByHash.keySet()));
+
+            List<String> expiredKeys = new ArrayList<>();
+            for (NativePersistenceCacheEntity entity : entities) {
+                String key = keysByHash.get(entity.getId());
+                if ((key == null) || (entity.getData() == null)) {
+                    continue;
+                }
+
+                if (isExpired(entity.getExpirationDate()) && entity.isDeletable()) {
+                    if (deleteExpiredOnGetRequest && !skipRemoveBeforePut) {
+                        expiredKeys.add(key);
+                    }
+                    continue;
+                }
+
+                Object o = fromString(entity.getData());
+                if (o != null) {
+                    result.put(key, o);
+                }
+            }
+
+            if (!expiredKeys.isEmpty()) {
+                removeAll(expiredKeys);
+            }
+        } catch (Exception e) {
+            log.error("Failed to fetch entries, keys: " + keys + ", message: " + e.getMessage(), e);
+        }
+
+        return result;
+    }
+
+    @Override
+    public void putAll(int expirationInSeconds, Map<String, ?> objects) {
+        if (objects.isEmpty()) {
+            return;
+        }
+
+        expirationInSeconds = expirationInSeconds > 0 ? expirationInSeconds : cacheConfiguration.getNativePersistenceConfiguration().getDefaultPutExpiration();
+
+        Date creationDate = new Date();
+        if (skipRemoveBeforePut) {
+            for (Map.Entry<String, ?> entry : objects.entrySet()) {
+                putImpl(entry.getKey(), entry.getValue(), creationDate, expirationInSeconds);
+            }
+            return;
+        }
+
+        List<NativePersistenceCacheEntity> entities = new ArrayList<>(objects.size());
+        for (Map.Entry<String, ?> entry : objects.entrySet()) {
+            entities.add(createEntity(entry.getKey(), entry.getValue(), creationDate, expirationInSeconds));
+        }
+
+        try {
+            // Remove existing entries with one request and insert new ones in one batch
+            removeAll(objects.keySet());
+            entryManager.persist(entities);
+        } catch (Exception e) {
+            log.debug("Failed to put entries in batch, fallback to put them one by one. Message: " + e.getMessage());
+            for (Map.Entry<String, ?> entry : objects.entrySet()) {
+                putImpl(entry.getKey(), entry.getValue(), creationDate, expirationInSeconds);
+            }
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        List<String> hashedKeys = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            hashedKeys.add(hashKey(key));
+        }
+
+        try {
+            int removedCount = entryManager.remove(baseDn, NativePersistenceCacheEntity.class, createKeysFilter(hashedKeys), hashedKeys.size());
+            log.trace("Removed entities, keys: " + keys + ", count: " + removedCount);
+        } catch (Exception e) {
+            log.error("Failed to remove entries, keys: " + keys + ", message: " + e.getMessage(), e);
+        }
+    }
+
+    private Filter createKeysFilter(Collection<String> hashedKeys) {
+        Filter[] filters = new Filter[hashedKeys.size()];
+        int i = 0;
+        for (String hashedKey : hashedKeys) {
+            filters[i++] = Filter.createEqualityFilter(keyAttributeName, hashedKey);
+        }
+
+        return Filter.createORFilter(filters);
+    }
+
     private String createDn(String key) {
         return String.format("uuid=%s,%s", key, baseDn);
     }
@@ -166,23 +282,11 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
     }
 
 	private void putImpl(String key, Object object, Date creationDate, int expirationInSeconds) {
-        Calendar expirationDate = Calendar.getInstance();
-		expirationDate.setTime(creationDate);
-		expirationDate.add(Calendar.SECOND, expirationInSeconds);
-
-		
 		String originalKey = key;
 
         key = hashKey(key);
 
-        NativePersistenceCacheEntity entity = new NativePersistenceCacheEntity();
-        entity.setTtl(expirationInSeconds);
-        entity.setData(asString(object));
-        entity.setId(key);
-        entity.setDn(createDn(key));
-        entity.setCreationDate(creationDate);
-        entity.setExpirationDate(expirationDate.getTime());
-        entity.setDeletable(true);
+        NativePersistenceCacheEntity entity = createEntity(originalKey, object, creationDate, expirationInSeconds);
 
         try {
         	if (attemptUpdateBeforeInsert) {
@@ -219,6 +323,69 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
         }
 	}
 
+    @Override
+    public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        expirationInSeconds = expirationInSeconds > 0 ? expirationInSeconds : cacheConfiguration.getNativePersistenceConfiguration().getDefaultPutExpiration();
+
+        NativePersistenceCacheEntity entity = createEntity(key, object, new Date(), expirationInSeconds);
+
+        // Insert fails with duplicate entry if key exists, so check and put is one operation
+        try {
+            entryManager.persist(entity);
+            return true;
+        } catch (Exception e) {
+            if (!isDuplicateEntry(e)) {
+                log.error("Failed to put entry if absent, key: " + key + ", message: " + e.getMessage(), e);
+            }
+        }
+
+        // Existing entry can be expired but not cleaned up yet. If insert failed for other reason entry is inserted
+        // once more, on failure false is returned: callers use it for replay checks and leases which must not pass
+        // when persistence is unavailable
+        try {
+            NativePersistenceCacheEntity existing = entryManager.find(NativePersistenceCacheEntity.class, entity.getDn());
+            if (existing != null && !isExpired(existing.getExpirationDate())) {
+                return false;
+            }
+
+            silentlyRemoveEntityIfExists(entity.getDn());
+            entryManager.persist(entity);
+            return true;
+        } catch (Exception e) {
+            log.trace("Failed to replace expired entry, key: " + key + ", message: " + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private static boolean isDuplicateEntry(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DuplicateEntryException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+	private NativePersistenceCacheEntity createEntity(String key, Object object, Date creationDate, int expirationInSeconds) {
+        Calendar expirationDate = Calendar.getInstance();
+		expirationDate.setTime(creationDate);
+		expirationDate.add(Calendar.SECOND, expirationInSeconds);
+
+		String hashedKey = hashKey(key);
+
+        NativePersistenceCacheEntity entity = new NativePersistenceCacheEntity();
+        entity.setTtl(expirationInSeconds);
+        entity.setData(asString(object));
+        entity.setId(hashedKey);
+        entity.setDn(createDn(hashedKey));
+        entity.setCreationDate(creationDate);
+        entity.setExpirationDate(expirationDate.getTime());
+        entity.setDeletable(true);
+
+        return entity;
+	}
+
     private boolean silentlyRemoveEntityIfExists(String dn) {
         try {
             if (entryManager.find(NativePersistenceCacheEntity.class, dn) != null) {
@@ -249,15 +416,7 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
 
     private Object fromString(String s) {
         try {
-            byte[] data = Base64.decodeBase64(s);
-            ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data));
-            try {
-                Object o = ois.readObject();
-                ois.close();
-                return o;
-            } finally {
-                IOUtils.closeQuietly(ois);
-            }
+            return valueSerializer.deserializeFromString(s);
         } catch (Exception e) {
             log.error("Failed to deserizalize cache entity, data: " + s, e);
             return null;
@@ -265,18 +424,11 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
     }
 
     private String asString(Object o) {
-        ObjectOutputStream oos = null;
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            oos = new ObjectOutputStream(baos);
-            oos.writeObject(o);
-            oos.close();
-            return Base64.encodeBase64String(baos.toByteArray());
+            return valueSerializer.serializeToString(o);
         } catch (Exception e) {
             log.error("Failed to serizalize cache entity to string, object: " + 0, e);
             return null;
-        } finally {
-            IOUtils.closeQuietly(oos);
         }
     }
 
@@ -0,0 +1,88 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.xml.bind.annotation.XmlElement;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Configuration of local cache tier in front of REDIS and MEMCACHED providers
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class NearCacheConfiguration implements Serializable {
+
+    private static final long serialVersionUID = -2931566541393617718L;
+
+    public static final String DEFAULT_INVALIDATION_CHANNEL = "jans_near_cache_invalidation";
+
+    @XmlElement(name = "enabled")
+    private boolean enabled = false;
+
+    @XmlElement(name = "maximumSize")
+    private long maximumSize = 10000;
+
+    @XmlElement(name = "defaultExpiration")
+    private int defaultExpiration = 5; // in seconds
+
+    // Only keys with these prefixes are stored in local tier. Value is expiration in seconds, 0 to use defaultExpiration
+    @XmlElement(name = "keyPrefixes")
+    private Map<String, Integer> keyPrefixes = new HashMap<>();
+
+    @XmlElement(name = "invalidationChannel")
+    private String invalidationChannel = DEFAULT_INVALIDATION_CHANNEL;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public int getDefaultExpiration() {
+        return defaultExpiration;
+    }
+
+    public void setDefaultExpiration(int defaultExpiration) {
+        this.defaultExpiration = defaultExpiration;
+    }
+
+    public Map<String, Integer> getKeyPrefixes() {
+        return keyPrefixes;
+    }
+
+    public void setKeyPrefixes(Map<String, Integer> keyPrefixes) {
+        this.keyPrefixes = keyPrefixes;
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    public void setInvalidationChannel(String invalidationChannel) {
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheConfiguration{" + "enabled=" + enabled + ", maximumSize=" + maximumSize + ", defaultExpiration=" + defaultExpiration
+                + ", keyPrefixes=" + keyPrefixes + ", invalidationChannel=" + invalidationChannel + '}';
+    }
+}
@@ -0,0 +1,473 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy.VarExpiration;
+
+/**
+ * Two tier cache provider. Entries with configured key prefixes are kept in bounded local cache
+ * with short expiration in front of remote provider. Put and remove operations are published to
+ * other nodes to drop their local copies.
+ *
+ * Local tier returns the same object instance to all callers. Prefixes should be configured only
+ * for entries which are not modified without put
+ *
+ * Every local change and received invalidation increments generation of the key before local tier is
+ * updated. Value loaded from remote tier is kept locally only if key generation did not change while it
+ * was loaded, so a concurrent invalidation can't leave stale value in local tier
+ */
+public class NearCacheProvider extends AbstractCacheProvider<AbstractCacheProvider<?>> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NearCacheProvider.class);
+
+    private static final char MESSAGE_SEPARATOR = ':';
+
+    // Keys share generation counters. Collision makes only a few remote values not cached locally
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final AbstractCacheProvider<?> remoteProvider;
+    private final NearCacheConfiguration nearCacheConfiguration;
+    private final NearCacheInvalidationChannel invalidationChannel;
+    private final String nodeId;
+
+    private Cache<String, Object> localCache;
+    private VarExpiration<String, Object> varExpiration;
+    private List<Map.Entry<String, Integer>> keyPrefixes;
+
+    private final AtomicLongArray keyGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong globalGeneration = new AtomicLong();
+
+    private final LongAdder localHitCount = new LongAdder();
+    private final LongAdder remoteHitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder receivedInvalidationCount = new LongAdder();
+
+    public NearCacheProvider(AbstractCacheProvider<?> remoteProvider, NearCacheConfiguration nearCacheConfiguration,
+            NearCacheInvalidationChannel invalidationChannel) {
+        this.remoteProvider = remoteProvider;
+        this.nearCacheConfiguration = nearCacheConfiguration;
+        this.invalidationChannel = invalidationChannel;
+        this.nodeId = UUID.randomUUID().toString();
+    }
+
+    public static boolean isApplicable(CacheConfiguration cacheConfiguration) {
+        NearCacheConfiguration nearCacheConfiguration = cacheConfiguration.getNearCacheConfiguration();
+        if ((nearCacheConfiguration == null) || !nearCacheConfiguration.isEnabled()) {
+            return false;
+        }
+
+        CacheProviderType cacheProviderType = cacheConfiguration.getCacheProviderType();
+        return (CacheProviderType.REDIS == cacheProviderType) || (CacheProviderType.MEMCACHED == cacheProviderType);
+    }
+
+    @Override
+    public void create() {
+        LOG.debug("Starting NearCacheProvider ...");
+
+        // Longest prefix wins
+        keyPrefixes = new ArrayList<>(nearCacheConfiguration.getKeyPrefixes().entrySet());
+        keyPrefixes.sort(Comparator.comparingInt((Map.Entry<String, Integer> entry) -> entry.getKey().length()).reversed());
+
+        localCache = Caffeine.newBuilder().maximumSize(nearCacheConfiguration.getMaximumSize()).expireAfter(new DefaultExpiry()).build();
+        varExpiration = localCache.policy().expireVariably().get();
+
+        if (invalidationChannel != null) {
+            invalidationChannel.subscribe(nearCacheConfiguration.getInvalidationChannel(), this::onInvalidation);
+        } else {
+            LOG.warn("Near cache invalidation channel is not available. Local entries will be dropped on expiration only");
+        }
+
+        LOG.debug("NearCacheProvider started with configuration: {}", nearCacheConfiguration);
+    }
+
+    @Override
+    public void destroy() {
+        LOG.debug("Destroying NearCacheProvider");
+
+        if (invalidationChannel != null) {
+            invalidationChannel.unsubscribe(nearCacheConfiguration.getInvalidationChannel());
+        }
+
+        if (localCache != null) {
+            localCache.invalidateAll();
+            localCache.cleanUp();
+        }
+
+        remoteProvider.destroy();
+
+        LOG.debug("Destroyed NearCacheProvider");
+    }
+
+    @Override
+    public AbstractCacheProvider<?> getDelegate() {
+        return remoteProvider;
+    }
+
+    public Cache<String, Object> getLocalCache() {
+        return localCache;
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        if (localCache.asMap().containsKey(key)) {
+            return true;
+        }
+
+        return remoteProvider.hasKey(key);
+    }
+
+    @Override
+    public Object get(String key) {
+        int localExpiration = getLocalExpiration(key);
+        if (localExpiration <= 0) {
+            return remoteProvider.get(key);
+        }
+
+        Object value = localCache.getIfPresent(key);
+        if (value != null) {
+            localHitCount.increment();
+            return value;
+        }
+
+        long generation = getGeneration(key);
+        value = remoteProvider.get(key);
+        if (value == null) {
+            missCount.increment();
+            return null;
+        }
+
+        remoteHitCount.increment();
+        putLoaded(key, value, localExpiration, generation);
+
+        return value;
+    }
+
+    @Override
+    public void put(int expirationInSeconds, String key, Object object) {
+        remoteProvider.put(expirationInSeconds, key, object);
+
+        int localExpiration = getLocalExpiration(key);
+        if (localExpiration <= 0) {
+            return;
+        }
+
+        if (expirationInSeconds > 0) {
+            localExpiration = Math.min(localExpiration, expirationInSeconds);
+        }
+        incrementGeneration(key);
+        varExpiration.put(key, object, localExpiration, TimeUnit.SECONDS);
+
+        publishInvalidation(key);
+    }
+
+    @Override
+    public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        // Remote provider decides, local copy can't be used to detect concurrent puts from other nodes
+        if (!remoteProvider.putIfAbsent(expirationInSeconds, key, object)) {
+            return false;
+        }
+
+        int localExpiration = getLocalExpiration(key);
+        if (localExpiration <= 0) {
+            return true;
+        }
+
+        if (expirationInSeconds > 0) {
+            localExpiration = Math.min(localExpiration, expirationInSeconds);
+        }
+        incrementGeneration(key);
+        varExpiration.put(key, object, localExpiration, TimeUnit.SECONDS);
+
+        publishInvalidation(key);
+        return true;
+    }
+
+    @Override
+    public void remove(String key) {
+        remoteProvider.remove(key);
+
+        if (getLocalExpiration(key) <= 0) {
+            return;
+        }
+
+        invalidateLocal(key);
+        publishInvalidation(key);
+    }
+
+    @Override
+    public Map<String, Object> getAll(Collection<String> keys) {
+        Map<String, Object> result = new HashMap<>();
+        List<String> remoteKeys = new ArrayList<>(keys.size());
+        Map<String, Long> generations = new HashMap<>();
+        for (String key : keys) {
+            Object value = getLocalExpiration(key) > 0 ? localCache.getIfPresent(key) : null;
+            if (value == null) {
+                remoteKeys.add(key);
+                generations.put(key, getGeneration(key));
+            } else {
+                localHitCount.increment();
+                result.put(key, value);
+            }
+        }
+
+        if (remoteKeys.isEmpty()) {
+            return result;
+        }
+
+        Map<String, Object> remoteValues = remoteProvider.getAll(remoteKeys);
+        for (String key : remoteKeys) {
+            int localExpiration = getLocalExpiration(key);
+            Object value = remoteValues.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+
+            if (localExpiration <= 0) {
+                continue;
+            }
+
+            if (value == null) {
+                missCount.increment();
+            } else {
+                remoteHitCount.increment();
+                putLoaded(key, value, localExpiration, generations.get(key));
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public void putAll(int expirationInSeconds, Map<String, ?> objects) {
+        remoteProvider.putAll(expirationInSeconds, objects);
+
+        for (Map.Entry<String, ?> entry : objects.entrySet()) {
+            int localExpiration = getLocalExpiration(entry.getKey());
+            if (localExpiration <= 0) {
+                continue;
+            }
+
+            if (expirationInSeconds > 0) {
+                localExpiration = Math.min(localExpiration, expirationInSeconds);
+            }
+            incrementGeneration(entry.getKey());
+            varExpiration.put(entry.getKey(), entry.getValue(), localExpiration, TimeUnit.SECONDS);
+
+            publishInvalidation(entry.getKey());
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys) {
+        remoteProvider.removeAll(keys);
+
+        for (String key : keys) {
+            if (getLocalExpiration(key) <= 0) {
+                continue;
+            }
+
+            invalidateLocal(key);
+            publishInvalidation(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        remoteProvider.clear();
+
+        invalidateAllLocal();
+        publishInvalidation(StringUtils.EMPTY);
+    }
+
+    @Override
+    public void cleanup(final Date now) {
+        remoteProvider.cleanup(now);
+        localCache.cleanUp();
+    }
+
+    @Override
+    public CacheProviderType getProviderType() {
+        return remoteProvider.getProviderType();
+    }
+
+    public long getLocalHitCount() {
+        return localHitCount.sum();
+    }
+
+    public long getRemoteHitCount() {
+        return remoteHitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getReceivedInvalidationCount() {
+        return receivedInvalidationCount.sum();
+    }
+
+    /*
+     * Ratio of requests to near cached keys which were served by local tier
+     */
+    public double getLocalHitRate() {
+        long localHits = localHitCount.sum();
+        long requestCount = localHits + remoteHitCount.sum() + missCount.sum();
+
+        return requestCount == 0 ? 1.0 : (double) localHits / requestCount;
+    }
+
+    /*
+     * Ratio of local tier misses which were served by remote tier
+     */
+    public double getRemoteHitRate() {
+        long remoteHits = remoteHitCount.sum();
+        long requestCount = remoteHits + missCount.sum();
+
+        return requestCount == 0 ? 1.0 : (double) remoteHits / requestCount;
+    }
+
+    public long getLocalSize() {
+        return localCache.estimatedSize();
+    }
+
+    @Override
+    public Map<String, Number> getStatistics() {
+        Map<String, Number> statistics = new HashMap<>(remoteProvider.getStatistics());
+        statistics.put("local_hit", localHitCount.sum());
+        statistics.put("remote_hit", remoteHitCount.sum());
+        statistics.put("miss", missCount.sum());
+        statistics.put("received_invalidation", receivedInvalidationCount.sum());
+        statistics.put("local_size", localCache.estimatedSize());
+        return statistics;
+    }
+
+    private int getLocalExpiration(String key) {
+        if (key == null) {
+            return 0;
+        }
+
+        for (Map.Entry<String, Integer> keyPrefix : keyPrefixes) {
+            if (key.startsWith(keyPrefix.getKey())) {
+                Integer expiration = keyPrefix.getValue();
+                return (expiration == null) || (expiration <= 0) ? nearCacheConfiguration.getDefaultExpiration() : expiration;
+            }
+        }
+
+        return 0;
+    }
+
+    private void publishInvalidation(String key) {
+        if (invalidationChannel == null) {
+            return;
+        }
+
+        try {
+            invalidationChannel.publish(nearCacheConfiguration.getInvalidationChannel(), nodeId + MESSAGE_SEPARATOR + key);
+        } catch (Exception ex) {
+            LOG.error("Failed to publish near cache invalidation, key: '{}'", key, ex);
+        }
+    }
+
+    private void onInvalidation(String message) {
+        int idx = message.indexOf(MESSAGE_SEPARATOR);
+        if (idx == -1) {
+            LOG.warn("Invalid near cache invalidation message: '{}'", message);
+            return;
+        }
+
+        if (nodeId.equals(message.substring(0, idx))) {
+            // Local tier is updated already
+            return;
+        }
+
+        receivedInvalidationCount.increment();
+
+        String key = message.substring(idx + 1);
+        if (key.isEmpty()) {
+            invalidateAllLocal();
+        } else {
+            invalidateLocal(key);
+        }
+    }
+
+    private long getGeneration(String key) {
+        // Both counters only grow, so sum changes whenever key or all keys are invalidated
+        return keyGenerations.get(getGenerationStripe(key)) + globalGeneration.get();
+    }
+
+    private void incrementGeneration(String key) {
+        keyGenerations.incrementAndGet(getGenerationStripe(key));
+    }
+
+    private static int getGenerationStripe(String key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    private void invalidateLocal(String key) {
+        incrementGeneration(key);
+        localCache.invalidate(key);
+    }
+
+    private void invalidateAllLocal() {
+        globalGeneration.incrementAndGet();
+        localCache.invalidateAll();
+    }
+
+    /*
+     * Keeps value loaded from remote tier unless key was invalidated or updated locally since generation was taken.
+     * Invalidation which runs after the check removes the value itself
+     */
+    private void putLoaded(String key, Object value, int localExpiration, long generation) {
+        if (getGeneration(key) != generation) {
+            return;
+        }
+
+        varExpiration.putIfAbsent(key, value, localExpiration, TimeUnit.SECONDS);
+        if (getGeneration(key) != generation) {
+            localCache.asMap().remove(key, value);
+        }
+    }
+
+    private static class DefaultExpiry implements Expiry<String, Object> {
+
+        @Override
+        public long expireAfterCreate(String key, Object value, long currentTime) {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+}
@@ -6,17 +6,22 @@
 
 package io.jans.service.cache;
 
-import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.params.SetParams;
+import redis.clients.jedis.util.JedisClusterCRC16;
 
 import java.io.IOException;
-import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -99,29 +104,64 @@ public class RedisClusterProvider extends AbstractRedisProvider {
         byte[] value = pool.get(key.getBytes());
         Object deserialized = null;
         if (value != null && value.length > 0) {
-            deserialized = SerializationUtils.deserialize(value);
+            deserialized = valueSerializer.deserialize(value);
         }
         return deserialized;
     }
 
     @Override
     public void put(int expirationInSeconds, String key, Object object) {
-        String status = pool.setex(key.getBytes(), expirationInSeconds, SerializationUtils.serialize((Serializable) object));
+        String status = pool.setex(key.getBytes(), expirationInSeconds, valueSerializer.serialize(object));
         LOG.trace("put - key: " + key + ", status: " + status);
     }
 
     @Override
     public void put(String key, Object object) {
-        String status = pool.set(key.getBytes(), SerializationUtils.serialize((Serializable) object));
+        String status = pool.set(key.getBytes(), valueSerializer.serialize(object));
         LOG.trace("put - key: " + key + ", status: " + status);
     }
 
+    @Override
+    public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        String status = pool.set(key.getBytes(), valueSerializer.serialize(object), SetParams.setParams().nx().ex(expirationInSeconds));
+        LOG.trace("putIfAbsent - key: " + key + ", status: " + status);
+        return status != null;
+    }
+
     @Override
     public void remove(String key) {
         Long entriesRemoved = pool.del(key.getBytes());
         LOG.trace("remove - key: " + key + ", entriesRemoved: " + entriesRemoved);
     }
 
+    @Override
+    public Map<String, Object> getAll(Collection<String> keys) {
+        Map<String, Object> result = new HashMap<>();
+        // Multi-key commands are allowed only for keys from same hash slot
+        for (List<String> slotKeys : groupBySlot(keys).values()) {
+            addValues(result, slotKeys, pool.mget(toBinaryKeys(slotKeys)));
+        }
+
+        return result;
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys) {
+        for (List<String> slotKeys : groupBySlot(keys).values()) {
+            Long entriesRemoved = pool.del(toBinaryKeys(slotKeys));
+            LOG.trace("removeAll - keys: " + slotKeys + ", entriesRemoved: " + entriesRemoved);
+        }
+    }
+
+    private Map<Integer, List<String>> groupBySlot(Collection<String> keys) {
+        Map<Integer, List<String>> slotKeys = new HashMap<>();
+        for (String key : nonNullKeys(keys)) {
+            slotKeys.computeIfAbsent(JedisClusterCRC16.getSlot(key), slot -> new ArrayList<>()).add(key);
+        }
+
+        return slotKeys;
+    }
+
     @Override
     public void clear() {
         LOG.trace("clear not allowed for cluster deployments");
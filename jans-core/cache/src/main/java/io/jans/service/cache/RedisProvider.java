@@ -15,6 +15,8 @@ import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * @author yuriyz on 02/23/2017.
@@ -51,6 +53,7 @@ public class RedisProvider extends AbstractCacheProvider<AbstractRedisProvider>
             defaultPutExpiration = redisConfiguration.getDefaultPutExpiration() > 0 ? redisConfiguration.getDefaultPutExpiration()
                     : DEFAULT_PUT_EXPIRATION_IN_SECONDS;
             redisProvider = RedisProviderFactory.create(cacheConfiguration.getRedisConfiguration());
+            redisProvider.setValueSerializer(new CacheValueSerializer(cacheConfiguration));
             redisProvider.create();
             log.debug("RedisProvider started.");
         } catch (Exception e) {
@@ -120,11 +123,31 @@ public class RedisProvider extends AbstractCacheProvider<AbstractRedisProvider>
         redisProvider.put(expirationInSeconds > 0 ? expirationInSeconds : defaultPutExpiration, key, object);
     }
 
+    @Override
+    public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        return redisProvider.putIfAbsent(expirationInSeconds > 0 ? expirationInSeconds : defaultPutExpiration, key, object);
+    }
+
     @Override
     public void remove(String key) {
         redisProvider.remove(key);
     }
 
+    @Override
+    public Map<String, Object> getAll(Collection<String> keys) {
+        return redisProvider.getAll(keys);
+    }
+
+    @Override
+    public void putAll(int expirationInSeconds, Map<String, ?> objects) {
+        redisProvider.putAll(expirationInSeconds > 0 ? expirationInSeconds : defaultPutExpiration, objects);
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys) {
+        redisProvider.removeAll(keys);
+    }
+
     @Override
     public void clear() {
         redisProvider.clear();
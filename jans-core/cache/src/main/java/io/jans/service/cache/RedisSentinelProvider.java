@@ -6,12 +6,15 @@
 
 package io.jans.service.cache;
 
-import org.apache.commons.lang3.SerializationUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.*;
+import redis.clients.jedis.params.SetParams;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
-import java.io.Serializable;
 
 import static io.jans.service.cache.RedisClusterProvider.hosts;
 
@@ -89,7 +92,7 @@ public class RedisSentinelProvider extends AbstractRedisProvider {
             byte[] value = resource.get(key.getBytes());
             Object deserialized = null;
             if (value != null && value.length > 0) {
-                deserialized = SerializationUtils.deserialize(value);
+                deserialized = valueSerializer.deserialize(value);
             }
             return deserialized;
         }
@@ -98,7 +101,7 @@ public class RedisSentinelProvider extends AbstractRedisProvider {
     @Override
     public void put(int expirationInSeconds, String key, Object object) {
         try (final Jedis resource = pool.getResource()) {
-            String status = resource.setex(key.getBytes(), expirationInSeconds, SerializationUtils.serialize((Serializable) object));
+            String status = resource.setex(key.getBytes(), expirationInSeconds, valueSerializer.serialize(object));
             LOG.trace("put - key: " + key + ", status: " + status);
         }
     }
@@ -106,11 +109,20 @@ public class RedisSentinelProvider extends AbstractRedisProvider {
     @Override
     public void put(String key, Object object) {
         try (final Jedis resource = pool.getResource()) {
-            String status = resource.set(key.getBytes(), SerializationUtils.serialize((Serializable) object));
+            String status = resource.set(key.getBytes(), valueSerializer.serialize(object));
             LOG.trace("put - key: " + key + ", status: " + status);
         }
     }
 
+    @Override
+    public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        try (final Jedis resource = pool.getResource()) {
+            String status = resource.set(key.getBytes(), valueSerializer.serialize(object), SetParams.setParams().nx().ex(expirationInSeconds));
+            LOG.trace("putIfAbsent - key: " + key + ", status: " + status);
+            return status != null;
+        }
+    }
+
     @Override
     public void remove(String key) {
         try (final Jedis resource = pool.getResource()) {
@@ -119,6 +131,49 @@ public class RedisSentinelProvider extends AbstractRedisProvider {
         }
     }
 
+    @Override
+    public Map<String, Object> getAll(Collection<String> keys) {
+        Map<String, Object> result = new HashMap<>();
+        keys = nonNullKeys(keys);
+        if (keys.isEmpty()) {
+            return result;
+        }
+
+        try (final Jedis resource = pool.getResource()) {
+            addValues(result, keys, resource.mget(toBinaryKeys(keys)));
+            return result;
+        }
+    }
+
+    @Override
+    public void putAll(int expirationInSeconds, Map<String, ?> objects) {
+        if (objects.isEmpty()) {
+            return;
+        }
+
+        try (final Jedis resource = pool.getResource()) {
+            Pipeline pipeline = resource.pipelined();
+            for (Map.Entry<String, ?> entry : objects.entrySet()) {
+                pipeline.setex(entry.getKey().getBytes(), expirationInSeconds, valueSerializer.serialize(entry.getValue()));
+            }
+            pipeline.sync();
+            LOG.trace("putAll - keys: " + objects.keySet());
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys) {
+        keys = nonNullKeys(keys);
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        try (final Jedis resource = pool.getResource()) {
+            Long entriesRemoved = resource.del(toBinaryKeys(keys));
+            LOG.trace("removeAll - keys: " + keys + ", entriesRemoved: " + entriesRemoved);
+        }
+    }
+
     @Override
     public void clear() {
         try (final Jedis resource = pool.getResource()) {
@@ -6,20 +6,24 @@
 
 package io.jans.service.cache;
 
-import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.apache.http.conn.ssl.DefaultHostnameVerifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.JedisShardInfo;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.ShardedJedis;
+import redis.clients.jedis.ShardedJedisPipeline;
 import redis.clients.jedis.ShardedJedisPool;
+import redis.clients.jedis.params.SetParams;
 
 import javax.net.ssl.SSLParameters;
-import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Important : keep it weld free. It's reused by oxd !
@@ -120,7 +124,7 @@ public class RedisShardedProvider extends AbstractRedisProvider {
             byte[] value = jedis.get(key.getBytes());
             Object deserialized = null;
             if (value != null && value.length > 0) {
-                deserialized = SerializationUtils.deserialize(value);
+                deserialized = valueSerializer.deserialize(value);
             }
             return deserialized;
         } finally {
@@ -132,7 +136,7 @@ public class RedisShardedProvider extends AbstractRedisProvider {
     public void put(int expirationInSeconds, String key, Object object) {
         ShardedJedis jedis = pool.getResource();
         try {
-            String status = jedis.setex(key.getBytes(), expirationInSeconds, SerializationUtils.serialize((Serializable) object));
+            String status = jedis.setex(key.getBytes(), expirationInSeconds, valueSerializer.serialize(object));
             LOG.trace("put - key: " + key + ", status: " + status);
         } finally {
             jedis.close();
@@ -143,13 +147,25 @@ public class RedisShardedProvider extends AbstractRedisProvider {
     public void put(String key, Object object) {
         ShardedJedis jedis = pool.getResource();
         try {
-            String status = jedis.set(key.getBytes(), SerializationUtils.serialize((Serializable) object));
+            String status = jedis.set(key.getBytes(), valueSerializer.serialize(object));
             LOG.trace("put - key: " + key + ", status: " + status);
         } finally {
             jedis.close();
         }
     }
 
+    @Override
+    public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        ShardedJedis jedis = pool.getResource();
+        try {
+            String status = jedis.set(key.getBytes(), valueSerializer.serialize(object), SetParams.setParams().nx().ex(expirationInSeconds));
+            LOG.trace("putIfAbsent - key: " + key + ", status: " + status);
+            return status != null;
+        } finally {
+            jedis.close();
+        }
+    }
+
     @Override
     public void remove(String key) {
         ShardedJedis jedis = pool.getResource();
@@ -161,6 +177,74 @@ public class RedisShardedProvider extends AbstractRedisProvider {
         }
     }
 
+    @Override
+    public Map<String, Object> getAll(Collection<String> keys) {
+        Map<String, Object> result = new HashMap<>();
+        keys = nonNullKeys(keys);
+        if (keys.isEmpty()) {
+            return result;
+        }
+
+        ShardedJedis jedis = pool.getResource();
+        try {
+            ShardedJedisPipeline pipeline = jedis.pipelined();
+            List<Response<byte[]>> responses = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                responses.add(pipeline.get(key.getBytes()));
+            }
+            pipeline.sync();
+
+            List<byte[]> values = new ArrayList<>(responses.size());
+            for (Response<byte[]> response : responses) {
+                values.add(response.get());
+            }
+            addValues(result, keys, values);
+
+            return result;
+        } finally {
+            jedis.close();
+        }
+    }
+
+    @Override
+    public void putAll(int expirationInSeconds, Map<String, ?> objects) {
+        if (objects.isEmpty()) {
+            return;
+        }
+
+        ShardedJedis jedis = pool.getResource();
+        try {
+            ShardedJedisPipeline pipeline = jedis.pipelined();
+            for (Map.Entry<String, ?> entry : objects.entrySet()) {
+                pipeline.setex(entry.getKey().getBytes(), expirationInSeconds, valueSerializer.serialize(entry.getValue()));
+            }
+            pipeline.sync();
+            LOG.trace("putAll - keys: " + objects.keySet());
+        } finally {
+            jedis.close();
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys) {
+        keys = nonNullKeys(keys);
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        ShardedJedis jedis = pool.getResource();
+        try {
+            ShardedJedisPipeline pipeline = jedis.pipelined();
+            for (String key : keys) {
+                pipeline.del(key.getBytes());
+            }
+            pipeline.sync();
+            LOG.trace("removeAll - keys: " + keys);
+        } finally {
+            jedis.close();
+        }
+    }
+
     @Override
     public void clear() {
         LOG.trace("clear not supported by sharded implemented");
@@ -6,7 +6,6 @@
 
 package io.jans.service.cache;
 
-import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.conn.ssl.DefaultHostnameVerifier;
 import org.slf4j.Logger;
@@ -15,11 +14,15 @@ import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.params.SetParams;
 
 import jakarta.annotation.PreDestroy;
 import javax.net.ssl.SSLParameters;
 import javax.net.ssl.SSLSocketFactory;
-import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Important : keep it weld free. It's reused by oxd !
@@ -95,7 +98,7 @@ public class RedisStandaloneProvider extends AbstractRedisProvider {
             byte[] value = jedis.get(key.getBytes());
             Object deserialized = null;
             if (value != null && value.length > 0) {
-                deserialized = SerializationUtils.deserialize(value);
+                deserialized = valueSerializer.deserialize(value);
             }
             return deserialized;
         } finally {
@@ -108,7 +111,7 @@ public class RedisStandaloneProvider extends AbstractRedisProvider {
         Jedis jedis = pool.getResource();
 
         try {
-            String status = jedis.setex(key.getBytes(), expirationInSeconds, SerializationUtils.serialize((Serializable) object));
+            String status = jedis.setex(key.getBytes(), expirationInSeconds, valueSerializer.serialize(object));
             LOG.trace("put - key: " + key + ", status: " + status);
         } finally {
             jedis.close();
@@ -120,13 +123,26 @@ public class RedisStandaloneProvider extends AbstractRedisProvider {
         Jedis jedis = pool.getResource();
 
         try {
-            String status = jedis.set(key.getBytes(), SerializationUtils.serialize((Serializable) object));
+            String status = jedis.set(key.getBytes(), valueSerializer.serialize(object));
             LOG.trace("put - key: " + key + ", status: " + status);
         } finally {
             jedis.close();
         }
     }
 
+    @Override
+    public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        Jedis jedis = pool.getResource();
+
+        try {
+            String status = jedis.set(key.getBytes(), valueSerializer.serialize(object), SetParams.setParams().nx().ex(expirationInSeconds));
+            LOG.trace("putIfAbsent - key: " + key + ", status: " + status);
+            return status != null;
+        } finally {
+            jedis.close();
+        }
+    }
+
     @Override
     public void remove(String key) {
         Jedis jedis = pool.getResource();
@@ -139,6 +155,61 @@ public class RedisStandaloneProvider extends AbstractRedisProvider {
         }
     }
 
+    @Override
+    public Map<String, Object> getAll(Collection<String> keys) {
+        Map<String, Object> result = new HashMap<>();
+        keys = nonNullKeys(keys);
+        if (keys.isEmpty()) {
+            return result;
+        }
+
+        Jedis jedis = pool.getResource();
+
+        try {
+            addValues(result, keys, jedis.mget(toBinaryKeys(keys)));
+            return result;
+        } finally {
+            jedis.close();
+        }
+    }
+
+    @Override
+    public void putAll(int expirationInSeconds, Map<String, ?> objects) {
+        if (objects.isEmpty()) {
+            return;
+        }
+
+        Jedis jedis = pool.getResource();
+
+        try {
+            Pipeline pipeline = jedis.pipelined();
+            for (Map.Entry<String, ?> entry : objects.entrySet()) {
+                pipeline.setex(entry.getKey().getBytes(), expirationInSeconds, valueSerializer.serialize(entry.getValue()));
+            }
+            pipeline.sync();
+            LOG.trace("putAll - keys: " + objects.keySet());
+        } finally {
+            jedis.close();
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys) {
+        keys = nonNullKeys(keys);
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        Jedis jedis = pool.getResource();
+
+        try {
+            Long entriesRemoved = jedis.del(toBinaryKeys(keys));
+            LOG.trace("removeAll - keys: " + keys + ", entriesRemoved: " + entriesRemoved);
+        } finally {
+            jedis.close();
+        }
+    }
+
     @Override
     public void clear() {
         Jedis jedis = pool.getResource();
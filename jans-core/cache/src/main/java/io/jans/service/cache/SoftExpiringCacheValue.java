@@ -0,0 +1,54 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.io.Serializable;
+
+/**
+ * Cache value which should be refreshed after soft expiration time. It still can be returned to
+ * callers while new value is loaded
+ */
+public class SoftExpiringCacheValue implements Serializable {
+
+    private static final long serialVersionUID = -6163834937553167812L;
+
+    private Object value;
+    private long softExpirationTime;
+
+    public SoftExpiringCacheValue() {
+    }
+
+    public SoftExpiringCacheValue(Object value, long softExpirationTime) {
+        this.value = value;
+        this.softExpirationTime = softExpirationTime;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public void setValue(Object value) {
+        this.value = value;
+    }
+
+    public long getSoftExpirationTime() {
+        return softExpirationTime;
+    }
+
+    public void setSoftExpirationTime(long softExpirationTime) {
+        this.softExpirationTime = softExpirationTime;
+    }
+
+    public boolean isSoftExpired(long now) {
+        return now >= softExpirationTime;
+    }
+
+    @Override
+    public String toString() {
+        return "SoftExpiringCacheValue{" + "value=" + value + ", softExpirationTime=" + softExpirationTime + '}';
+    }
+}
@@ -22,12 +22,17 @@ public class StandaloneCacheProviderFactory {
 
 	private PersistenceEntryManager entryManager;
 	private StringEncrypter stringEncrypter;
+	private NearCacheInvalidationChannel nearCacheInvalidationChannel;
 
 	public StandaloneCacheProviderFactory(PersistenceEntryManager entryManager, StringEncrypter stringEncrypter) {
 		this.entryManager = entryManager;
 		this.stringEncrypter = stringEncrypter;
 	}
 
+	public void setNearCacheInvalidationChannel(NearCacheInvalidationChannel nearCacheInvalidationChannel) {
+		this.nearCacheInvalidationChannel = nearCacheInvalidationChannel;
+	}
+
 	public CacheProvider<?> getCacheProvider(CacheConfiguration cacheConfiguration) {
 		CacheProviderType cacheProviderType = cacheConfiguration.getCacheProviderType();
 
@@ -46,6 +51,13 @@ public class StandaloneCacheProviderFactory {
 	
 				cacheProvider = inMemoryCacheProvider;
 				break;
+			case BOUNDED_IN_MEMORY:
+				BoundedInMemoryCacheProvider boundedInMemoryCacheProvider = new BoundedInMemoryCacheProvider();
+				boundedInMemoryCacheProvider.configure(cacheConfiguration);
+				boundedInMemoryCacheProvider.init();
+	
+				cacheProvider = boundedInMemoryCacheProvider;
+				break;
 			case MEMCACHED:
 				MemcachedProvider memcachedProvider = new MemcachedProvider();
 				memcachedProvider.configure(cacheConfiguration);
@@ -89,6 +101,11 @@ public class StandaloneCacheProviderFactory {
 
 		cacheProvider.create();
 
+		if (NearCacheProvider.isApplicable(cacheConfiguration)) {
+			cacheProvider = new NearCacheProvider(cacheProvider, cacheConfiguration.getNearCacheConfiguration(), nearCacheInvalidationChannel);
+			cacheProvider.create();
+		}
+
 		return cacheProvider;
 	}
 
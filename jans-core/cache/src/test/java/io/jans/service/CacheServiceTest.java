@@ -0,0 +1,189 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.slf4j.Logger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.jans.service.cache.CacheConfiguration;
+import io.jans.service.cache.InMemoryCacheProvider;
+
+public class CacheServiceTest {
+
+    private static final int THREADS = 16;
+
+    @InjectMocks
+    private CacheService cacheService;
+
+    @Mock
+    private Logger log;
+
+    @Spy
+    private InMemoryCacheProvider cacheProvider = createCacheProvider();
+
+    @BeforeMethod
+    public void setUp() {
+        // new instance per test, so reload executor and counters are not shared
+        cacheService = new CacheService();
+        cacheProvider = createCacheProvider();
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        cacheService.destroyReloadExecutor();
+        cacheProvider.destroy();
+    }
+
+    @Test
+    public void getWithPut_concurrentRequestsOfOneKey_loadsOnce() throws Exception {
+        final AtomicInteger loadCount = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+
+        List<Object> values = runConcurrently(start, () -> cacheService.getWithPut("key", () -> {
+            loadCount.incrementAndGet();
+            sleep(200);
+            return "value";
+        }, 60));
+
+        assertEquals(loadCount.get(), 1);
+        assertEquals(cacheService.getExecutedLoadCount(), 1);
+        for (Object value : values) {
+            assertEquals(value, "value");
+        }
+    }
+
+    @Test
+    public void getWithPut_softExpired_returnsStaleValueAndReloadsOnce() throws Exception {
+        final AtomicInteger loadCount = new AtomicInteger();
+        final Supplier<String> loader = () -> {
+            sleep(200);
+            return "value" + loadCount.incrementAndGet();
+        };
+
+        assertEquals(cacheService.getWithPut("key", loader, 0, 60), "value1");
+
+        List<Object> values = runConcurrently(new CountDownLatch(1), () -> cacheService.getWithPut("key", loader, 0, 60));
+        for (Object value : values) {
+            assertEquals(value, "value1");
+        }
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (loadCount.get() < 2 && System.currentTimeMillis() < deadline) {
+            sleep(50);
+        }
+        sleep(200);
+
+        assertEquals(loadCount.get(), 2);
+        assertTrue(cacheService.getStaleHitCount() >= THREADS);
+    }
+
+    @Test
+    public void getWithPut_miss_readsCacheOnce() {
+        assertEquals(cacheService.getWithPut("key", () -> "value", 60), "value");
+
+        verify(cacheProvider, times(1)).get("key");
+        assertEquals(cacheProvider.get("key"), "value");
+    }
+
+    @Test
+    public void getWithPut_softExpired_reloadsInNumberedThreadOfService() throws Exception {
+        final List<String> threadNames = new CopyOnWriteArrayList<>();
+        final Supplier<String> loader = () -> {
+            threadNames.add(Thread.currentThread().getName());
+            return "value" + threadNames.size();
+        };
+        assertEquals(cacheService.getWithPut("key", loader, 0, 60), "value1");
+
+        assertEquals(cacheService.getWithPut("key", loader, 0, 60), "value1");
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (threadNames.size() < 2 && System.currentTimeMillis() < deadline) {
+            sleep(50);
+        }
+        assertEquals(threadNames.size(), 2);
+        assertEquals(threadNames.get(1), BaseCacheService.CACHE_RELOAD_THREAD_NAME + "-1");
+    }
+
+    @Test
+    public void getWithPut_softExpiredAfterDestroy_returnsStaleValueWithoutReload() {
+        final AtomicInteger loadCount = new AtomicInteger();
+        final Supplier<String> loader = () -> "value" + loadCount.incrementAndGet();
+        assertEquals(cacheService.getWithPut("key", loader, 0, 60), "value1");
+        // Creates reload executor
+        assertEquals(cacheService.getWithPut("other_key", loader, 0, 60), "value2");
+        assertEquals(cacheService.getWithPut("other_key", loader, 0, 60), "value2");
+
+        cacheService.destroyReloadExecutor();
+
+        assertEquals(cacheService.getWithPut("key", loader, 0, 60), "value1");
+        sleep(200);
+        assertTrue(loadCount.get() <= 3);
+        assertEquals(cacheService.getWithPut("key", loader, 0, 60), "value1");
+    }
+
+    private List<Object> runConcurrently(CountDownLatch start, Supplier<Object> request) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    return request.get();
+                }));
+            }
+            start.countDown();
+
+            List<Object> values = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                values.add(future.get());
+            }
+            return values;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static InMemoryCacheProvider createCacheProvider() {
+        InMemoryCacheProvider provider = new InMemoryCacheProvider();
+        provider.configure(new CacheConfiguration());
+        provider.init();
+        provider.create();
+        return provider;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
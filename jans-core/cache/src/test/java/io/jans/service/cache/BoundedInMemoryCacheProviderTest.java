@@ -0,0 +1,131 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class BoundedInMemoryCacheProviderTest {
+
+    private BoundedInMemoryCacheProvider cacheProvider;
+
+    @BeforeMethod
+    public void setUp() {
+        cacheProvider = createCacheProvider(new CacheConfiguration());
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        cacheProvider.destroy();
+    }
+
+    @Test
+    public void putIfAbsent_whenKeyIsPutSecondTime_shouldReturnFalse() {
+        assertTrue(cacheProvider.putIfAbsent(60, "key", "value1"));
+        assertFalse(cacheProvider.putIfAbsent(60, "key", "value2"));
+
+        assertEquals(cacheProvider.get("key"), "value1");
+    }
+
+    @Test
+    public void putIfAbsent_afterEntryExpired_shouldReturnTrue() throws InterruptedException {
+        assertTrue(cacheProvider.putIfAbsent(1, "key", "value1"));
+
+        Thread.sleep(1500);
+        assertNull(cacheProvider.get("key"));
+
+        assertTrue(cacheProvider.putIfAbsent(1, "key", "value2"));
+        assertEquals(cacheProvider.get("key"), "value2");
+    }
+
+    @Test
+    public void putIfAbsent_fromConcurrentThreads_shouldReturnTrueOnce() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final String value = "value" + i;
+                results.add(executor.submit((Callable<Boolean>) () -> {
+                    start.await();
+                    return cacheProvider.putIfAbsent(60, "key", value);
+                }));
+            }
+            start.countDown();
+
+            int added = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    added++;
+                }
+            }
+            assertEquals(added, 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void put_moreEntriesThanMaximumSize_shouldEvictDownToMaximumSize() {
+        cacheProvider.destroy();
+        CacheConfiguration cacheConfiguration = new CacheConfiguration();
+        cacheConfiguration.getInMemoryConfiguration().setMaximumSize(10);
+        cacheProvider = createCacheProvider(cacheConfiguration);
+
+        for (int i = 0; i < 100; i++) {
+            cacheProvider.put(60, "key" + i, "value" + i);
+        }
+        cacheProvider.cleanup(new Date());
+
+        assertEquals(cacheProvider.getEstimatedSize(), 10);
+        assertEquals(cacheProvider.getEvictionCount(), 90);
+        assertEquals(cacheProvider.getStatistics().get("eviction"), 90L);
+    }
+
+    @Test
+    public void put_moreEntriesThanMaximumWeight_shouldEvictByWeight() {
+        cacheProvider.destroy();
+        CacheConfiguration cacheConfiguration = new CacheConfiguration();
+        // Entry of 5 chars key and 1000 chars value weighs 64 + 10 + 2000 bytes, so about 4 entries fit
+        cacheConfiguration.getInMemoryConfiguration().setMaximumWeight(10000);
+        cacheProvider = createCacheProvider(cacheConfiguration);
+
+        String value = new String(new char[1000]).replace('\0', 'v');
+        for (int i = 0; i < 20; i++) {
+            cacheProvider.put(60, String.format("key%02d", i), value);
+        }
+        cacheProvider.cleanup(new Date());
+
+        assertTrue(cacheProvider.getEstimatedSize() <= 4);
+        assertTrue(cacheProvider.getEvictionCount() >= 16);
+    }
+
+    private static BoundedInMemoryCacheProvider createCacheProvider(CacheConfiguration cacheConfiguration) {
+        BoundedInMemoryCacheProvider provider = new BoundedInMemoryCacheProvider();
+        provider.configure(cacheConfiguration);
+        provider.init();
+        provider.create();
+        return provider;
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class InMemoryCacheProviderTest {
+
+    private InMemoryCacheProvider cacheProvider;
+
+    @BeforeMethod
+    public void setUp() {
+        cacheProvider = new InMemoryCacheProvider();
+        cacheProvider.configure(new CacheConfiguration());
+        cacheProvider.init();
+        cacheProvider.create();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        cacheProvider.destroy();
+    }
+
+    @Test
+    public void putIfAbsent_whenKeyIsPutSecondTime_shouldReturnFalse() {
+        assertTrue(cacheProvider.putIfAbsent(60, "key", "value1"));
+        assertFalse(cacheProvider.putIfAbsent(60, "key", "value2"));
+
+        assertEquals(cacheProvider.get("key"), "value1");
+    }
+
+    @Test
+    public void putIfAbsent_afterEntryExpired_shouldReturnTrue() throws InterruptedException {
+        assertTrue(cacheProvider.putIfAbsent(1, "key", "value1"));
+
+        Thread.sleep(1500);
+        assertNull(cacheProvider.get("key"));
+
+        assertTrue(cacheProvider.putIfAbsent(1, "key", "value2"));
+        assertEquals(cacheProvider.get("key"), "value2");
+    }
+
+    @Test
+    public void putIfAbsent_fromConcurrentThreads_shouldReturnTrueOnce() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final String value = "value" + i;
+                results.add(executor.submit((Callable<Boolean>) () -> {
+                    start.await();
+                    return cacheProvider.putIfAbsent(60, "key", value);
+                }));
+            }
+            start.countDown();
+
+            int added = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    added++;
+                }
+            }
+            assertEquals(added, 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void putIfAbsent_ofDifferentKeysFromConcurrentThreads_shouldAddAll() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads * 10; i++) {
+                final String key = "key" + i;
+                results.add(executor.submit((Callable<Boolean>) () -> {
+                    start.await();
+                    return cacheProvider.putIfAbsent(60, key, "value");
+                }));
+            }
+            start.countDown();
+
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+            assertEquals(cacheProvider.getDelegate().size(), threads * 10);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
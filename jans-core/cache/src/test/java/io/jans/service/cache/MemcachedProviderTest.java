@@ -0,0 +1,89 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.slf4j.Logger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import net.spy.memcached.MemcachedClient;
+import net.spy.memcached.internal.OperationFuture;
+
+/**
+ * Memcached server is simulated by a map: add stores value only if key is absent and remembers expiration requested
+ */
+public class MemcachedProviderTest {
+
+    @InjectMocks
+    private MemcachedProvider cacheProvider;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private MemcachedClient client;
+
+    @Spy
+    private MemcachedConfiguration memcachedConfiguration = new MemcachedConfiguration();
+
+    private Map<String, Object> storedValues;
+    private Map<String, Integer> storedExpirations;
+
+    @BeforeMethod
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        storedValues = new HashMap<>();
+        storedExpirations = new HashMap<>();
+        when(client.add(anyString(), anyInt(), any())).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            boolean added = storedValues.putIfAbsent(key, invocation.getArgument(2)) == null;
+            if (added) {
+                storedExpirations.put(key, invocation.getArgument(1));
+            }
+
+            OperationFuture<Boolean> future = mock(OperationFuture.class);
+            when(future.get()).thenReturn(added);
+            return future;
+        });
+    }
+
+    @Test
+    public void putIfAbsent_whenKeyIsPutSecondTime_shouldReturnFalse() {
+        assertTrue(cacheProvider.putIfAbsent(60, "key", "value1"));
+        assertFalse(cacheProvider.putIfAbsent(60, "key", "value2"));
+
+        assertEquals(storedValues.get("key"), "value1");
+    }
+
+    @Test
+    public void putIfAbsent_shouldPassExpirationToServer() {
+        assertTrue(cacheProvider.putIfAbsent(30, "key", "value"));
+        assertTrue(cacheProvider.putIfAbsent(0, "otherKey", "value"));
+
+        assertEquals(storedExpirations.get("key"), Integer.valueOf(30));
+        assertEquals(storedExpirations.get("otherKey"), Integer.valueOf(memcachedConfiguration.getDefaultPutExpiration()));
+    }
+
+}
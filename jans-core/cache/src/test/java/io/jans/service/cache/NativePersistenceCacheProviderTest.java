@@ -0,0 +1,207 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.mockito.ArgumentCaptor;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.exception.EntryPersistenceException;
+import io.jans.orm.exception.operation.DuplicateEntryException;
+import io.jans.orm.exception.operation.PersistenceException;
+import io.jans.orm.search.filter.Filter;
+import io.jans.orm.search.filter.FilterType;
+
+/**
+ * Persistence is simulated by a map of entries which rejects insert of existing entry the way database does
+ */
+public class NativePersistenceCacheProviderTest {
+
+    private static final String BASE_DN = "ou=cache,o=jans";
+
+    private NativePersistenceCacheProvider cacheProvider;
+
+    private PersistenceEntryManager entryManager;
+
+    private Map<String, NativePersistenceCacheEntity> storedEntries;
+
+    @BeforeMethod
+    public void setUp() {
+        storedEntries = new HashMap<>();
+
+        entryManager = mock(PersistenceEntryManager.class);
+        when(entryManager.getPersistenceType(anyString())).thenReturn("sql");
+        doAnswer(invocation -> {
+            NativePersistenceCacheEntity entity = invocation.getArgument(0);
+            if (storedEntries.putIfAbsent(entity.getDn(), entity) != null) {
+                throw duplicateEntryException(entity.getDn());
+            }
+            return null;
+        }).when(entryManager).persist(any(NativePersistenceCacheEntity.class));
+        when(entryManager.find(eq(NativePersistenceCacheEntity.class), anyString()))
+                .thenAnswer(invocation -> storedEntries.get(invocation.getArgument(1)));
+        doAnswer(invocation -> storedEntries.remove(invocation.getArgument(0)))
+                .when(entryManager).remove(anyString(), eq(NativePersistenceCacheEntity.class));
+
+        NativePersistenceConfiguration nativePersistenceConfiguration = new NativePersistenceConfiguration();
+        nativePersistenceConfiguration.setBaseDn("o=jans");
+
+        CacheConfiguration cacheConfiguration = new CacheConfiguration();
+        cacheConfiguration.setNativePersistenceConfiguration(nativePersistenceConfiguration);
+
+        cacheProvider = new NativePersistenceCacheProvider();
+        cacheProvider.configure(cacheConfiguration, entryManager);
+        cacheProvider.create();
+    }
+
+    @Test
+    public void putIfAbsent_whenKeyIsPutSecondTime_shouldReturnFalse() {
+        assertTrue(cacheProvider.putIfAbsent(60, "key", "value1"));
+        assertFalse(cacheProvider.putIfAbsent(60, "key", "value2"));
+
+        assertEquals(storedEntries.size(), 1);
+        assertEquals(getStoredEntry("key").getTtl(), Integer.valueOf(60));
+    }
+
+    @Test
+    public void putIfAbsent_whenStoredEntryIsExpired_shouldReplaceItAndReturnTrue() {
+        assertTrue(cacheProvider.putIfAbsent(60, "key", "value1"));
+
+        // Entry is expired but cleaner didn't remove it yet
+        getStoredEntry("key").setExpirationDate(new Date(System.currentTimeMillis() - 1000));
+
+        assertTrue(cacheProvider.putIfAbsent(60, "key", "value2"));
+        assertTrue(getStoredEntry("key").getExpirationDate().after(new Date()));
+    }
+
+    @Test
+    public void putIfAbsent_whenInsertFailsForOtherReason_shouldReturnFalse() {
+        doThrow(new EntryPersistenceException("Failed to persist entry", new PersistenceException("Connection refused")))
+                .when(entryManager).persist(any(NativePersistenceCacheEntity.class));
+
+        assertFalse(cacheProvider.putIfAbsent(60, "key", "value"));
+    }
+
+    @Test
+    public void getAll_shouldFindEntriesByDocIdFilter() {
+        cacheProvider.putIfAbsent(60, "key1", "value1");
+        cacheProvider.putIfAbsent(60, "key2", "value2");
+
+        ArgumentCaptor<Filter> filterCaptor = ArgumentCaptor.forClass(Filter.class);
+        when(entryManager.findEntries(eq(BASE_DN), eq(NativePersistenceCacheEntity.class), filterCaptor.capture()))
+                .thenAnswer(invocation -> findStoredEntries(invocation.getArgument(2)));
+
+        Map<String, Object> values = cacheProvider.getAll(Arrays.asList("key1", "key2", "key3"));
+
+        assertEquals(values.size(), 2);
+        assertEquals(values.get("key1"), "value1");
+        assertEquals(values.get("key2"), "value2");
+        assertDocIdFilter(filterCaptor.getValue(), "key1", "key2", "key3");
+    }
+
+    @Test
+    public void getAll_shouldBuildOneOrFilterOfDocIds() {
+        ArgumentCaptor<Filter> filterCaptor = ArgumentCaptor.forClass(Filter.class);
+        when(entryManager.findEntries(eq(BASE_DN), eq(NativePersistenceCacheEntity.class), filterCaptor.capture()))
+                .thenAnswer(invocation -> findStoredEntries(invocation.getArgument(2)));
+
+        cacheProvider.getAll(Arrays.asList("key1", "key2"));
+
+        // Keys are in hash order, so terms are checked separately
+        String filter = filterCaptor.getValue().toString();
+        assertTrue(filter.matches("\\(\\|(\\(doc_id=[0-9a-f]+\\)){2}\\)"), filter);
+        assertTrue(filter.contains("(doc_id=" + NativePersistenceCacheProvider.hashKey("key1") + ")"), filter);
+        assertTrue(filter.contains("(doc_id=" + NativePersistenceCacheProvider.hashKey("key2") + ")"), filter);
+    }
+
+    @Test
+    public void removeAll_shouldRemoveEntriesByDocIdFilter() {
+        cacheProvider.putIfAbsent(60, "key1", "value1");
+        cacheProvider.putIfAbsent(60, "key2", "value2");
+
+        ArgumentCaptor<Filter> filterCaptor = ArgumentCaptor.forClass(Filter.class);
+        when(entryManager.remove(eq(BASE_DN), eq(NativePersistenceCacheEntity.class), filterCaptor.capture(), anyInt()))
+                .thenAnswer(invocation -> {
+                    List<NativePersistenceCacheEntity> entities = findStoredEntries(invocation.getArgument(2));
+                    entities.forEach(entity -> storedEntries.remove(entity.getDn()));
+                    return entities.size();
+                });
+
+        cacheProvider.removeAll(Arrays.asList("key1", "key3"));
+
+        assertDocIdFilter(filterCaptor.getValue(), "key1", "key3");
+        verify(entryManager).remove(eq(BASE_DN), eq(NativePersistenceCacheEntity.class), any(Filter.class), eq(2));
+        assertNull(getStoredEntry("key1"));
+        assertNotNull(getStoredEntry("key2"));
+    }
+
+    /**
+     * Exception chain thrown by SqlEntryManager.persist() when insert violates primary key constraint
+     */
+    private static EntryPersistenceException duplicateEntryException(String dn) {
+        SQLException sqlException = new SQLException("duplicate key value violates unique constraint", "23505");
+        return new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn),
+                new DuplicateEntryException(dn, new RuntimeException(sqlException.getMessage(), sqlException)));
+    }
+
+    private List<NativePersistenceCacheEntity> findStoredEntries(Filter filter) {
+        Set<Object> hashedKeys = new HashSet<>();
+        for (Filter keyFilter : filter.getFilters()) {
+            hashedKeys.add(keyFilter.getAssertionValue());
+        }
+
+        return storedEntries.values().stream().filter(entity -> hashedKeys.contains(entity.getId())).collect(Collectors.toList());
+    }
+
+    private static void assertDocIdFilter(Filter filter, String... keys) {
+        assertEquals(filter.getType(), FilterType.OR);
+        assertEquals(filter.getFilters().length, keys.length);
+
+        Set<Object> hashedKeys = new HashSet<>();
+        for (Filter keyFilter : filter.getFilters()) {
+            // Primary key contains hashed key on SQL, so entries are looked up without full scan
+            assertEquals(keyFilter.getType(), FilterType.EQUALITY);
+            assertEquals(keyFilter.getAttributeName(), "doc_id");
+            hashedKeys.add(keyFilter.getAssertionValue());
+        }
+        for (String key : keys) {
+            assertTrue(hashedKeys.contains(NativePersistenceCacheProvider.hashKey(key)), "key=" + key);
+        }
+    }
+
+    private NativePersistenceCacheEntity getStoredEntry(String key) {
+        return storedEntries.get(String.format("uuid=%s,%s", NativePersistenceCacheProvider.hashKey(key), BASE_DN));
+    }
+
+}
@@ -0,0 +1,252 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class NearCacheProviderTest {
+
+    private static final String PREFIX = "near_";
+
+    private SharedRemoteProvider remoteProvider;
+    private InMemoryChannel channel;
+    private NearCacheProvider node1;
+    private NearCacheProvider node2;
+
+    @BeforeMethod
+    public void setUp() {
+        remoteProvider = new SharedRemoteProvider();
+        channel = new InMemoryChannel();
+        node1 = createNode();
+        node2 = createNode();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        node1.destroy();
+        node2.destroy();
+    }
+
+    @Test
+    public void get_nearCachedKey_isServedLocallyAfterFirstRead() {
+        remoteProvider.put(60, PREFIX + "a", "v1");
+
+        assertEquals(node1.get(PREFIX + "a"), "v1");
+        assertEquals(node1.get(PREFIX + "a"), "v1");
+
+        assertEquals(remoteProvider.getCount, 1);
+        assertEquals(node1.getRemoteHitCount(), 1);
+        assertEquals(node1.getLocalHitCount(), 1);
+    }
+
+    @Test
+    public void get_keyWithoutPrefix_isAlwaysReadFromRemote() {
+        remoteProvider.put(60, "other_a", "v1");
+
+        assertEquals(node1.get("other_a"), "v1");
+        assertEquals(node1.get("other_a"), "v1");
+
+        assertEquals(remoteProvider.getCount, 2);
+        assertNull(node1.getLocalCache().getIfPresent("other_a"));
+    }
+
+    @Test
+    public void put_onOtherNode_invalidatesLocalCopy() {
+        node1.put(60, PREFIX + "a", "v1");
+        assertEquals(node2.get(PREFIX + "a"), "v1");
+
+        node1.put(60, PREFIX + "a", "v2");
+
+        assertEquals(node2.get(PREFIX + "a"), "v2");
+        assertEquals(node2.getReceivedInvalidationCount(), 2);
+        assertEquals(node1.getReceivedInvalidationCount(), 0);
+    }
+
+    @Test
+    public void remove_onOtherNode_invalidatesLocalCopy() {
+        node1.put(60, PREFIX + "a", "v1");
+        assertEquals(node2.get(PREFIX + "a"), "v1");
+
+        node1.remove(PREFIX + "a");
+
+        assertNull(node2.get(PREFIX + "a"));
+        assertNull(node1.get(PREFIX + "a"));
+    }
+
+    @Test
+    public void clear_onOtherNode_invalidatesAllLocalCopies() {
+        node1.putAll(60, Map.of(PREFIX + "a", "v1", PREFIX + "b", "v2"));
+        assertEquals(node2.getAll(Arrays.asList(PREFIX + "a", PREFIX + "b")).size(), 2);
+
+        node1.clear();
+
+        assertTrue(node2.getAll(Arrays.asList(PREFIX + "a", PREFIX + "b")).isEmpty());
+        assertEquals(node2.getLocalSize(), 0);
+    }
+
+    @Test
+    public void get_invalidationWhileLoading_doesNotKeepStaleValue() {
+        node1.put(60, PREFIX + "a", "v1");
+        // Other node updates entry after node2 read old value from remote tier, but before it stored it locally
+        remoteProvider.afterGet = key -> node1.put(60, key, "v2");
+
+        assertEquals(node2.get(PREFIX + "a"), "v1");
+        remoteProvider.afterGet = null;
+
+        assertNull(node2.getLocalCache().getIfPresent(PREFIX + "a"));
+        assertEquals(node2.get(PREFIX + "a"), "v2");
+    }
+
+    @Test
+    public void get_clearWhileLoading_doesNotKeepStaleValue() {
+        node1.put(60, PREFIX + "a", "v1");
+        remoteProvider.afterGet = key -> {
+            remoteProvider.put(60, key, "v2");
+            channel.publish(NearCacheConfiguration.DEFAULT_INVALIDATION_CHANNEL, "other-node:");
+        };
+
+        assertEquals(node2.get(PREFIX + "a"), "v1");
+        remoteProvider.afterGet = null;
+
+        assertEquals(node2.get(PREFIX + "a"), "v2");
+    }
+
+    @Test
+    public void getAll_invalidationWhileLoading_doesNotKeepStaleValue() {
+        node1.putAll(60, Map.of(PREFIX + "a", "v1", PREFIX + "b", "v1"));
+        remoteProvider.afterGet = key -> node1.put(60, PREFIX + "a", "v2");
+
+        Map<String, Object> values = node2.getAll(Arrays.asList(PREFIX + "a", PREFIX + "b"));
+        remoteProvider.afterGet = null;
+
+        assertEquals(values.get(PREFIX + "a"), "v1");
+        assertNull(node2.getLocalCache().getIfPresent(PREFIX + "a"));
+        assertEquals(node2.getLocalCache().getIfPresent(PREFIX + "b"), "v1");
+        assertEquals(node2.get(PREFIX + "a"), "v2");
+    }
+
+    @Test
+    public void get_loadedAfterInvalidation_isCachedLocally() {
+        node1.put(60, PREFIX + "a", "v1");
+        node1.put(60, PREFIX + "a", "v2");
+
+        assertEquals(node2.get(PREFIX + "a"), "v2");
+
+        assertEquals(node2.getLocalCache().getIfPresent(PREFIX + "a"), "v2");
+    }
+
+    @Test
+    public void putIfAbsent_existingRemoteEntry_isNotCachedLocally() {
+        node1.put(60, PREFIX + "a", "v1");
+
+        assertFalse(node2.putIfAbsent(60, PREFIX + "a", "v2"));
+
+        assertNull(node2.getLocalCache().getIfPresent(PREFIX + "a"));
+        assertEquals(node2.get(PREFIX + "a"), "v1");
+    }
+
+    private NearCacheProvider createNode() {
+        NearCacheConfiguration nearCacheConfiguration = new NearCacheConfiguration();
+        nearCacheConfiguration.setEnabled(true);
+        nearCacheConfiguration.setKeyPrefixes(Collections.singletonMap(PREFIX, 60));
+
+        NearCacheProvider node = new NearCacheProvider(remoteProvider, nearCacheConfiguration, channel);
+        node.create();
+        return node;
+    }
+
+    /*
+     * Remote tier shared by nodes. Remote provider is not destroyed with node
+     */
+    private static class SharedRemoteProvider extends InMemoryCacheProvider {
+
+        private volatile Consumer<String> afterGet;
+        private int getCount;
+
+        SharedRemoteProvider() {
+            configure(new CacheConfiguration());
+            init();
+            create();
+        }
+
+        @Override
+        public Object get(String key) {
+            getCount++;
+            Object value = super.get(key);
+            runAfterGet(key);
+            return value;
+        }
+
+        @Override
+        public Map<String, Object> getAll(Collection<String> keys) {
+            Map<String, Object> values = new HashMap<>();
+            for (String key : keys) {
+                Object value = super.get(key);
+                if (value != null) {
+                    values.put(key, value);
+                }
+            }
+            runAfterGet(keys.iterator().next());
+            return values;
+        }
+
+        @Override
+        public void destroy() {
+            // shared by nodes
+        }
+
+        private void runAfterGet(String key) {
+            Consumer<String> hook = afterGet;
+            if (hook != null) {
+                afterGet = null;
+                hook.accept(key);
+            }
+        }
+    }
+
+    /*
+     * Delivers messages synchronously to all subscribers, including publisher
+     */
+    private static class InMemoryChannel implements NearCacheInvalidationChannel {
+
+        private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+        @Override
+        public void subscribe(String channel, Consumer<String> listener) {
+            listeners.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(listener);
+        }
+
+        @Override
+        public void unsubscribe(String channel) {
+            listeners.remove(channel);
+        }
+
+        @Override
+        public boolean publish(String channel, String message) {
+            listeners.getOrDefault(channel, Collections.emptyList()).forEach(listener -> listener.accept(message));
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.params.SetParams;
+
+/**
+ * Redis server is simulated by a map: SET with NX stores value only if key is absent and remembers EX requested
+ */
+public class RedisStandaloneProviderTest {
+
+    private RedisStandaloneProvider cacheProvider;
+
+    private Map<String, byte[]> storedValues;
+    private Map<String, Number> storedExpirations;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        storedValues = new HashMap<>();
+        storedExpirations = new HashMap<>();
+
+        Jedis jedis = mock(Jedis.class);
+        when(jedis.set(any(byte[].class), any(byte[].class), any(SetParams.class))).thenAnswer(invocation -> {
+            String key = new String((byte[]) invocation.getArgument(0));
+            SetParams params = invocation.getArgument(2);
+            if (hasParam(params, "nx") && storedValues.containsKey(key)) {
+                return null;
+            }
+
+            storedValues.put(key, invocation.getArgument(1));
+            storedExpirations.put(key, params.getParam("ex"));
+            return "OK";
+        });
+
+        when(jedis.mget(any(byte[][].class))).thenAnswer(invocation -> {
+            List<byte[]> values = new ArrayList<>();
+            for (Object key : invocation.getArguments()) {
+                values.add(storedValues.get(new String((byte[]) key)));
+            }
+            return values;
+        });
+        when(jedis.del(any(byte[][].class))).thenAnswer(invocation -> {
+            long removed = 0;
+            for (Object key : invocation.getArguments()) {
+                removed += storedValues.remove(new String((byte[]) key)) != null ? 1 : 0;
+            }
+            return removed;
+        });
+
+        JedisPool pool = mock(JedisPool.class);
+        when(pool.getResource()).thenReturn(jedis);
+
+        cacheProvider = new RedisStandaloneProvider(new RedisConfiguration());
+        Field poolField = RedisStandaloneProvider.class.getDeclaredField("pool");
+        poolField.setAccessible(true);
+        poolField.set(cacheProvider, pool);
+    }
+
+    @Test
+    public void putIfAbsent_whenKeyIsPutSecondTime_shouldReturnFalse() {
+        assertTrue(cacheProvider.putIfAbsent(60, "key", "value1"));
+        assertFalse(cacheProvider.putIfAbsent(60, "key", "value2"));
+
+        assertEquals(cacheProvider.getValueSerializer().deserialize(storedValues.get("key")), "value1");
+    }
+
+    @Test
+    public void putIfAbsent_shouldPassExpirationToServer() {
+        assertTrue(cacheProvider.putIfAbsent(30, "key", "value"));
+
+        assertEquals(storedExpirations.get("key").intValue(), 30);
+    }
+
+    @Test
+    public void getAll_withNullKey_shouldSkipIt() {
+        cacheProvider.putIfAbsent(60, "key1", "value1");
+        cacheProvider.putIfAbsent(60, "key2", "value2");
+
+        Map<String, Object> values = cacheProvider.getAll(Arrays.asList("key1", null, "key2", "key3"));
+
+        assertEquals(values.size(), 2);
+        assertEquals(values.get("key1"), "value1");
+        assertEquals(values.get("key2"), "value2");
+        assertTrue(cacheProvider.getAll(Collections.singletonList(null)).isEmpty());
+    }
+
+    @Test
+    public void removeAll_withNullKey_shouldSkipIt() {
+        cacheProvider.putIfAbsent(60, "key1", "value1");
+        cacheProvider.putIfAbsent(60, "key2", "value2");
+
+        cacheProvider.removeAll(Arrays.asList(null, "key1"));
+        cacheProvider.removeAll(Collections.singletonList(null));
+
+        assertFalse(storedValues.containsKey("key1"));
+        assertTrue(storedValues.containsKey("key2"));
+    }
+
+    private static boolean hasParam(SetParams params, String name) {
+        for (byte[] param : params.getByteParams()) {
+            if (name.equalsIgnoreCase(new String(param))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.message.pubsub;
+
+/**
+ * Keeps track of configuration revision loaded by server and of revisions announced by configuration change
+ * notifications. Decides when revision stored in persistence has to be checked. Used by configuration factories
+ * which subscribe to {@link PubSubConfigurationChangeChannel}.
+ */
+public class ConfigurationRevisionTracker {
+
+	private volatile long loadedRevision = -1;
+	private volatile long notifiedRevision = -1;
+	private long lastCheckTime;
+
+	public long getLoadedRevision() {
+		return loadedRevision;
+	}
+
+	public void setLoadedRevision(long loadedRevision) {
+		this.loadedRevision = loadedRevision;
+	}
+
+	public boolean isIncreased(long revision) {
+		return revision > loadedRevision;
+	}
+
+	/**
+	 * @return true if announced revision is newer than loaded one and than revisions announced before, so configuration
+	 * has to be reloaded. Stale and duplicate notifications are ignored.
+	 */
+	public synchronized boolean onNotification(long revision) {
+		if (revision <= loadedRevision || revision <= notifiedRevision) {
+			return false;
+		}
+
+		notifiedRevision = revision;
+		return true;
+	}
+
+	/**
+	 * @return true if newer revision was announced and it is not loaded yet or if fallback interval elapsed since last
+	 * check
+	 */
+	public synchronized boolean shouldCheck(long now, long fallbackIntervalInMillis) {
+		if (notifiedRevision > loadedRevision) {
+			return true;
+		}
+
+		if (now - lastCheckTime < fallbackIntervalInMillis) {
+			return false;
+		}
+
+		lastCheckTime = now;
+		return true;
+	}
+
+}
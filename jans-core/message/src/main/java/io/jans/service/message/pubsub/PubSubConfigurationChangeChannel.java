@@ -0,0 +1,132 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.message.pubsub;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+import org.slf4j.Logger;
+
+import io.jans.service.message.model.config.MessageProviderType;
+import io.jans.service.message.provider.MessageProvider;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Notifies nodes about configuration revision changes. Message format is <revision>:<configuration DN>
+ */
+@ApplicationScoped
+public class PubSubConfigurationChangeChannel {
+
+	public static final String CHANNEL = "jans_configuration_change";
+
+	private static final char SEPARATOR = ':';
+
+	@Inject
+	private Logger log;
+
+	@Inject
+	private MessageProvider messageProvider;
+
+	private final ConcurrentHashMap<String, PubSubInterface> subscriptions = new ConcurrentHashMap<>();
+
+	public boolean isAvailable() {
+		return messageProvider.getProviderType() != MessageProviderType.DISABLED;
+	}
+
+	public boolean publish(String configurationDn, long revision) {
+		try {
+			if (!isAvailable()) {
+				return false;
+			}
+
+			log.debug("Publishing configuration change, dn: {}, revision: {}", configurationDn, revision);
+			return messageProvider.publish(CHANNEL, createMessage(configurationDn, revision));
+		} catch (Exception ex) {
+			log.error("Failed to publish configuration change, dn: {}", configurationDn, ex);
+			return false;
+		}
+	}
+
+	/**
+	 * Subscribes listener to revision changes of given configuration entry
+	 *
+	 * @return false if message provider is not configured
+	 */
+	public boolean subscribe(String configurationDn, LongConsumer listener) {
+		if (!isAvailable()) {
+			return false;
+		}
+
+		PubSubInterface pubSub = new PubSubInterface() {
+
+			@Override
+			public void onMessage(String channel, String message) {
+				if (!CHANNEL.equals(channel)) {
+					return;
+				}
+
+				final Long revision = parseRevision(configurationDn, message);
+				if (revision != null) {
+					listener.accept(revision);
+				}
+			}
+
+			@Override
+			public void onSubscribe(String channel, int subscribedChannels) {
+				log.debug("Subscribed to configuration change channel {}", channel);
+			}
+
+			@Override
+			public void onUnsubscribe(String channel, int subscribedChannels) {
+				log.debug("Unsubscribed from configuration change channel {}", channel);
+			}
+		};
+
+		PubSubInterface existing = subscriptions.put(configurationDn, pubSub);
+		if (existing != null) {
+			messageProvider.unsubscribe(existing);
+		}
+
+		log.info("Subscribing to configuration changes of {} with message provider type: {}", configurationDn, messageProvider.getProviderType());
+		messageProvider.subscribe(pubSub, CHANNEL);
+
+		return true;
+	}
+
+	public void unsubscribe(String configurationDn) {
+		PubSubInterface pubSub = subscriptions.remove(configurationDn);
+		if (pubSub != null) {
+			messageProvider.unsubscribe(pubSub);
+		}
+	}
+
+	public static String createMessage(String configurationDn, long revision) {
+		return revision + String.valueOf(SEPARATOR) + configurationDn;
+	}
+
+	/**
+	 * @return revision if message is about given configuration entry, otherwise null
+	 */
+	public static Long parseRevision(String configurationDn, String message) {
+		if (message == null) {
+			return null;
+		}
+
+		final int index = message.indexOf(SEPARATOR);
+		if (index <= 0 || !message.substring(index + 1).equalsIgnoreCase(configurationDn)) {
+			return null;
+		}
+
+		try {
+			return Long.parseLong(message.substring(0, index));
+		} catch (NumberFormatException ex) {
+			return null;
+		}
+	}
+
+}
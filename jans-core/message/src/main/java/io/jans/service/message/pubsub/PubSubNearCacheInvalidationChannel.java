@@ -0,0 +1,77 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.message.pubsub;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+
+import io.jans.service.cache.NearCacheInvalidationChannel;
+import io.jans.service.message.provider.MessageProvider;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Sends near cache invalidation messages over configured message provider
+ */
+@ApplicationScoped
+public class PubSubNearCacheInvalidationChannel implements NearCacheInvalidationChannel {
+
+	@Inject
+	private Logger log;
+
+	@Inject
+	private MessageProvider messageProvider;
+
+	private final ConcurrentHashMap<String, PubSubInterface> subscriptions = new ConcurrentHashMap<>();
+
+	@Override
+	public void subscribe(String channel, Consumer<String> listener) {
+		PubSubInterface pubSub = new PubSubInterface() {
+
+			@Override
+			public void onMessage(String messageChannel, String message) {
+				if (channel.equals(messageChannel)) {
+					listener.accept(message);
+				}
+			}
+
+			@Override
+			public void onSubscribe(String messageChannel, int subscribedChannels) {
+				log.debug("Subscribed to near cache invalidation channel {}", messageChannel);
+			}
+
+			@Override
+			public void onUnsubscribe(String messageChannel, int subscribedChannels) {
+				log.debug("Unsubscribed from near cache invalidation channel {}", messageChannel);
+			}
+		};
+
+		PubSubInterface existing = subscriptions.put(channel, pubSub);
+		if (existing != null) {
+			messageProvider.unsubscribe(existing);
+		}
+
+		log.info("Subscribing to near cache invalidation channel {} with message provider type: {}", channel, messageProvider.getProviderType());
+		messageProvider.subscribe(pubSub, channel);
+	}
+
+	@Override
+	public void unsubscribe(String channel) {
+		PubSubInterface pubSub = subscriptions.remove(channel);
+		if (pubSub != null) {
+			messageProvider.unsubscribe(pubSub);
+		}
+	}
+
+	@Override
+	public boolean publish(String channel, String message) {
+		return messageProvider.publish(channel, message);
+	}
+
+}
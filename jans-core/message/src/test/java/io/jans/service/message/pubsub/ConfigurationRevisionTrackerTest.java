@@ -0,0 +1,82 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.message.pubsub;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+public class ConfigurationRevisionTrackerTest {
+
+	private static final long FALLBACK_INTERVAL = 600_000L;
+
+	@Test
+	public void onNotification_newerRevision_shouldRequireReload() {
+		ConfigurationRevisionTracker tracker = createTracker(5);
+
+		assertTrue(tracker.onNotification(6));
+	}
+
+	@Test
+	public void onNotification_staleRevision_shouldBeIgnored() {
+		ConfigurationRevisionTracker tracker = createTracker(5);
+
+		assertFalse(tracker.onNotification(4));
+		assertFalse(tracker.onNotification(5));
+	}
+
+	@Test
+	public void onNotification_duplicateRevision_shouldBeIgnored() {
+		ConfigurationRevisionTracker tracker = createTracker(5);
+
+		assertTrue(tracker.onNotification(7));
+		assertFalse(tracker.onNotification(7));
+		assertFalse(tracker.onNotification(6));
+		assertTrue(tracker.onNotification(8));
+	}
+
+	@Test
+	public void shouldCheck_withoutNotification_shouldPollOncePerFallbackInterval() {
+		ConfigurationRevisionTracker tracker = createTracker(5);
+		long now = System.currentTimeMillis();
+
+		assertTrue(tracker.shouldCheck(now, FALLBACK_INTERVAL));
+		assertFalse(tracker.shouldCheck(now + 30_000L, FALLBACK_INTERVAL));
+		assertFalse(tracker.shouldCheck(now + FALLBACK_INTERVAL - 1, FALLBACK_INTERVAL));
+		assertTrue(tracker.shouldCheck(now + FALLBACK_INTERVAL, FALLBACK_INTERVAL));
+		assertFalse(tracker.shouldCheck(now + FALLBACK_INTERVAL + 30_000L, FALLBACK_INTERVAL));
+	}
+
+	@Test
+	public void shouldCheck_afterNotification_shouldCheckUntilRevisionIsLoaded() {
+		ConfigurationRevisionTracker tracker = createTracker(5);
+		long now = System.currentTimeMillis();
+		assertTrue(tracker.shouldCheck(now, FALLBACK_INTERVAL));
+
+		tracker.onNotification(6);
+		assertTrue(tracker.shouldCheck(now + 30_000L, FALLBACK_INTERVAL));
+		assertTrue(tracker.shouldCheck(now + 60_000L, FALLBACK_INTERVAL));
+
+		tracker.setLoadedRevision(6);
+		assertFalse(tracker.shouldCheck(now + 90_000L, FALLBACK_INTERVAL));
+	}
+
+	@Test
+	public void isIncreased_shouldCompareWithLoadedRevision() {
+		ConfigurationRevisionTracker tracker = createTracker(5);
+
+		assertTrue(tracker.isIncreased(6));
+		assertFalse(tracker.isIncreased(5));
+	}
+
+	private static ConfigurationRevisionTracker createTracker(long loadedRevision) {
+		ConfigurationRevisionTracker tracker = new ConfigurationRevisionTracker();
+		tracker.setLoadedRevision(loadedRevision);
+		return tracker;
+	}
+}
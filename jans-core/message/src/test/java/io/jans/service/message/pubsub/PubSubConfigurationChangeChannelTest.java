@@ -0,0 +1,124 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.message.pubsub;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.jans.service.message.model.config.MessageProviderType;
+import io.jans.service.message.provider.MessageProvider;
+
+public class PubSubConfigurationChangeChannelTest {
+
+	private static final String CONFIGURATION_DN = "ou=jans-auth,ou=configuration,o=jans";
+
+	@InjectMocks
+	private PubSubConfigurationChangeChannel channel;
+
+	@Mock
+	private Logger log;
+
+	@Mock
+	private MessageProvider<?> messageProvider;
+
+	@BeforeMethod
+	public void setUp() {
+		MockitoAnnotations.openMocks(this);
+		when(messageProvider.getProviderType()).thenReturn(MessageProviderType.REDIS);
+	}
+
+	@Test
+	public void parseRevision_messageOfConfigurationEntry_returnsRevision() {
+		String message = PubSubConfigurationChangeChannel.createMessage(CONFIGURATION_DN, 42);
+
+		assertEquals(message, "42:" + CONFIGURATION_DN);
+		assertEquals(PubSubConfigurationChangeChannel.parseRevision(CONFIGURATION_DN, message), Long.valueOf(42));
+		assertEquals(PubSubConfigurationChangeChannel.parseRevision(CONFIGURATION_DN, "42:" + CONFIGURATION_DN.toUpperCase()), Long.valueOf(42));
+	}
+
+	@Test
+	public void parseRevision_invalidOrForeignMessage_returnsNull() {
+		for (String message : Arrays.asList(null, "", "42", ":" + CONFIGURATION_DN, "abc:" + CONFIGURATION_DN,
+				"42:ou=fido2,ou=configuration,o=jans", "42:" + CONFIGURATION_DN + ",o=other")) {
+			assertNull(PubSubConfigurationChangeChannel.parseRevision(CONFIGURATION_DN, message), "message=" + message);
+		}
+	}
+
+	@Test
+	public void subscribe_messagesOfChannel_areDeliveredForConfigurationEntryOnly() {
+		List<Long> revisions = Collections.synchronizedList(new ArrayList<>());
+		assertTrue(channel.subscribe(CONFIGURATION_DN, revisions::add));
+
+		PubSubInterface pubSub = captureSubscription();
+		pubSub.onMessage(PubSubConfigurationChangeChannel.CHANNEL, "3:" + CONFIGURATION_DN);
+		pubSub.onMessage(PubSubConfigurationChangeChannel.CHANNEL, "4:ou=fido2,ou=configuration,o=jans");
+		pubSub.onMessage("other_channel", "5:" + CONFIGURATION_DN);
+		pubSub.onMessage(PubSubConfigurationChangeChannel.CHANNEL, "invalid");
+
+		assertEquals(revisions, Collections.singletonList(3L));
+	}
+
+	@Test
+	public void subscribe_again_replacesPreviousSubscription() {
+		channel.subscribe(CONFIGURATION_DN, revision -> {});
+		PubSubInterface first = captureSubscription();
+
+		channel.subscribe(CONFIGURATION_DN, revision -> {});
+		verify(messageProvider).unsubscribe(first);
+		PubSubInterface second = captureSubscription();
+
+		channel.unsubscribe(CONFIGURATION_DN);
+		verify(messageProvider).unsubscribe(second);
+	}
+
+	@Test
+	public void disabledProvider_publishAndSubscribe_returnFalse() {
+		when(messageProvider.getProviderType()).thenReturn(MessageProviderType.DISABLED);
+
+		assertFalse(channel.publish(CONFIGURATION_DN, 1));
+		assertFalse(channel.subscribe(CONFIGURATION_DN, revision -> {}));
+		verify(messageProvider, never()).publish(anyString(), anyString());
+		verify(messageProvider, never()).subscribe(any(), anyString());
+	}
+
+	@Test
+	public void publish_sendsRevisionMessage() {
+		when(messageProvider.publish(anyString(), anyString())).thenReturn(true);
+
+		assertTrue(channel.publish(CONFIGURATION_DN, 7));
+		verify(messageProvider).publish(PubSubConfigurationChangeChannel.CHANNEL, "7:" + CONFIGURATION_DN);
+	}
+
+	private PubSubInterface captureSubscription() {
+		ArgumentCaptor<PubSubInterface> captor = ArgumentCaptor.forClass(PubSubInterface.class);
+		verify(messageProvider, atLeastOnce()).subscribe(captor.capture(), eq(PubSubConfigurationChangeChannel.CHANNEL));
+		return captor.getValue();
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.message.pubsub;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.jans.service.message.model.config.MessageProviderType;
+import io.jans.service.message.provider.MessageProvider;
+
+public class PubSubNearCacheInvalidationChannelTest {
+
+	private static final String CHANNEL = "jans_near_cache_invalidation";
+
+	@InjectMocks
+	private PubSubNearCacheInvalidationChannel channel;
+
+	@Mock
+	private Logger log;
+
+	@Mock
+	private MessageProvider<?> messageProvider;
+
+	@BeforeMethod
+	public void setUp() {
+		// new instance per test, so subscriptions of previous tests are not kept
+		channel = new PubSubNearCacheInvalidationChannel();
+		MockitoAnnotations.openMocks(this);
+		when(messageProvider.getProviderType()).thenReturn(MessageProviderType.REDIS);
+	}
+
+	@Test
+	public void subscribe_messagesOfChannel_areDeliveredToListener() {
+		List<String> messages = Collections.synchronizedList(new ArrayList<>());
+		channel.subscribe(CHANNEL, messages::add);
+
+		PubSubInterface pubSub = captureSubscription();
+		pubSub.onMessage(CHANNEL, "node1:session_a");
+		pubSub.onMessage("other_channel", "node1:session_b");
+		pubSub.onMessage(CHANNEL, "node2:");
+
+		assertEquals(messages, List.of("node1:session_a", "node2:"));
+	}
+
+	@Test
+	public void subscribe_again_replacesPreviousSubscription() {
+		channel.subscribe(CHANNEL, message -> {});
+		PubSubInterface first = captureSubscription();
+
+		channel.subscribe(CHANNEL, message -> {});
+		verify(messageProvider).unsubscribe(first);
+		PubSubInterface second = captureSubscription();
+
+		channel.unsubscribe(CHANNEL);
+		verify(messageProvider).unsubscribe(second);
+	}
+
+	@Test
+	public void unsubscribe_withoutSubscription_doesNothing() {
+		channel.unsubscribe(CHANNEL);
+
+		verify(messageProvider, never()).unsubscribe(any());
+	}
+
+	@Test
+	public void publish_sendsMessageToChannel() {
+		when(messageProvider.publish(CHANNEL, "node1:session_a")).thenReturn(true);
+
+		assertTrue(channel.publish(CHANNEL, "node1:session_a"));
+		verify(messageProvider).publish(CHANNEL, "node1:session_a");
+	}
+
+	private PubSubInterface captureSubscription() {
+		ArgumentCaptor<PubSubInterface> captor = ArgumentCaptor.forClass(PubSubInterface.class);
+		verify(messageProvider, atLeastOnce()).subscribe(captor.capture(), eq(CHANNEL));
+		return captor.getValue();
+	}
+
+}
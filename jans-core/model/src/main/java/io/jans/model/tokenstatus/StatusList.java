@@ -114,6 +114,20 @@ public class StatusList {
         return value;
     }
 
+    /**
+     * Merges statuses set in other list into this list. Lists must have the same bits size. Merge is done
+     * by whole words, so non-default statuses of both lists must not overlap.
+     *
+     * @param other status list to merge
+     */
+    public void merge(StatusList other) {
+        if (other.bits != this.bits) {
+            throw new IllegalArgumentException(String.format("Unable to merge status list with bits %s into status list with bits %s.", other.bits, bits));
+        }
+
+        this.list.or(other.list);
+    }
+
     public int getBitSetLength() {
         return list.length();
     }
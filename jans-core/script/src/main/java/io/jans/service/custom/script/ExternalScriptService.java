@@ -10,6 +10,7 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.event.Observes;
@@ -49,6 +50,8 @@ public abstract class ExternalScriptService implements Serializable {
     protected List<CustomScriptConfiguration> customScriptConfigurations;
     protected CustomScriptConfiguration defaultExternalCustomScript;
 
+    private final LongAdder errorCount = new LongAdder();
+
     @PostConstruct
     public void init() {
     	this.loaded = false;
@@ -132,9 +135,14 @@ public abstract class ExternalScriptService implements Serializable {
     }
 
     public void saveScriptError(CustomScript customScript, Exception exception) {
+        errorCount.increment();
         customScriptManager.saveScriptError(customScript, exception);
     }
 
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
     public void clearScriptError(CustomScript customScript) {
         customScriptManager.clearScriptError(customScript);
     }
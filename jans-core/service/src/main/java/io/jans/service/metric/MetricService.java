@@ -7,6 +7,7 @@
 package io.jans.service.metric;
 
 import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 
@@ -62,10 +63,23 @@ public abstract class MetricService implements Serializable {
     private Logger log;
 
     public void initTimer(int metricInterval, int entryLifetimeInDays) {
+        initTimer(metricInterval, entryLifetimeInDays, true);
+    }
+
+    /**
+     * @param persistenceReporterEnabled if false metrics are only kept in registry (e.g. for scraping) and never
+     *                                   written to persistence
+     */
+    public void initTimer(int metricInterval, int entryLifetimeInDays, boolean persistenceReporterEnabled) {
         this.metricRegistry = new MetricRegistry();
         this.registeredMetricTypes = new HashSet<MetricType>();
         this.entryLifetimeInDays = entryLifetimeInDays;
 
+        if (!persistenceReporterEnabled) {
+            log.info("Metric persistence reporter is disabled");
+            return;
+        }
+
         this.ldapEntryReporter = LdapEntryReporter.forRegistry(this.metricRegistry, getMetricServiceInstance()).build();
 
         int metricReporterInterval = metricInterval;
@@ -359,6 +373,18 @@ public abstract class MetricService implements Serializable {
         return metricRegistry.timer(metricType.getMetricName());
     }
 
+    public Timer getTimer(String name) {
+        return metricRegistry.timer(name);
+    }
+
+    public Meter getMeter(String name) {
+        return metricRegistry.meter(name);
+    }
+
+    public MetricRegistry getMetricRegistry() {
+        return metricRegistry;
+    }
+
     public void incCounter(MetricType metricType) {
         Counter counter = getCounter(metricType);
         counter.inc();
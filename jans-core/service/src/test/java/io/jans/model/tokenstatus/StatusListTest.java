@@ -124,4 +124,31 @@ public class StatusListTest {
         StatusList decodedList = StatusList.fromEncoded(encoded, statusList.getBits());
         System.out.println("Decoded List: " + decodedList.toString());
     }
+
+    @Test
+    public void merge_withNonOverlappingStatuses_shouldContainStatusesOfBothLists() throws IOException {
+        StatusList first = new StatusList(2);
+        first.set(1, 2);
+        first.set(70, 1);
+
+        StatusList second = StatusList.fromEncoded(new StatusList(2).getLst(), 2);
+        second.set(3, 3);
+        second.set(200, 2);
+
+        StatusList merged = new StatusList(2);
+        merged.merge(first);
+        merged.merge(second);
+
+        assertEquals(0, merged.get(0));
+        assertEquals(2, merged.get(1));
+        assertEquals(3, merged.get(3));
+        assertEquals(1, merged.get(70));
+        assertEquals(2, merged.get(200));
+        assertEquals(0, merged.get(201));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void merge_withDifferentBits_shouldThrowException() {
+        new StatusList(2).merge(new StatusList(1));
+    }
 }
@@ -78,6 +78,12 @@ public class AppConfiguration implements Configuration, Serializable {
 	@DocProperty(description = "Boolean value specifying whether to return detailed reason of the error from Fido2. Default value is false", defaultValue = "false")
 	private Boolean errorReasonEnabled = false;
 
+	@DocProperty(description = "Boolean value specifying whether FIDO2 server reloads configuration on change notification received through message provider. If enabled, revision in persistence is checked only every configurationReloadFallbackInterval seconds", defaultValue = "false")
+	private Boolean configurationChangeNotificationEnabled = false;
+
+	@DocProperty(description = "Interval in seconds between configuration revision checks in persistence when configuration change notification is enabled", defaultValue = "600")
+	private int configurationReloadFallbackInterval = 600;
+
     private Fido2Configuration fido2Configuration;
 
 	public String getIssuer() {
@@ -209,4 +215,21 @@ public class AppConfiguration implements Configuration, Serializable {
 	public void setErrorReasonEnabled(Boolean errorReasonEnabled) {
 		this.errorReasonEnabled = errorReasonEnabled;
 	}
+
+	public Boolean getConfigurationChangeNotificationEnabled() {
+		if (configurationChangeNotificationEnabled == null) configurationChangeNotificationEnabled = false;
+		return configurationChangeNotificationEnabled;
+	}
+
+	public void setConfigurationChangeNotificationEnabled(Boolean configurationChangeNotificationEnabled) {
+		this.configurationChangeNotificationEnabled = configurationChangeNotificationEnabled;
+	}
+
+	public int getConfigurationReloadFallbackInterval() {
+		return configurationReloadFallbackInterval;
+	}
+
+	public void setConfigurationReloadFallbackInterval(int configurationReloadFallbackInterval) {
+		this.configurationReloadFallbackInterval = configurationReloadFallbackInterval;
+	}
 }
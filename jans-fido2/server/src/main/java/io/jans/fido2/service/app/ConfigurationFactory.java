@@ -36,6 +36,8 @@ import io.jans.service.cdi.event.ConfigurationEvent;
 import io.jans.service.cdi.event.ConfigurationUpdate;
 import io.jans.service.cdi.event.LdapConfigurationReload;
 import io.jans.service.cdi.event.Scheduled;
+import io.jans.service.message.pubsub.ConfigurationRevisionTracker;
+import io.jans.service.message.pubsub.PubSubConfigurationChangeChannel;
 import io.jans.service.timer.event.TimerEvent;
 import io.jans.service.timer.schedule.TimerSchedule;
 import io.jans.util.StringHelper;
@@ -66,6 +68,9 @@ public class ConfigurationFactory {
     @Inject
 	private PersistanceFactoryService persistanceFactoryService;
 
+	@Inject
+	private PubSubConfigurationChangeChannel configurationChangeChannel;
+
 	@Inject
 	private Instance<Configuration> configurationInstance;
 
@@ -113,7 +118,8 @@ public class ConfigurationFactory {
 
 	private long baseConfigurationFileLastModifiedTime;
 
-	private long loadedRevision = -1;
+	private final ConfigurationRevisionTracker revisionTracker = new ConfigurationRevisionTracker();
+	private volatile boolean configurationChangeSubscribed = false;
 	private boolean loadedFromLdap = true;
 
 	@PostConstruct
@@ -202,18 +208,64 @@ public class ConfigurationFactory {
 		if (!loadedFromLdap) {
 			return;
 		}
-		
+
+		updateConfigurationChangeSubscription();
+		if (!shouldCheckRevision(System.currentTimeMillis())) {
+			return;
+		}
+
 		reloadConfFromLdap();
 	}
 
+	private void updateConfigurationChangeSubscription() {
+		final boolean enabled = dynamicConf != null && Boolean.TRUE.equals(dynamicConf.getConfigurationChangeNotificationEnabled());
+		if (enabled == configurationChangeSubscribed) {
+			return;
+		}
+
+		final String dn = this.baseConfiguration.getString("fido2_ConfigurationEntryDN");
+		if (enabled) {
+			configurationChangeSubscribed = configurationChangeChannel.subscribe(dn, this::onConfigurationChange);
+			if (!configurationChangeSubscribed) {
+				log.warn("Configuration change notification is enabled but message provider is not configured, falling back to polling");
+			}
+		} else {
+			configurationChangeChannel.unsubscribe(dn);
+			configurationChangeSubscribed = false;
+		}
+	}
+
+	private void onConfigurationChange(long revision) {
+		log.debug("Received configuration change notification, revision: {}, server revision: {}", revision, revisionTracker.getLoadedRevision());
+		if (!revisionTracker.onNotification(revision)) {
+			return;
+		}
+
+		// Reload right away, if reload is in progress change is picked up by next timer event
+		reloadConfigurationTimerEvent(new ConfigurationEvent());
+	}
+
+	/**
+	 * With configuration change notification persistence is checked only when newer revision was announced or
+	 * fallback interval elapsed, otherwise revision is checked on each timer event.
+	 */
+	private boolean shouldCheckRevision(long now) {
+		if (!configurationChangeSubscribed) {
+			return true;
+		}
+
+		final long fallbackInterval = Math.max(dynamicConf.getConfigurationReloadFallbackInterval(), DEFAULT_INTERVAL) * 1000L;
+		return revisionTracker.shouldCheck(now, fallbackInterval);
+	}
+
 	private boolean isRevisionIncreased() {
         final Conf conf = loadConfigurationFromLdap("jansRevision");
         if (conf == null) {
             return false;
         }
 
-        log.trace("LDAP revision: " + conf.getRevision() + ", server revision:" + loadedRevision);
-        return conf.getRevision() > this.loadedRevision;
+        log.trace("LDAP revision: " + conf.getRevision() + ", server revision:" + revisionTracker.getLoadedRevision());
+        return revisionTracker.isIncreased(conf.getRevision());
     }
 
 	private String confDir() {
@@ -315,7 +367,7 @@ public class ConfigurationFactory {
 
 	private void init(Conf conf) {
 		initConfigurationConf(conf);
-		this.loadedRevision = conf.getRevision();
+		revisionTracker.setLoadedRevision(conf.getRevision());
 	}
 
 	private void initConfigurationConf(Conf conf) {
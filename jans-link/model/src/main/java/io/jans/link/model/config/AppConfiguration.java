@@ -57,6 +57,10 @@ public class AppConfiguration extends CacheRefreshConfiguration {
 
     private Boolean useLocalCache = false;
 
+    private Boolean configurationChangeNotificationEnabled = false;
+    // in seconds
+    private int configurationReloadFallbackInterval = 600;
+
     public boolean isLinkEnabled() {
         return linkEnabled;
     }
@@ -166,4 +170,20 @@ public class AppConfiguration extends CacheRefreshConfiguration {
 		return useLocalCache;
 	}
 
+    public Boolean getConfigurationChangeNotificationEnabled() {
+        return configurationChangeNotificationEnabled;
+    }
+
+    public void setConfigurationChangeNotificationEnabled(Boolean configurationChangeNotificationEnabled) {
+        this.configurationChangeNotificationEnabled = configurationChangeNotificationEnabled;
+    }
+
+    public int getConfigurationReloadFallbackInterval() {
+        return configurationReloadFallbackInterval;
+    }
+
+    public void setConfigurationReloadFallbackInterval(int configurationReloadFallbackInterval) {
+        this.configurationReloadFallbackInterval = configurationReloadFallbackInterval;
+    }
+
 }
@@ -112,6 +112,18 @@ public class AppConfiguration implements Configuration {
     @Schema(description = "Time interval for the Clean Service in seconds")
     private int cleanServiceInterval;
 
+    @DocProperty(description = "Maximum time in seconds active token introspection response is reused. Entry never outlives token exp. 0 disables the cache", defaultValue = "0")
+    @Schema(description = "Maximum time in seconds active token introspection response is reused. Entry never outlives token exp. 0 disables the cache")
+    private Integer introspectionCacheMaxTtl;
+
+    @DocProperty(description = "Boolean value specifying whether Lock server reloads configuration on change notification received through message provider. If enabled, revision in persistence is checked only every configurationReloadFallbackInterval seconds", defaultValue = "false")
+    @Schema(description = "Boolean value specifying whether Lock server reloads configuration on change notification received through message provider. If enabled, revision in persistence is checked only every configurationReloadFallbackInterval seconds")
+    private Boolean configurationChangeNotificationEnabled = false;
+
+    @DocProperty(description = "Interval in seconds between configuration revision checks in persistence when configuration change notification is enabled", defaultValue = "600")
+    @Schema(description = "Interval in seconds between configuration revision checks in persistence when configuration change notification is enabled")
+    private int configurationReloadFallbackInterval = 600;
+
     @Schema(description = "Opa Configuration")
     private OpaConfiguration opaConfiguration;
 
@@ -287,6 +299,30 @@ public class AppConfiguration implements Configuration {
         this.cleanServiceInterval = cleanServiceInterval;
     }
 
+    public Integer getIntrospectionCacheMaxTtl() {
+        return introspectionCacheMaxTtl;
+    }
+
+    public void setIntrospectionCacheMaxTtl(Integer introspectionCacheMaxTtl) {
+        this.introspectionCacheMaxTtl = introspectionCacheMaxTtl;
+    }
+
+    public Boolean getConfigurationChangeNotificationEnabled() {
+        return configurationChangeNotificationEnabled;
+    }
+
+    public void setConfigurationChangeNotificationEnabled(Boolean configurationChangeNotificationEnabled) {
+        this.configurationChangeNotificationEnabled = configurationChangeNotificationEnabled;
+    }
+
+    public int getConfigurationReloadFallbackInterval() {
+        return configurationReloadFallbackInterval;
+    }
+
+    public void setConfigurationReloadFallbackInterval(int configurationReloadFallbackInterval) {
+        this.configurationReloadFallbackInterval = configurationReloadFallbackInterval;
+    }
+
     public OpaConfiguration getOpaConfiguration() {
         return opaConfiguration;
     }
@@ -344,7 +380,8 @@ public class AppConfiguration implements Configuration {
                 + loggingLayout + ", externalLoggerConfiguration=" + externalLoggerConfiguration + ", metricChannel="
                 + metricChannel + ", metricReporterInterval=" + metricReporterInterval + ", metricReporterKeepDataDays="
                 + metricReporterKeepDataDays + ", metricReporterEnabled=" + metricReporterEnabled
-                + ", cleanServiceInterval=" + cleanServiceInterval + ", opaConfiguration=" + opaConfiguration
+                + ", cleanServiceInterval=" + cleanServiceInterval + ", introspectionCacheMaxTtl=" + introspectionCacheMaxTtl
+                + ", opaConfiguration=" + opaConfiguration
                 + ", pdpType=" + pdpType + ", policiesJsonUrisAuthorizationToken=" + policiesJsonUrisAuthorizationToken
                 + ", policiesJsonUris=" + policiesJsonUris + ", policiesZipUrisAuthorizationToken="
                 + policiesZipUrisAuthorizationToken + ", policiesZipUris=" + policiesZipUris + "]";
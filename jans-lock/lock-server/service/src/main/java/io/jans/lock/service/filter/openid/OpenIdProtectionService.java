@@ -22,6 +22,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.jans.as.client.OpenIdConfigurationResponse;
 import io.jans.as.client.service.ClientFactory;
+import io.jans.as.client.service.IntrospectionResponseCache;
 import io.jans.as.client.service.IntrospectionService;
 import io.jans.as.model.common.IntrospectionResponse;
 import io.jans.as.model.crypto.AuthCryptoProvider;
@@ -31,6 +32,7 @@ import io.jans.as.model.exception.InvalidJwtException;
 import io.jans.as.model.jwt.Jwt;
 import io.jans.as.model.jwt.JwtClaimName;
 import io.jans.as.model.jwt.JwtClaims;
+import io.jans.lock.model.config.AppConfiguration;
 import io.jans.lock.service.OpenIdService;
 import io.jans.lock.service.filter.ProtectionService;
 import io.jans.service.security.api.ProtectedApi;
@@ -49,8 +51,13 @@ public class OpenIdProtectionService implements ProtectionService {
 
     @Inject
     private OpenIdService openIdService;
+
+    @Inject
+    private AppConfiguration appConfiguration;
     
     private IntrospectionService introspectionService;
+
+    private final IntrospectionResponseCache introspectionResponseCache = new IntrospectionResponseCache();
     
     private OpenIdConfigurationResponse oidcConfig;
     
@@ -79,7 +86,8 @@ public class OpenIdProtectionService implements ProtectionService {
                 // Do standard token validation
                 IntrospectionResponse iresp = null;
                 try {
-                    iresp = introspectionService.introspectToken("Bearer " + token, token);
+                    introspectionResponseCache.setMaxTtlInSeconds(getIntrospectionCacheMaxTtl());
+                    iresp = introspectionResponseCache.introspect(introspectionService, token);
                 } catch (Exception e) {
                     log.error(e.getMessage());
                 }
@@ -143,6 +151,18 @@ public class OpenIdProtectionService implements ProtectionService {
         return response;
     }
 
+    /**
+     * Drops cached introspection response of token removed on auth server
+     */
+    public void onTokenMessage(String message) {
+        introspectionResponseCache.onTokenMessage(message);
+    }
+
+    private int getIntrospectionCacheMaxTtl() {
+        return Optional.ofNullable(appConfiguration.getIntrospectionCacheMaxTtl())
+                .orElse(IntrospectionResponseCache.DEFAULT_MAX_TTL_IN_SECONDS);
+    }
+
     private Jwt tokenAsJwt(String token) {
         Jwt jwt = null;
         try {
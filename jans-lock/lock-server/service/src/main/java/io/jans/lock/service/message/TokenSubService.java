@@ -19,8 +19,10 @@ package io.jans.lock.service.message;
 import org.slf4j.Logger;
 
 import io.jans.lock.model.config.AppConfiguration;
+import io.jans.lock.service.filter.openid.OpenIdProtectionService;
 import io.jans.service.message.consumer.MessageConsumer;
 import io.jans.service.message.provider.MessageProvider;
+import io.jans.service.message.pubsub.PubSubInterface;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
@@ -42,11 +44,33 @@ public class TokenSubService {
     @Inject
 	private MessageConsumer messageConsumer;
 
+    @Inject
+	private OpenIdProtectionService openIdProtectionService;
+
 	public void subscribe() {
 		log.info("Use message provider type: {}", messageProvider.getProviderType());
 		
 		messageProvider.subscribe(messageConsumer, appConfiguration.getTokenChannels().toArray(new String[0]));
 
+		// Removed tokens should not be accepted from introspection cache
+		messageProvider.subscribe(new PubSubInterface() {
+
+			@Override
+			public void onMessage(String channel, String message) {
+				openIdProtectionService.onTokenMessage(message);
+			}
+
+			@Override
+			public void onSubscribe(String channel, int subscribedChannels) {
+				log.debug("Introspection cache subscribed to channel {}", channel);
+			}
+
+			@Override
+			public void onUnsubscribe(String channel, int subscribedChannels) {
+				log.debug("Introspection cache unsubscribed from channel {}", channel);
+			}
+		}, appConfiguration.getTokenChannels().toArray(new String[0]));
+
 		log.info("Subscribed to channels: {}", appConfiguration.getTokenChannels());
 	}
 }
@@ -10,6 +10,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
@@ -55,8 +56,18 @@ public interface PersistenceEntryManager extends EntityManager {
 
 	void persist(Object entry);
 
+	/**
+	 * Persist entries in batch. Backends without batch support persist them one by one with several concurrent requests
+	 */
+	void persist(Collection<?> entries);
+
 	Void merge(Object entry);
 
+	/**
+	 * Merge entries in batch. Backends without batch support merge them one by one with several concurrent requests
+	 */
+	void merge(Collection<?> entries);
+
 	@Deprecated
 	boolean contains(Object entity);
 
@@ -90,6 +101,18 @@ public interface PersistenceEntryManager extends EntityManager {
     <T> List<T> findEntries(String primaryKey, Class<T> entryClass, Filter filter, SearchScope scope, String[] ldapReturnAttributes,
                             BatchOperation<T> batchOperation, int start, int count, int chunkSize);
 
+    /**
+     * Search entries and return them lazily in backend order. Memory usage is bounded by chunk size
+     * regardless of result size. Stream holds backend resources and should be closed
+     *
+     * @param count Maximum number of entries to return. 0 means unlimited
+     * @param chunkSize Number of entries to fetch from backend in one round trip
+     * @return Stream of entries
+     */
+    <T> Stream<T> streamEntries(String primaryKey, Class<T> entryClass, Filter filter, SearchScope scope, String[] ldapReturnAttributes,
+                                int count, int chunkSize);
+    <T> Stream<T> streamEntries(String primaryKey, Class<T> entryClass, Filter filter, String[] ldapReturnAttributes, int chunkSize);
+
     // TODO: Combine sortBy and SortOrder into Sort
     <T> PagedResult<T> findPagedEntries(String primaryKey, Class<T> entryClass, Filter filter, String[] ldapReturnAttributes, String sortBy,
                                         SortOrder sortOrder, int start, int count, int chunkSize);
@@ -33,4 +33,16 @@ public class DuplicateEntryException extends PersistenceException {
     public DuplicateEntryException(final String dn) {
         super("Entry already exists: " + dn);
     }
+
+    /**
+     * Constructor for returning the offending DN and the underlying error
+     *
+     * @param dn
+     *            DN that returned a duplicate
+     * @param e
+     *            Error reported by persistence layer
+     */
+    public DuplicateEntryException(final String dn, final Throwable e) {
+        super("Entry already exists: " + dn, e);
+    }
 }
@@ -26,8 +26,20 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.codec.binary.Base64;
 import org.json.JSONObject;
@@ -56,6 +68,8 @@ import io.jans.orm.model.AttributeData;
 import io.jans.orm.model.AttributeDataModification;
 import io.jans.orm.model.AttributeDataModification.AttributeModificationType;
 import io.jans.orm.model.AttributeType;
+import io.jans.orm.model.EntryData;
+import io.jans.orm.model.EntryDataCursor;
 import io.jans.orm.model.SearchScope;
 import io.jans.orm.model.base.LocalizedString;
 import io.jans.orm.operation.PersistenceOperationService;
@@ -91,6 +105,11 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 
 	public static final String[] EMPTY_STRING_ARRAY = new String[0];
 
+	public static final int DEFAULT_STREAM_CHUNK_SIZE = 100;
+
+	public static final int DEFAULT_BATCH_PARALLELISM = 4;
+	private static final String BATCH_THREAD_NAME = "EntryManagerBatchThread";
+
 	private static final Class<?>[] GROUP_BY_ALLOWED_DATA_TYPES = { String.class, Date.class, Integer.class,
 			AttributeEnum.class };
 	private static final Class<?>[] SUM_BY_ALLOWED_DATA_TYPES = { int.class, Integer.class, float.class, Float.class,
@@ -133,17 +152,86 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 
 		Integer expirationValue = getExpirationValue(entry, entryClass, false);
 
-		List<AttributeData> attributes = getAttributesListForPersist(entry, propertiesAnnotations);
-
 		// Add object classes
 		String[] objectClasses = getObjectClasses(entry, entryClass);
+		List<AttributeData> attributes = collectPersistAttributes(entry, objectClasses, propertiesAnnotations);
+
+		persist(dnValue.toString(), objectClasses, attributes, expirationValue);
+	}
+
+	@Override
+	public void persist(Collection<?> entries) {
+		if (entries == null) {
+			throw new MappingException("Entries to persist is null");
+		}
+
+		// Backends without native batch support persist entries one by one
+		processInParallel(entries, this::persist);
+	}
+
+	/**
+	 * Applies operation to entries with up to DEFAULT_BATCH_PARALLELISM concurrent requests. Batch is not atomic, after
+	 * first failure remaining entries are still processed and then first exception is thrown
+	 */
+	protected void processInParallel(Collection<?> entries, Consumer<Object> operation) {
+		for (Object entry : entries) {
+			if (entry == null) {
+				throw new MappingException("Entry to process in batch is null");
+			}
+		}
+
+		int parallelism = Math.min(entries.size(), DEFAULT_BATCH_PARALLELISM);
+		if (parallelism <= 1) {
+			for (Object entry : entries) {
+				operation.accept(entry);
+			}
+			return;
+		}
+
+		AtomicInteger threadCounter = new AtomicInteger();
+		ExecutorService executorService = Executors.newFixedThreadPool(parallelism, runnable -> {
+			Thread thread = new Thread(runnable, BATCH_THREAD_NAME + "-" + threadCounter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<?>> results = new ArrayList<>(entries.size());
+			for (Object entry : entries) {
+				results.add(executorService.submit(() -> operation.accept(entry)));
+			}
+
+			RuntimeException failure = null;
+			for (Future<?> result : results) {
+				try {
+					result.get();
+				} catch (ExecutionException ex) {
+					if (failure == null) {
+						failure = ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause()
+								: new EntryPersistenceException("Failed to process batch of entries", ex.getCause());
+					}
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new EntryPersistenceException("Interrupted during processing batch of entries", ex);
+				}
+			}
+
+			if (failure != null) {
+				throw failure;
+			}
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	protected List<AttributeData> collectPersistAttributes(Object entry, String[] objectClasses, List<PropertyAnnotation> propertiesAnnotations) {
+		List<AttributeData> attributes = getAttributesListForPersist(entry, propertiesAnnotations);
 		attributes.add(new AttributeData(OBJECT_CLASS, objectClasses, true));
 
 		if (LOG.isDebugEnabled()) {
 			LOG.debug(String.format("LDAP attributes for persist: %s", maskSensetiveData(attributes)));
 		}
 
-		persist(dnValue.toString(), objectClasses, attributes, expirationValue);
+		return attributes;
 	}
 
 	protected abstract void persist(String dn, String[] objectClasses, List<AttributeData> attributes, Integer expiration);
@@ -201,6 +289,57 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 		return findEntries(baseDN, entryClass, filter, scope, ldapReturnAttributes, null, start, count, chunkSize);
 	}
 
+	@Override
+	public <T> Stream<T> streamEntries(String baseDN, Class<T> entryClass, Filter filter, String[] ldapReturnAttributes, int chunkSize) {
+		return streamEntries(baseDN, entryClass, filter, SearchScope.SUB, ldapReturnAttributes, 0, chunkSize);
+	}
+
+	@Override
+	public <T> Stream<T> streamEntries(String baseDN, Class<T> entryClass, Filter filter, SearchScope scope,
+			String[] ldapReturnAttributes, int count, int chunkSize) {
+		// Backends without cursor support load entries page by page
+		final int pageSize = chunkSize > 0 ? chunkSize : DEFAULT_STREAM_CHUNK_SIZE;
+		Iterator<T> iterator = new Iterator<T>() {
+			private Iterator<T> page = Collections.emptyIterator();
+			private int loadedCount = 0;
+			private boolean lastPage = false;
+
+			@Override
+			public boolean hasNext() {
+				while (!page.hasNext() && !lastPage) {
+					int limit = count > 0 ? Math.min(pageSize, count - loadedCount) : pageSize;
+					if (limit <= 0) {
+						lastPage = true;
+						break;
+					}
+
+					List<T> entries = findEntries(baseDN, entryClass, filter, scope, ldapReturnAttributes, loadedCount, limit, 0);
+					loadedCount += entries.size();
+					lastPage = entries.size() < limit;
+					page = entries.iterator();
+				}
+
+				return page.hasNext();
+			}
+
+			@Override
+			public T next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+
+				return page.next();
+			}
+		};
+
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	protected <T> Stream<T> toEntriesStream(EntryDataCursor cursor, Function<EntryData, T> converter) {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(cursor::close).map(converter);
+	}
+
 	@SuppressWarnings("unchecked")
 	public <T> int countEntries(Object entry) {
 		if (entry == null) {
@@ -229,36 +368,77 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 		Class<?> entryClass = entry.getClass();
 		checkEntryClass(entryClass, isSchemaUpdate);
 
-		// Determine entry update method
-		boolean forceUpdate = isUseEntryForceUpdate(entryClass);
-
 		String[] objectClasses = getObjectClasses(entry, entryClass);
 
-		List<PropertyAnnotation> propertiesAnnotations = getEntryPropertyAnnotations(entryClass);
-        Map<String, PropertyAnnotation> propertiesAnnotationsMap = prepareEntryPropertiesTypes(entryClass, propertiesAnnotations);
-
 		Object dnValue = getDNValue(entry, entryClass);
 
 		Integer expirationValue = getExpirationValue(entry, entryClass, true);
 
-		List<AttributeData> attributesToPersist = getAttributesListForPersist(entry, propertiesAnnotations);
-		Map<String, AttributeData> attributesToPersistMap = getAttributesMap(attributesToPersist);
+		List<AttributeDataModification> attributeDataModifications = collectMergeModifications(entry, entryClass, dnValue.toString(), objectClasses,
+				isSchemaUpdate, isConfigurationUpdate, schemaModificationType);
+
+		merge(dnValue.toString(), objectClasses, attributeDataModifications, expirationValue);
+
+		return null;
+	}
 
+	@Override
+	public void merge(Collection<?> entries) {
+		if (entries == null) {
+			throw new MappingException("Entries to merge is null");
+		}
+
+		// Backends without native batch support merge entries one by one
+		processInParallel(entries, this::merge);
+	}
+
+	protected List<AttributeDataModification> collectMergeModifications(Object entry, Class<?> entryClass, String dn, String[] objectClasses,
+			boolean isSchemaUpdate, boolean isConfigurationUpdate, AttributeModificationType schemaModificationType) {
 		// Load entry
 		List<AttributeData> attributesFromLdap = null;
-		if (isSchemaUpdate || forceUpdate) {
+		if (isLoadBeforeMerge(entryClass, isSchemaUpdate)) {
+			List<PropertyAnnotation> propertiesAnnotations = getEntryPropertyAnnotations(entryClass);
+	        Map<String, PropertyAnnotation> propertiesAnnotationsMap = prepareEntryPropertiesTypes(entryClass, propertiesAnnotations);
+
+			attributesFromLdap = find(dn, objectClasses, propertiesAnnotationsMap, getMergeReturnAttributes(entry, objectClasses, isConfigurationUpdate));
+		} else {
 			// If it's schema modification request we don't need to load
 			// attributes from LDAP
 			attributesFromLdap = new ArrayList<AttributeData>();
-		} else {
-			List<String> currentLdapReturnAttributesList = buildAttributesListForUpdate(entry, objectClasses, propertiesAnnotations);
-			if (!isConfigurationUpdate) {
-				currentLdapReturnAttributesList.add("objectClass");
-			}
+		}
+
+		return collectMergeModifications(entry, entryClass, dn, attributesFromLdap, isSchemaUpdate, isConfigurationUpdate, schemaModificationType);
+	}
+
+	protected boolean isLoadBeforeMerge(Class<?> entryClass, boolean isSchemaUpdate) {
+		return !isSchemaUpdate && !isUseEntryForceUpdate(entryClass);
+	}
+
+	protected String[] getMergeReturnAttributes(Object entry, String[] objectClasses, boolean isConfigurationUpdate) {
+		List<PropertyAnnotation> propertiesAnnotations = getEntryPropertyAnnotations(entry.getClass());
 
-			attributesFromLdap = find(dnValue.toString(), objectClasses, propertiesAnnotationsMap, currentLdapReturnAttributesList.toArray(EMPTY_STRING_ARRAY));
+		List<String> currentLdapReturnAttributesList = buildAttributesListForUpdate(entry, objectClasses, propertiesAnnotations);
+		if (!isConfigurationUpdate) {
+			currentLdapReturnAttributesList.add("objectClass");
 		}
 
+		return currentLdapReturnAttributesList.toArray(EMPTY_STRING_ARRAY);
+	}
+
+	/**
+	 * Collects modifications against entry attributes which were already loaded. It allows backends to load entries
+	 * for batch merge with one request
+	 */
+	protected List<AttributeDataModification> collectMergeModifications(Object entry, Class<?> entryClass, String dn, List<AttributeData> attributesFromLdap,
+			boolean isSchemaUpdate, boolean isConfigurationUpdate, AttributeModificationType schemaModificationType) {
+		// Determine entry update method
+		boolean forceUpdate = isUseEntryForceUpdate(entryClass);
+
+		List<PropertyAnnotation> propertiesAnnotations = getEntryPropertyAnnotations(entryClass);
+
+		List<AttributeData> attributesToPersist = getAttributesListForPersist(entry, propertiesAnnotations);
+		Map<String, AttributeData> attributesToPersistMap = getAttributesMap(attributesToPersist);
+
 		if (LOG.isTraceEnabled()) {
 			dumpAttributes("attributesFromLdap", attributesFromLdap);
 			dumpAttributes("attributesToPersist", attributesToPersist);
@@ -277,7 +457,7 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 			dumpAttributeDataModifications("attributeDataModifications before updateMergeChanges", attributeDataModifications);
 		}
 
-		updateMergeChanges(dnValue.toString(), entry, isSchemaUpdate | isConfigurationUpdate, entryClass, attributesFromLdapMap, attributeDataModifications, forceUpdate);
+		updateMergeChanges(dn, entry, isSchemaUpdate | isConfigurationUpdate, entryClass, attributesFromLdapMap, attributeDataModifications, forceUpdate);
 
 		if (LOG.isTraceEnabled()) {
 			dumpAttributeDataModifications("attributeDataModifications after updateMergeChanges", attributeDataModifications);
@@ -285,9 +465,7 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 
 		LOG.debug(String.format("LDAP attributes for merge: %s", attributeDataModifications));
 
-		merge(dnValue.toString(), objectClasses, attributeDataModifications, expirationValue);
-
-		return null;
+		return attributeDataModifications;
 	}
 
 	protected List<String> buildAttributesListForUpdate(Object entry, String[] objectClasses, List<PropertyAnnotation> propertiesAnnotations) {
@@ -950,6 +1128,13 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 		return propertiesAnnotations.get(0);
 	}
 
+	protected <T> T createEntity(Class<T> entryClass, List<PropertyAnnotation> propertiesAnnotations, String dn,
+			List<AttributeData> attributes) {
+		List<T> entries = createEntities(entryClass, propertiesAnnotations, Collections.singletonMap(dn, attributes), false);
+
+		return entries.get(0);
+	}
+
 	protected <T> List<T> createEntities(Class<T> entryClass, List<PropertyAnnotation> propertiesAnnotations,
 			Map<String, List<AttributeData>> entriesAttributes) {
 		return createEntities(entryClass, propertiesAnnotations, entriesAttributes, true);
@@ -19,4 +19,12 @@ public interface BatchOperation<T> {
 
     void performAction(List<T> entries);
 
+    /**
+     * Allows batch job to request specific paging mode. Default value null means
+     * that persistence layer should use own configured paging mode
+     */
+    default PagingMode getPagingMode() {
+        return null;
+    }
+
 }
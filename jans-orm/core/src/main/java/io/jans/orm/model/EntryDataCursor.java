@@ -0,0 +1,20 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.model;
+
+import java.util.Iterator;
+
+/**
+ * Forward only cursor over search result. It holds backend resources (connection, result set)
+ * until all entries are read or it's closed
+ */
+public interface EntryDataCursor extends Iterator<EntryData>, AutoCloseable {
+
+    @Override
+    void close();
+
+}
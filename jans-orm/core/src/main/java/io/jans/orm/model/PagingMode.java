@@ -0,0 +1,53 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Paging mode which persistence layer uses to iterate over chunked search results
+ */
+public enum PagingMode {
+
+    /**
+     * Skip already loaded entries with offset. Cost of each page grows with offset
+     */
+    OFFSET("offset"),
+
+    /**
+     * Seek after last loaded key. Cost of each page not depends on page number
+     */
+    KEYSET("keyset");
+
+    private String value;
+
+    private static Map<String, PagingMode> MAP_BY_VALUES = new HashMap<String, PagingMode>();
+
+    static {
+        for (PagingMode enumType : values()) {
+            MAP_BY_VALUES.put(enumType.getValue(), enumType);
+        }
+    }
+
+    PagingMode(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static PagingMode getByValue(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        return MAP_BY_VALUES.get(value.toLowerCase());
+    }
+
+}
@@ -12,6 +12,9 @@ import io.jans.orm.exception.operation.EntryConvertationException;
 import io.jans.orm.exception.operation.SearchException;
 import io.jans.orm.extension.PersistenceExtension;
 
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * Base interface for Operation Service
  *
@@ -27,4 +30,11 @@ public interface PersistenceOperationService {
 
 	public boolean isSupportObjectClass(String objectClass);
 
+	/**
+	 * Returns connection pool statistics (e.g. active, idle) or empty map if backend doesn't expose them
+	 */
+	default Map<String, Long> getConnectionPoolStatistics() {
+		return Collections.emptyMap();
+	}
+
 }
@@ -7,12 +7,16 @@
 package io.jans.orm.hybrid.impl;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -278,6 +282,13 @@ public class HybridEntryManager extends BaseEntryManager<HybridPersistenceOperat
 	            sortOrder, start, count, chunkSize);
     }
 
+    @Override
+    public <T> Stream<T> streamEntries(String baseDN, Class<T> entryClass, Filter filter, SearchScope scope, String[] ldapReturnAttributes,
+            int count, int chunkSize) {
+    	PersistenceEntryManager persistenceEntryManager = getEntryManagerForDn(baseDN);
+		return persistenceEntryManager.streamEntries(baseDN, entryClass, filter, scope, ldapReturnAttributes, count, chunkSize);
+    }
+
 	@Override
 	public boolean hasBranchesSupport(String dn) {
 		PersistenceEntryManager persistenceEntryManager = getEntryManagerForDn(dn);
@@ -372,6 +383,36 @@ public class HybridEntryManager extends BaseEntryManager<HybridPersistenceOperat
     	persistenceEntryManager.persist(entry);
 	}
 
+	@Override
+    public void persist(Collection<?> entries) {
+		for (Entry<PersistenceEntryManager, List<Object>> entriesByManager : groupEntriesByEntryManager(entries).entrySet()) {
+			entriesByManager.getKey().persist(entriesByManager.getValue());
+		}
+	}
+
+	@Override
+    public void merge(Collection<?> entries) {
+		for (Entry<PersistenceEntryManager, List<Object>> entriesByManager : groupEntriesByEntryManager(entries).entrySet()) {
+			entriesByManager.getKey().merge(entriesByManager.getValue());
+		}
+	}
+
+	private Map<PersistenceEntryManager, List<Object>> groupEntriesByEntryManager(Collection<?> entries) {
+		if (entries == null) {
+			throw new MappingException("Entries to process is null");
+		}
+
+		Map<PersistenceEntryManager, List<Object>> result = new LinkedHashMap<>();
+		for (Object entry : entries) {
+	        Object dnValue = getDNValue(entry, entry.getClass());
+
+	    	PersistenceEntryManager persistenceEntryManager = getEntryManagerForDn(dnValue);
+	    	result.computeIfAbsent(persistenceEntryManager, k -> new ArrayList<>()).add(entry);
+		}
+
+		return result;
+	}
+
 	@Override
     public void remove(Object entry) {
         Class<?> entryClass = entry.getClass();
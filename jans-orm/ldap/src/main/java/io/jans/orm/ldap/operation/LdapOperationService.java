@@ -27,6 +27,7 @@ import io.jans.orm.ldap.impl.LdapBatchOperationWraper;
 import io.jans.orm.ldap.operation.impl.LdapConnectionProvider;
 import io.jans.orm.model.AttributeType;
 import io.jans.orm.model.EntryData;
+import io.jans.orm.model.EntryDataCursor;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.SortOrder;
 import io.jans.orm.operation.PersistenceOperationService;
@@ -58,6 +59,8 @@ public interface LdapOperationService extends PersistenceOperationService {
     <T> PagedResult<EntryData> search(String dn, Filter filter, SearchScope scope, LdapBatchOperationWraper<T> batchOperationWraper, int start,
                             int count, int pageSize, Control[] controls, String... attributes) throws SearchException;
 
+    EntryDataCursor searchCursor(String dn, Filter filter, SearchScope scope, int count, int pageSize, String... attributes) throws SearchException;
+
     <T> PagedResult<EntryData> searchPagedEntries(String dn, Filter filter, SearchScope scope, int startIndex,
                                                         int count, int pageSize, String sortBy, SortOrder sortOrder,
                                                         String... attributes) throws Exception;
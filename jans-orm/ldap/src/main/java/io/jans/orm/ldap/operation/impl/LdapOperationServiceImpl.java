@@ -12,6 +12,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
@@ -20,6 +21,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -68,6 +70,7 @@ import io.jans.orm.ldap.operation.watch.OperationDurationUtil;
 import io.jans.orm.model.AttributeData;
 import io.jans.orm.model.BatchOperation;
 import io.jans.orm.model.EntryData;
+import io.jans.orm.model.EntryDataCursor;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.SortOrder;
 import io.jans.orm.operation.auth.PasswordEncryptionHelper;
@@ -99,6 +102,8 @@ public class LdapOperationServiceImpl implements LdapOperationService {
 
     protected static final String[] NO_STRINGS = new String[0];
 
+    private static final int DEFAULT_CURSOR_PAGE_SIZE = 100;
+
     static {
         //Populates the mapping of syntaxes that will support comparison of attribute values.
         //Only accounting for the most common and existing in Jans Schema
@@ -427,6 +432,26 @@ public class LdapOperationServiceImpl implements LdapOperationService {
         return result;
     }
 
+    @Override
+    public EntryDataCursor searchCursor(String dn, Filter filter, SearchScope scope, int count, int pageSize, String... attributes) throws SearchException {
+        SearchRequest searchRequest;
+        if (attributes == null) {
+            searchRequest = new SearchRequest(dn, scope, filter);
+        } else {
+            searchRequest = new SearchRequest(dn, scope, filter, attributes);
+        }
+
+        // Paged results cookie is valid only within same connection
+        LDAPConnection ldapConnection;
+        try {
+            ldapConnection = getConnection();
+        } catch (LDAPException ex) {
+            throw new SearchException("Failed to get connection to open cursor", ex, ex.getResultCode().intValue());
+        }
+
+        return new LdapEntryDataCursor(ldapConnection, searchRequest, count, pageSize > 0 ? pageSize : DEFAULT_CURSOR_PAGE_SIZE);
+    }
+
     private SimplePagedResponse scrollSimplePagedResultsControl(LDAPConnection ldapConnection, String dn, Filter filter, SearchScope scope,
             Control[] controls, int start) throws LDAPException, InvalidSimplePageControlException {
         SearchRequest searchRequest = new SearchRequest(dn, scope, filter, "dn");
@@ -953,6 +978,104 @@ public class LdapOperationServiceImpl implements LdapOperationService {
         return entryDataList;
 	}
 
+    private class LdapEntryDataCursor implements EntryDataCursor {
+
+        private final LDAPConnection ldapConnection;
+        private final SearchRequest searchRequest;
+        private final int count;
+        private final int pageSize;
+
+        private Iterator<EntryData> page = Collections.emptyIterator();
+        private ASN1OctetString cookie = null;
+        private int loadedCount = 0;
+        private boolean lastPage = false;
+        private boolean closed = false;
+
+        LdapEntryDataCursor(LDAPConnection ldapConnection, SearchRequest searchRequest, int count, int pageSize) {
+            this.ldapConnection = ldapConnection;
+            this.searchRequest = searchRequest;
+            this.count = count;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!page.hasNext() && !lastPage && !closed) {
+                loadNextPage();
+            }
+
+            if (!page.hasNext()) {
+                // Return connection to pool as soon as all entries were read
+                close();
+                return false;
+            }
+
+            return true;
+        }
+
+        @Override
+        public EntryData next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return page.next();
+        }
+
+        private void loadNextPage() {
+            int currentLimit = pageSize;
+            if (count > 0) {
+                currentLimit = Math.min(pageSize, count - loadedCount);
+            }
+            if (currentLimit <= 0) {
+                lastPage = true;
+                return;
+            }
+
+            searchRequest.setControls(new Control[] {new SimplePagedResultsControl(currentLimit, cookie)});
+
+            SearchResult searchResult;
+            try {
+                searchResult = ldapConnection.search(searchRequest);
+            } catch (LDAPSearchException ex) {
+                close();
+                throw new SearchEntryException(String.format("Failed to search entries with baseDN: %s, filter: %s", searchRequest.getBaseDN(), searchRequest.getFilter()), ex);
+            }
+
+            if (!ResultCode.SUCCESS.equals(searchResult.getResultCode())) {
+                close();
+                throw new SearchEntryException(String.format("Failed to search entries with baseDN: %s, filter: %s", searchRequest.getBaseDN(), searchRequest.getFilter()));
+            }
+
+            List<EntryData> lastResult = getEntryDataList(searchResult);
+            loadedCount += lastResult.size();
+            page = lastResult.iterator();
+
+            cookie = null;
+            try {
+                SimplePagedResultsControl c = SimplePagedResultsControl.get(searchResult);
+                if (c != null) {
+                    cookie = c.getCookie();
+                }
+            } catch (LDAPException ex) {
+                LOG.error("Error while accessing cookies" + ex.getMessage());
+            }
+
+            lastPage = (cookie == null) || (cookie.getValueLength() == 0) || (lastResult.size() < currentLimit);
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            releaseConnection(ldapConnection);
+        }
+
+    }
+
     @Override
     public boolean isBinaryAttribute(String attributeName) {
         return this.connectionProvider.isBinaryAttribute(attributeName);
@@ -0,0 +1,82 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.sql;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.log4j.Logger;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.status.StatusLogger;
+
+import io.jans.orm.sql.impl.SqlEntryManager;
+import io.jans.orm.sql.model.SimpleSessionState;
+import io.jans.orm.sql.persistence.SqlEntryManagerSample;
+
+/**
+ * Compare throughput of persisting entries one by one and in batch
+ *
+ * Usage: SqlBulkPersistSample [entries count]
+ */
+public final class SqlBulkPersistSample {
+
+    private static final Logger LOG;
+
+    static {
+        StatusLogger.getLogger().setLevel(Level.OFF);
+        LoggingHelper.configureConsoleAppender();
+        LOG = Logger.getLogger(SqlBulkPersistSample.class);
+    }
+
+    private SqlBulkPersistSample() {
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+
+        // Prepare sample connection details
+        SqlEntryManagerSample sqlEntryManagerSample = new SqlEntryManagerSample();
+
+        // Create SQL entry manager
+        final SqlEntryManager sqlEntryManager = sqlEntryManagerSample.createSqlEntryManager();
+
+        List<SimpleSessionState> entries = createSessions(count);
+        long takes = System.currentTimeMillis();
+        for (SimpleSessionState entry : entries) {
+            sqlEntryManager.persist(entry);
+        }
+        takes = System.currentTimeMillis() - takes;
+        LOG.info(String.format("Persisted one by one entries: %d, total time: %d ms", count, takes));
+
+        entries = createSessions(count);
+        takes = System.currentTimeMillis();
+        sqlEntryManager.persist(entries);
+        takes = System.currentTimeMillis() - takes;
+        LOG.info(String.format("Persisted in batch entries: %d, total time: %d ms", count, takes));
+
+        sqlEntryManager.destroy();
+    }
+
+    private static List<SimpleSessionState> createSessions(int count) {
+        List<SimpleSessionState> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String sessionId = UUID.randomUUID().toString();
+
+            SimpleSessionState simpleSessionState = new SimpleSessionState();
+            simpleSessionState.setDn("jansId=" + sessionId + ",ou=sessions,o=jans");
+            simpleSessionState.setId(sessionId);
+            simpleSessionState.setLastUsedAt(new Date());
+
+            entries.add(simpleSessionState);
+        }
+
+        return entries;
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.sql;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.log4j.Logger;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.status.StatusLogger;
+
+import io.jans.orm.model.PagingMode;
+import io.jans.orm.model.ProcessBatchOperation;
+import io.jans.orm.model.SearchScope;
+import io.jans.orm.search.filter.Filter;
+import io.jans.orm.sql.impl.SqlEntryManager;
+import io.jans.orm.sql.model.SimpleSessionState;
+import io.jans.orm.sql.persistence.SqlEntryManagerSample;
+
+/**
+ * Compare per page latency of offset and keyset paging on big table
+ *
+ * Usage: SqlKeysetPagingSample [entries to seed] [page size]
+ */
+public final class SqlKeysetPagingSample {
+
+    private static final Logger LOG;
+
+    static {
+        StatusLogger.getLogger().setLevel(Level.OFF);
+        LoggingHelper.configureConsoleAppender();
+        LOG = Logger.getLogger(SqlKeysetPagingSample.class);
+    }
+
+    private SqlKeysetPagingSample() {
+    }
+
+    public static void main(String[] args) {
+        int seedCount = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        int pageSize = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+        // Prepare sample connection details
+        SqlEntryManagerSample sqlEntryManagerSample = new SqlEntryManagerSample();
+
+        // Create SQL entry manager
+        final SqlEntryManager sqlEntryManager = sqlEntryManagerSample.createSqlEntryManager();
+
+        for (int i = 0; i < seedCount; i++) {
+            String sessionId = UUID.randomUUID().toString();
+
+            SimpleSessionState simpleSessionState = new SimpleSessionState();
+            simpleSessionState.setDn("jansId=" + sessionId + ",ou=sessions,o=jans");
+            simpleSessionState.setId(sessionId);
+            simpleSessionState.setLastUsedAt(new Date());
+
+            sqlEntryManager.persist(simpleSessionState);
+            if ((i + 1) % 10000 == 0) {
+                LOG.info("Seeded sessions: " + (i + 1));
+            }
+        }
+
+        Filter filter = Filter.createPresenceFilter("jansLastAccessTime");
+        for (PagingMode pagingMode : PagingMode.values()) {
+            PageTimingBatchOperation batchOperation = new PageTimingBatchOperation(pagingMode);
+
+            long takes = System.currentTimeMillis();
+            sqlEntryManager.findEntries("ou=sessions,o=jans", SimpleSessionState.class, filter, SearchScope.SUB, new String[] { "jansLastAccessTime" },
+                    batchOperation, 0, 0, pageSize);
+            takes = System.currentTimeMillis() - takes;
+
+            LOG.info(String.format("Paging mode: '%s', pages: %d, entries: %d, total time: %d ms", pagingMode, batchOperation.getPageCount(),
+                    batchOperation.getEntriesCount(), takes));
+        }
+
+        sqlEntryManager.destroy();
+    }
+
+    private static class PageTimingBatchOperation extends ProcessBatchOperation<SimpleSessionState> {
+
+        private final PagingMode pagingMode;
+
+        private int pageCount = 0;
+        private int entriesCount = 0;
+        private long lastPageTime = System.nanoTime();
+
+        PageTimingBatchOperation(PagingMode pagingMode) {
+            this.pagingMode = pagingMode;
+        }
+
+        @Override
+        public void performAction(List<SimpleSessionState> entries) {
+            long now = System.nanoTime();
+            long pageTakes = (now - lastPageTime) / 1000;
+            lastPageTime = now;
+
+            pageCount++;
+            entriesCount += entries.size();
+
+            if ((pageCount == 1) || (pageCount % 1000 == 0)) {
+                LOG.info(String.format("Paging mode: '%s', page: %d, page load time: %d us", pagingMode, pageCount, pageTakes));
+            }
+        }
+
+        @Override
+        public PagingMode getPagingMode() {
+            return pagingMode;
+        }
+
+        public int getPageCount() {
+            return pageCount;
+        }
+
+        public int getEntriesCount() {
+            return entriesCount;
+        }
+
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.sql;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.status.StatusLogger;
+
+import io.jans.orm.model.SearchScope;
+import io.jans.orm.search.filter.Filter;
+import io.jans.orm.sql.impl.SqlEntryManager;
+import io.jans.orm.sql.model.SimpleSessionState;
+import io.jans.orm.sql.persistence.SqlEntryManagerSample;
+
+/**
+ * Measure result set to entries conversion throughput on big search results
+ *
+ * Usage: SqlRowMappingSample [entries per search] [iterations]
+ */
+public final class SqlRowMappingSample {
+
+    private static final Logger LOG;
+
+    static {
+        StatusLogger.getLogger().setLevel(Level.OFF);
+        LoggingHelper.configureConsoleAppender();
+        LOG = Logger.getLogger(SqlRowMappingSample.class);
+    }
+
+    private SqlRowMappingSample() {
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        // Prepare sample connection details
+        SqlEntryManagerSample sqlEntryManagerSample = new SqlEntryManagerSample();
+
+        // Create SQL entry manager
+        final SqlEntryManager sqlEntryManager = sqlEntryManagerSample.createSqlEntryManager();
+
+        Filter filter = Filter.createPresenceFilter("jansLastAccessTime");
+
+        // Warm up
+        for (int i = 0; i < 3; i++) {
+            sqlEntryManager.findEntries("ou=sessions,o=jans", SimpleSessionState.class, filter, SearchScope.SUB, null, 0, count, 0);
+        }
+
+        long totalEntries = 0;
+        long takes = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            List<SimpleSessionState> entries = sqlEntryManager.findEntries("ou=sessions,o=jans", SimpleSessionState.class, filter,
+                    SearchScope.SUB, null, 0, count, 0);
+            totalEntries += entries.size();
+        }
+        takes = (System.nanoTime() - takes) / 1000000;
+
+        LOG.info(String.format("Loaded entries: %d, iterations: %d, total time: %d ms, entries per second: %d", totalEntries, iterations, takes,
+                takes == 0 ? totalEntries : totalEntries * 1000 / takes));
+
+        sqlEntryManager.destroy();
+    }
+
+}
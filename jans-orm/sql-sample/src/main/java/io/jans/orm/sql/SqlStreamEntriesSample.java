@@ -0,0 +1,65 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.sql;
+
+import java.util.stream.Stream;
+
+import org.apache.log4j.Logger;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.status.StatusLogger;
+
+import io.jans.orm.model.SearchScope;
+import io.jans.orm.search.filter.Filter;
+import io.jans.orm.sql.impl.SqlEntryManager;
+import io.jans.orm.sql.model.SimpleSessionState;
+import io.jans.orm.sql.persistence.SqlEntryManagerSample;
+
+/**
+ * Iterate over all sessions with cursor and report time and used heap
+ *
+ * Usage: SqlStreamEntriesSample [fetch size]
+ */
+public final class SqlStreamEntriesSample {
+
+    private static final Logger LOG;
+
+    static {
+        StatusLogger.getLogger().setLevel(Level.OFF);
+        LoggingHelper.configureConsoleAppender();
+        LOG = Logger.getLogger(SqlStreamEntriesSample.class);
+    }
+
+    private SqlStreamEntriesSample() {
+    }
+
+    public static void main(String[] args) {
+        int fetchSize = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+
+        // Prepare sample connection details
+        SqlEntryManagerSample sqlEntryManagerSample = new SqlEntryManagerSample();
+
+        // Create SQL entry manager
+        final SqlEntryManager sqlEntryManager = sqlEntryManagerSample.createSqlEntryManager();
+
+        Runtime runtime = Runtime.getRuntime();
+        long[] maxUsedHeap = new long[1];
+
+        Filter filter = Filter.createPresenceFilter("jansLastAccessTime");
+        long takes = System.currentTimeMillis();
+        long count;
+        try (Stream<SimpleSessionState> sessions = sqlEntryManager.streamEntries("ou=sessions,o=jans", SimpleSessionState.class, filter,
+                SearchScope.SUB, null, 0, fetchSize)) {
+            count = sessions.peek(session -> maxUsedHeap[0] = Math.max(maxUsedHeap[0], runtime.totalMemory() - runtime.freeMemory())).count();
+        }
+        takes = System.currentTimeMillis() - takes;
+
+        LOG.info(String.format("Iterated entries: %d, total time: %d ms, max used heap: %d MB", count, takes, maxUsedHeap[0] / (1024 * 1024)));
+
+        sqlEntryManager.destroy();
+    }
+
+}
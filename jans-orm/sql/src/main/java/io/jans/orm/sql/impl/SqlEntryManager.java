@@ -11,11 +11,18 @@ import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +47,7 @@ import io.jans.orm.model.AttributeDataModification.AttributeModificationType;
 import io.jans.orm.model.AttributeType;
 import io.jans.orm.model.BatchOperation;
 import io.jans.orm.model.EntryData;
+import io.jans.orm.model.EntryDataCursor;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.SearchScope;
 import io.jans.orm.model.SortOrder;
@@ -164,7 +172,58 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
     protected void persist(String dn, String[] objectClasses, List<AttributeData> attributes, Integer expiration) {
     	String baseObjectClass = getBaseObjectClassForDataOperation(objectClasses);
 
-    	ArrayList<AttributeData> resultAttributes = new ArrayList<>(attributes.size() + 1);
+        // Persist entry
+        try {
+        	ParsedKey parsedKey = toSQLKey(dn);
+        	List<AttributeData> resultAttributes = toSqlPersistAttributes(dn, parsedKey, baseObjectClass, attributes);
+
+            boolean result = getOperationService().addEntry(parsedKey.getKey(), baseObjectClass, resultAttributes);
+            if (!result) {
+                throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn));
+            }
+        } catch (Exception ex) {
+            throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn), ex);
+        }
+    }
+
+    @Override
+    public void persist(Collection<?> entries) {
+		if (entries == null) {
+			throw new MappingException("Entries to persist is null");
+		}
+
+		// Group entries by table to insert them with JDBC batches
+		Map<String, List<Collection<AttributeData>>> entriesByObjectClass = new LinkedHashMap<>();
+		for (Object entry : entries) {
+			if (entry == null) {
+				throw new MappingException("Entry to persist is null");
+			}
+
+			Class<?> entryClass = entry.getClass();
+			checkEntryClass(entryClass, false);
+			List<PropertyAnnotation> propertiesAnnotations = getEntryPropertyAnnotations(entryClass);
+
+			String dn = getDNValue(entry, entryClass).toString();
+			String[] objectClasses = getObjectClasses(entry, entryClass);
+			List<AttributeData> attributes = collectPersistAttributes(entry, objectClasses, propertiesAnnotations);
+
+	    	String baseObjectClass = getBaseObjectClassForDataOperation(objectClasses);
+	    	List<AttributeData> resultAttributes = toSqlPersistAttributes(dn, toSQLKey(dn), baseObjectClass, attributes);
+
+	    	entriesByObjectClass.computeIfAbsent(baseObjectClass, k -> new ArrayList<>()).add(resultAttributes);
+		}
+
+		for (Entry<String, List<Collection<AttributeData>>> entriesByObjectClassEntry : entriesByObjectClass.entrySet()) {
+			try {
+				getOperationService().addEntries(entriesByObjectClassEntry.getKey(), entriesByObjectClassEntry.getValue());
+	        } catch (Exception ex) {
+	            throw new EntryPersistenceException(String.format("Failed to persist batch of '%s' entries", entriesByObjectClassEntry.getKey()), ex);
+	        }
+		}
+    }
+
+	private List<AttributeData> toSqlPersistAttributes(String dn, ParsedKey parsedKey, String baseObjectClass, List<AttributeData> attributes) {
+		ArrayList<AttributeData> resultAttributes = new ArrayList<>(attributes.size() + 2);
         for (AttributeData attribute : attributes) {
             String attributeName = attribute.getName();
             Object[] attributeValues = attribute.getValues();
@@ -200,20 +259,11 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
             }
         }
 
-        // Persist entry
-        try {
-        	ParsedKey parsedKey = toSQLKey(dn);
-            resultAttributes.add(new AttributeData(SqlOperationService.DN, dn));
-            resultAttributes.add(new AttributeData(SqlOperationService.DOC_ID, parsedKey.getKey()));
+        resultAttributes.add(new AttributeData(SqlOperationService.DN, dn));
+        resultAttributes.add(new AttributeData(SqlOperationService.DOC_ID, parsedKey.getKey()));
 
-            boolean result = getOperationService().addEntry(parsedKey.getKey(), baseObjectClass, resultAttributes);
-            if (!result) {
-                throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn));
-            }
-        } catch (Exception ex) {
-            throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn), ex);
-        }
-    }
+        return resultAttributes;
+	}
 
     @Override
     public void merge(String dn, String[] objectClasses, List<AttributeDataModification> attributeDataModifications, Integer expirationValue) {
@@ -221,50 +271,7 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
 
         // Update entry
         try {
-            List<AttributeDataModification> modifications = new ArrayList<AttributeDataModification>(attributeDataModifications.size());
-            for (AttributeDataModification attributeDataModification : attributeDataModifications) {
-                AttributeData attribute = attributeDataModification.getAttribute();
-                AttributeData oldAttribute = attributeDataModification.getOldAttribute();
-
-                String attributeName = null;
-                Object[] attributeValues = null;
-                Boolean multiValued = null;
-                Boolean jsonValue = null;
-                if (attribute != null) {
-                    attributeName = attribute.getName();
-                    attributeValues = attribute.getValues();
-                    multiValued = attribute.getMultiValued();
-                    jsonValue = attribute.getJsonValue();
-                }
-
-                String oldAttributeName = null;
-                Object[] oldAttributeValues = null;
-                if (oldAttribute != null) {
-                    oldAttributeName = oldAttribute.getName();
-                    oldAttributeValues = oldAttribute.getValues();
-                }
-                
-                AttributeDataModification modification = null;
-                AttributeModificationType modificationType = attributeDataModification.getModificationType();
-				if ((AttributeModificationType.ADD == modificationType) ||
-                	(AttributeModificationType.FORCE_UPDATE == modificationType)) {
-                    modification = createModification(modificationType, toInternalAttribute(baseObjectClass, attributeName), multiValued, jsonValue, attributeValues);
-                } else {
-                    if ((AttributeModificationType.REMOVE == modificationType)) {
-                		if ((attribute == null) && isEmptyAttributeValues(oldAttribute)) {
-							// It's RDBS case. We don't need to set null to already empty table cell
-                			continue;
-                		}
-                        modification = createModification(AttributeModificationType.REMOVE, toInternalAttribute(baseObjectClass, oldAttributeName), multiValued, jsonValue, oldAttributeValues);
-                    } else if ((AttributeModificationType.REPLACE == modificationType)) {
-                        modification = createModification(AttributeModificationType.REPLACE, toInternalAttribute(baseObjectClass, attributeName), multiValued, jsonValue, attributeValues);
-                    }
-                }
-
-                if (modification != null) {
-                    modifications.add(modification);
-                }
-            }
+            List<AttributeDataModification> modifications = toSqlModifications(baseObjectClass, attributeDataModifications);
 
             if (modifications.size() > 0) {
                 boolean result = getOperationService().updateEntry(toSQLKey(dn).getKey(), baseObjectClass, modifications);
@@ -277,6 +284,155 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
         }
     }
 
+    @Override
+    public void merge(Collection<?> entries) {
+		if (entries == null) {
+			throw new MappingException("Entries to merge is null");
+		}
+
+		// Group entries by table and attributes to load current attributes of them with one query
+		Map<List<String>, Map<String, Object>> entriesByLoadRequest = new LinkedHashMap<>();
+		Set<String> mergedKeys = new HashSet<>();
+		for (Object entry : entries) {
+			if (entry == null) {
+				throw new MappingException("Entry to merge is null");
+			}
+
+			Class<?> entryClass = entry.getClass();
+	        checkEntryClass(entryClass, true);
+	        if (isSchemaEntry(entryClass)) {
+	            throw new UnsupportedOperationException("Server doesn't support dynamic schema modifications");
+	        }
+
+			String dn = getDNValue(entry, entryClass).toString();
+			String[] objectClasses = getObjectClasses(entry, entryClass);
+
+			List<String> loadRequest = new ArrayList<>();
+			loadRequest.add(getBaseObjectClassForDataOperation(objectClasses));
+			if (isLoadBeforeMerge(entryClass, false)) {
+				loadRequest.addAll(Arrays.asList(getMergeReturnAttributes(entry, objectClasses, false)));
+			}
+
+			// Batch update applies one set of modifications per row, so order of several changes of entry is undefined
+			if (!mergedKeys.add(toSQLKey(dn).getKey())) {
+				throw new MappingException(String.format("Entries to merge contain entry '%s' more than once", dn));
+			}
+
+			entriesByLoadRequest.computeIfAbsent(loadRequest, k -> new LinkedHashMap<>()).put(toSQLKey(dn).getKey(), entry);
+		}
+
+		// Group modifications by table to update entries with JDBC batches
+		Map<String, Map<String, List<AttributeDataModification>>> modificationsByObjectClass = new LinkedHashMap<>();
+		for (Entry<List<String>, Map<String, Object>> entriesByLoadRequestEntry : entriesByLoadRequest.entrySet()) {
+			List<String> loadRequest = entriesByLoadRequestEntry.getKey();
+			Map<String, Object> entriesByKey = entriesByLoadRequestEntry.getValue();
+
+			String baseObjectClass = loadRequest.get(0);
+			Map<String, List<AttributeData>> attributesByKey = loadEntriesForMerge(baseObjectClass, entriesByKey, loadRequest.subList(1, loadRequest.size()));
+
+			for (Entry<String, Object> entryByKey : entriesByKey.entrySet()) {
+				Object entry = entryByKey.getValue();
+				Class<?> entryClass = entry.getClass();
+				String dn = getDNValue(entry, entryClass).toString();
+
+				List<AttributeData> attributesFromDb;
+				if (isLoadBeforeMerge(entryClass, false)) {
+					attributesFromDb = attributesByKey.get(entryByKey.getKey());
+					if (attributesFromDb == null) {
+						throw new EntryPersistenceException(String.format("Failed to find entry: '%s'", dn));
+					}
+				} else {
+					attributesFromDb = new ArrayList<>();
+				}
+
+				List<AttributeDataModification> attributeDataModifications = collectMergeModifications(entry, entryClass, dn, attributesFromDb, false, false, null);
+		    	List<AttributeDataModification> modifications = toSqlModifications(baseObjectClass, attributeDataModifications);
+		    	if (modifications.size() > 0) {
+		    		modificationsByObjectClass.computeIfAbsent(baseObjectClass, k -> new LinkedHashMap<>()).put(entryByKey.getKey(), modifications);
+		    	}
+			}
+		}
+
+		for (Entry<String, Map<String, List<AttributeDataModification>>> modificationsByObjectClassEntry : modificationsByObjectClass.entrySet()) {
+			try {
+				getOperationService().updateEntries(modificationsByObjectClassEntry.getKey(), modificationsByObjectClassEntry.getValue());
+	        } catch (Exception ex) {
+	            throw new EntryPersistenceException(String.format("Failed to update batch of '%s' entries", modificationsByObjectClassEntry.getKey()), ex);
+	        }
+		}
+    }
+
+	private Map<String, List<AttributeData>> loadEntriesForMerge(String baseObjectClass, Map<String, Object> entriesByKey, List<String> returnAttributes) {
+		if (returnAttributes.isEmpty()) {
+			// Entries with force update are merged without loading
+			return new HashMap<>();
+		}
+
+		try {
+			String[] internalAttributes = toInternalAttributes(baseObjectClass, returnAttributes.toArray(new String[0]));
+
+			Map<String, List<AttributeData>> result = new HashMap<>();
+			List<String> keys = new ArrayList<>(entriesByKey.keySet());
+			for (int start = 0; start < keys.size(); start += SqlOperationService.LOOKUP_KEYS_CHUNK_SIZE) {
+				List<String> chunkKeys = keys.subList(start, Math.min(start + SqlOperationService.LOOKUP_KEYS_CHUNK_SIZE, keys.size()));
+				result.putAll(getOperationService().lookup(chunkKeys, baseObjectClass, internalAttributes));
+			}
+
+			return result;
+        } catch (Exception ex) {
+            throw new EntryPersistenceException(String.format("Failed to find batch of '%s' entries", baseObjectClass), ex);
+        }
+	}
+
+	private List<AttributeDataModification> toSqlModifications(String baseObjectClass, List<AttributeDataModification> attributeDataModifications) {
+		List<AttributeDataModification> modifications = new ArrayList<AttributeDataModification>(attributeDataModifications.size());
+		for (AttributeDataModification attributeDataModification : attributeDataModifications) {
+		    AttributeData attribute = attributeDataModification.getAttribute();
+		    AttributeData oldAttribute = attributeDataModification.getOldAttribute();
+
+		    String attributeName = null;
+		    Object[] attributeValues = null;
+		    Boolean multiValued = null;
+		    Boolean jsonValue = null;
+		    if (attribute != null) {
+		        attributeName = attribute.getName();
+		        attributeValues = attribute.getValues();
+		        multiValued = attribute.getMultiValued();
+		        jsonValue = attribute.getJsonValue();
+		    }
+
+		    String oldAttributeName = null;
+		    Object[] oldAttributeValues = null;
+		    if (oldAttribute != null) {
+		        oldAttributeName = oldAttribute.getName();
+		        oldAttributeValues = oldAttribute.getValues();
+		    }
+		    
+		    AttributeDataModification modification = null;
+		    AttributeModificationType modificationType = attributeDataModification.getModificationType();
+			if ((AttributeModificationType.ADD == modificationType) ||
+		    	(AttributeModificationType.FORCE_UPDATE == modificationType)) {
+		        modification = createModification(modificationType, toInternalAttribute(baseObjectClass, attributeName), multiValued, jsonValue, attributeValues);
+		    } else {
+		        if ((AttributeModificationType.REMOVE == modificationType)) {
+		    		if ((attribute == null) && isEmptyAttributeValues(oldAttribute)) {
+						// It's RDBS case. We don't need to set null to already empty table cell
+		    			continue;
+		    		}
+		            modification = createModification(AttributeModificationType.REMOVE, toInternalAttribute(baseObjectClass, oldAttributeName), multiValued, jsonValue, oldAttributeValues);
+		        } else if ((AttributeModificationType.REPLACE == modificationType)) {
+		            modification = createModification(AttributeModificationType.REPLACE, toInternalAttribute(baseObjectClass, attributeName), multiValued, jsonValue, attributeValues);
+		        }
+		    }
+
+		    if (modification != null) {
+		        modifications.add(modification);
+		    }
+		}
+
+		return modifications;
+	}
+
     @Override
     public <T> void removeByDn(String dn, String[] objectClasses) {
     	if (ArrayHelper.isEmpty(objectClasses)) {
@@ -430,6 +586,55 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
         return result;
     }
 
+    @Override
+    public <T> Stream<T> streamEntries(String baseDN, Class<T> entryClass, Filter filter, SearchScope scope, String[] ldapReturnAttributes,
+            int count, int chunkSize) {
+        if (StringHelper.isEmptyString(baseDN)) {
+            throw new MappingException("Base DN to find entries is null");
+        }
+
+        // Check entry class
+        checkEntryClass(entryClass, false);
+        String[] objectClasses = getTypeObjectClasses(entryClass);
+
+        List<PropertyAnnotation> propertiesAnnotations = getEntryPropertyAnnotations(entryClass);
+        String[] currentLdapReturnAttributes = ldapReturnAttributes;
+        if (ArrayHelper.isEmpty(currentLdapReturnAttributes)) {
+            currentLdapReturnAttributes = getAttributes(null, propertiesAnnotations, false);
+        }
+
+        Filter searchFilter;
+        if (objectClasses.length > 0) {
+            searchFilter = addObjectClassFilter(filter, objectClasses);
+        } else {
+            searchFilter = filter;
+        }
+
+		// Prepare properties types to allow build filter properly
+        Map<String, PropertyAnnotation> propertiesAnnotationsMap = prepareEntryPropertiesTypes(entryClass, propertiesAnnotations);
+
+        ParsedKey keyWithInum = toSQLKey(baseDN);
+        String key = keyWithInum.getKey();
+        String baseObjectClass = getBaseObjectClass(entryClass, objectClasses);
+
+        ConvertedExpression convertedExpression;
+		try {
+			convertedExpression = toSqlFilter(key, baseObjectClass, searchFilter, propertiesAnnotationsMap);
+		} catch (SearchException ex) {
+            throw new EntryPersistenceException(String.format("Failed to convert filter '%s' to expression", searchFilter));
+		}
+
+        EntryDataCursor cursor;
+        try {
+            cursor = getOperationService().searchCursor(key, baseObjectClass, convertedExpression, scope,
+            		toInternalAttributes(baseObjectClass, currentLdapReturnAttributes), getDefaultSort(entryClass), count, chunkSize);
+        } catch (SearchException ex) {
+            throw new EntryPersistenceException(String.format("Failed to open cursor with key: '%s'", key), ex);
+        }
+
+        return toEntriesStream(cursor, entryData -> createEntities(entryClass, propertiesAnnotations, keyWithInum, entryData).get(0));
+    }
+
     protected <T> PagedResult<EntryData> findEntriesImpl(String baseDN, Class<T> entryClass, Filter filter, SearchScope scope,
             String[] ldapReturnAttributes, String sortBy, SortOrder sortOrder, BatchOperation<T> batchOperation, SearchReturnDataType returnDataType, int start,
             int count, int chunkSize) {
@@ -0,0 +1,76 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.sql.model;
+
+/**
+ * Precomputed mapping of result set columns to entry attributes. It allows to convert
+ * rows by column index without metadata lookups for each cell
+ */
+public class RowMapping {
+
+	public enum ColumnKind {
+		SKIP, JSON, SMALLINT, DATE, DEFAULT
+	}
+
+	private final String tableName;
+	private final ColumnMapping[] columns;
+
+	public RowMapping(final String tableName, final ColumnMapping[] columns) {
+		this.tableName = tableName;
+		this.columns = columns;
+	}
+
+	public String getTableName() {
+		return tableName;
+	}
+
+	public ColumnMapping[] getColumns() {
+		return columns;
+	}
+
+	public int getColumnsCount() {
+		return columns.length;
+	}
+
+	public static class ColumnMapping {
+
+		private final int index;
+		private final String attributeName;
+		private final ColumnKind kind;
+		private final boolean nullable;
+
+		public ColumnMapping(final int index, final String attributeName, final ColumnKind kind, final boolean nullable) {
+			this.index = index;
+			this.attributeName = attributeName;
+			this.kind = kind;
+			this.nullable = nullable;
+		}
+
+		public int getIndex() {
+			return index;
+		}
+
+		public String getAttributeName() {
+			return attributeName;
+		}
+
+		public ColumnKind getKind() {
+			return kind;
+		}
+
+		public boolean isNullable() {
+			return nullable;
+		}
+
+		@Override
+		public String toString() {
+			return "ColumnMapping [index=" + index + ", attributeName=" + attributeName + ", kind=" + kind + ", nullable=" + nullable + "]";
+		}
+
+	}
+
+}
@@ -11,6 +11,7 @@ import java.sql.DatabaseMetaData;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import com.querydsl.core.types.OrderSpecifier;
 
@@ -23,6 +24,7 @@ import io.jans.orm.exception.operation.SearchException;
 import io.jans.orm.model.AttributeData;
 import io.jans.orm.model.AttributeDataModification;
 import io.jans.orm.model.EntryData;
+import io.jans.orm.model.EntryDataCursor;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.SearchScope;
 import io.jans.orm.operation.PersistenceOperationService;
@@ -58,12 +60,19 @@ public interface SqlOperationService extends PersistenceOperationService {
 	public static final String SQL_DATA_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSS";
 	public static final Object[] NO_OBJECTS = new Object[0];
 
+	// Keys in one lookup statement, it keeps IN list and statement parameters count small
+	public static final int LOOKUP_KEYS_CHUNK_SIZE = 100;
+
     SqlConnectionProvider getConnectionProvider();
 
     boolean addEntry(String key, String objectClass, Collection<AttributeData> attributes) throws DuplicateEntryException, PersistenceException;
 
+    long addEntries(String objectClass, List<Collection<AttributeData>> entriesAttributes) throws DuplicateEntryException, PersistenceException;
+
     boolean updateEntry(String key, String objectClass, List<AttributeDataModification> mods) throws UnsupportedOperationException, PersistenceException;
 
+    long updateEntries(String objectClass, Map<String, List<AttributeDataModification>> entriesMods) throws UnsupportedOperationException, PersistenceException;
+
     boolean delete(String key, String objectClass) throws EntryNotFoundException;
 	long delete(String key, String objectClass, ConvertedExpression expression, int count) throws DeleteException;
 
@@ -71,10 +80,15 @@ public interface SqlOperationService extends PersistenceOperationService {
 
 	List<AttributeData> lookup(String key, String objectClass, String... attributes) throws SearchException, EntryConvertationException;
 
+	Map<String, List<AttributeData>> lookup(Collection<String> keys, String objectClass, String... attributes) throws SearchException, EntryConvertationException;
+
     <O> PagedResult<EntryData> search(String key, String objectClass, ConvertedExpression expression, SearchScope scope,
             String[] attributes, OrderSpecifier<?>[] orderBy, SqlBatchOperationWraper<O> batchOperationWraper, SearchReturnDataType returnDataType,
             int start, int count, int pageSize) throws SearchException;
 
+    EntryDataCursor searchCursor(String key, String objectClass, ConvertedExpression expression, SearchScope scope, String[] attributes,
+            OrderSpecifier<?>[] orderBy, int count, int fetchSize) throws SearchException;
+
     String[] createStoragePassword(String[] passwords);
     
     boolean isBinaryAttribute(String attribute);
@@ -23,7 +23,6 @@ import org.apache.commons.dbcp2.DriverManagerConnectionFactory;
 import org.apache.commons.dbcp2.PoolableConnection;
 import org.apache.commons.dbcp2.PoolableConnectionFactory;
 import org.apache.commons.dbcp2.PoolingDataSource;
-import org.apache.commons.pool2.ObjectPool;
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.slf4j.Logger;
@@ -38,6 +37,7 @@ import io.jans.orm.exception.KeyConversionException;
 import io.jans.orm.exception.operation.ConfigurationException;
 import io.jans.orm.exception.operation.ConnectionException;
 import io.jans.orm.model.AttributeType;
+import io.jans.orm.model.PagingMode;
 import io.jans.orm.operation.auth.PasswordEncryptionMethod;
 import io.jans.orm.sql.dsl.template.MariaDBJsonTemplates;
 import io.jans.orm.sql.dsl.template.MySQLJsonTemplates;
@@ -61,6 +61,8 @@ public class SqlConnectionProvider {
 
 	public static String DB_PROPERTY_MYSQL_SIMPLE_JSON = "mysql.simple-json";
 
+	public static String DB_PROPERTY_PAGING_MODE = "db.paging.mode";
+
 	private static final String MYSQL_QUERY_ENGINE_TYPE = "SELECT TABLE_NAME, ENGINE FROM information_schema.tables WHERE table_schema = ?";
 
 	private static final String MYSQL_QUERY_CONSTRAINT_CHECK = "SELECT CONSTRAINT_SCHEMA AS TABLE_SCHEMA, TABLE_NAME, CONSTRAINT_NAME, CHECK_CLAUSE AS DEFINITION FROM INFORMATION_SCHEMA.CHECK_CONSTRAINTS WHERE CONSTRAINT_SCHEMA = ? ORDER BY TABLE_SCHEMA, TABLE_NAME";
@@ -74,6 +76,7 @@ public class SqlConnectionProvider {
 
 	private GenericObjectPoolConfig<PoolableConnection> objectPoolConfig;
 	private PoolingDataSource<PoolableConnection> poolingDataSource;
+	private GenericObjectPool<PoolableConnection> objectPool;
 
 	private int creationResultCode;
 
@@ -98,6 +101,8 @@ public class SqlConnectionProvider {
 	
 	private boolean simpleJson = false;
 
+	private PagingMode pagingMode = PagingMode.OFFSET;
+
 	protected SqlConnectionProvider() {
 	}
 
@@ -153,6 +158,15 @@ public class SqlConnectionProvider {
 			disableTimeZone = StringHelper.toBoolean(props.getProperty("db.disable.time-zone"), false);
 		}
 
+		if (props.containsKey(DB_PROPERTY_PAGING_MODE)) {
+			PagingMode configuredPagingMode = PagingMode.getByValue(props.getProperty(DB_PROPERTY_PAGING_MODE));
+			if (configuredPagingMode == null) {
+				throw new ConfigurationException(String.format("Property '%s' has unsupported value '%s'!", DB_PROPERTY_PAGING_MODE, props.getProperty(DB_PROPERTY_PAGING_MODE)));
+			}
+			this.pagingMode = configuredPagingMode;
+		}
+		LOG.debug("Using paging mode: '{}'", pagingMode);
+
 		this.objectPoolConfig = new GenericObjectPoolConfig<>();
 
 		Integer cpMaxTotal = StringHelper.toInteger(props.getProperty("connection.pool.max-total"), null);
@@ -397,11 +411,29 @@ public class SqlConnectionProvider {
 	private void open() {
 		ConnectionFactory connectionFactory = new DriverManagerConnectionFactory(connectionUri, connectionProperties);
 		PoolableConnectionFactory poolableConnectionFactory = new PoolableConnectionFactory(connectionFactory, null);
-		ObjectPool<PoolableConnection> objectPool = new GenericObjectPool<>(poolableConnectionFactory,
+		GenericObjectPool<PoolableConnection> objectPool = new GenericObjectPool<>(poolableConnectionFactory,
 				objectPoolConfig);
 
 		this.poolingDataSource = new PoolingDataSource<>(objectPool);
 		poolableConnectionFactory.setPool(objectPool);
+		this.objectPool = objectPool;
+	}
+
+	public Map<String, Long> getPoolStatistics() {
+		Map<String, Long> statistics = new HashMap<>();
+		if (this.objectPool == null) {
+			return statistics;
+		}
+
+		statistics.put("active", (long) objectPool.getNumActive());
+		statistics.put("idle", (long) objectPool.getNumIdle());
+		statistics.put("waiters", (long) objectPool.getNumWaiters());
+		statistics.put("max_total", (long) objectPool.getMaxTotal());
+		statistics.put("created", objectPool.getCreatedCount());
+		statistics.put("destroyed", objectPool.getDestroyedCount());
+		statistics.put("max_borrow_wait_millis", objectPool.getMaxBorrowWaitTimeMillis());
+
+		return statistics;
 	}
 
 	public boolean destroy() {
@@ -537,4 +569,8 @@ public class SqlConnectionProvider {
 		return simpleJson;
 	}
 
+	public PagingMode getPagingMode() {
+		return pagingMode;
+	}
+
 }
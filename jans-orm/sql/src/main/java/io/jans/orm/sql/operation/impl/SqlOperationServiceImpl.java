@@ -19,13 +19,16 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +36,8 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.querydsl.core.QueryException;
 import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Order;
 import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Path;
@@ -43,10 +48,12 @@ import com.querydsl.core.types.dsl.Wildcard;
 import com.querydsl.sql.RelationalPathBase;
 import com.querydsl.sql.SQLQuery;
 import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.StatementOptions;
 import com.querydsl.sql.dml.SQLDeleteClause;
 import com.querydsl.sql.dml.SQLInsertClause;
 import com.querydsl.sql.dml.SQLUpdateClause;
 
+import io.jans.orm.exception.EntryPersistenceException;
 import io.jans.orm.exception.MappingException;
 import io.jans.orm.exception.operation.DeleteException;
 import io.jans.orm.exception.operation.DuplicateEntryException;
@@ -61,12 +68,17 @@ import io.jans.orm.model.AttributeDataModification.AttributeModificationType;
 import io.jans.orm.model.AttributeType;
 import io.jans.orm.model.BatchOperation;
 import io.jans.orm.model.EntryData;
+import io.jans.orm.model.EntryDataCursor;
 import io.jans.orm.model.PagedResult;
+import io.jans.orm.model.PagingMode;
 import io.jans.orm.model.SearchScope;
 import io.jans.orm.operation.auth.PasswordEncryptionHelper;
 import io.jans.orm.sql.impl.SqlBatchOperationWraper;
 import io.jans.orm.sql.model.ConvertedExpression;
 import io.jans.orm.sql.model.JsonString;
+import io.jans.orm.sql.model.RowMapping;
+import io.jans.orm.sql.model.RowMapping.ColumnKind;
+import io.jans.orm.sql.model.RowMapping.ColumnMapping;
 import io.jans.orm.sql.model.SearchReturnDataType;
 import io.jans.orm.sql.model.TableMapping;
 import io.jans.orm.sql.operation.SqlOperationService;
@@ -86,6 +98,8 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 
 	private static final ObjectMapper JSON_OBJECT_MAPPER = new ObjectMapper();
 
+	private static final int DEFAULT_CURSOR_FETCH_SIZE = 100;
+
     private Properties props;
     private SqlConnectionProvider connectionProvider;
 
@@ -102,6 +116,8 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 	private Path<String> docAlias = ExpressionUtils.path(String.class, DOC_ALIAS);
 	private Path<String> docInnerAlias = ExpressionUtils.path(String.class, DOC_INNER_ALIAS);
 
+	private Map<String, RowMapping> rowMappings = new ConcurrentHashMap<>();
+
     @SuppressWarnings("unused")
     private SqlOperationServiceImpl() {
     }
@@ -123,6 +139,11 @@ public class SqlOperationServiceImpl implements SqlOperationService {
         return connectionProvider;
     }
 
+    @Override
+    public Map<String, Long> getConnectionPoolStatistics() {
+        return connectionProvider.getPoolStatistics();
+    }
+
     @Override
     public boolean authenticate(String key, String password, String objectClass) throws SearchException {
         return authenticateImpl(key, password, objectClass);
@@ -184,36 +205,110 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 
 	private boolean addEntryImpl(TableMapping tableMapping, String key, Collection<AttributeData> attributes) throws PersistenceException {
 		try {
-			Map<String, AttributeType> columTypes = tableMapping.getColumTypes();
-
 			RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
 			SQLInsertClause sqlInsertQuery = this.sqlQueryFactory.insert(tableRelationalPath);
 
-			for (AttributeData attribute : attributes) {
-				AttributeType attributeType = getAttributeType(columTypes, attribute);
-				if (attributeType == null) {
-		            throw new PersistenceException(String.format("Failed to find attribute type for '%s'", attribute.getName()));
-				}
-
-				boolean multiValued = (attributeType != null) && isJsonColumn(tableMapping.getTableName(), attributeType.getType());
+			addInsertColumns(tableMapping, sqlInsertQuery, attributes);
 
-				if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
-					sqlInsertQuery.columns(Expressions.path(Object.class, attribute.getName()));
-					sqlInsertQuery.values(convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
-				} else {
-					sqlInsertQuery.columns(Expressions.stringPath(attribute.getName()));
-					sqlInsertQuery.values(attribute.getValue());
-				}
-			}
-			
 			long rowInserted = sqlInsertQuery.execute();
 
 			return rowInserted == 1;
         } catch (QueryException ex) {
+        	if (isDuplicateKeyError(ex)) {
+        		throw new DuplicateEntryException(key, ex);
+        	}
             throw new PersistenceException("Failed to add entry", ex);
         }
 	}
 
+    @Override
+    public long addEntries(String objectClass, List<Collection<AttributeData>> entriesAttributes) throws DuplicateEntryException, PersistenceException {
+        Instant startTime = OperationDurationUtil.instance().now();
+
+        TableMapping tableMapping = connectionProvider.getTableMappingByKey("_", objectClass);
+        long result = addEntriesImpl(tableMapping, entriesAttributes);
+
+        Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().logDebug("SQL operation: add_batch, duration: {}, table: {}, count: {}", duration, tableMapping.getTableName(), entriesAttributes.size());
+
+        return result;
+    }
+
+	private long addEntriesImpl(TableMapping tableMapping, List<Collection<AttributeData>> entriesAttributes) throws PersistenceException {
+		if (entriesAttributes.isEmpty()) {
+			return 0;
+		}
+
+		RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
+		try (Connection connection = connectionProvider.getConnection()) {
+			// Insert all entries in one transaction
+			boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			try {
+				SQLInsertClause sqlInsertQuery = new SQLInsertClause(connection, this.sqlQueryFactory.getConfiguration(), tableRelationalPath);
+				for (Collection<AttributeData> attributes : entriesAttributes) {
+					addInsertColumns(tableMapping, sqlInsertQuery, attributes);
+					sqlInsertQuery.addBatch();
+				}
+
+				long rowInserted = sqlInsertQuery.execute();
+				connection.commit();
+
+				return rowInserted;
+			} catch (QueryException | PersistenceException ex) {
+				connection.rollback();
+				if (isDuplicateKeyError(ex)) {
+					throw new DuplicateEntryException(String.format("one of batch of %d entries", entriesAttributes.size()), ex);
+				}
+				throw new PersistenceException(String.format("Failed to add batch of %d entries", entriesAttributes.size()), ex);
+			} finally {
+				connection.setAutoCommit(autoCommit);
+			}
+        } catch (SQLException ex) {
+            throw new PersistenceException("Failed to add batch of entries", ex);
+        }
+	}
+
+	/**
+	 * Unique constraint violation is reported with SQLState 23505 by PostgreSQL and with SQLState 23000 and error code
+	 * 1062 by MySQL. Other integrity constraint violations (e.g. not null) use the same SQLState class in MySQL.
+	 */
+	static boolean isDuplicateKeyError(Throwable ex) {
+		for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SQLException) {
+				for (SQLException sqlEx = (SQLException) cause; sqlEx != null; sqlEx = sqlEx.getNextException()) {
+					String sqlState = sqlEx.getSQLState();
+					if ("23505".equals(sqlState) || ("23000".equals(sqlState) && (sqlEx.getErrorCode() == 1062))) {
+						return true;
+					}
+				}
+			}
+		}
+
+		return false;
+	}
+
+	private void addInsertColumns(TableMapping tableMapping, SQLInsertClause sqlInsertQuery, Collection<AttributeData> attributes) throws PersistenceException {
+		Map<String, AttributeType> columTypes = tableMapping.getColumTypes();
+
+		for (AttributeData attribute : attributes) {
+			AttributeType attributeType = getAttributeType(columTypes, attribute);
+			if (attributeType == null) {
+	            throw new PersistenceException(String.format("Failed to find attribute type for '%s'", attribute.getName()));
+			}
+
+			boolean multiValued = (attributeType != null) && isJsonColumn(tableMapping.getTableName(), attributeType.getType());
+
+			if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
+				sqlInsertQuery.columns(Expressions.path(Object.class, attribute.getName()));
+				sqlInsertQuery.values(convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
+			} else {
+				sqlInsertQuery.columns(Expressions.stringPath(attribute.getName()));
+				sqlInsertQuery.values(attribute.getValue());
+			}
+		}
+	}
+
     @Override
     public boolean updateEntry(String key, String objectClass, List<AttributeDataModification> mods) throws UnsupportedOperationException, PersistenceException {
         Instant startTime = OperationDurationUtil.instance().now();
@@ -229,51 +324,105 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 
 	private boolean updateEntryImpl(TableMapping tableMapping, String key, List<AttributeDataModification> mods) throws PersistenceException {
 		try {
-			Map<String, AttributeType> columTypes = tableMapping.getColumTypes();
-
 			RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
 			SQLUpdateClause sqlUpdateQuery = this.sqlQueryFactory.update(tableRelationalPath);
 
-			for (AttributeDataModification attributeMod : mods) {
-				AttributeData attribute = attributeMod.getAttribute();
-				Path path = Expressions.stringPath(attribute.getName());
+			addUpdateModifications(tableMapping, sqlUpdateQuery, key, mods);
+
+			long rowInserted = sqlUpdateQuery.execute();
+
+			return rowInserted == 1;
+        } catch (QueryException ex) {
+            throw new PersistenceException("Failed to update entry", ex);
+        }
+	}
+
+    @Override
+    public long updateEntries(String objectClass, Map<String, List<AttributeDataModification>> entriesMods) throws UnsupportedOperationException, PersistenceException {
+        Instant startTime = OperationDurationUtil.instance().now();
+
+        TableMapping tableMapping = connectionProvider.getTableMappingByKey("_", objectClass);
+        long result = updateEntriesImpl(tableMapping, entriesMods);
 
-				AttributeType attributeType = getAttributeType(columTypes, attribute);
-				if (attributeType == null) {
-		            throw new PersistenceException(String.format("Failed to find attribute type for '%s'", attribute.getName()));
+        Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().logDebug("SQL operation: modify_batch, duration: {}, table: {}, count: {}", duration, tableMapping.getTableName(), entriesMods.size());
+
+        return result;
+    }
+
+	private long updateEntriesImpl(TableMapping tableMapping, Map<String, List<AttributeDataModification>> entriesMods) throws PersistenceException {
+		if (entriesMods.isEmpty()) {
+			return 0;
+		}
+
+		RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
+		try (Connection connection = connectionProvider.getConnection()) {
+			// Update all entries in one transaction
+			boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			try {
+				SQLUpdateClause sqlUpdateQuery = new SQLUpdateClause(connection, this.sqlQueryFactory.getConfiguration(), tableRelationalPath);
+				for (Map.Entry<String, List<AttributeDataModification>> entryMods : entriesMods.entrySet()) {
+					addUpdateModifications(tableMapping, sqlUpdateQuery, entryMods.getKey(), entryMods.getValue());
+					sqlUpdateQuery.addBatch();
 				}
 
-				boolean multiValued = (attributeType != null) && isJsonColumn(tableMapping.getTableName(), attributeType.getType());
-				
-				AttributeModificationType type = attributeMod.getModificationType();
-                if ((AttributeModificationType.ADD == type) || (AttributeModificationType.FORCE_UPDATE == type)) {
-					if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
-    					sqlUpdateQuery.set(path, convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
-    				} else {
-    					sqlUpdateQuery.set(path, attribute.getValue());
-    				}
-                } else if (AttributeModificationType.REPLACE == type) {
-					if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
-    					sqlUpdateQuery.set(path, convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
-    				} else {
-    					sqlUpdateQuery.set(path, attribute.getValue());
-    				}
-                } else if (AttributeModificationType.REMOVE == type) {
-    				sqlUpdateQuery.setNull(path);
-                } else {
-                    throw new UnsupportedOperationException("Operation type '" + type + "' is not implemented");
-                }
+				long rowUpdated = sqlUpdateQuery.execute();
+				// Each statement updates one row by primary key, so fewer updated rows means missing entries
+				if (rowUpdated != entriesMods.size()) {
+					throw new PersistenceException(String.format("Failed to update batch of %d entries, updated entries: %d", entriesMods.size(), rowUpdated));
+				}
+				connection.commit();
+
+				return rowUpdated;
+			} catch (QueryException | PersistenceException ex) {
+				connection.rollback();
+				throw new PersistenceException(String.format("Failed to update batch of %d entries", entriesMods.size()), ex);
+			} finally {
+				connection.setAutoCommit(autoCommit);
 			}
+        } catch (SQLException ex) {
+            throw new PersistenceException("Failed to update batch of entries", ex);
+        }
+	}
 
-			Predicate whereExp = ExpressionUtils.eq(Expressions.stringPath(SqlOperationService.DOC_ID),
-					Expressions.constant(key));
+	private void addUpdateModifications(TableMapping tableMapping, SQLUpdateClause sqlUpdateQuery, String key, List<AttributeDataModification> mods) throws PersistenceException {
+		Map<String, AttributeType> columTypes = tableMapping.getColumTypes();
 
-			long rowInserted = sqlUpdateQuery.where(whereExp).execute();
+		for (AttributeDataModification attributeMod : mods) {
+			AttributeData attribute = attributeMod.getAttribute();
+			Path path = Expressions.stringPath(attribute.getName());
 
-			return rowInserted == 1;
-        } catch (QueryException ex) {
-            throw new PersistenceException("Failed to update entry", ex);
-        }
+			AttributeType attributeType = getAttributeType(columTypes, attribute);
+			if (attributeType == null) {
+	            throw new PersistenceException(String.format("Failed to find attribute type for '%s'", attribute.getName()));
+			}
+
+			boolean multiValued = (attributeType != null) && isJsonColumn(tableMapping.getTableName(), attributeType.getType());
+			
+			AttributeModificationType type = attributeMod.getModificationType();
+            if ((AttributeModificationType.ADD == type) || (AttributeModificationType.FORCE_UPDATE == type)) {
+				if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
+					sqlUpdateQuery.set(path, convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
+				} else {
+					sqlUpdateQuery.set(path, attribute.getValue());
+				}
+            } else if (AttributeModificationType.REPLACE == type) {
+				if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
+					sqlUpdateQuery.set(path, convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
+				} else {
+					sqlUpdateQuery.set(path, attribute.getValue());
+				}
+            } else if (AttributeModificationType.REMOVE == type) {
+				sqlUpdateQuery.setNull(path);
+            } else {
+                throw new UnsupportedOperationException("Operation type '" + type + "' is not implemented");
+            }
+		}
+
+		Predicate whereExp = ExpressionUtils.eq(Expressions.stringPath(SqlOperationService.DOC_ID),
+				Expressions.constant(key));
+		sqlUpdateQuery.where(whereExp);
 	}
 
     @Override
@@ -394,7 +543,8 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 					.where(whereExp).limit(1);
 			
 			try (ResultSet resultSet = sqlSelectQuery.getResults();) {
-				List<AttributeData> result = getAttributeDataList(tableMapping, resultSet, true);
+				RowMapping rowMapping = getRowMapping(tableMapping, attributes, resultSet, true);
+				List<AttributeData> result = getAttributeDataList(rowMapping, resultSet);
 				if (result != null) {
 					return result;
 				}
@@ -406,6 +556,52 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 		throw new SearchException(String.format("Failed to lookup entry by key: '%s'", key));
 	}
 
+	@Override
+    public Map<String, List<AttributeData>> lookup(Collection<String> keys, String objectClass, String... attributes) throws SearchException, EntryConvertationException {
+        Instant startTime = OperationDurationUtil.instance().now();
+        
+    	TableMapping tableMapping = connectionProvider.getTableMappingByKey("_", objectClass);
+
+    	Map<String, List<AttributeData>> result = lookupImpl(tableMapping, keys, attributes);
+
+        Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().logDebug("SQL operation: lookup_batch, duration: {}, table: {}, count: {}, attributes: {}", duration, tableMapping.getTableName(), keys.size(), attributes);
+
+        return result;
+    }
+
+	private Map<String, List<AttributeData>> lookupImpl(TableMapping tableMapping, Collection<String> keys, String... attributes) throws SearchException, EntryConvertationException {
+		Map<String, List<AttributeData>> result = new HashMap<>();
+		if (keys.isEmpty()) {
+			return result;
+		}
+
+		try {
+			RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
+
+			Predicate whereExp = ExpressionUtils.in(Expressions.stringPath(SqlOperationService.DOC_ID), keys);
+			Expression<?> attributesExp = buildSelectAttributes(attributes);
+
+			SQLQuery<?> sqlSelectQuery = sqlQueryFactory.select(attributesExp).from(tableRelationalPath)
+					.where(whereExp);
+			
+			try (ResultSet resultSet = sqlSelectQuery.getResults();) {
+				RowMapping rowMapping = getRowMapping(tableMapping, attributes, resultSet, true);
+				// Select list ends with doc_id, see buildSelectAttributes()
+				int keyColumnIndex = rowMapping.getColumnsCount();
+
+				List<AttributeData> attributeDataList;
+				while ((attributeDataList = getAttributeDataList(rowMapping, resultSet)) != null) {
+					result.put(resultSet.getString(keyColumnIndex), attributeDataList);
+				}
+			}
+		} catch (SQLException | QueryException ex) {
+			throw new SearchException(String.format("Failed to lookup query by %d keys", keys.size()), ex);
+		}
+
+		return result;
+	}
+
 	@Override
     public <O> PagedResult<EntryData> search(String key, String objectClass, ConvertedExpression expression, SearchScope scope, String[] attributes, OrderSpecifier<?>[] orderBy,
                                               SqlBatchOperationWraper<O> batchOperationWraper, SearchReturnDataType returnDataType, int start, int count, int pageSize) throws SearchException {
@@ -451,7 +647,9 @@ public class SqlOperationServiceImpl implements SqlOperationService {
         String queryStr = null;
         if ((SearchReturnDataType.SEARCH == returnDataType) || (SearchReturnDataType.SEARCH_COUNT == returnDataType)) {
         	List<EntryData> lastResult = null;
-	        if (pageSize > 0) {
+	        if ((pageSize > 0) && isKeysetPaging(batchOperation, orderBy)) {
+	        	searchKeysetPagedImpl(tableMapping, key, expression, tableRelationalPath, attributes, attributesExp, batchOperationWraper, searchResultList, start, count, pageSize);
+	        } else if (pageSize > 0) {
 	            boolean collectSearchResult;
 	
 	            SQLQuery<?> query;
@@ -472,7 +670,7 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 	                    LOG.debug("Executing query: '" + queryStr + "'");
 
 	                    resultSet = query.getResults();
-	                    lastResult = getEntryDataList(tableMapping, resultSet);
+	                    lastResult = getEntryDataList(getRowMapping(tableMapping, attributes, resultSet, false), resultSet);
 
 		    			lastCountRows = lastResult.size();
 		    			
@@ -523,7 +721,7 @@ public class SqlOperationServiceImpl implements SqlOperationService {
                     LOG.debug("Execution query: '" + queryStr + "'");
 
                     try (ResultSet resultSet = query.getResults()) {
-		    			lastResult = getEntryDataList(tableMapping, resultSet);
+		    			lastResult = getEntryDataList(getRowMapping(tableMapping, attributes, resultSet, false), resultSet);
 		    			searchResultList.addAll(lastResult);
                     }
         		} catch (QueryException ex) {
@@ -573,6 +771,186 @@ public class SqlOperationServiceImpl implements SqlOperationService {
         return result;
     }
 
+	private boolean isKeysetPaging(BatchOperation<?> batchOperation, OrderSpecifier<?>[] orderBy) {
+		PagingMode pagingMode = connectionProvider.getPagingMode();
+		if ((batchOperation != null) && (batchOperation.getPagingMode() != null)) {
+			pagingMode = batchOperation.getPagingMode();
+		}
+
+		if (PagingMode.KEYSET != pagingMode) {
+			return false;
+		}
+
+		if (ArrayHelper.isNotEmpty(orderBy)) {
+			// Seek by key is possible only when result ordered by this key
+			LOG.debug("Keyset paging is not supported with custom sort order '{}'. Using offset paging", (Object) orderBy);
+			return false;
+		}
+
+		return true;
+	}
+
+	private <O> void searchKeysetPagedImpl(TableMapping tableMapping, String key, ConvertedExpression expression, RelationalPathBase<Object> tableRelationalPath,
+			String[] attributes, Expression<?> attributesExp, SqlBatchOperationWraper<O> batchOperationWraper, List<EntryData> searchResultList, int start, int count, int pageSize) throws SearchException {
+        BatchOperation<O> batchOperation = null;
+        if (batchOperationWraper != null) {
+            batchOperation = (BatchOperation<O>) batchOperationWraper.getBatchOperation();
+        }
+
+        Path<String> docIdPath = Expressions.stringPath(docAlias, DOC_ID);
+        OrderSpecifier<String> docIdOrder = new OrderSpecifier<>(Order.ASC, docIdPath);
+
+        String queryStr = null;
+        String lastKey = null;
+        try {
+            int resultCount = 0;
+            int lastCountRows = 0;
+            do {
+                int currentLimit = pageSize;
+                if (count > 0) {
+                    currentLimit = Math.min(pageSize, count - resultCount);
+                }
+
+                // Seek after last loaded key instead of skipping already loaded rows
+                Predicate whereExp = null;
+                if (expression != null) {
+                	whereExp = (Predicate) expression.expression();
+                }
+                if (lastKey != null) {
+                	whereExp = ExpressionUtils.and(whereExp, ExpressionUtils.predicate(Ops.GT, docIdPath, Expressions.constant(lastKey)));
+                }
+
+                SQLQuery<?> query = sqlQueryFactory.select(attributesExp).from(tableRelationalPath);
+                if (whereExp != null) {
+                	query = query.where(whereExp);
+                }
+                query = query.orderBy(docIdOrder).limit(currentLimit);
+                if ((lastKey == null) && (start > 0)) {
+                	query = query.offset(start);
+                }
+
+                queryStr = query.getSQL().getSQL();
+                LOG.debug("Executing query: '" + queryStr + "'");
+
+                List<EntryData> lastResult = new LinkedList<>();
+                try (ResultSet resultSet = query.getResults()) {
+                	RowMapping rowMapping = getRowMapping(tableMapping, attributes, resultSet, false);
+                	while (!resultSet.isLast()) {
+                		List<AttributeData> attributeDataList = getAttributeDataList(rowMapping, resultSet);
+                		if (attributeDataList == null) {
+                			break;
+                		}
+
+                		lastResult.add(new EntryData(attributeDataList));
+                		lastKey = resultSet.getString(DOC_ID);
+                	}
+                }
+
+                lastCountRows = lastResult.size();
+
+                boolean collectSearchResult = true;
+                if (batchOperation != null) {
+                    collectSearchResult = batchOperation.collectSearchResult(lastCountRows);
+                }
+                if (collectSearchResult) {
+                    searchResultList.addAll(lastResult);
+                }
+
+                if (batchOperation != null) {
+                    List<O> entries = batchOperationWraper.createEntities(lastResult);
+                    batchOperation.performAction(entries);
+                }
+
+                resultCount += lastCountRows;
+
+                if (((count > 0) && (resultCount >= count)) || (lastCountRows < currentLimit)) {
+                    break;
+                }
+            } while (lastCountRows > 0);
+		} catch (QueryException ex) {
+			throw new SearchException(String.format("Failed to build keyset search entries query. Key: '%s', expression: '%s'", key, expression), ex);
+		} catch (SQLException | EntryConvertationException ex) {
+			throw new SearchException(String.format("Failed to execute query '%s'  with key: '%s'", queryStr, key), ex);
+		}
+	}
+
+	@Override
+	public EntryDataCursor searchCursor(String key, String objectClass, ConvertedExpression expression, SearchScope scope, String[] attributes,
+			OrderSpecifier<?>[] orderBy, int count, int fetchSize) throws SearchException {
+        Instant startTime = OperationDurationUtil.instance().now();
+
+        TableMapping tableMapping = connectionProvider.getTableMappingByKey(key, objectClass);
+
+        EntryDataCursor result = searchCursorImpl(tableMapping, key, expression, attributes, orderBy, count, fetchSize);
+
+        Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().logDebug("SQL operation: search_cursor, duration: {}, table: {}, key: {}, expression: {}, scope: {}, attributes: {}, orderBy: {}, count: {}, fetchSize: {}", duration, tableMapping.getTableName(), key, expression, scope, attributes, orderBy, count, fetchSize);
+
+        return result;
+	}
+
+	private EntryDataCursor searchCursorImpl(TableMapping tableMapping, String key, ConvertedExpression expression, String[] attributes,
+			OrderSpecifier<?>[] orderBy, int count, int fetchSize) throws SearchException {
+		RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
+
+		Expression<?> attributesExp = buildSelectAttributes(attributes);
+
+		// Cursor owns connection until all rows are read or cursor is closed
+		Connection connection = connectionProvider.getConnection();
+		String queryStr = null;
+		try {
+			// PostgreSQL driver uses server side cursor only inside transaction
+			connection.setAutoCommit(false);
+
+			SQLQuery<?> query = new SQLQuery<Void>(connection, sqlQueryFactory.getConfiguration()).select(attributesExp).from(tableRelationalPath);
+			if (expression != null) {
+				query = query.where((Predicate) expression.expression());
+			}
+			if (orderBy != null) {
+				query = query.orderBy(orderBy);
+			}
+			if (count > 0) {
+				query = query.limit(count);
+			}
+			query.setStatementOptions(StatementOptions.builder().setFetchSize(getCursorFetchSize(fetchSize)).build());
+
+			queryStr = query.getSQL().getSQL();
+			LOG.debug("Opening cursor for query: '" + queryStr + "'");
+
+			ResultSet resultSet = query.getResults();
+
+			return new SqlEntryDataCursor(connection, resultSet, getRowMapping(tableMapping, attributes, resultSet, false));
+		} catch (QueryException ex) {
+			releaseCursorConnection(connection);
+			throw new SearchException(String.format("Failed to build cursor search entries query. Key: '%s', expression: '%s'", key, expression), ex);
+		} catch (SQLException ex) {
+			releaseCursorConnection(connection);
+			throw new SearchException(String.format("Failed to open cursor for query '%s'  with key: '%s'", queryStr, key), ex);
+		}
+	}
+
+	private int getCursorFetchSize(int fetchSize) {
+		if (SupportedDbType.MYSQL == dbType) {
+			// MySQL driver streams rows one by one only with this special fetch size
+			return Integer.MIN_VALUE;
+		}
+
+		return fetchSize > 0 ? fetchSize : DEFAULT_CURSOR_FETCH_SIZE;
+	}
+
+	private void releaseCursorConnection(Connection connection) {
+		try {
+			// Connection might be already released by query close listener
+			if (!connection.isClosed()) {
+				connection.rollback();
+				connection.setAutoCommit(true);
+				connection.close();
+			}
+		} catch (SQLException ex) {
+			LOG.warn("Failed to release cursor connection", ex);
+		}
+	}
+
 	public String[] createStoragePassword(String[] passwords) {
         if (ArrayHelper.isEmpty(passwords)) {
             return passwords;
@@ -590,7 +968,60 @@ public class SqlOperationServiceImpl implements SqlOperationService {
         return results;
     }
 
-    private List<AttributeData> getAttributeDataList(TableMapping tableMapping, ResultSet resultSet, boolean skipDn) throws EntryConvertationException {
+    private RowMapping getRowMapping(TableMapping tableMapping, String[] attributes, ResultSet resultSet, boolean skipDn) throws SQLException {
+    	String mappingKey = tableMapping.getTableName() + "_" + skipDn + "_" + Arrays.toString(attributes);
+
+    	ResultSetMetaData metaData = resultSet.getMetaData();
+    	int columnsCount = metaData.getColumnCount();
+
+    	RowMapping rowMapping = rowMappings.get(mappingKey);
+    	if ((rowMapping == null) || (rowMapping.getColumnsCount() != columnsCount)) {
+    		// Table can get new columns after adding new attributes to schema
+    		rowMapping = buildRowMapping(tableMapping, metaData, columnsCount, skipDn);
+    		rowMappings.put(mappingKey, rowMapping);
+    	}
+
+    	return rowMapping;
+    }
+
+    private RowMapping buildRowMapping(TableMapping tableMapping, ResultSetMetaData metaData, int columnsCount, boolean skipDn) throws SQLException {
+    	ColumnMapping[] columns = new ColumnMapping[columnsCount];
+        for (int i = 1; i <= columnsCount; i++) {
+        	String shortAttributeName = metaData.getColumnName(i);
+        	String columnTypeName = metaData.getColumnTypeName(i).toLowerCase();
+        	int columnType = metaData.getColumnType(i);
+        	boolean isNullable = metaData.isNullable(i) == ResultSetMetaData.columnNullable;
+
+        	ColumnKind kind;
+        	if (SqlOperationService.DOC_ID.equalsIgnoreCase(shortAttributeName) ||
+        		SqlOperationService.ID.equalsIgnoreCase(shortAttributeName)) {
+        		// Skip internal attributes 
+        		kind = ColumnKind.SKIP;
+        	} else if (skipDn && SqlOperationService.DN.equalsIgnoreCase(shortAttributeName)) {
+        		// Skip DN attribute 
+        		kind = ColumnKind.SKIP;
+        	} else if (isJsonColumn(tableMapping.getTableName(), columnTypeName)) {
+        		kind = ColumnKind.JSON;
+        	} else if (columnType == java.sql.Types.SMALLINT) {
+        		kind = ColumnKind.SMALLINT;
+        	} else if ((columnType == java.sql.Types.TIMESTAMP) || (columnType == java.sql.Types.TIMESTAMP_WITH_TIMEZONE) ||
+        			(columnType == java.sql.Types.DATE) || (columnType == java.sql.Types.TIME)) {
+        		kind = ColumnKind.DATE;
+        	} else {
+        		kind = ColumnKind.DEFAULT;
+        	}
+
+        	String attributeName = fromInternalAttribute(tableMapping.getTableName(), shortAttributeName);
+        	columns[i - 1] = new ColumnMapping(i, attributeName, kind, isNullable);
+        }
+
+        RowMapping rowMapping = new RowMapping(tableMapping.getTableName(), columns);
+        LOG.debug("Built row mapping for table '{}': {}", tableMapping.getTableName(), (Object) columns);
+
+        return rowMapping;
+    }
+
+    private List<AttributeData> getAttributeDataList(RowMapping rowMapping, ResultSet resultSet) throws EntryConvertationException {
         try {
             if ((resultSet == null)) {
                 return null;
@@ -600,81 +1031,33 @@ public class SqlOperationServiceImpl implements SqlOperationService {
             	return null;
             }
 
-            List<AttributeData> result = new ArrayList<AttributeData>();
-	        int columnsCount = resultSet.getMetaData().getColumnCount();
-	        for (int i = 1; i <= columnsCount; i++) {
-	        	ResultSetMetaData metaData = resultSet.getMetaData();
-	        	String shortAttributeName = metaData.getColumnName(i);
-	        	String columnTypeName = metaData.getColumnTypeName(i).toLowerCase();
-	        	boolean isNullable = metaData.isNullable(i) == ResultSetMetaData.columnNullable;
-
-	        	Object attributeObject = resultSet.getObject(shortAttributeName);
-
-	        	if (SqlOperationService.DOC_ID.equalsIgnoreCase(shortAttributeName) ||
-	        		SqlOperationService.ID.equalsIgnoreCase(shortAttributeName)) {
-	        		// Skip internal attributes 
+            ColumnMapping[] columns = rowMapping.getColumns();
+            List<AttributeData> result = new ArrayList<AttributeData>(columns.length);
+	        for (ColumnMapping column : columns) {
+	        	if (ColumnKind.SKIP == column.getKind()) {
 	        		continue;
 	        	}
 
-	        	if (skipDn && SqlOperationService.DN.equalsIgnoreCase(shortAttributeName)) {
-	        		// Skip DN attribute 
-	        		continue;
-	        	}
+	        	Object attributeObject = resultSet.getObject(column.getIndex());
 
-	        	String attributeName = fromInternalAttribute(tableMapping.getTableName(), shortAttributeName);
-	
 	        	Boolean multiValued = Boolean.FALSE;
 	            Object[] attributeValueObjects;
 	            if (attributeObject == null) {
 	                attributeValueObjects = NO_OBJECTS;
-	                if (isNullable) {
+	                if (column.isNullable()) {
 	                	// Ignore columns with default NULL values
 	                	continue;
 	                }
+	            } else if (ColumnKind.JSON == column.getKind()) {
+            		attributeValueObjects = convertDbJsonToValue(attributeObject.toString());
+            		multiValued = Boolean.TRUE;
 	            } else {
-	            	if (isJsonColumn(tableMapping.getTableName(), columnTypeName)) {
-	            		attributeValueObjects = convertDbJsonToValue(attributeObject.toString());
-	            		multiValued = Boolean.TRUE;
-	            	} else if (attributeObject instanceof Integer) {
-						int columnType = resultSet.getMetaData().getColumnType(i);
-						if (columnType == java.sql.Types.SMALLINT) {
-							if (attributeObject.equals(0)) {
-								attributeObject = Boolean.FALSE;
-							} else if (attributeObject.equals(1)) {
-								attributeObject = Boolean.TRUE;
-							}
-						}
-
-						attributeValueObjects = new Object[] { attributeObject };
-					} else if ((attributeObject instanceof Boolean) || (attributeObject instanceof Long)) {
-						attributeValueObjects = new Object[] { attributeObject };
-					} else if (attributeObject instanceof String) {
-						Object value = attributeObject.toString();
-						Date dateValue = decodeTime(attributeObject.toString(), true);
-						if (dateValue != null) {
-							value = dateValue;
-						}
-
-						attributeValueObjects = new Object[] { value };
-					} else if (attributeObject instanceof Timestamp) {
-						attributeValueObjects = new Object[] {
-								new java.util.Date(((Timestamp) attributeObject).getTime()) };
-					} else if (attributeObject instanceof LocalDateTime) {
-						attributeValueObjects = new Object[] {
-								new java.util.Date(Timestamp.valueOf((LocalDateTime) attributeObject).getTime()) };
-					} else {
-						Object value = attributeObject.toString();
-						attributeValueObjects = new Object[] { value };
-					}
+	            	attributeValueObjects = new Object[] { convertColumnValue(column, attributeObject) };
 	            }
 	            
 	            unescapeValues(attributeValueObjects);
 	
-	            AttributeData tmpAttribute = new AttributeData(attributeName, attributeValueObjects, multiValued);
-	            if (multiValued != null) {
-	            	tmpAttribute.setMultiValued(multiValued);
-	            }
-	            result.add(tmpAttribute);
+	            result.add(new AttributeData(column.getAttributeName(), attributeValueObjects, multiValued));
 	        }
 
 	        return result;
@@ -683,11 +1066,43 @@ public class SqlOperationServiceImpl implements SqlOperationService {
         }
     }
 
-    private List<EntryData> getEntryDataList(TableMapping tableMapping, ResultSet resultSet) throws EntryConvertationException, SQLException {
+	private Object convertColumnValue(ColumnMapping column, Object attributeObject) {
+		if (attributeObject instanceof Integer) {
+			if (ColumnKind.SMALLINT == column.getKind()) {
+				if (attributeObject.equals(0)) {
+					return Boolean.FALSE;
+				} else if (attributeObject.equals(1)) {
+					return Boolean.TRUE;
+				}
+			}
+
+			return attributeObject;
+		} else if ((attributeObject instanceof Boolean) || (attributeObject instanceof Long)) {
+			return attributeObject;
+		} else if (attributeObject instanceof String) {
+			if (ColumnKind.DATE == column.getKind()) {
+				// Driver can return date column value as string
+				Date dateValue = decodeTime((String) attributeObject, true);
+				if (dateValue != null) {
+					return dateValue;
+				}
+			}
+
+			return attributeObject;
+		} else if (attributeObject instanceof Timestamp) {
+			return new java.util.Date(((Timestamp) attributeObject).getTime());
+		} else if (attributeObject instanceof LocalDateTime) {
+			return new java.util.Date(Timestamp.valueOf((LocalDateTime) attributeObject).getTime());
+		}
+
+		return attributeObject.toString();
+	}
+
+    private List<EntryData> getEntryDataList(RowMapping rowMapping, ResultSet resultSet) throws EntryConvertationException, SQLException {
     	List<EntryData> entryDataList = new LinkedList<>();
 
     	while (!resultSet.isLast()) {
-    		List<AttributeData> attributeDataList = getAttributeDataList(tableMapping, resultSet, false);
+    		List<AttributeData> attributeDataList = getAttributeDataList(rowMapping, resultSet);
     		if (attributeDataList == null) {
     			break;
     		}
@@ -699,6 +1114,80 @@ public class SqlOperationServiceImpl implements SqlOperationService {
     	return entryDataList;
 	}
 
+    private class SqlEntryDataCursor implements EntryDataCursor {
+
+		private final Connection connection;
+		private final ResultSet resultSet;
+		private final RowMapping rowMapping;
+
+		private EntryData nextEntry;
+		private boolean closed = false;
+
+		SqlEntryDataCursor(Connection connection, ResultSet resultSet, RowMapping rowMapping) {
+			this.connection = connection;
+			this.resultSet = resultSet;
+			this.rowMapping = rowMapping;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (nextEntry != null) {
+				return true;
+			}
+
+			if (closed) {
+				return false;
+			}
+
+			List<AttributeData> attributeDataList;
+			try {
+				attributeDataList = getAttributeDataList(rowMapping, resultSet);
+			} catch (EntryConvertationException ex) {
+				close();
+				throw new EntryPersistenceException("Failed to read next entry from cursor", ex);
+			}
+
+			if (attributeDataList == null) {
+				// Return connection to pool as soon as all rows were read
+				close();
+				return false;
+			}
+
+			nextEntry = new EntryData(attributeDataList);
+
+			return true;
+		}
+
+		@Override
+		public EntryData next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			EntryData result = nextEntry;
+			nextEntry = null;
+
+			return result;
+		}
+
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+
+			try {
+				resultSet.close();
+			} catch (SQLException ex) {
+				LOG.warn("Failed to close cursor result set", ex);
+			} finally {
+				releaseCursorConnection(connection);
+			}
+		}
+
+    }
+
     @Override
     public boolean isBinaryAttribute(String attribute) {
         return this.connectionProvider.isBinaryAttribute(attribute);
@@ -0,0 +1,36 @@
+package io.jans.orm.sql.impl.test;
+
+import io.jans.orm.annotation.AttributeName;
+import io.jans.orm.annotation.DN;
+import io.jans.orm.annotation.DataEntry;
+import io.jans.orm.annotation.ObjectClass;
+
+/**
+ * Entry of "jansTestEntry" table used by tests of SQL entry manager
+ */
+@DataEntry
+@ObjectClass(value = "jansTestEntry")
+public class SimpleEntry {
+
+	@DN
+	private String dn;
+
+	@AttributeName(name = "jansId")
+	private String id;
+
+	public String getDn() {
+		return dn;
+	}
+
+	public void setDn(String dn) {
+		this.dn = dn;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+}
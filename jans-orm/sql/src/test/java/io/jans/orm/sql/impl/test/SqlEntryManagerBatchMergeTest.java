@@ -0,0 +1,196 @@
+package io.jans.orm.sql.impl.test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.jans.orm.annotation.AttributeName;
+import io.jans.orm.annotation.DN;
+import io.jans.orm.annotation.DataEntry;
+import io.jans.orm.annotation.ObjectClass;
+import io.jans.orm.exception.EntryPersistenceException;
+import io.jans.orm.exception.MappingException;
+import io.jans.orm.model.AttributeData;
+import io.jans.orm.model.AttributeDataModification;
+import io.jans.orm.sql.impl.SqlEntryManager;
+import io.jans.orm.sql.operation.SqlOperationService;
+import io.jans.orm.sql.operation.impl.SqlConnectionProvider;
+
+/**
+ * Database is simulated by a map of stored attributes per key
+ */
+@SuppressWarnings("unchecked")
+public class SqlEntryManagerBatchMergeTest {
+
+	private SqlOperationService operationService;
+	private SqlEntryManager entryManager;
+
+	private Map<String, List<AttributeData>> storedEntries;
+
+	@BeforeMethod
+	public void setUp() throws Exception {
+		storedEntries = new HashMap<>();
+
+		operationService = mock(SqlOperationService.class);
+		when(operationService.getConnectionProvider()).thenReturn(new SqlConnectionProvider(null));
+		when(operationService.toInternalAttributes(anyString(), any(String[].class))).thenAnswer(invocation -> invocation.getArgument(1));
+		when(operationService.toInternalAttribute(anyString(), anyString())).thenAnswer(invocation -> invocation.getArgument(1));
+		when(operationService.lookup(anyCollection(), anyString(), any(String[].class))).thenAnswer(invocation -> {
+			Map<String, List<AttributeData>> result = new HashMap<>();
+			for (String key : (Collection<String>) invocation.getArgument(0)) {
+				if (storedEntries.containsKey(key)) {
+					result.put(key, storedEntries.get(key));
+				}
+			}
+			return result;
+		});
+		when(operationService.updateEntries(anyString(), anyMap())).thenAnswer(invocation -> (long) ((Map<?, ?>) invocation.getArgument(1)).size());
+
+		entryManager = new SqlEntryManager(operationService) {
+		};
+	}
+
+	@Test
+	public void merge_batchOfEntries_shouldLoadThemWithOneLookup() throws Exception {
+		store("1", "old1");
+		store("2", "old2");
+
+		entryManager.merge(Arrays.asList(new TestEntry("1", "new1"), new TestEntry("2", "new2")));
+
+		verify(operationService, times(1)).lookup(anyCollection(), eq("jansTestEntry"), any(String[].class));
+		verify(operationService, never()).lookup(anyString(), anyString(), any(String[].class));
+
+		ArgumentCaptor<Map<String, List<AttributeDataModification>>> captor = ArgumentCaptor.forClass(Map.class);
+		verify(operationService).updateEntries(eq("jansTestEntry"), captor.capture());
+
+		Map<String, List<AttributeDataModification>> modifications = captor.getValue();
+		assertEquals(modifications.size(), 2);
+		assertEquals(modifications.get("1").get(0).getAttribute().getValue(), "new1");
+		assertEquals(modifications.get("2").get(0).getAttribute().getValue(), "new2");
+	}
+
+	@Test
+	public void merge_batchOfEntries_shouldSkipUnchangedOnes() throws Exception {
+		store("1", "old1");
+		store("2", "same");
+
+		entryManager.merge(Arrays.asList(new TestEntry("1", "new1"), new TestEntry("2", "same")));
+
+		ArgumentCaptor<Map<String, List<AttributeDataModification>>> captor = ArgumentCaptor.forClass(Map.class);
+		verify(operationService).updateEntries(eq("jansTestEntry"), captor.capture());
+		assertEquals(captor.getValue().keySet(), Collections.singleton("1"));
+	}
+
+	@Test(expectedExceptions = EntryPersistenceException.class)
+	public void merge_batchWithMissingEntry_shouldFail() throws Exception {
+		store("1", "old1");
+
+		entryManager.merge(Arrays.asList(new TestEntry("1", "new1"), new TestEntry("2", "new2")));
+	}
+
+	@Test
+	public void merge_largeBatch_shouldLoadEntriesInChunks() throws Exception {
+		List<TestEntry> entries = new ArrayList<>();
+		for (int i = 0; i < 250; i++) {
+			store(String.valueOf(i), "old");
+			entries.add(new TestEntry(String.valueOf(i), "new"));
+		}
+
+		entryManager.merge(entries);
+
+		ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+		verify(operationService, times(3)).lookup(captor.capture(), eq("jansTestEntry"), any(String[].class));
+		assertEquals(captor.getAllValues().get(0).size(), SqlOperationService.LOOKUP_KEYS_CHUNK_SIZE);
+		assertEquals(captor.getAllValues().get(2).size(), 50);
+
+		ArgumentCaptor<Map<String, List<AttributeDataModification>>> modificationsCaptor = ArgumentCaptor.forClass(Map.class);
+		verify(operationService).updateEntries(eq("jansTestEntry"), modificationsCaptor.capture());
+		assertEquals(modificationsCaptor.getValue().size(), 250);
+	}
+
+	@Test(expectedExceptions = MappingException.class)
+	public void merge_batchWithDuplicateEntry_shouldFail() throws Exception {
+		store("1", "old1");
+
+		try {
+			entryManager.merge(Arrays.asList(new TestEntry("1", "new1"), new TestEntry("1", "new2")));
+		} finally {
+			verify(operationService, never()).updateEntries(anyString(), anyMap());
+		}
+	}
+
+	private void store(String id, String description) {
+		storedEntries.put(id, Arrays.asList(
+				new AttributeData("objectClass", "jansTestEntry"),
+				new AttributeData("jansId", id),
+				new AttributeData("description", description)));
+	}
+
+	@DataEntry
+	@ObjectClass(value = "jansTestEntry")
+	public static class TestEntry {
+
+		@DN
+		private String dn;
+
+		@AttributeName(name = "jansId")
+		private String id;
+
+		@AttributeName(name = "description")
+		private String description;
+
+		public TestEntry() {
+		}
+
+		public TestEntry(String id, String description) {
+			this.dn = String.format("jansId=%s,ou=test,o=jans", id);
+			this.id = id;
+			this.description = description;
+		}
+
+		public String getDn() {
+			return dn;
+		}
+
+		public void setDn(String dn) {
+			this.dn = dn;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		public void setId(String id) {
+			this.id = id;
+		}
+
+		public String getDescription() {
+			return description;
+		}
+
+		public void setDescription(String description) {
+			this.description = description;
+		}
+	}
+
+}
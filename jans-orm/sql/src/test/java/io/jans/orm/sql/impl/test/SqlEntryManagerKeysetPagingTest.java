@@ -0,0 +1,266 @@
+package io.jans.orm.sql.impl.test;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.mockito.Mockito;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.PostgreSQLTemplates;
+import com.querydsl.sql.SQLQueryFactory;
+
+import io.jans.orm.model.AttributeType;
+import io.jans.orm.model.DefaultBatchOperation;
+import io.jans.orm.model.PagedResult;
+import io.jans.orm.model.PagingMode;
+import io.jans.orm.model.SortOrder;
+import io.jans.orm.search.filter.Filter;
+import io.jans.orm.sql.impl.SqlEntryManager;
+import io.jans.orm.sql.model.TableMapping;
+import io.jans.orm.sql.operation.SupportedDbType;
+import io.jans.orm.sql.operation.impl.SqlConnectionProvider;
+import io.jans.orm.sql.operation.impl.SqlOperationServiceImpl;
+
+/**
+ * Database is simulated by JDBC mocks. Queries are answered from in memory "jansSimpleEntry" table
+ * using bound doc_id, limit and offset parameters
+ */
+public class SqlEntryManagerKeysetPagingTest {
+
+	private static final String BASE_DN = "ou=test,o=jans";
+	private static final int ROW_COUNT = 7;
+
+	private SqlConnectionProvider connectionProvider;
+	private SqlEntryManager entryManager;
+
+	private List<Query> queries;
+
+	@BeforeMethod
+	public void setUp() throws Exception {
+		queries = new ArrayList<>();
+
+		Connection connection = mock(Connection.class);
+		when(connection.prepareStatement(anyString())).thenAnswer(invocation -> prepareStatement(invocation.getArgument(0)));
+
+		connectionProvider = mock(SqlConnectionProvider.class);
+		when(connectionProvider.getSqlQueryFactory()).thenReturn(new SQLQueryFactory(new Configuration(PostgreSQLTemplates.builder().build()), () -> connection));
+		when(connectionProvider.getDbType()).thenReturn(SupportedDbType.POSTGRESQL);
+		when(connectionProvider.getSchemaName()).thenReturn("jans");
+		when(connectionProvider.getPagingMode()).thenReturn(PagingMode.OFFSET);
+		Map<String, AttributeType> columnTypes = new HashMap<>();
+		columnTypes.put("objectclass", new AttributeType("objectClass", "objectClass", "varchar"));
+		columnTypes.put("jansid", new AttributeType("jansId", "jansId", "varchar"));
+		when(connectionProvider.getTableMappingByKey(anyString(), anyString())).thenReturn(
+				new TableMapping("_", "jansSimpleEntry", "jansSimpleEntry", columnTypes));
+
+		entryManager = new SqlEntryManager(new SqlOperationServiceImpl(null, connectionProvider)) {
+		};
+	}
+
+	@Test
+	public void findEntries_keysetPaging_seeksAfterLastLoadedKey() {
+		when(connectionProvider.getPagingMode()).thenReturn(PagingMode.KEYSET);
+
+		List<SimpleEntry> entries = findEntries(null, 0, 3);
+
+		assertEquals(ids(entries), Arrays.asList("1", "2", "3", "4", "5", "6", "7"));
+		assertEquals(queries.size(), 3);
+		for (Query query : queries) {
+			assertTrue(query.sql.contains("order by doc.doc_id asc"), query.sql);
+			assertFalse(query.sql.contains("offset"), query.sql);
+		}
+		assertEquals(queries.get(0).lastKey(), null);
+		assertEquals(queries.get(1).lastKey(), docId(3));
+		assertEquals(queries.get(2).lastKey(), docId(6));
+	}
+
+	@Test
+	public void findEntries_offsetPaging_skipsLoadedRows() {
+		List<SimpleEntry> entries = findEntries(null, 0, 3);
+
+		assertEquals(ids(entries), Arrays.asList("1", "2", "3", "4", "5", "6", "7"));
+		assertEquals(queries.size(), 3);
+		assertEquals(queries.stream().map(Query::offset).collect(Collectors.toList()), Arrays.asList(0, 3, 6));
+		for (Query query : queries) {
+			assertEquals(query.lastKey(), null);
+		}
+	}
+
+	@Test
+	public void findEntries_keysetPagingWithCount_limitsLastPage() {
+		when(connectionProvider.getPagingMode()).thenReturn(PagingMode.KEYSET);
+
+		List<SimpleEntry> entries = findEntries(null, 5, 3);
+
+		assertEquals(ids(entries), Arrays.asList("1", "2", "3", "4", "5"));
+		assertEquals(queries.stream().map(Query::limit).collect(Collectors.toList()), Arrays.asList(3, 2));
+	}
+
+	@Test
+	public void findEntries_batchOperationRequestsKeyset_overridesConfiguredMode() {
+		List<Integer> chunks = new ArrayList<>();
+		DefaultBatchOperation<SimpleEntry> batchOperation = new DefaultBatchOperation<SimpleEntry>() {
+			@Override
+			public void performAction(List<SimpleEntry> entries) {
+				chunks.add(entries.size());
+			}
+
+			@Override
+			public PagingMode getPagingMode() {
+				return PagingMode.KEYSET;
+			}
+		};
+
+		findEntries(batchOperation, 0, 3);
+
+		assertEquals(chunks, Arrays.asList(3, 3, 1));
+		assertEquals(queries.get(2).lastKey(), docId(6));
+	}
+
+	@Test
+	public void findPagedEntries_customSortOrder_usesOffsetPaging() {
+		when(connectionProvider.getPagingMode()).thenReturn(PagingMode.KEYSET);
+
+		PagedResult<SimpleEntry> result = entryManager.findPagedEntries(BASE_DN, SimpleEntry.class, Filter.createPresenceFilter("jansId"),
+				null, "jansId", SortOrder.ASCENDING, 0, 0, 3);
+
+		assertEquals(ids(result.getEntries()), Arrays.asList("1", "2", "3", "4", "5", "6", "7"));
+		List<Query> searchQueries = queries.stream().filter(query -> !query.isCount()).collect(Collectors.toList());
+		assertEquals(searchQueries.stream().map(Query::offset).collect(Collectors.toList()), Arrays.asList(0, 3, 6));
+		for (Query query : searchQueries) {
+			assertFalse(query.sql.contains("doc.doc_id asc"), query.sql);
+		}
+	}
+
+	private List<SimpleEntry> findEntries(DefaultBatchOperation<SimpleEntry> batchOperation, int count, int chunkSize) {
+		return entryManager.findEntries(BASE_DN, SimpleEntry.class, Filter.createPresenceFilter("jansId"), null, null,
+				batchOperation, 0, count, chunkSize);
+	}
+
+	private PreparedStatement prepareStatement(String sql) {
+		Query query = new Query(sql);
+		queries.add(query);
+
+		return mock(PreparedStatement.class, invocation -> {
+			String name = invocation.getMethod().getName();
+			if (name.startsWith("set") && (invocation.getArguments().length == 2) && (invocation.getArgument(0) instanceof Integer)) {
+				query.parameters.put(invocation.getArgument(0), invocation.getArgument(1));
+				return null;
+			}
+			if ("executeQuery".equals(name)) {
+				return query.isCount() ? countResultSet() : query.execute();
+			}
+
+			return Mockito.RETURNS_DEFAULTS.answer(invocation);
+		});
+	}
+
+	private static ResultSet countResultSet() throws SQLException {
+		ResultSet resultSet = mock(ResultSet.class);
+		final int[] row = { 0 };
+		when(resultSet.next()).thenAnswer(invocation -> ++row[0] <= 1);
+		when(resultSet.getInt(1)).thenReturn(ROW_COUNT);
+		when(resultSet.getLong(1)).thenReturn((long) ROW_COUNT);
+		when(resultSet.getObject(1)).thenReturn((long) ROW_COUNT);
+		return resultSet;
+	}
+
+	private static List<String> ids(List<SimpleEntry> entries) {
+		return entries.stream().map(SimpleEntry::getId).collect(Collectors.toList());
+	}
+
+	private static String docId(int row) {
+		return String.format("doc%02d", row);
+	}
+
+	private static void mockColumn(ResultSetMetaData metaData, int index, String name) throws SQLException {
+		when(metaData.getColumnName(index)).thenReturn(name);
+		when(metaData.getColumnTypeName(index)).thenReturn("varchar");
+		when(metaData.getColumnType(index)).thenReturn(Types.VARCHAR);
+		when(metaData.isNullable(index)).thenReturn(ResultSetMetaData.columnNullable);
+	}
+
+	/*
+	 * Executed statement. String parameter is doc_id to seek after, numeric parameters are limit and offset in this order
+	 */
+	private static class Query {
+
+		private final String sql;
+		private final Map<Integer, Object> parameters = new TreeMap<>();
+
+		Query(String sql) {
+			this.sql = sql;
+		}
+
+		boolean isCount() {
+			return sql.contains("count(");
+		}
+
+		String lastKey() {
+			return parameters.values().stream().filter(String.class::isInstance).map(String.class::cast).findFirst().orElse(null);
+		}
+
+		Integer limit() {
+			return numericParameter(0);
+		}
+
+		Integer offset() {
+			return sql.contains("offset") ? numericParameter(1) : null;
+		}
+
+		private Integer numericParameter(int index) {
+			List<Integer> numbers = parameters.values().stream().filter(Number.class::isInstance)
+					.map(value -> ((Number) value).intValue()).collect(Collectors.toList());
+			return index < numbers.size() ? numbers.get(index) : null;
+		}
+
+		ResultSet execute() throws SQLException {
+			List<Integer> rows = new ArrayList<>();
+			for (int i = 1; i <= ROW_COUNT; i++) {
+				if ((lastKey() == null) || (docId(i).compareTo(lastKey()) > 0)) {
+					rows.add(i);
+				}
+			}
+			int from = Math.min(offset() == null ? 0 : offset(), rows.size());
+			int to = limit() == null ? rows.size() : Math.min(from + limit(), rows.size());
+			List<Integer> page = rows.subList(from, to);
+
+			ResultSet resultSet = mock(ResultSet.class);
+			ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+			when(resultSet.getMetaData()).thenReturn(metaData);
+			when(metaData.getColumnCount()).thenReturn(3);
+			mockColumn(metaData, 1, "dn");
+			mockColumn(metaData, 2, "jansId");
+			mockColumn(metaData, 3, "doc_id");
+
+			final int[] row = { -1 };
+			when(resultSet.next()).thenAnswer(invocation -> ++row[0] < page.size());
+			when(resultSet.getObject(1)).thenAnswer(invocation -> String.format("jansId=%d,%s", page.get(row[0]), BASE_DN));
+			when(resultSet.getObject(2)).thenAnswer(invocation -> String.valueOf(page.get(row[0])));
+			when(resultSet.getObject(3)).thenAnswer(invocation -> docId(page.get(row[0])));
+			when(resultSet.getString("doc_id")).thenAnswer(invocation -> docId(page.get(row[0])));
+			return resultSet;
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+package io.jans.orm.sql.impl.test;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.PostgreSQLTemplates;
+import com.querydsl.sql.SQLQueryFactory;
+
+import io.jans.orm.exception.EntryPersistenceException;
+import io.jans.orm.exception.operation.DuplicateEntryException;
+import io.jans.orm.model.AttributeType;
+import io.jans.orm.sql.impl.SqlEntryManager;
+import io.jans.orm.sql.model.TableMapping;
+import io.jans.orm.sql.operation.SupportedDbType;
+import io.jans.orm.sql.operation.impl.SqlConnectionProvider;
+import io.jans.orm.sql.operation.impl.SqlOperationServiceImpl;
+
+/**
+ * Database is simulated by JDBC mocks which fail insert into "jansTestEntry" table the way drivers do
+ */
+public class SqlEntryManagerPersistTest {
+
+	private PreparedStatement statement;
+	private SqlEntryManager entryManager;
+
+	@BeforeMethod
+	public void setUp() throws Exception {
+		Connection connection = mock(Connection.class);
+		statement = mock(PreparedStatement.class);
+		when(connection.prepareStatement(anyString())).thenReturn(statement);
+
+		SqlConnectionProvider connectionProvider = mock(SqlConnectionProvider.class);
+		when(connectionProvider.getSqlQueryFactory()).thenReturn(new SQLQueryFactory(new Configuration(PostgreSQLTemplates.builder().build()), () -> connection));
+		when(connectionProvider.getDbType()).thenReturn(SupportedDbType.POSTGRESQL);
+		when(connectionProvider.getSchemaName()).thenReturn("jans");
+		Map<String, AttributeType> columnTypes = new HashMap<>();
+		columnTypes.put("doc_id", new AttributeType("doc_id", "doc_id", "varchar"));
+		columnTypes.put("dn", new AttributeType("dn", "dn", "varchar"));
+		columnTypes.put("objectclass", new AttributeType("objectClass", "objectClass", "varchar"));
+		columnTypes.put("jansid", new AttributeType("jansId", "jansId", "varchar"));
+		when(connectionProvider.getTableMappingByKey(anyString(), anyString())).thenReturn(
+				new TableMapping("_", "jansTestEntry", "jansTestEntry", columnTypes));
+
+		entryManager = new SqlEntryManager(new SqlOperationServiceImpl(null, connectionProvider)) {
+		};
+	}
+
+	@DataProvider
+	public Object[][] duplicateKeyErrors() {
+		return new Object[][] {
+				// PostgreSQL
+				{new SQLException("duplicate key value violates unique constraint \"jansTestEntry_pkey\"", "23505")},
+				// MySQL
+				{new SQLIntegrityConstraintViolationException("Duplicate entry '1' for key 'PRIMARY'", "23000", 1062)}
+		};
+	}
+
+	@Test(dataProvider = "duplicateKeyErrors")
+	public void persist_duplicateKey_shouldReportDuplicateEntry(SQLException error) throws Exception {
+		when(statement.executeUpdate()).thenThrow(error);
+
+		try {
+			entryManager.persist(createEntry());
+			fail("Entry with duplicate key is persisted");
+		} catch (EntryPersistenceException ex) {
+			assertTrue(ex.getCause() instanceof DuplicateEntryException, "cause=" + ex.getCause());
+		}
+	}
+
+	@Test
+	public void persist_notNullViolation_shouldNotReportDuplicateEntry() throws Exception {
+		when(statement.executeUpdate()).thenThrow(new SQLIntegrityConstraintViolationException("Column 'dn' cannot be null", "23000", 1048));
+
+		try {
+			entryManager.persist(createEntry());
+			fail("Entry with missing column is persisted");
+		} catch (EntryPersistenceException ex) {
+			assertTrue(!(ex.getCause() instanceof DuplicateEntryException), "cause=" + ex.getCause());
+		}
+	}
+
+	private static SimpleEntry createEntry() {
+		SimpleEntry entry = new SimpleEntry();
+		entry.setDn("jansId=1,ou=test,o=jans");
+		entry.setId("1");
+		return entry;
+	}
+
+}
@@ -0,0 +1,146 @@
+package io.jans.orm.sql.impl.test;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.PostgreSQLTemplates;
+import com.querydsl.sql.SQLQueryFactory;
+
+import io.jans.orm.exception.EntryPersistenceException;
+import io.jans.orm.model.AttributeType;
+import io.jans.orm.search.filter.Filter;
+import io.jans.orm.sql.impl.SqlEntryManager;
+import io.jans.orm.sql.model.TableMapping;
+import io.jans.orm.sql.operation.SupportedDbType;
+import io.jans.orm.sql.operation.impl.SqlConnectionProvider;
+import io.jans.orm.sql.operation.impl.SqlOperationServiceImpl;
+
+/**
+ * Database is simulated by JDBC mocks returning rows of "jansSimpleEntry" table
+ */
+public class SqlEntryManagerStreamEntriesTest {
+
+	private static final String BASE_DN = "ou=test,o=jans";
+
+	private Connection connection;
+	private PreparedStatement statement;
+	private ResultSet resultSet;
+	private SqlEntryManager entryManager;
+
+	@BeforeMethod
+	public void setUp() throws Exception {
+		connection = mock(Connection.class);
+		statement = mock(PreparedStatement.class);
+		resultSet = mock(ResultSet.class);
+		when(connection.prepareStatement(anyString())).thenReturn(statement);
+		when(statement.executeQuery()).thenReturn(resultSet);
+
+		ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+		when(resultSet.getMetaData()).thenReturn(metaData);
+		when(metaData.getColumnCount()).thenReturn(3);
+		mockColumn(metaData, 1, "dn");
+		mockColumn(metaData, 2, "jansId");
+		mockColumn(metaData, 3, "doc_id");
+
+		SqlConnectionProvider connectionProvider = mock(SqlConnectionProvider.class);
+		when(connectionProvider.getSqlQueryFactory()).thenReturn(new SQLQueryFactory(new Configuration(PostgreSQLTemplates.builder().build()), () -> connection));
+		when(connectionProvider.getDbType()).thenReturn(SupportedDbType.POSTGRESQL);
+		when(connectionProvider.getSchemaName()).thenReturn("jans");
+		Map<String, AttributeType> columnTypes = new HashMap<>();
+		columnTypes.put("objectclass", new AttributeType("objectClass", "objectClass", "varchar"));
+		columnTypes.put("jansid", new AttributeType("jansId", "jansId", "varchar"));
+		when(connectionProvider.getTableMappingByKey(anyString(), anyString())).thenReturn(
+				new TableMapping("_", "jansSimpleEntry", "jansSimpleEntry", columnTypes));
+		when(connectionProvider.getConnection()).thenReturn(connection);
+
+		entryManager = new SqlEntryManager(new SqlOperationServiceImpl(null, connectionProvider)) {
+		};
+	}
+
+	@Test
+	public void streamEntries_closedBeforeAllRowsRead_shouldReleaseConnection() throws Exception {
+		mockRows(3);
+
+		try (Stream<SimpleEntry> entries = streamEntries()) {
+			Iterator<SimpleEntry> iterator = entries.iterator();
+			assertEquals(iterator.next().getId(), "1");
+			verify(connection, never()).close();
+		}
+
+		verify(resultSet).close();
+		verify(connection).rollback();
+		verify(connection).setAutoCommit(true);
+		verify(connection, times(1)).close();
+	}
+
+	@Test
+	public void streamEntries_allRowsRead_shouldReleaseConnectionOnce() throws Exception {
+		mockRows(2);
+
+		try (Stream<SimpleEntry> entries = streamEntries()) {
+			List<String> ids = entries.map(SimpleEntry::getId).collect(Collectors.toList());
+			assertEquals(ids, Arrays.asList("1", "2"));
+
+			// Connection is returned to pool as soon as last row was read
+			verify(connection, times(1)).close();
+		}
+
+		verify(connection, times(1)).close();
+	}
+
+	@Test
+	public void streamEntries_queryFailed_shouldReleaseConnection() throws Exception {
+		when(statement.executeQuery()).thenThrow(new SQLException("Query failed"));
+
+		try {
+			streamEntries();
+			fail("Stream is opened for failed query");
+		} catch (EntryPersistenceException ex) {
+			verify(connection).rollback();
+			verify(connection, times(1)).close();
+		}
+	}
+
+	private Stream<SimpleEntry> streamEntries() {
+		return entryManager.streamEntries(BASE_DN, SimpleEntry.class, Filter.createPresenceFilter("jansId"), null, 10);
+	}
+
+	private void mockRows(int count) throws SQLException {
+		final int[] row = { 0 };
+		when(resultSet.next()).thenAnswer(invocation -> ++row[0] <= count);
+		when(resultSet.getObject(1)).thenAnswer(invocation -> String.format("jansId=%d,%s", row[0], BASE_DN));
+		when(resultSet.getObject(2)).thenAnswer(invocation -> String.valueOf(row[0]));
+	}
+
+	private static void mockColumn(ResultSetMetaData metaData, int index, String name) throws SQLException {
+		when(metaData.getColumnName(index)).thenReturn(name);
+		when(metaData.getColumnTypeName(index)).thenReturn("varchar");
+		when(metaData.getColumnType(index)).thenReturn(Types.VARCHAR);
+		when(metaData.isNullable(index)).thenReturn(ResultSetMetaData.columnNullable);
+	}
+
+}
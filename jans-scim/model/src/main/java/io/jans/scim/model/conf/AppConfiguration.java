@@ -33,6 +33,8 @@ public class AppConfiguration implements Configuration, Serializable {
     private int bulkMaxOperations;
     @DocProperty(description = "Specifies maximum payload size of bulk operations")
     private long bulkMaxPayloadSize;
+    @DocProperty(description = "Maximum number of independent bulk operations executed concurrently. Values lower than 2 keep sequential processing", defaultValue = "1")
+    private int bulkMaxConcurrency;
     @DocProperty(description = "User Extension Schema URI")
     private String userExtensionSchemaURI;
     @DocProperty(description = "Logging level for scim logger")
@@ -55,6 +57,14 @@ public class AppConfiguration implements Configuration, Serializable {
     private Boolean useLocalCache = false;
     @DocProperty(description = "Boolean value specifying whether to bypass the validation defined upon the password attribute")
     private boolean skipDefinedPasswordValidation;
+    @DocProperty(description = "Number of group members looked up or updated with a single query", defaultValue = "100")
+    private int groupMembersBatchSize;
+    @DocProperty(description = "Maximum time in seconds active token introspection response is reused. Entry never outlives token exp. 0 disables the cache", defaultValue = "0")
+    private Integer introspectionCacheMaxTtl;
+    @DocProperty(description = "Boolean value specifying whether SCIM server reloads configuration on change notification received through message provider. If enabled, revision in persistence is checked only every configurationReloadFallbackInterval seconds", defaultValue = "false")
+    private Boolean configurationChangeNotificationEnabled = false;
+    @DocProperty(description = "Interval in seconds between configuration revision checks in persistence when configuration change notification is enabled", defaultValue = "600")
+    private int configurationReloadFallbackInterval = 600;
 
     public String getBaseDN() {
 		return baseDN;
@@ -112,6 +122,46 @@ public class AppConfiguration implements Configuration, Serializable {
         this.maxCount = maxCount;
     }
     
+    public int getGroupMembersBatchSize() {
+        return groupMembersBatchSize;
+    }
+
+    public void setGroupMembersBatchSize(int groupMembersBatchSize) {
+        this.groupMembersBatchSize = groupMembersBatchSize;
+    }
+
+    public int getBulkMaxConcurrency() {
+        return bulkMaxConcurrency;
+    }
+
+    public void setBulkMaxConcurrency(int bulkMaxConcurrency) {
+        this.bulkMaxConcurrency = bulkMaxConcurrency;
+    }
+
+    public Integer getIntrospectionCacheMaxTtl() {
+        return introspectionCacheMaxTtl;
+    }
+
+    public void setIntrospectionCacheMaxTtl(Integer introspectionCacheMaxTtl) {
+        this.introspectionCacheMaxTtl = introspectionCacheMaxTtl;
+    }
+
+    public Boolean getConfigurationChangeNotificationEnabled() {
+        return configurationChangeNotificationEnabled;
+    }
+
+    public void setConfigurationChangeNotificationEnabled(Boolean configurationChangeNotificationEnabled) {
+        this.configurationChangeNotificationEnabled = configurationChangeNotificationEnabled;
+    }
+
+    public int getConfigurationReloadFallbackInterval() {
+        return configurationReloadFallbackInterval;
+    }
+
+    public void setConfigurationReloadFallbackInterval(int configurationReloadFallbackInterval) {
+        this.configurationReloadFallbackInterval = configurationReloadFallbackInterval;
+    }
+
     public int getBulkMaxOperations() {
         return bulkMaxOperations;
     }
@@ -9,6 +9,7 @@ package io.jans.scim.service.antlr.scimFilter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -20,6 +21,9 @@ import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
 import org.apache.commons.lang3.StringUtils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jans.scim.model.exception.SCIMException;
 import io.jans.scim.model.scim2.BaseScimResource;
 import io.jans.scim.service.AttributeService;
@@ -32,6 +36,7 @@ import io.jans.orm.model.PersistenceConfiguration;
 import io.jans.orm.search.filter.Filter;
 import io.jans.orm.service.PersistanceFactoryService;
 import io.jans.orm.util.StringHelper;
+import io.jans.util.Pair;
 
 import org.slf4j.Logger;
 
@@ -42,6 +47,11 @@ import org.slf4j.Logger;
 @ApplicationScoped
 public class ScimFilterParserService {
 
+    private static final int MAX_CACHED_FILTERS = 1000;
+
+    //Persistence filters depend on attributes metadata (e.g. data types) too, so they are rebuilt from time to time
+    private static final int FILTER_CACHE_TTL_SECONDS = 60;
+
     @Inject
     private Logger log;
 
@@ -56,6 +66,12 @@ public class ScimFilterParserService {
 
     private boolean ldapBackend;
 
+    //Parse trees are only read by listeners and visitors, so they can be shared among requests
+    private Cache<String, ParseTree> parseTrees = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_FILTERS).build();
+
+    private Cache<Pair<Class<? extends BaseScimResource>, String>, Filter> filters = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_FILTERS).expireAfterWrite(FILTER_CACHE_TTL_SECONDS, TimeUnit.SECONDS).build();
+
     public boolean isLdapBackend() {
         return ldapBackend;
     }
@@ -74,11 +90,22 @@ public class ScimFilterParserService {
         return parser.filter();
     }
 
-    public ParseTree getParseTree(String filter) throws Exception {
-
-        ScimFilterErrorListener errorListener=new ScimFilterErrorListener();
-        ParseTree tree=getParseTree(filter, errorListener);
-        checkParsingErrors(errorListener);
+    /**
+     * Returns the parse tree of the filter passed. Trees of filters successfully parsed are cached, so repeated filters
+     * are not lexed and parsed again
+     * @param filter Filter expression (already preprocessed)
+     * @return Parse tree. It must not be modified
+     * @throws SCIMException If filter is not valid
+     */
+    public ParseTree getParseTree(String filter) throws SCIMException {
+
+        ParseTree tree=parseTrees.getIfPresent(filter);
+        if (tree==null) {
+            ScimFilterErrorListener errorListener=new ScimFilterErrorListener();
+            tree=getParseTree(filter, errorListener);
+            checkParsingErrors(errorListener);
+            parseTrees.put(filter, tree);
+        }
         return tree;
 
     }
@@ -93,14 +120,17 @@ public class ScimFilterParserService {
     }
 
     private void walkTree(String filter, ScimFilterBaseListener listener) throws SCIMException {
-
-        ScimFilterErrorListener errorListener=new ScimFilterErrorListener();
-        ParseTree tree=getParseTree(filter, errorListener);
-        checkParsingErrors(errorListener);
-        ParseTreeWalker.DEFAULT.walk(listener, tree);
-
+        ParseTreeWalker.DEFAULT.walk(listener, getParseTree(filter));
     }
 
+    /**
+     * Translates a SCIM filter into a persistence filter. Translations are cached by filter text and resource class
+     * @param filter SCIM filter expression
+     * @param defaultFilter Filter to return when filter is empty
+     * @param clazz Resource class filter refers to
+     * @return Persistence filter. It may be shared with other callers, so it must not be modified
+     * @throws SCIMException If filter is not valid
+     */
     public Filter createFilter(String filter, Filter defaultFilter, Class<? extends BaseScimResource> clazz) throws SCIMException {
 
         try {
@@ -109,14 +139,23 @@ public class ScimFilterParserService {
             if (StringUtils.isEmpty(filter))
                 ldapFilter=defaultFilter;
             else {
-            	List<JansAttribute> allAttributes = attrService.getAllAttributes();
-            	Map<String, JansAttribute> allAttributesMap = buildAttributesMap(allAttributes);
-                FilterListener filterListener = new FilterListener(clazz, allAttributesMap, ldapBackend);
-                walkTree(FilterUtil.preprocess(filter, clazz), filterListener);
-                ldapFilter = filterListener.getFilter();
-
-                if (ldapFilter == null)
-                    throw new Exception("An error occurred when building LDAP filter: " + filterListener.getError());
+                Pair<Class<? extends BaseScimResource>, String> key = new Pair<>(clazz, filter);
+                ldapFilter = filters.getIfPresent(key);
+
+                if (ldapFilter == null) {
+                    List<JansAttribute> allAttributes = attrService.getAllAttributes();
+                    Map<String, JansAttribute> allAttributesMap = buildAttributesMap(allAttributes);
+                    FilterListener filterListener = new FilterListener(clazz, allAttributesMap, ldapBackend);
+                    walkTree(FilterUtil.preprocess(filter, clazz), filterListener);
+                    ldapFilter = filterListener.getFilter();
+
+                    if (ldapFilter == null)
+                        throw new Exception("An error occurred when building LDAP filter: " + filterListener.getError());
+
+                    filters.put(key, ldapFilter);
+                } else {
+                    log.trace("createFilter. Filter '{}' taken from cache", filter);
+                }
             }
 
             return ldapFilter;
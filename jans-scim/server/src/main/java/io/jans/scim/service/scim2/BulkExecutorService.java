@@ -0,0 +1,85 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.scim.service.scim2;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.slf4j.Logger;
+
+import io.jans.scim.model.conf.AppConfiguration;
+
+/**
+ * Holds the pool used to run independent bulk operations concurrently. Pool size follows
+ * bulkMaxConcurrency and is shared by all bulk requests, so it bounds total load put on persistence.
+ * At most QUEUED_OPERATIONS_PER_THREAD operations per thread wait in the queue; when it is full the thread
+ * submitting an operation runs it itself, which slows down the bulk requests submitting operations
+ */
+@ApplicationScoped
+public class BulkExecutorService {
+
+    private static final String THREAD_NAME_PREFIX = "scim-bulk-";
+    private static final int QUEUED_OPERATIONS_PER_THREAD = 4;
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    private final AtomicInteger threadCounter = new AtomicInteger();
+
+    private ThreadPoolExecutor executor;
+
+    public int getMaxConcurrency() {
+        return appConfiguration.getBulkMaxConcurrency();
+    }
+
+    public boolean isConcurrent() {
+        return getMaxConcurrency() > 1;
+    }
+
+    public synchronized Executor getExecutor() {
+
+        int size = Math.max(1, getMaxConcurrency());
+        if (executor != null && executor.getMaximumPoolSize() != size) {
+            //Queue capacity can't be changed, so the pool is replaced. Operations already queued finish in the old one
+            log.info("Resizing bulk operations pool to {} threads", size);
+            executor.shutdown();
+            executor = null;
+        }
+        if (executor == null) {
+            log.info("Creating bulk operations pool of {} threads", size);
+            //Rejected operations run in the submitting thread (also after shutdown), so every bulk operation completes
+            executor = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(size * QUEUED_OPERATIONS_PER_THREAD), runnable -> {
+                Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, (runnable, pool) -> runnable.run());
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+
+    }
+
+    @PreDestroy
+    public synchronized void destroy() {
+        //Queued operations still run, so requests waiting for them complete
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+}
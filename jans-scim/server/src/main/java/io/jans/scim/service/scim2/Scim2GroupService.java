@@ -9,7 +9,9 @@ package io.jans.scim.service.scim2;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +34,7 @@ import io.jans.orm.model.SortOrder;
 import io.jans.orm.search.filter.Filter;
 import io.jans.scim.model.GluuCustomPerson;
 import io.jans.scim.model.GluuGroup;
+import io.jans.scim.model.conf.AppConfiguration;
 import io.jans.scim.model.scim2.BaseScimResource;
 import io.jans.scim.model.scim2.Meta;
 import io.jans.scim.model.scim2.group.GroupResource;
@@ -50,6 +53,10 @@ public class Scim2GroupService implements Serializable {
 
 	private static final long serialVersionUID = 1555887165477267426L;
 
+	private static final int DEFAULT_MEMBERS_BATCH_SIZE = 100;
+
+	private static final String[] MEMBER_DISPLAY_ATTRIBUTES = { "inum", "displayName" };
+
 	@Inject
 	private Logger log;
 
@@ -77,6 +84,9 @@ public class Scim2GroupService implements Serializable {
     @Inject
     private UserPersistenceHelper userPersistenceHelper;
 
+    @Inject
+    private AppConfiguration appConfiguration;
+
     /**
      * Takes two GroupResource objects and attempts to fill the members' display names
      * in the second object when missing based on the data existing in the first object.
@@ -129,24 +139,30 @@ public class Scim2GroupService implements Serializable {
             List<String> listMembers = new ArrayList<>();
             List<Member> invalidMembers = new ArrayList<>();
 
+            //Added users via POST/PUT/PATCH might not exist
+            //so data is not considered trusty. In this case
+            //we make (batched) database lookups
+            Map<String, GluuCustomPerson> newMembers = Collections.emptyMap();
+            if (!skipMembersValidation) {
+                List<String> newInums = members.stream().map(Member::getValue)
+                        .filter(inum -> !groupMembers.contains(inum)).distinct().collect(Collectors.toList());
+                newMembers = findMembersByInums(newInums, MEMBER_DISPLAY_ATTRIBUTES);
+            }
+
             // Add the members, and complement the $refs and users' display names in res
             for (Member member : members) {
                 GluuCustomPerson person;
                 // it's not null as it is required in GroupResource
                 String inum = member.getValue();
 
-                //Added users via POST/PUT/PATCH might not exist
-                //so data is not considered trusty. In this case
-                //we make database lookups
                 if (!skipMembersValidation && !groupMembers.contains(inum)) {
-                    person = personService.getPersonByInum(inum);
+                    person = newMembers.get(inum);
                     
                     if (person != null && fillMembersDisplay) {
                         member.setDisplay(person.getDisplayName());
                     }
                 } else {
                     person = new GluuCustomPerson();
-                    person.setDn(personService.getDnForPerson(inum));
                 }
 
                 if (person == null) {
@@ -161,7 +177,7 @@ public class Scim2GroupService implements Serializable {
                         member.setDisplay(null);
                     }
 
-                    listMembers.add(person.getDn());
+                    listMembers.add(personService.getDnForPerson(inum));
                 }
             }
             group.setMembers(listMembers);
@@ -206,28 +222,17 @@ public class Scim2GroupService implements Serializable {
         if (memberDNs != null) {
             Set<Member> members = new HashSet<>();
 
-            for (String dn : memberDNs) {
-                GluuCustomPerson person = null;
+            List<String> inums = memberDNs.stream().map(userPersistenceHelper::getUserInumFromDN)
+                    .collect(Collectors.toList());
+            Map<String, String> displayNames = fillMembersDisplay ?
+                    findMembersDisplayNames(inums, gluuGroup.getDisplayName()) : Collections.emptyMap();
 
-                if (fillMembersDisplay) {
-                    try {                                    
-                        person = personService.getPersonByDn(dn);
-                    } catch (Exception e) {
-                        log.warn("Wrong member entry {} found in group {}",
-                                dn, gluuGroup.getDisplayName());
-                    }
-                }
-                
-                if (person == null) {
-                    person = new GluuCustomPerson();
-                    person.setInum(userPersistenceHelper.getUserInumFromDN(dn));
-                }
-                
+            for (String inum : inums) {
                 Member aMember = new Member();
-                aMember.setValue(person.getInum());
-                aMember.setRef(usersUrl + "/" + person.getInum());
+                aMember.setValue(inum);
+                aMember.setRef(usersUrl + "/" + inum);
                 aMember.setType(ScimResourceUtil.getType(UserResource.class));
-                aMember.setDisplay(person.getDisplayName());
+                aMember.setDisplay(displayNames.get(inum));
 
                 members.add(aMember);
             }
@@ -431,45 +436,107 @@ public class Scim2GroupService implements Serializable {
 		log.trace("Before member dns {}; After member dns {}", before, after);
 
 		// Do removals
-		for (String dn : before) {
-			if (!after.contains(dn)) {
-				try {
-					GluuCustomPerson gluuPerson = personService.getPersonByDn(dn);
+		List<String> removed = before.stream().filter(dn -> !after.contains(dn)).collect(Collectors.toList());
+		updateMemberOf(groupDn, removed, false);
+
+		// Do insertions
+		List<String> added = after.stream().filter(dn -> !before.contains(dn)).collect(Collectors.toList());
+		updateMemberOf(groupDn, added, true);
 
-					List<String> memberOf = new ArrayList<>();
+	}
+
+	private void updateMemberOf(String groupDn, List<String> memberDns, boolean add) {
+
+		int batchSize = getMembersBatchSize();
+		for (int i = 0; i < memberDns.size(); i += batchSize) {
+			List<String> inums = memberDns.subList(i, Math.min(i + batchSize, memberDns.size())).stream()
+					.map(userPersistenceHelper::getUserInumFromDN).collect(Collectors.toList());
+
+			List<GluuCustomPerson> persons;
+			try {
+				// Merge removes attributes which are missing in the entry, so users are loaded with all attributes
+				persons = personService.findPersonsByInums(inums, null);
+			} catch (Exception e) {
+				log.error("An error occurred while loading members of group {}", groupDn);
+				log.error(e.getMessage(), e);
+				continue;
+			}
+
+			if (persons.size() < inums.size()) {
+				Set<String> found = persons.stream().map(GluuCustomPerson::getInum).collect(Collectors.toSet());
+				inums.stream().filter(inum -> !found.contains(inum)).forEach(inum -> log.error(
+						"An error occurred while {} group {} {} user {}. User does not exist",
+						add ? "adding" : "removing", groupDn, add ? "to" : "from", inum));
+			}
+
+			for (GluuCustomPerson gluuPerson : persons) {
+				List<String> memberOf = new ArrayList<>();
+				if (add) {
+					memberOf.add(groupDn);
+				}
+
+				if (gluuPerson.getMemberOf() != null)
 					memberOf.addAll(gluuPerson.getMemberOf());
+
+				if (!add) {
 					memberOf.remove(groupDn);
+				}
+				gluuPerson.setMemberOf(memberOf);
+			}
 
-					gluuPerson.setMemberOf(memberOf);
-					personService.updatePerson(gluuPerson);
-				} catch (Exception e) {
-					log.error("An error occurred while removing group {} from user {}", groupDn, dn);
-					log.error(e.getMessage(), e);
+			try {
+				personService.updatePersons(persons);
+			} catch (Exception e) {
+				log.warn("Batch update of memberOf attribute failed for group {}, updating users one by one", groupDn);
+				for (GluuCustomPerson gluuPerson : persons) {
+					try {
+						personService.updatePerson(gluuPerson);
+					} catch (Exception ex) {
+						log.error("An error occurred while {} group {} {} user {}", add ? "adding" : "removing",
+								groupDn, add ? "to" : "from", gluuPerson.getDn());
+						log.error(ex.getMessage(), ex);
+					}
 				}
 			}
 		}
 
-		// Do insertions
-		for (String dn : after) {
-			if (!before.contains(dn)) {
-				try {
-					GluuCustomPerson gluuPerson = personService.getPersonByDn(dn);
+	}
 
-					List<String> memberOf = new ArrayList<>();
-					memberOf.add(groupDn);
+	private Map<String, GluuCustomPerson> findMembersByInums(Collection<String> inums, String[] returnAttributes) {
 
-					if (gluuPerson.getMemberOf() != null)
-						memberOf.addAll(gluuPerson.getMemberOf());
+		Map<String, GluuCustomPerson> persons = new HashMap<>();
+		List<String> inumsList = new ArrayList<>(inums);
+		int batchSize = getMembersBatchSize();
 
-					gluuPerson.setMemberOf(memberOf);
-					personService.updatePerson(gluuPerson);
-				} catch (Exception e) {
-					log.error("An error occurred while adding group {} to user {}", groupDn, dn);
-					log.error(e.getMessage(), e);
-				}
+		for (int i = 0; i < inumsList.size(); i += batchSize) {
+			List<String> batch = inumsList.subList(i, Math.min(i + batchSize, inumsList.size()));
+			for (GluuCustomPerson person : personService.findPersonsByInums(batch, returnAttributes)) {
+				persons.put(person.getInum(), person);
 			}
 		}
+		return persons;
+
+	}
+
+	private Map<String, String> findMembersDisplayNames(Collection<String> inums, String groupName) {
+
+		Map<String, String> displayNames = new HashMap<>();
+		try {
+			findMembersByInums(new HashSet<>(inums), MEMBER_DISPLAY_ATTRIBUTES).forEach((inum, person) -> {
+				if (person.getDisplayName() != null) {
+					displayNames.put(inum, person.getDisplayName());
+				}
+			});
+		} catch (Exception e) {
+			log.warn("Failed to load members display names of group {}", groupName, e);
+		}
+		return displayNames;
+
+	}
 
+	private int getMembersBatchSize() {
+		int batchSize = appConfiguration.getGroupMembersBatchSize();
+		return batchSize > 0 ? batchSize : DEFAULT_MEMBERS_BATCH_SIZE;
 	}
 
     private static Set<String> memberIDsSet(GluuGroup gluuGroup) {
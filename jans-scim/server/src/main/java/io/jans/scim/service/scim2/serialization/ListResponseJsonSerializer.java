@@ -7,12 +7,15 @@
 package io.jans.scim.service.scim2.serialization;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
 
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.JsonSerializer;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import io.jans.scim.model.scim2.BaseScimResource;
 import io.jans.scim.model.scim2.ListResponse;
@@ -23,13 +26,11 @@ import io.jans.scim.model.scim2.ListResponse;
 public class ListResponseJsonSerializer extends JsonSerializer<ListResponse> {
 
     private ScimResourceSerializer resourceSerializer;
-    private ObjectMapper mapper = new ObjectMapper();
 
     private String attributes;
     private String excludeAttributes;
     private boolean skipResults;
-
-    private List<JsonNode> jsonResources;
+    private Map<List<Object>, SortedSet<String>> preparedIncludeSets = Collections.emptyMap();
 
     //why not to inject the resource serializer instead of passing it as parameter? weld simply does not like it!
     public ListResponseJsonSerializer(ScimResourceSerializer serializer) {
@@ -43,8 +44,24 @@ public class ListResponseJsonSerializer extends JsonSerializer<ListResponse> {
         this.skipResults = skipResults;
     }
 
-    public void setJsonResources(List<JsonNode> resources) {
-        this.jsonResources = resources;
+    /**
+     * Computes the attributes to include for the resources of the list response passed, so that failures doing so
+     * (e.g. when reading resource extensions) are raised now and not once the response is being written
+     */
+    public void prepare(ListResponse listResponse) {
+
+        Map<List<Object>, SortedSet<String>> includeSets = new HashMap<>();
+        if (!skipResults && listResponse.getResources() != null) {
+            for (BaseScimResource resource : listResponse.getResources())
+                computeIncludeSet(includeSets, resource);
+        }
+        preparedIncludeSets = includeSets;
+
+    }
+
+    private SortedSet<String> computeIncludeSet(Map<List<Object>, SortedSet<String>> includeSets, BaseScimResource resource) {
+        return includeSets.computeIfAbsent(Arrays.asList(resource.getClass(), resource.getSchemas()),
+                key -> resourceSerializer.getIncludeSet(resource, attributes, excludeAttributes));
     }
 
     @Override
@@ -71,15 +88,10 @@ public class ListResponseJsonSerializer extends JsonSerializer<ListResponse> {
                 if (listResponse.getTotalResults() > 0) {
                     jGen.writeArrayFieldStart("Resources");
 
-                    if (listResponse.getResources().size() > 0) {
-                        for (BaseScimResource resource : listResponse.getResources()) {
-                            JsonNode jsonResource = mapper.readTree(resourceSerializer.serialize(resource, attributes, excludeAttributes));
-                            jGen.writeTree(jsonResource);
-                        }
-                    } else if (jsonResources != null) {
-                        for (JsonNode node : jsonResources) {
-                            jGen.writeTree(node);
-                        }
+                    //Attributes to include are computed once per resource class and schemas found in the page
+                    Map<List<Object>, SortedSet<String>> includeSets = new HashMap<>(preparedIncludeSets);
+                    for (BaseScimResource resource : listResponse.getResources()) {
+                        resourceSerializer.serialize(jGen, resource, computeIncludeSet(includeSets, resource));
                     }
                     jGen.writeEndArray();
                 }
@@ -0,0 +1,85 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.scim.service.scim2.serialization;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import jakarta.ws.rs.core.StreamingOutput;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.jans.scim.model.scim2.ListResponse;
+
+/**
+ * Response entity of searches. The list response is written straight to the response output stream when the
+ * response is sent, so no intermediate JSON string of the whole page is built. Internal callers (like the /.search
+ * endpoint) can access the resources found with {@link #getListResponse()}
+ */
+public class ListResponseStreamingOutput implements StreamingOutput {
+
+    private ListResponse listResponse;
+    private ListResponseJsonSerializer serializer;
+    private boolean skipResults;
+
+    public ListResponseStreamingOutput(ListResponse listResponse, ScimResourceSerializer resourceSerializer,
+                                       String attributes, String excludeAttributes, boolean skipResults) {
+        this.listResponse = listResponse;
+        this.skipResults = skipResults;
+        serializer = new ListResponseJsonSerializer(resourceSerializer, attributes, excludeAttributes, skipResults);
+        //Fails here (so an error response can still be sent) if attributes to include cannot be computed
+        serializer.prepare(listResponse);
+    }
+
+    public ListResponse getListResponse() {
+        return listResponse;
+    }
+
+    /**
+     * Tells whether the serialized response contains a page of resources (e.g. itemsPerPage and Resources are present)
+     */
+    public boolean hasResults() {
+        return !skipResults && listResponse.getItemsPerPage() > 0;
+    }
+
+    /**
+     * Writes the list response to the output passed. This happens after the response status and headers were sent,
+     * so an error raised while serializing cannot be turned into an error response: the client gets a truncated JSON
+     * document and the container logs the exception. Resources are beans already loaded from persistence and the
+     * attributes to include are computed when this object is created, so errors here are not expected other than I/O
+     * ones (e.g. the client closed the connection)
+     */
+    @Override
+    public void write(OutputStream output) throws IOException {
+        //The container is in charge of closing the stream
+        getMapper().writeValue(output, listResponse);
+    }
+
+    @Override
+    public String toString() {
+        try {
+            return getMapper().writeValueAsString(listResponse);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ObjectMapper getMapper() {
+
+        ObjectMapper mapper = new ObjectMapper();
+        SimpleModule module = new SimpleModule("ListResponseModule", Version.unknownVersion());
+        module.addSerializer(ListResponse.class, serializer);
+        mapper.registerModule(module);
+        mapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        return mapper;
+
+    }
+
+}
@@ -1,22 +1,33 @@
 package io.jans.scim.service.scim2.serialization;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.Version;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
 
 import io.jans.scim.model.scim2.BaseScimResource;
 import io.jans.scim.model.scim2.ListResponse;
@@ -24,6 +35,7 @@ import io.jans.scim.model.scim2.extensions.Extension;
 import io.jans.scim.model.scim2.util.IntrospectUtil;
 import io.jans.scim.model.scim2.util.ScimResourceUtil;
 import io.jans.scim.service.scim2.ExtensionService;
+import io.jans.util.Pair;
 
 import org.slf4j.Logger;
 
@@ -33,6 +45,8 @@ import org.slf4j.Logger;
 @ApplicationScoped
 public class ScimResourceSerializer {
 
+    private static final BeanPlan SIMPLE_VALUE = new BeanPlan(Collections.emptyList(), null);
+
     @Inject
     private Logger log;
 
@@ -41,6 +55,11 @@ public class ScimResourceSerializer {
 
     private ObjectMapper mapper = new ObjectMapper();
 
+    //Values are written in the middle of a response, flushing them would flush the whole response output
+    private ObjectWriter valueWriter = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private ConcurrentHashMap<Class<?>, BeanPlan> beanPlans = new ConcurrentHashMap<>();
+
     private Set<String> expandAttributesPaths(String attributes, String defaultSchemaUrn, List<String> schemas, SortedSet<String> attribs) {
 
         Set<String> set = new HashSet<>();
@@ -135,68 +154,197 @@ public class ScimResourceSerializer {
         return prefix + (prefix.length() == 0 ? "" : ".") + key;
     }
 
-    private Map<String, Object> smallerMap(String prefix, Map<String, Object> value, SortedSet<String> include) {
-        LinkedHashMap<String, Object> smallMap = new LinkedHashMap<>();
-        traverse(prefix, value, smallMap, include);
-        return smallMap.size() == 0 ? null : smallMap;
-    }
-
     /**
      * Section 2.5 of RFC 7643: When a resource is expressed in JSON format, unassigned attributes, although they are
-     * defined in schema, MAY be omitted for compactness
-     * @param prefix
-     * @param map
-     * @param destination
-     * @param include
+     * defined in schema, MAY be omitted for compactness. Null values are skipped and so are complex values whose
+     * included sub-attributes are all unassigned
+     * @param gen Generator where contents are written
+     * @param prefix Path of object in the resource
+     * @param object A bean or Map
+     * @param include Attributes to include
      */
-    private void traverse(String prefix, Map<String, Object> map, LinkedHashMap<String, Object> destination, SortedSet<String> include) {
-
-        for (String key : map.keySet()) {
-            Object value = map.get(key);
+    private void writeProperties(JsonGenerator gen, String prefix, Object object, SortedSet<String> include) throws IOException {
 
+        visitProperties(object, (key, value) -> {
             if (value != null && containsProperty(include, prefix, key)) {
+                String path = getNewPrefix(prefix, key);
 
-                if (value instanceof Map) {
-                    value = smallerMap(getNewPrefix(prefix, key), IntrospectUtil.strObjMap(value), include);
-                } else if (IntrospectUtil.isCollection(value.getClass())) {
-                    List list = new ArrayList();
-                    Map<String, Object> innerMap;
-
-                    for (Object item : (Collection) value) {
+                if (isComplex(value)) {
+                    if (hasContents(path, value, include)) {
+                        gen.writeFieldName(key);
+                        writeObject(gen, path, value, include);
+                    }
+                } else if (value instanceof Collection) {
+                    gen.writeArrayFieldStart(key);
+                    for (Object item : (Collection<?>) value) {
                         if (item != null) {
-                            if (item instanceof Map) {
-                                innerMap = smallerMap(getNewPrefix(prefix, key), IntrospectUtil.strObjMap(item), include);
-                                if (innerMap != null)
-                                    list.add(innerMap);
-                            } else {
-                                list.add(item);
+                            if (!isComplex(item)) {
+                                writeValue(gen, item);
+                            } else if (hasContents(path, item, include)) {
+                                writeObject(gen, path, item, include);
                             }
                         }
                     }
-                    value = list;
-                }
-                if (value != null) {
-                    destination.put(key, value);
+                    gen.writeEndArray();
+                } else {
+                    gen.writeFieldName(key);
+                    writeValue(gen, value);
                 }
             }
+            return true;
+        });
+
+    }
+
+    private void writeObject(JsonGenerator gen, String prefix, Object object, SortedSet<String> include) throws IOException {
+        gen.writeStartObject();
+        writeProperties(gen, prefix, object, include);
+        gen.writeEndObject();
+    }
+
+    private void writeValue(JsonGenerator gen, Object value) throws IOException {
+        if (value instanceof String) {
+            gen.writeString((String) value);
+        } else {
+            valueWriter.writeValue(gen, value);
+        }
+    }
+
+    /**
+     * Tells whether writing the object passed would produce at least one attribute
+     */
+    private boolean hasContents(String prefix, Object object, SortedSet<String> include) throws IOException {
+
+        return !visitProperties(object, (key, value) -> value == null || !containsProperty(include, prefix, key)
+                || (isComplex(value) && !hasContents(getNewPrefix(prefix, key), value, include)));
+
+    }
+
+    private boolean isComplex(Object value) {
+        return value instanceof Map || getBeanPlan(value.getClass()) != null;
+    }
+
+    /**
+     * Visits the properties of a bean (in the same order Jackson serializes them) or the entries of a Map
+     * @return false if the visitor stopped the iteration
+     */
+    private boolean visitProperties(Object object, PropertyVisitor visitor) throws IOException {
+
+        if (object instanceof Map) {
+            return visitEntries((Map<?, ?>) object, visitor);
+        }
+
+        BeanPlan plan = getBeanPlan(object.getClass());
+        for (Pair<String, AnnotatedMember> property : plan.properties) {
+            if (!visitor.visit(property.getFirst(), property.getSecond().getValue(object))) {
+                return false;
+            }
+        }
+
+        if (plan.anyGetter != null) {
+            Object any = plan.anyGetter.getValue(object);
+            if (any instanceof Map) {
+                return visitEntries((Map<?, ?>) any, visitor);
+            }
         }
+        return true;
 
     }
 
-    public String serialize(BaseScimResource resource, String attributes, String exclusions) throws Exception {
+    private boolean visitEntries(Map<?, ?> map, PropertyVisitor visitor) throws IOException {
+
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!visitor.visit(String.valueOf(entry.getKey()), entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+
+    }
+
+    /**
+     * Returns the properties Jackson would serialize for the class passed, or null if instances of the class are not
+     * serialized as JSON objects (strings, numbers, dates, etc.)
+     */
+    private BeanPlan getBeanPlan(Class<?> cls) {
+        BeanPlan plan = beanPlans.computeIfAbsent(cls, this::buildBeanPlan);
+        return plan == SIMPLE_VALUE ? null : plan;
+    }
+
+    private BeanPlan buildBeanPlan(Class<?> cls) {
+
+        if (cls.isPrimitive() || cls.isEnum() || cls.isArray() || CharSequence.class.isAssignableFrom(cls)
+                || Number.class.isAssignableFrom(cls) || Boolean.class.equals(cls)
+                || Map.class.isAssignableFrom(cls) || Collection.class.isAssignableFrom(cls)) {
+            return SIMPLE_VALUE;
+        }
+
+        try {
+            if (!(mapper.getSerializerProviderInstance().findValueSerializer(cls) instanceof BeanSerializerBase)) {
+                return SIMPLE_VALUE;
+            }
+        } catch (JsonMappingException e) {
+            log.warn("Unable to find serializer for {}: {}", cls.getName(), e.getMessage());
+            return SIMPLE_VALUE;
+        }
+
+        BeanDescription description = mapper.getSerializationConfig().introspect(mapper.constructType(cls));
+        List<Pair<String, AnnotatedMember>> properties = new ArrayList<>();
+
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            AnnotatedMember accessor = property.getAccessor();
+            if (accessor != null) {
+                accessor.fixAccess(true);
+                properties.add(new Pair<>(property.getName(), accessor));
+            }
+        }
+
+        AnnotatedMember anyGetter = description.findAnyGetter();
+        if (anyGetter != null) {
+            anyGetter.fixAccess(true);
+        }
+        log.trace("buildBeanPlan. Properties of {} are {}", cls.getSimpleName(), properties.stream().map(Pair::getFirst).collect(Collectors.toList()));
+        return new BeanPlan(properties, anyGetter);
+
+    }
+
+    /**
+     * Computes the attributes to include when serializing resources of the same class and schemas as the resource
+     * passed. Callers serializing several resources can reuse the set for resources having the same class and schemas
+     * @param resource Resource to serialize
+     * @param attributes Value of attributes query param
+     * @param exclusions Value of excludedAttributes query param
+     * @return Sorted set of attribute paths
+     */
+    public SortedSet<String> getIncludeSet(BaseScimResource resource, String attributes, String exclusions) {
 
         SortedSet<String> include = new TreeSet<>();
-        Class<? extends BaseScimResource> resourceClass = resource.getClass();
-        buildIncludeSet(include, resourceClass, new ArrayList<>(resource.getSchemas()), attributes, exclusions);
-        log.trace("serialize. Attributes to include: {}", include);
+        buildIncludeSet(include, resource.getClass(), new ArrayList<>(resource.getSchemas()), attributes, exclusions);
+        log.trace("getIncludeSet. Attributes to include: {}", include);
+
+        return include;
+
+    }
+
+    /**
+     * Writes the resource to the generator passed. Only attributes found in <code>include</code> are written
+     * @param gen Generator where the resource is written
+     * @param resource Resource to serialize
+     * @param include Attributes to include as returned by {@link #getIncludeSet(BaseScimResource, String, String)}
+     */
+    public void serialize(JsonGenerator gen, BaseScimResource resource, SortedSet<String> include) throws IOException {
+        //Generic serialization. This works for any POJO (not only subclasses of BaseScimResource)
+        writeObject(gen, "", resource, include);
+    }
 
-        //Do generic serialization. This works for any POJO (not only subclasses of BaseScimResource)
-        Map<String, Object> map = mapper.convertValue(resource, new TypeReference<Map<String, Object>>() {});
-        //Using LinkedHashMap allows recursive routines to visit submaps in the same order as fields appear in java classes
-        LinkedHashMap<String, Object> newMap = new LinkedHashMap<>();
-        traverse("", map, newMap, include);
+    public String serialize(BaseScimResource resource, String attributes, String exclusions) throws Exception {
+
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator gen = mapper.getFactory().createGenerator(writer)) {
+            serialize(gen, resource, getIncludeSet(resource, attributes, exclusions));
+        }
 
-        String result = mapper.writeValueAsString(newMap);
+        String result = writer.toString();
         log.trace("serialize. Output is {}", result);
 
         return result;
@@ -216,4 +364,20 @@ public class ScimResourceSerializer {
         return mapper;
     }
 
+    @FunctionalInterface
+    private interface PropertyVisitor {
+        boolean visit(String key, Object value) throws IOException;
+    }
+
+    private static class BeanPlan {
+
+        private final List<Pair<String, AnnotatedMember>> properties;
+        private final AnnotatedMember anyGetter;
+
+        private BeanPlan(List<Pair<String, AnnotatedMember>> properties, AnnotatedMember anyGetter) {
+            this.properties = properties;
+            this.anyGetter = anyGetter;
+        }
+    }
+
 }
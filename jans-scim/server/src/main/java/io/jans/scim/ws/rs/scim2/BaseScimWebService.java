@@ -10,7 +10,6 @@ import static io.jans.scim.model.scim2.Constants.PATCH_REQUEST_SCHEMA_ID;
 import static io.jans.scim.model.scim2.Constants.SEARCH_REQUEST_SCHEMA_ID;
 import static jakarta.ws.rs.core.Response.Status.BAD_REQUEST;
 
-import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.List;
 
@@ -26,9 +25,6 @@ import org.apache.commons.lang3.StringUtils;
 
 import org.slf4j.Logger;
 
-import com.fasterxml.jackson.core.Version;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.module.SimpleModule;
 
 import io.jans.scim.model.conf.AppConfiguration;
 import io.jans.orm.model.SortOrder;
@@ -52,7 +48,7 @@ import io.jans.scim.service.antlr.scimFilter.util.FilterUtil;
 import io.jans.scim.service.scim2.ExtensionService;
 import io.jans.scim.service.scim2.ExternalConstraintsService;
 import io.jans.scim.service.scim2.UserPersistenceHelper;
-import io.jans.scim.service.scim2.serialization.ListResponseJsonSerializer;
+import io.jans.scim.service.scim2.serialization.ListResponseStreamingOutput;
 import io.jans.scim.service.scim2.serialization.ScimResourceSerializer;
 
 /**
@@ -263,18 +259,13 @@ public class BaseScimWebService {
 
     }
 
-    String getListResponseSerialized(int total, int startIndex, List<BaseScimResource> resources, String attrsList,
-                                     String excludedAttrsList, boolean ignoreResults) throws IOException{
+    ListResponseStreamingOutput getListResponseOutput(int total, int startIndex, List<BaseScimResource> resources, String attrsList,
+                                                      String excludedAttrsList, boolean ignoreResults) {
 
         ListResponse listResponse = new ListResponse(startIndex, resources.size(), total);
         listResponse.setResources(resources);
 
-        ObjectMapper mapper = new ObjectMapper();
-        SimpleModule module = new SimpleModule("ListResponseModule", Version.unknownVersion());
-        module.addSerializer(ListResponse.class, new ListResponseJsonSerializer(resourceSerializer, attrsList, excludedAttrsList, ignoreResults));
-        mapper.registerModule(module);
-
-        return mapper.writeValueAsString(listResponse);
+        return new ListResponseStreamingOutput(listResponse, resourceSerializer, attrsList, excludedAttrsList, ignoreResults);
 
     }
 
@@ -18,12 +18,20 @@ import static jakarta.ws.rs.core.Response.Status.Family.familyOf;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.control.RequestContextController;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.ws.rs.Consumes;
@@ -33,6 +41,9 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status.Family;
+
+import org.jboss.resteasy.core.ResteasyContext;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -46,6 +57,7 @@ import io.jans.scim.model.scim2.fido.Fido2DeviceResource;
 import io.jans.scim.model.scim2.group.GroupResource;
 import io.jans.scim.model.scim2.patch.PatchRequest;
 import io.jans.scim.model.scim2.user.UserResource;
+import io.jans.scim.service.scim2.BulkExecutorService;
 import io.jans.scim.service.filter.ProtectedApi;
 import io.jans.util.Pair;
 
@@ -81,6 +93,12 @@ public class BulkWebService extends BaseScimWebService {
     @Inject
     private Fido2DeviceWebService fido2DeviceWS;
 
+    @Inject
+    private BulkExecutorService bulkExecutorService;
+
+    @Inject
+    private Instance<RequestContextController> requestContextControllerInstance;
+
     @jakarta.ws.rs.POST
     @Consumes({MEDIA_TYPE_SCIM_JSON, MediaType.APPLICATION_JSON})
     @Produces({MEDIA_TYPE_SCIM_JSON + UTF8_CHARSET_FRAGMENT, MediaType.APPLICATION_JSON + UTF8_CHARSET_FRAGMENT})
@@ -92,83 +110,283 @@ public class BulkWebService extends BaseScimWebService {
         if (response==null) {
             log.debug("Executing web service method. processBulkOperations");
 
-            int i, errors=0;
-            List<BulkOperation> operations=request.getOperations();
-            List<BulkOperation> responseOperations=new ArrayList<>();
-            Map<String, String> processedBulkIds=new HashMap<>();
+            long start=System.nanoTime();
+            boolean concurrent=bulkExecutorService.isConcurrent() && request.getOperations().size() > 1;
+            List<BulkOperation> responseOperations=concurrent ? processConcurrently(request) : processSequentially(request);
+            log.info("Processed {} of {} bulk operations in {} ms (concurrent: {})", responseOperations.size(),
+                    request.getOperations().size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), concurrent);
 
-            for (i=0;i<operations.size() && errors<request.getFailOnErrors();i++){
+            try {
+                BulkResponse bulkResponse=new BulkResponse();
+                bulkResponse.setOperations(responseOperations);
 
-                BulkOperation operation=operations.get(i);
-                BulkOperation operationResponse=new BulkOperation();
-                Response subResponse;
+                String json = mapper.writeValueAsString(bulkResponse);
+                response=Response.ok(json).build();
+            }
+            catch (Exception e){
+                log.error(e.getMessage(), e);
+                response=getErrorResponse(INTERNAL_SERVER_ERROR, e.getMessage());
+            }
+        }
+        return response;
 
-                String method=operation.getMethod();
-                String bulkId=operation.getBulkId();
-                try {
-                    String path=operation.getPath();
-                    BaseScimWebService service=getWSForPath(path);
-                    String fragment=getFragment(path, service, processedBulkIds);
-                    Verb verb = Verb.valueOf(method);
+    }
 
-                    String data=operation.getDataStr();
-                    if (!verb.equals(DELETE))
-                        data = replaceBulkIds(data, processedBulkIds);
-
-                    Pair<Response, String> pair=execute(verb, service, data, fragment);
-                    String idCreated=pair.getSecond();
-                    subResponse=pair.getFirst();
-                    int status=subResponse.getStatus();
-
-                    if (familyOf(status).equals(SUCCESSFUL)) {
-                        if (!verb.equals(DELETE)) {
-                            if (verb.equals(POST)) {  //Update bulkIds
-                                processedBulkIds.put(bulkId, idCreated);
-                                fragment=idCreated;
-                            }
-                            String loc=service.getEndpointUrl() + "/" + fragment;
-                            operationResponse.setLocation(loc);
-                        }
-                    }
-                    else {
-                        operationResponse.setResponse(subResponse.getEntity());
-                        errors+= familyOf(status).equals(CLIENT_ERROR) || familyOf(status).equals(SERVER_ERROR) ? 1 : 0;
-                    }
+    private List<BulkOperation> processSequentially(BulkRequest request) {
 
-                    subResponse.close();
-                    operationResponse.setStatus(Integer.toString(status));
+        int i, errors=0;
+        List<BulkOperation> operations=request.getOperations();
+        List<BulkOperation> responseOperations=new ArrayList<>();
+        Map<String, String> processedBulkIds=new HashMap<>();
+
+        for (i=0;i<operations.size() && errors<request.getFailOnErrors();i++){
+            BulkOperation operationResponse=processOperation(operations.get(i), processedBulkIds);
+            errors+= isError(operationResponse) ? 1 : 0;
+            responseOperations.add(operationResponse);
+
+            log.debug("Operation {} processed with status {}. Method {}, Accumulated errors {}", i+1, operationResponse.getStatus(), operationResponse.getMethod(), errors);
+        }
+        return responseOperations;
+
+    }
+
+    /**
+     * Runs operations on the bulk pool. An operation starts once the operations it depends on are done
+     * (see buildDependencies), so results are the same as in sequential processing, except that operations
+     * already running when failOnErrors is reached are allowed to finish. Operations are reported in request order
+     */
+    private List<BulkOperation> processConcurrently(BulkRequest request) {
+
+        List<BulkOperation> operations=request.getOperations();
+        int size=operations.size();
+        BulkOperation[] results=new BulkOperation[size];
+        String[] createdIds=new String[size];
+        AtomicInteger errors=new AtomicInteger();
+
+        List<Map<String, Integer>> references=new ArrayList<>(size);
+        List<Set<Integer>> dependencies=buildDependencies(operations, references);
+
+        Executor executor=bulkExecutorService.getExecutor();
+        Map<Class<?>, Object> contextData=ResteasyContext.getContextDataMap();
+        List<CompletableFuture<Object>> futures=new ArrayList<>(size);
+
+        for (int i=0;i<size;i++) {
+            final int index=i;
+            CompletableFuture<?>[] dependsOn=dependencies.get(i).stream().map(futures::get).toArray(CompletableFuture[]::new);
+
+            //Runs even if a dependency completed exceptionally, so every operation started is reported
+            futures.add(CompletableFuture.allOf(dependsOn).handleAsync((ignored, ex) -> {
+                if (errors.get() >= request.getFailOnErrors())
+                    return null;
+
+                BulkOperation operationResponse;
+                try {
+                    operationResponse=processConcurrentOperation(index, operations, dependencies.get(index), references.get(index),
+                            results, createdIds, contextData);
                 }
                 catch (Exception e) {
                     log.error(e.getMessage(), e);
-                    subResponse=getErrorResponse(BAD_REQUEST, ErrorScimType.INVALID_SYNTAX, e.getMessage());
-
-                    operationResponse.setStatus(Integer.toString(BAD_REQUEST.getStatusCode()));
-                    operationResponse.setResponse(subResponse.getEntity());
-                    errors++;
+                    operationResponse=getOperationError(operations.get(index), INTERNAL_SERVER_ERROR, null, e.getMessage());
                 }
 
-                operationResponse.setBulkId(bulkId);
-                operationResponse.setMethod(method);
+                results[index]=operationResponse;
+                int accumulated= isError(operationResponse) ? errors.incrementAndGet() : errors.get();
+                log.debug("Operation {} processed with status {}. Method {}, Accumulated errors {}", index+1, operationResponse.getStatus(), operationResponse.getMethod(), accumulated);
+                return null;
+            }, executor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        }
+        catch (Exception e) {
+            log.error(e.getMessage(), e);
+        }
 
+        List<BulkOperation> responseOperations=new ArrayList<>();
+        for (BulkOperation operationResponse : results) {
+            if (operationResponse!=null)
                 responseOperations.add(operationResponse);
+        }
+        return responseOperations;
+
+    }
 
-                log.debug("Operation {} processed with status {}. Method {}, Accumulated errors {}", i+1, operationResponse.getStatus(), method, errors);
+    /**
+     * Processes an operation whose dependencies are done. It fails without being executed when an operation it
+     * depends on failed or was not run, so the cause is reported instead of an unrecognized bulkId or stale data
+     */
+    private BulkOperation processConcurrentOperation(int index, List<BulkOperation> operations, Set<Integer> deps,
+            Map<String, Integer> refs, BulkOperation[] results, String[] createdIds, Map<Class<?>, Object> contextData) {
+
+        BulkOperation operation=operations.get(index);
+        for (Integer dep : deps) {
+            if (results[dep]==null || (refs.containsValue(dep) && createdIds[dep]==null)) {
+                String detail=String.format("Operation %d this operation depends on %s", dep+1,
+                        results[dep]==null ? "was not processed" : "failed with status " + results[dep].getStatus());
+                return getOperationError(operation, BAD_REQUEST, ErrorScimType.INVALID_VALUE, detail);
             }
+        }
 
-            try {
-                BulkResponse bulkResponse=new BulkResponse();
-                bulkResponse.setOperations(responseOperations);
+        //Only ids created by preceding operations are visible, as in sequential processing
+        Map<String, String> processedBulkIds=new HashMap<>();
+        refs.forEach((bulkId, creator) -> processedBulkIds.put(bulkId, createdIds[creator]));
 
-                String json = mapper.writeValueAsString(bulkResponse);
-                response=Response.ok(json).build();
+        BulkOperation operationResponse=processOperation(operation, processedBulkIds, contextData);
+        if (POST.name().equals(operation.getMethod()))
+            createdIds[index]=processedBulkIds.get(operation.getBulkId());
+
+        return operationResponse;
+
+    }
+
+    private BulkOperation getOperationError(BulkOperation operation, Response.Status status, ErrorScimType scimType, String detail) {
+
+        BulkOperation operationResponse=new BulkOperation();
+        operationResponse.setBulkId(operation.getBulkId());
+        operationResponse.setMethod(operation.getMethod());
+        operationResponse.setStatus(Integer.toString(status.getStatusCode()));
+        operationResponse.setResponse(getErrorResponse(status, scimType, detail).getEntity());
+        return operationResponse;
+
+    }
+
+    /**
+     * An operation depends on: the POST operations whose bulkIds it references, the previous operation with the same
+     * path, and the last "exclusive" operation. Group operations and user removals are exclusive (they rewrite
+     * memberOf of other entries), so they also wait for every operation preceding them. POSTs of a resource type share
+     * the path, so they run one after another and uniqueness checks (e.g. userName) don't race
+     */
+    List<Set<Integer>> buildDependencies(List<BulkOperation> operations, List<Map<String, Integer>> references) {
+
+        List<Set<Integer>> dependencies=new ArrayList<>();
+        Map<String, Integer> lastCreators=new HashMap<>();
+        Map<String, Integer> lastOnPath=new HashMap<>();
+        List<Integer> sinceExclusive=new ArrayList<>();
+        Integer lastExclusive=null;
+
+        for (int i=0;i<operations.size();i++) {
+            BulkOperation operation=operations.get(i);
+            Set<Integer> deps=new HashSet<>();
+            Map<String, Integer> refs=new HashMap<>();
+
+            List<String> texts=new ArrayList<>();
+            texts.add(operation.getPath());
+            if (!DELETE.name().equals(operation.getMethod()) && operation.getDataStr()!=null)
+                texts.add(operation.getDataStr());
+
+            for (String text : texts) {
+                Matcher m=bulkIdPattern.matcher(text);
+                while (m.find()) {
+                    Integer creator=lastCreators.get(m.group(1));
+                    if (creator!=null) {
+                        refs.put(m.group(1), creator);
+                        deps.add(creator);
+                    }
+                }
             }
-            catch (Exception e){
-                log.error(e.getMessage(), e);
-                response=getErrorResponse(INTERNAL_SERVER_ERROR, e.getMessage());
+
+            Verb verb=Verb.valueOf(operation.getMethod());
+            Integer previous=lastOnPath.put(operation.getPath(), i);
+            if (previous!=null)
+                deps.add(previous);
+
+            BaseScimWebService service=getWSForPath(operation.getPath());
+            boolean exclusive=service==groupWS || (service==userWS && verb.equals(DELETE));
+            if (lastExclusive!=null)
+                deps.add(lastExclusive);
+            if (exclusive) {
+                deps.addAll(sinceExclusive);
+                sinceExclusive.clear();
+                lastExclusive=i;
             }
+            else
+                sinceExclusive.add(i);
+
+            if (verb.equals(POST))
+                lastCreators.put(operation.getBulkId(), i);
+
+            dependencies.add(deps);
+            references.add(refs);
         }
-        return response;
+        return dependencies;
+
+    }
+
+    private BulkOperation processOperation(BulkOperation operation, Map<String, String> processedBulkIds,
+            Map<Class<?>, Object> contextData) {
+
+        RequestContextController requestContextController=requestContextControllerInstance.get();
+        try (ResteasyContext.CloseableContext ignored=ResteasyContext.addCloseableContextDataLevel(contextData)) {
+            requestContextController.activate();
+            return processOperation(operation, processedBulkIds);
+        }
+        finally {
+            requestContextController.deactivate();
+            requestContextControllerInstance.destroy(requestContextController);
+        }
+
+    }
+
+    private BulkOperation processOperation(BulkOperation operation, Map<String, String> processedBulkIds) {
+
+        long start=System.nanoTime();
+        BulkOperation operationResponse=new BulkOperation();
+        Response subResponse;
+
+        String method=operation.getMethod();
+        String bulkId=operation.getBulkId();
+        try {
+            String path=operation.getPath();
+            BaseScimWebService service=getWSForPath(path);
+            String fragment=getFragment(path, service, processedBulkIds);
+            Verb verb = Verb.valueOf(method);
+
+            String data=operation.getDataStr();
+            if (!verb.equals(DELETE))
+                data = replaceBulkIds(data, processedBulkIds);
+
+            Pair<Response, String> pair=execute(verb, service, data, fragment);
+            String idCreated=pair.getSecond();
+            subResponse=pair.getFirst();
+            int status=subResponse.getStatus();
+
+            if (familyOf(status).equals(SUCCESSFUL)) {
+                if (!verb.equals(DELETE)) {
+                    if (verb.equals(POST)) {  //Update bulkIds
+                        processedBulkIds.put(bulkId, idCreated);
+                        fragment=idCreated;
+                    }
+                    String loc=service.getEndpointUrl() + "/" + fragment;
+                    operationResponse.setLocation(loc);
+                }
+            }
+            else {
+                operationResponse.setResponse(subResponse.getEntity());
+            }
+
+            subResponse.close();
+            operationResponse.setStatus(Integer.toString(status));
+        }
+        catch (Exception e) {
+            log.error(e.getMessage(), e);
+            subResponse=getErrorResponse(BAD_REQUEST, ErrorScimType.INVALID_SYNTAX, e.getMessage());
+
+            operationResponse.setStatus(Integer.toString(BAD_REQUEST.getStatusCode()));
+            operationResponse.setResponse(subResponse.getEntity());
+        }
+
+        operationResponse.setBulkId(bulkId);
+        operationResponse.setMethod(method);
+
+        log.debug("Operation {} {} took {} ms", method, operation.getPath(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return operationResponse;
+
+    }
 
+    private boolean isError(BulkOperation operationResponse) {
+        Family family=familyOf(Integer.parseInt(operationResponse.getStatus()));
+        return family.equals(CLIENT_ERROR) || family.equals(SERVER_ERROR);
     }
 
     private Response prepareRequest(BulkRequest request, String contentLength) {
@@ -56,6 +56,7 @@ import io.jans.scim.service.Fido2DeviceService;
 import io.jans.scim.service.antlr.scimFilter.ScimFilterParserService;
 import io.jans.scim.service.filter.ProtectedApi;
 import io.jans.scim.service.scim2.interceptor.RefAdjusted;
+import io.jans.scim.service.scim2.serialization.ListResponseStreamingOutput;
 import io.jans.scim.ws.rs.scim2.IFido2DeviceWebService;
 import io.jans.scim.ws.rs.scim2.PATCH;
 import io.jans.orm.PersistenceEntryManager;
@@ -107,10 +108,10 @@ public class Fido2DeviceWebService extends BaseScimWebService implements IFido2D
                     SortOrder.getByValue(searchReq.getSortOrder()), searchReq.getStartIndex(),
                     searchReq.getCount());
 
-            String json = getListResponseSerialized(resources.getTotalEntriesCount(), 
+            ListResponseStreamingOutput output = getListResponseOutput(resources.getTotalEntriesCount(), 
                     searchReq.getStartIndex(), resources.getEntries(), searchReq.getAttributesStr(),
                     searchReq.getExcludedAttributesStr(), searchReq.getCount() == 0);
-            response = Response.ok(json).location(new URI(endpointUrl)).build();
+            response = Response.ok(output).location(new URI(endpointUrl)).build();
         } catch (SCIMException e) {
             log.error(e.getMessage(), e);
             response = getErrorResponse(Response.Status.BAD_REQUEST, ErrorScimType.INVALID_FILTER,
@@ -54,6 +54,7 @@ import io.jans.scim.service.FidoDeviceService;
 import io.jans.scim.service.antlr.scimFilter.ScimFilterParserService;
 import io.jans.scim.service.filter.ProtectedApi;
 import io.jans.scim.service.scim2.interceptor.RefAdjusted;
+import io.jans.scim.service.scim2.serialization.ListResponseStreamingOutput;
 
 /**
  * Implementation of /FidoDevices endpoint. Methods here are intercepted.
@@ -99,10 +100,10 @@ public class FidoDeviceWebService extends BaseScimWebService implements IFidoDev
                     SortOrder.getByValue(searchReq.getSortOrder()), searchReq.getStartIndex(),
                     searchReq.getCount());
 
-            String json = getListResponseSerialized(resources.getTotalEntriesCount(), 
+            ListResponseStreamingOutput output = getListResponseOutput(resources.getTotalEntriesCount(), 
                     searchReq.getStartIndex(), resources.getEntries(), searchReq.getAttributesStr(), 
                     searchReq.getExcludedAttributesStr(), searchReq.getCount() == 0);
-            response = Response.ok(json).location(new URI(endpointUrl)).build();
+            response = Response.ok(output).location(new URI(endpointUrl)).build();
         } catch (SCIMException e) {
             log.error(e.getMessage(), e);
             response = getErrorResponse(Response.Status.BAD_REQUEST, ErrorScimType.INVALID_FILTER,
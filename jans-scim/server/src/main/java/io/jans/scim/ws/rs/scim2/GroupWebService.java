@@ -55,6 +55,7 @@ import io.jans.scim.service.filter.ProtectedApi;
 import io.jans.scim.service.scim2.Scim2GroupService;
 import io.jans.scim.service.scim2.Scim2PatchService;
 import io.jans.scim.service.scim2.interceptor.RefAdjusted;
+import io.jans.scim.service.scim2.serialization.ListResponseStreamingOutput;
 
 /**
  * Implementation of /Groups endpoint. Methods here are intercepted.
@@ -130,10 +131,10 @@ public class GroupWebService extends BaseScimWebService implements IGroupWebServ
                     SortOrder.getByValue(searchReq.getSortOrder()), searchReq.getStartIndex(),
                     searchReq.getCount(), endpointUrl, usersUrl, getMaxCount(), fillMembersDisplay);
 
-            String json = getListResponseSerialized(resources.getTotalEntriesCount(), 
+            ListResponseStreamingOutput output = getListResponseOutput(resources.getTotalEntriesCount(), 
                     searchReq.getStartIndex(), resources.getEntries(), searchReq.getAttributesStr(), 
                     searchReq.getExcludedAttributesStr(), searchReq.getCount() == 0);
-            response = Response.ok(json).location(new URI(endpointUrl)).build();
+            response = Response.ok(output).location(new URI(endpointUrl)).build();
         } catch (SCIMException e){
             log.error(e.getMessage(), e);
             response = getErrorResponse(Response.Status.BAD_REQUEST, ErrorScimType.INVALID_FILTER,
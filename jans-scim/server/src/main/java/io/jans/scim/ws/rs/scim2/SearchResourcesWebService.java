@@ -21,11 +21,7 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
-import com.fasterxml.jackson.core.Version;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.module.SimpleModule;
-import io.jans.scim.model.scim2.ListResponse;
+import io.jans.scim.model.scim2.BaseScimResource;
 import io.jans.scim.model.scim2.SearchRequest;
 import io.jans.scim.model.scim2.fido.FidoDeviceResource;
 import io.jans.scim.model.scim2.fido.Fido2DeviceResource;
@@ -34,7 +30,7 @@ import io.jans.scim.model.scim2.user.UserResource;
 import io.jans.scim.model.scim2.util.ScimResourceUtil;
 import io.jans.scim.service.filter.ProtectedApi;
 import io.jans.scim.service.scim2.interceptor.RefAdjusted;
-import io.jans.scim.service.scim2.serialization.ListResponseJsonSerializer;
+import io.jans.scim.service.scim2.serialization.ListResponseStreamingOutput;
 import io.jans.util.Pair;
 
 /**
@@ -56,8 +52,6 @@ public class SearchResourcesWebService extends BaseScimWebService {
     @Inject
     private Fido2DeviceWebService fido2WS;
 
-    private ObjectMapper mapper=null;
-
     private int NUM_RESOURCE_TYPES;
 
     private Class resourceClasses[];
@@ -77,23 +71,14 @@ public class SearchResourcesWebService extends BaseScimWebService {
 
         if (response == null) {
             try {
-                List<JsonNode> resources = new ArrayList<>();
+                List<BaseScimResource> resources = new ArrayList<>();
                 Pair<Integer, Integer> totals = computeResults(searchReq, resources);
 
-                ListResponseJsonSerializer custSerializer = new ListResponseJsonSerializer(resourceSerializer, searchReq.getAttributesStr(),
-                        searchReq.getExcludedAttributesStr(), searchReq.getCount() == 0);
-                if (resources.size() > 0)
-                    custSerializer.setJsonResources(resources);
-
-                ObjectMapper objmapper = new ObjectMapper();
-                SimpleModule module = new SimpleModule("ListResponseModule", Version.unknownVersion());
-                module.addSerializer(ListResponse.class, custSerializer);
-                objmapper.registerModule(module);
-
-                //Provide to constructor original start index, and totals calculated in computeResults call
-                ListResponse listResponse = new ListResponse(searchReq.getStartIndex(), totals.getFirst(), totals.getSecond());
-                String json = objmapper.writeValueAsString(listResponse);
-                response = Response.ok(json).location(new URI(endpointUrl)).build();
+                //Provide original start index, and totals calculated in computeResults call. Resources of all types are
+                //written in a single pass
+                ListResponseStreamingOutput output = getListResponseOutput(totals.getSecond(), searchReq.getStartIndex(),
+                        resources, searchReq.getAttributesStr(), searchReq.getExcludedAttributesStr(), searchReq.getCount() == 0);
+                response = Response.ok(output).location(new URI(endpointUrl)).build();
             }
             catch (Exception e){
                 log.error("Failure at search method", e);
@@ -106,39 +91,39 @@ public class SearchResourcesWebService extends BaseScimWebService {
 
     /**
      * Here we reuse every single POST search found in other web services, but handle serialization differently to a more
-     * manual approach for performance reasons. In the end, this saves us 3 deserializations and 3 serializations of
-     * multiple results packs.
+     * manual approach for performance reasons: resources found are taken from the (not yet serialized) responses of
+     * such searches, so every resource is serialized once only.
      * Result set as a whole will not be sorted by sortBy param but every group of resources (by resource type) will be
      * sorted as such
      * @param searchRequest
      * @param resources
      * @return
      */
-    private Pair<Integer, Integer> computeResults(SearchRequest searchRequest, List<JsonNode> resources) throws Exception{
+    private Pair<Integer, Integer> computeResults(SearchRequest searchRequest, List<BaseScimResource> resources) throws Exception{
 
         int i;
         int totalInPage=0, totalResults=0, skip=0;
         boolean resultsAvailable=false;
 
         Integer startIndex_=searchRequest.getStartIndex();
-        JsonNode tree=null;
+        ListResponseStreamingOutput output=null;
 
         //THIS ALGORITHM IS CONVOLUTED, IF YOU CHANGE IT ENSURE TEST CASES STILL PASS...
 
         //Move forward to skip the searches that might have no results and find the first one starting at index = searchRequest.getStartIndex()
         for (i=0; i< NUM_RESOURCE_TYPES && !resultsAvailable; i++) {
-            tree=getListResponseTree(i, searchRequest);
+            output=getSearchOutput(i, searchRequest);
 
-            if (tree!=null) {
-                totalResults += tree.get("totalResults").asInt();
+            if (output!=null) {
+                totalResults += output.getListResponse().getTotalResults();
 
                 if (totalResults>0){
 
                     if (totalResults>=startIndex_) {
-                        resultsAvailable = tree.get("itemsPerPage") != null;    //when null, it means searchRequest.getCount() was zero or empty page
+                        resultsAvailable = output.hasResults();    //when false, it means searchRequest.getCount() was zero or empty page
 
                         if (searchRequest.getStartIndex()==1)
-                            skip=startIndex_ - (totalResults - tree.get("totalResults").asInt()) - 1;
+                            skip=startIndex_ - (totalResults - output.getListResponse().getTotalResults()) - 1;
                     }
                     searchRequest.setStartIndex(1);     //Adjust startindex of subsequent searches to 1
                 }
@@ -149,7 +134,7 @@ public class SearchResourcesWebService extends BaseScimWebService {
 
             //Accumulate till we have searchRequest.getCount() results or exhaust data
 
-            Iterator<JsonNode> iterator = tree.get("Resources").elements();
+            Iterator<BaseScimResource> iterator = output.getListResponse().getResources().iterator();
             while (iterator.hasNext() && totalInPage < searchRequest.getCount()){
                 if (skip==0) {
                     totalInPage++;
@@ -164,16 +149,16 @@ public class SearchResourcesWebService extends BaseScimWebService {
             while (i< NUM_RESOURCE_TYPES && totalInPage < searchRequest.getCount()){
 
                 resultsAvailable=false;
-                tree = getListResponseTree(i, searchRequest);
-                if (tree!=null) {
-                    totalResults += tree.get("totalResults").asInt();
+                output = getSearchOutput(i, searchRequest);
+                if (output!=null) {
+                    totalResults += output.getListResponse().getTotalResults();
 
-                    if (tree.get("totalResults").asInt() > 0)
-                        resultsAvailable = tree.get("itemsPerPage")!=null;
+                    if (output.getListResponse().getTotalResults() > 0)
+                        resultsAvailable = output.hasResults();
                 }
 
                 if (resultsAvailable) {
-                    for (iterator = tree.get("Resources").elements();
+                    for (iterator = output.getListResponse().getResources().iterator();
                          iterator.hasNext() && totalInPage < searchRequest.getCount();
                          totalInPage++)
                         resources.add(iterator.next());
@@ -184,9 +169,9 @@ public class SearchResourcesWebService extends BaseScimWebService {
 
             //Continue the remainder of searches to just compute final value for totalResults
             while (i< NUM_RESOURCE_TYPES){
-                tree = getListResponseTree(i, searchRequest);
-                if (tree!=null)
-                    totalResults += tree.get("totalResults").asInt();
+                output = getSearchOutput(i, searchRequest);
+                if (output!=null)
+                    totalResults += output.getListResponse().getTotalResults();
                 i++;
             }
         }
@@ -198,15 +183,15 @@ public class SearchResourcesWebService extends BaseScimWebService {
     }
 
     /**
-     * Returns a JsonNode with the response obtained from sending a POST to a search method given the SearchRequest passed
+     * Returns the entity of the response obtained from sending a POST to a search method given the SearchRequest passed
      * @param index Determines the concrete search method to be executed: (0 - user; 1 - group; 2 - fido device)
      * @param searchRequest
      * @return
      */
-    private JsonNode getListResponseTree(int index, SearchRequest searchRequest){
+    private ListResponseStreamingOutput getSearchOutput(int index, SearchRequest searchRequest){
 
         try {
-            log.debug("getListResponseTree. Resource type is: {}", ScimResourceUtil.getType(resourceClasses[index]));
+            log.debug("getSearchOutput. Resource type is: {}", ScimResourceUtil.getType(resourceClasses[index]));
 
             Response r = null;
             switch (index) {
@@ -227,12 +212,14 @@ public class SearchResourcesWebService extends BaseScimWebService {
             if (r.getStatus()!=OK.getStatusCode())
                 throw new Exception("Intermediate POST search returned " + r.getStatus());
 
-            //readEntity does not work here since data is not backed by an input stream, so we just get the raw entity
-            String jsonStr = r.getEntity().toString();
-            return mapper.readTree(jsonStr);
+            //The entity still holds the resources found, they are not serialized until the response is written
+            if (!(r.getEntity() instanceof ListResponseStreamingOutput))
+                throw new Exception("Intermediate POST search returned an unexpected entity");
+
+            return (ListResponseStreamingOutput) r.getEntity();
         }
         catch (Exception e){
-            log.error("Error in getListResponseTree {}", e.getMessage());
+            log.error("Error in getSearchOutput {}", e.getMessage());
             log.error(e.getMessage(), e);
             return null;
         }
@@ -243,9 +230,8 @@ public class SearchResourcesWebService extends BaseScimWebService {
     public void setup(){
         //Do not use getClass() here... a typical weld issue...
         endpointUrl=appConfiguration.getBaseEndpoint() + SearchResourcesWebService.class.getAnnotation(Path.class).value();
-        mapper=new ObjectMapper();
 
-        //Do not alter the order of appearance (see getListResponseTree)
+        //Do not alter the order of appearance (see getSearchOutput)
         resourceClasses=new Class[]{UserResource.class, GroupResource.class, FidoDeviceResource.class, Fido2DeviceResource.class};
         NUM_RESOURCE_TYPES =resourceClasses.length;
     }
@@ -56,6 +56,7 @@ import io.jans.scim.model.scim.ScimCustomPerson;
 import io.jans.scim.service.scim2.Scim2PatchService;
 import io.jans.scim.service.scim2.Scim2UserService;
 import io.jans.scim.service.scim2.interceptor.RefAdjusted;
+import io.jans.scim.service.scim2.serialization.ListResponseStreamingOutput;
 import io.jans.scim.ws.rs.scim2.IUserWebService;
 import io.jans.scim.ws.rs.scim2.PATCH;
 
@@ -131,10 +132,10 @@ public class UserWebService extends BaseScimWebService implements IUserWebServic
                     SortOrder.getByValue(searchReq.getSortOrder()), searchReq.getStartIndex(), 
                     searchReq.getCount(), endpointUrl, getMaxCount());
 
-            String json = getListResponseSerialized(resources.getTotalEntriesCount(), 
+            ListResponseStreamingOutput output = getListResponseOutput(resources.getTotalEntriesCount(), 
                     searchReq.getStartIndex(), resources.getEntries(), searchReq.getAttributesStr(),
                     searchReq.getExcludedAttributesStr(), searchReq.getCount() == 0);
-            response = Response.ok(json).location(new URI(endpointUrl)).build();
+            response = Response.ok(output).location(new URI(endpointUrl)).build();
         } catch (SCIMException e) {
             log.error(e.getMessage(), e);
             response = getErrorResponse(Response.Status.BAD_REQUEST, ErrorScimType.INVALID_FILTER, 
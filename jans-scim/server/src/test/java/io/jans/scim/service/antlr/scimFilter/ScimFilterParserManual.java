@@ -0,0 +1,46 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.scim.service.antlr.scimFilter;
+
+/**
+ * Compare time to get parse tree of filters never seen before (previous behaviour for every request) with time to get
+ * parse tree of repeated filter
+ */
+public class ScimFilterParserManual {
+
+    // Preprocessed form of userName eq "..." and (emails[type eq "work" and value co "@example.com"] or active eq true)
+    private static final String FILTER = "userName eq \"user%d\" and ((emails.type eq \"work\" and emails.value co \"@example.com\") or active eq true)";
+    private static final int WARM_UP_ITERATIONS = 20000;
+    private static final int ITERATIONS = 100000;
+
+    public static void main(String[] args) throws Exception {
+        ScimFilterParserService scimFilterParserService = new ScimFilterParserService();
+
+        int filterId = 0;
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            scimFilterParserService.getParseTree(String.format(FILTER, filterId++));
+            scimFilterParserService.getParseTree(String.format(FILTER, 0));
+        }
+
+        // Filter text is built in both loops, so only parsing differs
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            scimFilterParserService.getParseTree(String.format(FILTER, filterId++));
+        }
+        long distinctTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            scimFilterParserService.getParseTree(String.format(FILTER, 0));
+        }
+        long repeatedTime = System.nanoTime() - start;
+
+        System.out.println(String.format("distinct filters: %8.2f us/op, repeated filter: %8.2f us/op",
+                distinctTime / 1e3 / ITERATIONS, repeatedTime / 1e3 / ITERATIONS));
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.scim.service.antlr.scimFilter;
+
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.expectThrows;
+
+import java.util.Collections;
+
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.jans.orm.search.filter.Filter;
+import io.jans.scim.model.exception.SCIMException;
+import io.jans.scim.model.scim2.group.GroupResource;
+import io.jans.scim.model.scim2.user.UserResource;
+import io.jans.scim.service.AttributeService;
+import io.jans.scim.service.scim2.ExtensionService;
+import io.jans.service.cdi.util.CdiUtil;
+
+public class ScimFilterParserServiceTest {
+
+    private static final String FILTER = "displayName eq \"Admin\"";
+
+    @InjectMocks
+    private ScimFilterParserService scimFilterParserService;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private AttributeService attrService;
+
+    @Mock
+    private ExtensionService extService;
+
+    private MockedStatic<CdiUtil> cdiUtil;
+
+    @BeforeMethod
+    public void setUp() {
+        // new instance per test, so caches are empty
+        scimFilterParserService = new ScimFilterParserService();
+        MockitoAnnotations.openMocks(this);
+
+        // FilterListener looks up extension service on creation
+        cdiUtil = mockStatic(CdiUtil.class);
+        cdiUtil.when(() -> CdiUtil.bean(ExtensionService.class)).thenReturn(extService);
+
+        when(attrService.getAllAttributes()).thenReturn(Collections.emptyList());
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        cdiUtil.close();
+    }
+
+    @Test
+    public void getParseTree_sameFilter_returnsCachedTree() throws Exception {
+        ParseTree tree = scimFilterParserService.getParseTree(FILTER);
+
+        assertSame(scimFilterParserService.getParseTree(FILTER), tree);
+    }
+
+    @Test
+    public void createFilter_sameFilterAndResource_isTranslatedOnce() throws Exception {
+        Filter filter = scimFilterParserService.createFilter(FILTER, null, UserResource.class);
+
+        assertNotNull(filter);
+        assertSame(scimFilterParserService.createFilter(FILTER, null, UserResource.class), filter);
+        verify(attrService, times(1)).getAllAttributes();
+    }
+
+    @Test
+    public void createFilter_sameFilterOtherResource_isTranslatedPerResource() throws Exception {
+        Filter userFilter = scimFilterParserService.createFilter(FILTER, null, UserResource.class);
+        Filter groupFilter = scimFilterParserService.createFilter(FILTER, null, GroupResource.class);
+
+        assertNotSame(groupFilter, userFilter);
+        assertSame(scimFilterParserService.createFilter(FILTER, null, UserResource.class), userFilter);
+        assertSame(scimFilterParserService.createFilter(FILTER, null, GroupResource.class), groupFilter);
+        verify(attrService, times(2)).getAllAttributes();
+    }
+
+    @Test
+    public void getParseTree_invalidFilter_throwsOnEveryCall() {
+        expectThrows(SCIMException.class, () -> scimFilterParserService.getParseTree("displayName eq"));
+        expectThrows(SCIMException.class, () -> scimFilterParserService.getParseTree("displayName eq"));
+    }
+
+    @Test
+    public void createFilter_invalidFilter_throwsOnEveryCall() {
+        expectThrows(SCIMException.class, () -> scimFilterParserService.createFilter("displayName eq", null, UserResource.class));
+        expectThrows(SCIMException.class, () -> scimFilterParserService.createFilter("displayName eq", null, UserResource.class));
+    }
+
+    @Test
+    public void createFilter_unknownAttribute_throwsOnEveryCall() {
+        expectThrows(SCIMException.class, () -> scimFilterParserService.createFilter("nickname2 eq \"x\"", null, GroupResource.class));
+        expectThrows(SCIMException.class, () -> scimFilterParserService.createFilter("nickname2 eq \"x\"", null, GroupResource.class));
+        verify(attrService, times(2)).getAllAttributes();
+    }
+
+}
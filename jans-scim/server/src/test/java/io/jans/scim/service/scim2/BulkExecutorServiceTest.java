@@ -0,0 +1,107 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.scim.service.scim2;
+
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.jans.scim.model.conf.AppConfiguration;
+
+public class BulkExecutorServiceTest {
+
+    @InjectMocks
+    private BulkExecutorService bulkExecutorService;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    @BeforeMethod
+    public void setUp() {
+        bulkExecutorService = new BulkExecutorService();
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        bulkExecutorService.destroy();
+    }
+
+    @Test
+    public void getExecutor_queueFull_runsOperationInSubmittingThread() throws Exception {
+        when(appConfiguration.getBulkMaxConcurrency()).thenReturn(2);
+        Executor executor = bulkExecutorService.getExecutor();
+
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> threads = new ArrayList<>();
+        // 2 running and 8 queued operations fill the pool
+        for (int i = 0; i < 10; i++) {
+            executor.execute(() -> await(release));
+        }
+        executor.execute(() -> threads.add(Thread.currentThread().getName()));
+        release.countDown();
+
+        assertEquals(threads.size(), 1);
+        assertEquals(threads.get(0), Thread.currentThread().getName());
+    }
+
+    @Test
+    public void getExecutor_afterDestroy_runsOperationInSubmittingThread() {
+        when(appConfiguration.getBulkMaxConcurrency()).thenReturn(2);
+        Executor executor = bulkExecutorService.getExecutor();
+        bulkExecutorService.destroy();
+
+        List<String> threads = new ArrayList<>();
+        executor.execute(() -> threads.add(Thread.currentThread().getName()));
+
+        assertEquals(threads.size(), 1);
+        assertEquals(threads.get(0), Thread.currentThread().getName());
+    }
+
+    @Test
+    public void getExecutor_concurrencyChanged_replacesPool() throws Exception {
+        when(appConfiguration.getBulkMaxConcurrency()).thenReturn(2);
+        Executor executor = bulkExecutorService.getExecutor();
+        assertSame(bulkExecutorService.getExecutor(), executor);
+
+        when(appConfiguration.getBulkMaxConcurrency()).thenReturn(4);
+        Executor resized = bulkExecutorService.getExecutor();
+
+        assertNotSame(resized, executor);
+        CountDownLatch done = new CountDownLatch(1);
+        resized.execute(done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
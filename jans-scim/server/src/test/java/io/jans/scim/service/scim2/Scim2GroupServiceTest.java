@@ -0,0 +1,199 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.scim.service.scim2;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.scim.model.GluuCustomAttribute;
+import io.jans.scim.model.GluuCustomPerson;
+import io.jans.scim.model.GluuGroup;
+import io.jans.scim.model.conf.AppConfiguration;
+import io.jans.scim.model.scim2.Meta;
+import io.jans.scim.model.scim2.group.GroupResource;
+import io.jans.scim.model.scim2.group.Member;
+import io.jans.scim.service.GroupService;
+import io.jans.scim.service.OrganizationService;
+import io.jans.scim.service.PersonService;
+import io.jans.scim.service.antlr.scimFilter.ScimFilterParserService;
+import io.jans.scim.service.external.ExternalScimService;
+
+/**
+ * Persistence is simulated by a map of users: lookups honour the attributes requested and updates replace the whole
+ * entry, the way a merge removes attributes which are not set in the entry passed
+ */
+public class Scim2GroupServiceTest {
+
+    private static final String PEOPLE_DN = "ou=people,o=jans";
+    private static final String GROUP_DN = "inum=group1,ou=groups,o=jans";
+
+    @InjectMocks
+    private Scim2GroupService scim2GroupService;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private PersonService personService;
+
+    @Mock
+    private GroupService groupService;
+
+    @Mock
+    private ExternalScimService externalScimService;
+
+    @Mock
+    private OrganizationService organizationService;
+
+    @Mock
+    private ExtensionService extService;
+
+    @Mock
+    private ScimFilterParserService scimFilterParserService;
+
+    @Mock
+    private PersistenceEntryManager ldapEntryManager;
+
+    @Mock
+    private UserPersistenceHelper userPersistenceHelper;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    private Map<String, GluuCustomPerson> storedPersons;
+
+    @BeforeMethod
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        storedPersons = new HashMap<>();
+        storedPersons.put("user1", createPerson("user1", Collections.singletonList(GROUP_DN)));
+        storedPersons.put("user2", createPerson("user2", null));
+
+        when(appConfiguration.getGroupMembersBatchSize()).thenReturn(1);
+        when(personService.getDnForPerson(anyString())).thenAnswer(invocation -> getDn(invocation.getArgument(0)));
+        when(userPersistenceHelper.getUserInumFromDN(anyString())).thenAnswer(invocation -> {
+            String dn = invocation.getArgument(0);
+            return dn.substring("inum=".length(), dn.indexOf(','));
+        });
+        when(personService.findPersonsByInums(anyList(), any())).thenAnswer(invocation -> {
+            List<String> inums = invocation.getArgument(0);
+            String[] returnAttributes = invocation.getArgument(1);
+
+            List<GluuCustomPerson> persons = new ArrayList<>();
+            for (String inum : inums) {
+                persons.add(load(storedPersons.get(inum), returnAttributes));
+            }
+            return persons;
+        });
+        doAnswer(invocation -> {
+            List<GluuCustomPerson> persons = invocation.getArgument(0);
+            persons.forEach(person -> storedPersons.put(person.getInum(), person));
+            return null;
+        }).when(personService).updatePersons(anyList());
+    }
+
+    @Test
+    public void replaceGroupInfo_membersChanged_keepsOtherUserAttributes() throws Exception {
+        GluuGroup gluuGroup = new GluuGroup();
+        gluuGroup.setDn(GROUP_DN);
+        gluuGroup.setMembers(new ArrayList<>(Collections.singletonList(getDn("user1"))));
+
+        // Patched group: user1 is removed and user2 is added
+        Member member = new Member();
+        member.setValue("user2");
+        GroupResource group = new GroupResource();
+        group.setMeta(new Meta());
+        group.setDisplayName("group1");
+        group.setMembers(new HashSet<>(Collections.singletonList(member)));
+
+        scim2GroupService.replaceGroupInfo(gluuGroup, group, true, false, "https://jans.io/scim/Groups", "https://jans.io/scim/Users");
+
+        assertEquals(gluuGroup.getMembers(), Collections.singletonList(getDn("user2")));
+
+        GluuCustomPerson user1 = storedPersons.get("user1");
+        assertFalse(user1.getMemberOf().contains(GROUP_DN));
+        assertOtherAttributesKept(user1);
+
+        GluuCustomPerson user2 = storedPersons.get("user2");
+        assertTrue(user2.getMemberOf().contains(GROUP_DN));
+        assertOtherAttributesKept(user2);
+    }
+
+    private void assertOtherAttributesKept(GluuCustomPerson person) {
+        String inum = person.getInum();
+        assertEquals(person.getGuid(), "guid-" + inum);
+        assertEquals(person.getPpid(), Collections.singletonList("ppid-" + inum));
+        assertEquals(person.getExternalUid(), Collections.singletonList("passport:" + inum));
+        assertEquals(person.getMail(), inum + "@jans.io");
+        assertEquals(person.getDisplayName(), "User " + inum);
+    }
+
+    private static GluuCustomPerson createPerson(String inum, List<String> memberOf) {
+        GluuCustomPerson person = new GluuCustomPerson();
+        person.setDn(getDn(inum));
+        person.setInum(inum);
+        person.setGuid("guid-" + inum);
+        person.setPpid(new ArrayList<>(Collections.singletonList("ppid-" + inum)));
+        person.setExternalUid(new ArrayList<>(Collections.singletonList("passport:" + inum)));
+        person.setMail(inum + "@jans.io");
+        person.setDisplayName("User " + inum);
+        if (memberOf != null) {
+            person.setMemberOf(new ArrayList<>(memberOf));
+        }
+        return person;
+    }
+
+    /**
+     * Returns a copy of the stored person with only the attributes requested (all when null)
+     */
+    private static GluuCustomPerson load(GluuCustomPerson stored, String[] returnAttributes) {
+        GluuCustomPerson person = new GluuCustomPerson();
+        person.setDn(stored.getDn());
+        person.setInum(stored.getInum());
+
+        List<String> attributes = returnAttributes == null ? null : Arrays.asList(returnAttributes);
+        if (attributes == null) {
+            person.setGuid(stored.getGuid());
+            person.setPpid(stored.getPpid());
+            person.setExternalUid(stored.getExternalUid());
+        }
+        for (GluuCustomAttribute attribute : stored.getCustomAttributes()) {
+            if (attributes == null || attributes.contains(attribute.getName())) {
+                person.setAttribute(attribute.getName(), attribute.getValues());
+            }
+        }
+        return person;
+    }
+
+    private static String getDn(String inum) {
+        return String.format("inum=%s,%s", inum, PEOPLE_DN);
+    }
+
+}
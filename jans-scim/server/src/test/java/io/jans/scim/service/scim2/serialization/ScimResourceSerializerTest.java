@@ -0,0 +1,275 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.scim.service.scim2.serialization;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jans.model.attribute.AttributeDataType;
+import io.jans.scim.model.scim2.BaseScimResource;
+import io.jans.scim.model.scim2.ListResponse;
+import io.jans.scim.model.scim2.Meta;
+import io.jans.scim.model.scim2.extensions.Extension;
+import io.jans.scim.model.scim2.extensions.ExtensionField;
+import io.jans.scim.model.scim2.group.GroupResource;
+import io.jans.scim.model.scim2.group.Member;
+import io.jans.scim.model.scim2.user.Email;
+import io.jans.scim.model.scim2.user.Group;
+import io.jans.scim.model.scim2.user.Name;
+import io.jans.scim.model.scim2.user.UserResource;
+import io.jans.scim.model.scim2.util.IntrospectUtil;
+import io.jans.scim.service.scim2.ExtensionService;
+
+/**
+ * Output of the streaming serializer is compared with the one of converting the resource into a Map and pruning it,
+ * which is how resources were serialized before
+ */
+public class ScimResourceSerializerTest {
+
+    private static final String USER_EXTENSION = "urn:ietf:params:scim:schemas:extension:gluu:2.0:User";
+
+    @InjectMocks
+    private ScimResourceSerializer resourceSerializer;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private ExtensionService extService;
+
+    private ObjectMapper mapper = new ObjectMapper();
+
+    @BeforeMethod
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        ExtensionField field = new ExtensionField();
+        field.setName("department");
+        field.setType(AttributeDataType.STRING);
+        Extension extension = new Extension(USER_EXTENSION);
+        extension.setFields(Collections.singletonMap("department", field));
+
+        when(extService.getResourceExtensions(any())).thenAnswer(invocation ->
+                UserResource.class.equals(invocation.getArgument(0)) ? Collections.singletonList(extension) : Collections.emptyList());
+    }
+
+    @DataProvider
+    public Object[][] attributes() {
+        return new Object[][] {
+                {null, null},
+                {"userName,emails.value,name.givenName", null},
+                {"groups.$ref,members.value", null},
+                {"meta.location,displayName," + USER_EXTENSION + ":department", null},
+                {null, "emails,meta"},
+                {null, "name.familyName,members.display,groups"},
+                {null, USER_EXTENSION}
+        };
+    }
+
+    @Test(dataProvider = "attributes")
+    public void serialize_user_sameAsPrunedMap(String attributes, String exclusions) throws Exception {
+        assertSameOutput(createUser(), attributes, exclusions);
+    }
+
+    @Test(dataProvider = "attributes")
+    public void serialize_group_sameAsPrunedMap(String attributes, String exclusions) throws Exception {
+        assertSameOutput(createGroup(), attributes, exclusions);
+    }
+
+    @Test
+    public void serialize_complexValueWithoutIncludedContents_isSkipped() throws Exception {
+        UserResource user = createUser();
+        user.getName().setGivenName(null);
+
+        JsonNode json = mapper.readTree(resourceSerializer.serialize(user, "name.givenName", null));
+        assertFalse(json.has("name"));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void listResponseOutput_includeSetFailure_isRaisedBeforeWriting() {
+        when(extService.getResourceExtensions(any())).thenThrow(new IllegalStateException("Persistence unavailable"));
+
+        ListResponse listResponse = new ListResponse(1, 1, 1);
+        listResponse.setResources(Collections.singletonList(createUser()));
+        new ListResponseStreamingOutput(listResponse, resourceSerializer, null, null, false);
+    }
+
+    @Test
+    public void listResponseOutput_write_containsSerializedResources() throws Exception {
+        UserResource user = createUser();
+        ListResponse listResponse = new ListResponse(1, 1, 1);
+        listResponse.setResources(Collections.singletonList(user));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ListResponseStreamingOutput(listResponse, resourceSerializer, "userName", null, false).write(output);
+
+        JsonNode json = mapper.readTree(output.toByteArray());
+        assertEquals(json.get("totalResults").asInt(), 1);
+        assertEquals(json.get("Resources").get(0), mapper.readTree(resourceSerializer.serialize(user, "userName", null)));
+    }
+
+    private void assertSameOutput(BaseScimResource resource, String attributes, String exclusions) throws Exception {
+
+        SortedSet<String> include = resourceSerializer.getIncludeSet(resource, attributes, exclusions);
+
+        JsonNode streamed = mapper.readTree(resourceSerializer.serialize(resource, attributes, exclusions));
+        JsonNode pruned = mapper.readTree(serializeAsPrunedMap(resource, include));
+        assertEquals(streamed, pruned, "attributes=" + attributes + ", excludedAttributes=" + exclusions);
+
+    }
+
+    private String serializeAsPrunedMap(BaseScimResource resource, SortedSet<String> include) throws Exception {
+
+        Map<String, Object> map = mapper.convertValue(resource, new TypeReference<Map<String, Object>>() {});
+        LinkedHashMap<String, Object> newMap = new LinkedHashMap<>();
+        traverse("", map, newMap, include);
+        return mapper.writeValueAsString(newMap);
+
+    }
+
+    private void traverse(String prefix, Map<String, Object> map, LinkedHashMap<String, Object> destination, SortedSet<String> include) {
+
+        for (String key : map.keySet()) {
+            Object value = map.get(key);
+
+            if (value != null && containsProperty(include, prefix, key)) {
+
+                if (value instanceof Map) {
+                    value = smallerMap(getNewPrefix(prefix, key), IntrospectUtil.strObjMap(value), include);
+                } else if (value instanceof Collection) {
+                    List<Object> list = new ArrayList<>();
+
+                    for (Object item : (Collection<?>) value) {
+                        if (item instanceof Map) {
+                            Map<String, Object> innerMap = smallerMap(getNewPrefix(prefix, key), IntrospectUtil.strObjMap(item), include);
+                            if (innerMap != null) {
+                                list.add(innerMap);
+                            }
+                        } else if (item != null) {
+                            list.add(item);
+                        }
+                    }
+                    value = list;
+                }
+                if (value != null) {
+                    destination.put(key, value);
+                }
+            }
+        }
+
+    }
+
+    private Map<String, Object> smallerMap(String prefix, Map<String, Object> value, SortedSet<String> include) {
+        LinkedHashMap<String, Object> smallMap = new LinkedHashMap<>();
+        traverse(prefix, value, smallMap, include);
+        return smallMap.size() == 0 ? null : smallMap;
+    }
+
+    private boolean containsProperty(SortedSet<String> properties, String prefix, String key) {
+        key = key.startsWith("$") ? key.substring(1) : key;
+        String property = getNewPrefix(prefix, key);
+        return properties.tailSet(property).stream().anyMatch(prop -> prop.equals(property) || prop.startsWith(property + "."));
+    }
+
+    private String getNewPrefix(String prefix, String key) {
+        return prefix + (prefix.length() == 0 ? "" : ".") + key;
+    }
+
+    private UserResource createUser() {
+
+        UserResource user = new UserResource();
+        user.setId("user1");
+        user.setExternalId("ext-user1");
+        user.setUserName("jdoe");
+        user.setDisplayName("John Doe");
+        user.setActive(true);
+        user.setMeta(createMeta("User", "Users/user1"));
+
+        Name name = new Name();
+        name.setGivenName("John");
+        name.setFamilyName("Doe");
+        user.setName(name);
+
+        Email work = new Email();
+        work.setValue("jdoe@jans.io");
+        work.setType(Email.Type.WORK);
+        work.setPrimary(true);
+        Email home = new Email();
+        home.setValue("john@example.com");
+        user.setEmails(Arrays.asList(work, home));
+
+        Group group = new Group();
+        group.setValue("group1");
+        group.setRef("https://jans.io/scim/v2/Groups/group1");
+        group.setDisplay("Admins");
+        user.setGroups(Collections.singletonList(group));
+
+        user.setPairwiseIdentifiers(new ArrayList<>());
+
+        Map<String, Object> custom = new HashMap<>();
+        custom.put("department", "Engineering");
+        user.addCustomAttributes(USER_EXTENSION, custom);
+
+        return user;
+
+    }
+
+    private GroupResource createGroup() {
+
+        GroupResource group = new GroupResource();
+        group.setId("group1");
+        group.setDisplayName("Admins");
+        group.setMeta(createMeta("Group", "Groups/group1"));
+
+        Member user = new Member();
+        user.setValue("user1");
+        user.setRef("https://jans.io/scim/v2/Users/user1");
+        user.setDisplay("John Doe");
+        user.setType("User");
+        Member other = new Member();
+        other.setValue("user2");
+        group.setMembers(new LinkedHashSet<>(Arrays.asList(user, other)));
+
+        return group;
+
+    }
+
+    private Meta createMeta(String resourceType, String location) {
+        Meta meta = new Meta();
+        meta.setResourceType(resourceType);
+        meta.setCreated("2020-01-01T00:00:00.000Z");
+        meta.setLocation("https://jans.io/scim/v2/" + location);
+        return meta;
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.scim.ws.rs.scim2;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jakarta.enterprise.context.control.RequestContextController;
+import jakarta.enterprise.inject.Instance;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.Response;
+
+import org.slf4j.Logger;
+
+import io.jans.scim.model.conf.AppConfiguration;
+import io.jans.scim.model.scim2.bulk.BulkOperation;
+import io.jans.scim.model.scim2.bulk.BulkRequest;
+import io.jans.scim.service.scim2.BulkExecutorService;
+
+/**
+ * Measures bulk operations throughput for different bulkMaxConcurrency values. Each operation is a user PUT on its own
+ * path which takes PERSISTENCE_LATENCY_MILLIS, several clients send bulk requests at the same time
+ */
+public class BulkWebServiceManual {
+
+    private static final String BASE_ENDPOINT = "https://jans.io/jans-scim/restv1";
+    private static final String USERS = BASE_ENDPOINT + "/v2/Users";
+
+    private static final long PERSISTENCE_LATENCY_MILLIS = 2;
+    private static final int OPERATIONS_PER_REQUEST = 100;
+    private static final int REQUESTS_PER_CLIENT = 10;
+    private static final int[] CLIENTS = {1, 4};
+    private static final int[] CONCURRENCY = {1, 4, 8};
+
+    public static void main(String[] args) throws Exception {
+        for (int clients : CLIENTS) {
+            for (int concurrency : CONCURRENCY) {
+                BulkExecutorService bulkExecutorService = new BulkExecutorService();
+                BulkWebService bulkWebService = createBulkWebService(bulkExecutorService, concurrency);
+                try {
+                    // warm up
+                    run(bulkWebService, clients, 2);
+
+                    long start = System.nanoTime();
+                    int operations = run(bulkWebService, clients, REQUESTS_PER_CLIENT);
+                    double seconds = (System.nanoTime() - start) / 1e9;
+
+                    System.out.println(String.format("clients: %d, bulkMaxConcurrency: %d, %8.0f operations/s", clients,
+                            concurrency, operations / seconds));
+                } finally {
+                    bulkExecutorService.destroy();
+                }
+            }
+        }
+    }
+
+    private static int run(BulkWebService bulkWebService, int clients, int requestsPerClient) throws Exception {
+        ExecutorService clientPool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                final int client = c;
+                results.add(clientPool.submit(() -> {
+                    int processed = 0;
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        Response response = bulkWebService.processBulkOperations(createRequest(client, r));
+                        if (response.getStatus() != Response.Status.OK.getStatusCode())
+                            throw new IllegalStateException("Bulk request failed with status " + response.getStatus());
+                        processed += OPERATIONS_PER_REQUEST;
+                    }
+                    return processed;
+                }));
+            }
+
+            int operations = 0;
+            for (Future<Integer> result : results) {
+                operations += result.get();
+            }
+            return operations;
+        } finally {
+            clientPool.shutdown();
+        }
+    }
+
+    private static BulkRequest createRequest(int client, int request) {
+        List<BulkOperation> operations = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS_PER_REQUEST; i++) {
+            BulkOperation operation = new BulkOperation();
+            operation.setMethod("PUT");
+            operation.setPath(USERS + "/user-" + client + "-" + request + "-" + i);
+            operation.setData(Collections.singletonMap("schemas",
+                    Collections.singletonList("urn:ietf:params:scim:schemas:core:2.0:User")));
+            operations.add(operation);
+        }
+
+        BulkRequest bulkRequest = new BulkRequest();
+        bulkRequest.setFailOnErrors(OPERATIONS_PER_REQUEST);
+        bulkRequest.setOperations(operations);
+        return bulkRequest;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BulkWebService createBulkWebService(BulkExecutorService bulkExecutorService, int concurrency) throws Exception {
+        AppConfiguration appConfiguration = mock(AppConfiguration.class);
+        when(appConfiguration.getBaseEndpoint()).thenReturn(BASE_ENDPOINT);
+        when(appConfiguration.getBulkMaxOperations()).thenReturn(OPERATIONS_PER_REQUEST);
+        when(appConfiguration.getBulkMaxPayloadSize()).thenReturn(100000000L);
+        when(appConfiguration.getBulkMaxConcurrency()).thenReturn(concurrency);
+
+        UserWebService userWS = mock(UserWebService.class);
+        when(userWS.getEndpointUrl()).thenReturn(USERS);
+        when(userWS.updateUser(any(), any(), any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(PERSISTENCE_LATENCY_MILLIS);
+            return Response.ok().build();
+        });
+        GroupWebService groupWS = mock(GroupWebService.class);
+        when(groupWS.getEndpointUrl()).thenReturn(BASE_ENDPOINT + "/v2/Groups");
+        FidoDeviceWebService fidoDeviceWS = mock(FidoDeviceWebService.class);
+        when(fidoDeviceWS.getEndpointUrl()).thenReturn(BASE_ENDPOINT + "/v2/FidoDevices");
+        Fido2DeviceWebService fido2DeviceWS = mock(Fido2DeviceWebService.class);
+        when(fido2DeviceWS.getEndpointUrl()).thenReturn(BASE_ENDPOINT + "/v2/Fido2Devices");
+
+        Instance<RequestContextController> requestContextControllerInstance = mock(Instance.class);
+        when(requestContextControllerInstance.get()).thenReturn(mock(RequestContextController.class));
+        HttpHeaders httpHeaders = mock(HttpHeaders.class);
+        when(httpHeaders.getRequestHeaders()).thenReturn(new MultivaluedHashMap<>());
+
+        Logger log = mock(Logger.class);
+        setField(bulkExecutorService, "log", log);
+        setField(bulkExecutorService, "appConfiguration", appConfiguration);
+
+        BulkWebService bulkWebService = new BulkWebService();
+        setField(bulkWebService, "log", log);
+        setField(bulkWebService, "appConfiguration", appConfiguration);
+        setField(bulkWebService, "userWS", userWS);
+        setField(bulkWebService, "groupWS", groupWS);
+        setField(bulkWebService, "fidoDeviceWS", fidoDeviceWS);
+        setField(bulkWebService, "fido2DeviceWS", fido2DeviceWS);
+        setField(bulkWebService, "bulkExecutorService", bulkExecutorService);
+        setField(bulkWebService, "requestContextControllerInstance", requestContextControllerInstance);
+        setField(bulkWebService, "httpHeaders", httpHeaders);
+        bulkWebService.setup();
+        return bulkWebService;
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        for (Class<?> cls = target.getClass(); cls != null; cls = cls.getSuperclass()) {
+            try {
+                Field field = cls.getDeclaredField(name);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                // look in superclass
+            }
+        }
+        throw new NoSuchFieldException(name);
+    }
+
+}
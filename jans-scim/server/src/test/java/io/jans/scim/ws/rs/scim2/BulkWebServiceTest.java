@@ -0,0 +1,209 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.scim.ws.rs.scim2;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.enterprise.context.control.RequestContextController;
+import jakarta.enterprise.inject.Instance;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.Response;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jans.scim.model.conf.AppConfiguration;
+import io.jans.scim.model.scim2.ErrorScimType;
+import io.jans.scim.model.scim2.bulk.BulkOperation;
+import io.jans.scim.model.scim2.bulk.BulkRequest;
+import io.jans.scim.model.scim2.bulk.BulkResponse;
+import io.jans.scim.service.scim2.BulkExecutorService;
+
+public class BulkWebServiceTest {
+
+    private static final String BASE_ENDPOINT = "https://jans.io/jans-scim/restv1";
+    private static final String USERS = BASE_ENDPOINT + "/v2/Users";
+    private static final String GROUPS = BASE_ENDPOINT + "/v2/Groups";
+    private static final String FIDO_DEVICES = BASE_ENDPOINT + "/v2/FidoDevices";
+    private static final String FIDO2_DEVICES = BASE_ENDPOINT + "/v2/Fido2Devices";
+
+    @InjectMocks
+    private BulkWebService bulkWebService;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    @Mock
+    private UserWebService userWS;
+
+    @Mock
+    private GroupWebService groupWS;
+
+    @Mock
+    private FidoDeviceWebService fidoDeviceWS;
+
+    @Mock
+    private Fido2DeviceWebService fido2DeviceWS;
+
+    @Mock
+    private BulkExecutorService bulkExecutorService;
+
+    @Mock
+    private Instance<RequestContextController> requestContextControllerInstance;
+
+    @Mock
+    private RequestContextController requestContextController;
+
+    @Mock
+    private HttpHeaders httpHeaders;
+
+    @BeforeMethod
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(appConfiguration.getBaseEndpoint()).thenReturn(BASE_ENDPOINT);
+        when(appConfiguration.getBulkMaxOperations()).thenReturn(10);
+        when(appConfiguration.getBulkMaxPayloadSize()).thenReturn(1000000L);
+        when(userWS.getEndpointUrl()).thenReturn(USERS);
+        when(groupWS.getEndpointUrl()).thenReturn(GROUPS);
+        when(fidoDeviceWS.getEndpointUrl()).thenReturn(FIDO_DEVICES);
+        when(fido2DeviceWS.getEndpointUrl()).thenReturn(FIDO2_DEVICES);
+        when(bulkExecutorService.isConcurrent()).thenReturn(true);
+        when(bulkExecutorService.getExecutor()).thenReturn(Runnable::run);
+        when(requestContextControllerInstance.get()).thenReturn(requestContextController);
+        when(httpHeaders.getRequestHeaders()).thenReturn(new MultivaluedHashMap<>());
+
+        bulkWebService.setup();
+    }
+
+    @Test
+    public void buildDependencies_postsOfOneResourceType_runOneAfterAnother() {
+        List<Set<Integer>> dependencies = buildDependencies(
+                operation("POST", USERS, "u1"),
+                operation("POST", USERS, "u2"),
+                operation("POST", FIDO2_DEVICES, "d1"));
+
+        assertEquals(dependencies.get(0), Collections.emptySet());
+        assertEquals(dependencies.get(1), Collections.singleton(0));
+        assertEquals(dependencies.get(2), Collections.emptySet());
+    }
+
+    @Test
+    public void buildDependencies_differentPaths_areIndependent() {
+        List<Set<Integer>> dependencies = buildDependencies(
+                operation("PUT", USERS + "/a", null),
+                operation("PATCH", USERS + "/b", null),
+                operation("PUT", USERS + "/a", null));
+
+        assertEquals(dependencies.get(0), Collections.emptySet());
+        assertEquals(dependencies.get(1), Collections.emptySet());
+        assertEquals(dependencies.get(2), Collections.singleton(0));
+    }
+
+    @Test
+    public void buildDependencies_bulkIdReference_dependsOnCreator() {
+        List<Map<String, Integer>> references = new ArrayList<>();
+        List<Set<Integer>> dependencies = bulkWebService.buildDependencies(Arrays.asList(
+                operation("POST", USERS, "u1"),
+                operation("PUT", FIDO2_DEVICES + "/d", null),
+                operation("PATCH", USERS + "/bulkId:u1", null)), references);
+
+        assertEquals(dependencies.get(2), Collections.singleton(0));
+        assertEquals(references.get(2), Collections.singletonMap("u1", 0));
+    }
+
+    @Test
+    public void buildDependencies_forwardReference_isNotResolved() {
+        List<Map<String, Integer>> references = new ArrayList<>();
+        List<Set<Integer>> dependencies = bulkWebService.buildDependencies(Arrays.asList(
+                operation("PATCH", USERS + "/bulkId:u1", null),
+                operation("POST", USERS, "u1")), references);
+
+        assertEquals(dependencies.get(0), Collections.emptySet());
+        assertEquals(references.get(0), Collections.emptyMap());
+    }
+
+    @Test
+    public void buildDependencies_exclusiveOperations_waitForPrecedingOnes() {
+        List<Set<Integer>> dependencies = buildDependencies(
+                operation("PUT", USERS + "/a", null),
+                operation("PUT", FIDO2_DEVICES + "/b", null),
+                operation("DELETE", USERS + "/c", null),
+                operation("PUT", USERS + "/d", null),
+                operation("PATCH", GROUPS + "/g", null),
+                operation("PUT", FIDO2_DEVICES + "/e", null));
+
+        assertEquals(dependencies.get(2), new HashSet<>(Arrays.asList(0, 1)));
+        assertEquals(dependencies.get(3), Collections.singleton(2));
+        assertEquals(dependencies.get(4), new HashSet<>(Arrays.asList(2, 3)));
+        assertEquals(dependencies.get(5), Collections.singleton(4));
+    }
+
+    @Test
+    public void processBulkOperations_creatorFailed_dependentOperationReportsIt() throws Exception {
+        when(userWS.createUser(any(), any(), any())).thenReturn(
+                BaseScimWebService.getErrorResponse(Response.Status.CONFLICT, ErrorScimType.UNIQUENESS, "Duplicate userName"));
+
+        Map<String, Object> user = new HashMap<>();
+        user.put("schemas", Collections.singletonList("urn:ietf:params:scim:schemas:core:2.0:User"));
+        user.put("userName", "jdoe");
+        BulkOperation create = operation("POST", USERS, "u1");
+        create.setData(user);
+        BulkOperation update = operation("PUT", FIDO2_DEVICES + "/bulkId:u1", null);
+        update.setData(Collections.singletonMap("userId", "bulkId:u1"));
+
+        BulkRequest request = new BulkRequest();
+        request.setOperations(Arrays.asList(create, update));
+
+        Response response = bulkWebService.processBulkOperations(request);
+
+        BulkResponse bulkResponse = new ObjectMapper().readValue(response.getEntity().toString(), BulkResponse.class);
+        List<BulkOperation> operations = bulkResponse.getOperations();
+        assertEquals(operations.size(), 2);
+        assertEquals(operations.get(0).getStatus(), "409");
+        assertEquals(operations.get(1).getStatus(), "400");
+        assertTrue(operations.get(1).getResponse().toString().contains("Operation 1 this operation depends on failed"));
+        verify(fido2DeviceWS, never()).updateF2Device(any(), any(), any(), any());
+    }
+
+    private List<Set<Integer>> buildDependencies(BulkOperation... operations) {
+        return bulkWebService.buildDependencies(Arrays.asList(operations), new ArrayList<>());
+    }
+
+    private static BulkOperation operation(String method, String path, String bulkId) {
+        BulkOperation operation = new BulkOperation();
+        operation.setMethod(method);
+        operation.setPath(path);
+        operation.setBulkId(bulkId);
+        return operation;
+    }
+
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.jans.as.client.OpenIdConfigurationResponse;
 import io.jans.as.client.service.ClientFactory;
+import io.jans.as.client.service.IntrospectionResponseCache;
 import io.jans.as.client.service.IntrospectionService;
 import io.jans.as.model.common.IntrospectionResponse;
 import io.jans.as.model.crypto.AuthCryptoProvider;
@@ -14,6 +15,7 @@ import io.jans.as.model.jwt.Jwt;
 import io.jans.as.model.jwt.JwtClaimName;
 import io.jans.as.model.jwt.JwtClaims;
 import io.jans.scim.auth.IProtectionService;
+import io.jans.scim.model.conf.AppConfiguration;
 import io.jans.scim.service.OpenIdService;
 import io.jans.scim.service.filter.ProtectedApi;
 
@@ -51,8 +53,13 @@ public abstract class BaseOAuthProtectionService implements IProtectionService,
     @Inject
     private OpenIdService openIdService;
     
+    @Inject
+    private AppConfiguration appConfiguration;
+
     private IntrospectionService introspectionService;
-    
+
+    private IntrospectionResponseCache introspectionResponseCache;
+
     private OpenIdConfigurationResponse oidcConfig;
     
     private ObjectMapper mapper;
@@ -85,7 +92,9 @@ public abstract class BaseOAuthProtectionService implements IProtectionService,
                 //Do standard token validation
                 IntrospectionResponse iresp = null;
                 try {
-                    iresp = introspectionService.introspectToken("Bearer " + token, token);
+                    introspectionResponseCache.setMaxTtlInSeconds(Optional.ofNullable(appConfiguration.getIntrospectionCacheMaxTtl())
+                            .orElse(IntrospectionResponseCache.DEFAULT_MAX_TTL_IN_SECONDS));
+                    iresp = introspectionResponseCache.introspect(introspectionService, token);
                 } catch (Exception e) {
                     log.error(e.getMessage());
                 }
@@ -169,6 +178,7 @@ public abstract class BaseOAuthProtectionService implements IProtectionService,
 
         try {
             mapper = new ObjectMapper();
+            introspectionResponseCache = new IntrospectionResponseCache();
             oidcConfig = openIdService.getOpenIdConfiguration();
             
             String introspectionEndpoint = oidcConfig.getIntrospectionEndpoint();
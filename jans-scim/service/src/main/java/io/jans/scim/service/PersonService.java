@@ -139,6 +139,22 @@ public class PersonService implements Serializable {
 
 	}
 
+	/**
+	 * Merges persons with single batch operation. Like {@link #updatePerson(GluuCustomPerson)}, persons must be
+	 * loaded with all attributes: attributes which are not set in the entry are removed from persistence
+	 */
+	public void updatePersons(List<GluuCustomPerson> persons) {
+		Date updateDate = new Date();
+		for (GluuCustomPerson person : persons) {
+			person.setUpdatedAt(updateDate);
+			if (person.getAttribute("jansMetaLastMod") != null) {
+				person.setAttribute("jansMetaLastMod", Instant.ofEpochMilli(updateDate.getTime()).toString());
+			}
+			attributeService.applyMetaData(person.getCustomAttributes());
+		}
+		persistenceEntryManager.merge(persons);
+	}
+
 	public void removePerson(GluuCustomPerson person) {
 		persistenceEntryManager.removeRecursively(person.getDn(), GluuCustomPerson.class);
 	}
@@ -206,6 +222,15 @@ public class PersonService implements Serializable {
 		return persistenceEntryManager.findEntries(getDnForPerson(null), GluuCustomPerson.class, filter, returnAttributes);
 	}
 
+	public List<GluuCustomPerson> findPersonsByInums(List<String> inums, String[] returnAttributes) {
+		List<Filter> inumFilters = new ArrayList<Filter>();
+		for (String inum : inums) {
+			inumFilters.add(Filter.createEqualityFilter("inum", inum));
+		}
+		Filter filter = Filter.createORFilter(inumFilters);
+		return persistenceEntryManager.findEntries(getDnForPerson(null), GluuCustomPerson.class, filter, returnAttributes, inums.size());
+	}
+
 	public List<GluuCustomPerson> findPersonsByMailids(List<String> mailids, String[] returnAttributes)
 			throws Exception {
 		List<Filter> mailidFilters = new ArrayList<Filter>();